@@ -0,0 +1,51 @@
+package org.nusco.narjillos;
+
+import java.util.Random;
+
+import org.nusco.narjillos.application.ConfigurationLoader;
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.core.utilities.NumberFormat;
+import org.nusco.narjillos.experiment.archipelago.Archipelago;
+import org.nusco.narjillos.persistence.VolatileDNALog;
+
+/**
+ * The entry point to the "archipelago" program. It runs an experiment
+ * without graphics, on separate islands that evolve in parallel and exchange
+ * migrants every now and then.
+ *
+ * Takes the number of islands and, optionally, a seed.
+ */
+public class ArchipelagoRunner {
+
+	private static final int TICKS_BETWEEN_REPORTS = 1000;
+
+	public static void main(String... args) {
+		if (args.length < 1 || args.length > 2) {
+			System.out.println("Usage: archipelago <number of islands> [<seed>]");
+			System.exit(1);
+		}
+
+		int numberOfIslands = Integer.parseInt(args[0]);
+		long seed = (args.length == 2) ? Long.parseLong(args[1]) : Math.abs(new Random().nextInt() % 1_000_000_000);
+		Configuration configuration = ConfigurationLoader.loadDefault();
+		long islandSize = configuration.ecosystemBlocksPerEdgeInExperiment * 1000;
+
+		System.out.println("Starting archipelago " + seed + " with " + numberOfIslands + " islands");
+		final Archipelago archipelago = new Archipelago(seed, numberOfIslands, islandSize, configuration, new VolatileDNALog());
+		archipelago.populate();
+
+		Runtime.getRuntime().addShutdownHook(new Thread() {
+			@Override
+			public void run() {
+				archipelago.terminate();
+			}
+		});
+
+		while (archipelago.thereAreSurvivors()) {
+			archipelago.tick(TICKS_BETWEEN_REPORTS);
+			System.out.println("Ticks: " + NumberFormat.format(archipelago.getTotalTicks()) + " / " + archipelago.getCensus()
+					+ " / DNA: " + archipelago.getDnaCount());
+		}
+		System.out.println("*** EXTINCTION ***");
+	}
+}
@@ -0,0 +1,70 @@
+package org.nusco.narjillos;
+
+import java.io.File;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.nusco.narjillos.application.ConfigurationLoader;
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.core.utilities.NumberFormat;
+import org.nusco.narjillos.experiment.distributed.DistributedDish;
+
+/**
+ * The entry point to the "distributed" program. It runs an experiment
+ * without graphics, split in regions that run in separate processes on this
+ * machine.
+ *
+ * Takes the number of regions and, optionally, a seed and a configuration
+ * file (like config.yaml, but with only the values that differ from
+ * config.yaml).
+ */
+public class DistributedRunner {
+
+	private static final int TICKS_BETWEEN_REPORTS = 1000;
+	private static final int SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+	private static volatile boolean running = true;
+
+	public static void main(String... args) {
+		if (args.length < 1 || args.length > 3) {
+			System.out.println("Usage: distributed <number of regions> [<seed> [<configuration file>]]");
+			System.exit(1);
+		}
+
+		int numberOfRegions = Integer.parseInt(args[0]);
+		long seed = (args.length >= 2) ? Long.parseLong(args[1]) : Math.abs(new Random().nextInt() % 1_000_000_000);
+		Configuration configuration = ConfigurationLoader.loadDefault();
+		if (args.length == 3)
+			configuration = ConfigurationLoader.load(configuration, new File(args[2]));
+		long dishSize = configuration.ecosystemBlocksPerEdgeInExperiment * 1000;
+
+		System.out.println("Starting distributed experiment " + seed + " in " + numberOfRegions + " regions");
+		final DistributedDish dish = DistributedDish.launch(seed, dishSize, numberOfRegions, configuration);
+
+		// On shutdown, we let the current tick finish before we close the
+		// connections to the regions.
+		final CountDownLatch stopped = new CountDownLatch(1);
+		Runtime.getRuntime().addShutdownHook(new Thread() {
+			@Override
+			public void run() {
+				running = false;
+				try {
+					stopped.await(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+				}
+			}
+		});
+
+		try {
+			while (running) {
+				dish.tick();
+				if (dish.getTotalTicks() % TICKS_BETWEEN_REPORTS == 0)
+					System.out.println("Ticks: " + NumberFormat.format(dish.getTotalTicks()) + " / " + dish.getCensus());
+			}
+			dish.terminate();
+		} finally {
+			stopped.countDown();
+		}
+	}
+}
@@ -1,10 +1,10 @@
 package org.nusco.narjillos;
 
 import org.nusco.narjillos.application.CommandLineOptions;
+import org.nusco.narjillos.application.ConfigurationLoader;
 import org.nusco.narjillos.application.MainNarjillosApplication;
 import org.nusco.narjillos.application.PetriDish;
 import org.nusco.narjillos.application.Version;
-import org.nusco.narjillos.core.utilities.Configuration;
 
 /**
  * The entry point to the "narjillos" program.
@@ -23,7 +23,7 @@ public class NarjillosRunner {
 
 	private static void runWithoutGraphics(CommandLineOptions options) {
 		String applicationVersion = Version.read();
-		final PetriDish dish = new PetriDish(applicationVersion, options, Configuration.ECOSYSTEM_BLOCKS_PER_EDGE_IN_EXPERIMENT * 1000);
+		final PetriDish dish = new PetriDish(applicationVersion, options, ConfigurationLoader.loadDefault().ecosystemBlocksPerEdgeInExperiment * 1000);
 
 		Runtime.getRuntime().addShutdownHook(new Thread() {
 			@Override
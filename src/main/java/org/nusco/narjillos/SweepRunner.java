@@ -0,0 +1,140 @@
+package org.nusco.narjillos;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.cli.BasicParser;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.nusco.narjillos.application.ConfigurationLoader;
+import org.nusco.narjillos.application.Sweep;
+import org.nusco.narjillos.application.Version;
+import org.nusco.narjillos.core.utilities.Configuration;
+
+/**
+ * The "sweep" program. It runs many experiments without graphics, a few at a
+ * time in the same process, and writes a table with the final statistics of
+ * each experiment.
+ *
+ * You give it a list of seeds (such as "1,2,10-20"), and optionally a file
+ * with one DNA per line and a few configuration files. It runs an experiment
+ * for each seed, each DNA and each configuration. A configuration file looks
+ * like config.yaml, but it only needs to contain the values that differ from
+ * config.yaml.
+ */
+public class SweepRunner {
+
+	private static final long DEFAULT_TICKS = 1_000_000;
+
+	public static void main(String[] args) throws IOException {
+		Options options = new Options();
+		options.addOption("?", "help", false, "print this message");
+		options.addOption("e", "seeds", true, "seeds to run (for example: 1,2,10-20)");
+		options.addOption("d", "dna", true, "file with the DNA to populate the experiments with (one per line)");
+		options.addOption("c", "config", true, "configuration files to run the experiments with (for example: fast.yaml,slow.yaml)");
+		options.addOption("t", "ticks", true, "maximum number of ticks for each experiment (default: " + DEFAULT_TICKS + ")");
+		options.addOption("p", "parallel", true, "number of experiments to run at the same time (default: number of cores)");
+		options.addOption("o", "output", true, "file to write the results to (default: sweep.csv)");
+		options.addOption("s", "save", false, "save each experiment to file");
+
+		CommandLine commandLine;
+		try {
+			commandLine = new BasicParser().parse(options, args);
+		} catch (ParseException e) {
+			printHelpText(options);
+			return;
+		}
+
+		if (commandLine.hasOption("?") || !commandLine.hasOption("seeds")) {
+			printHelpText(options);
+			return;
+		}
+
+		long ticks = Long.parseLong(commandLine.getOptionValue("ticks", "" + DEFAULT_TICKS));
+		int parallel = Integer.parseInt(commandLine.getOptionValue("parallel", "" + Runtime.getRuntime().availableProcessors()));
+		String outputFile = commandLine.getOptionValue("output", "sweep.csv");
+
+		Sweep sweep = new Sweep(Version.read(), ticks, commandLine.hasOption("save"));
+		List<Long> seeds = parseSeeds(commandLine.getOptionValue("seeds"));
+		List<String> dnas = new ArrayList<>();
+		if (commandLine.hasOption("dna"))
+			dnas.addAll(readDna(commandLine.getOptionValue("dna")));
+		else
+			dnas.add(null);
+		List<String> configurationFiles = new ArrayList<>();
+		if (commandLine.hasOption("config"))
+			configurationFiles.addAll(Arrays.asList(commandLine.getOptionValue("config").split(",")));
+		else
+			configurationFiles.add(null);
+
+		for (String configurationFile : configurationFiles) {
+			Configuration configuration = ConfigurationLoader.loadDefault();
+			String configurationName = null;
+			if (configurationFile != null) {
+				configuration = ConfigurationLoader.load(configuration, new File(configurationFile.trim()));
+				configurationName = toConfigurationName(configurationFile);
+			}
+			for (long seed : seeds)
+				for (int i = 0; i < dnas.size(); i++) {
+					String dnaName = (dnas.get(i) == null) ? null : "dna" + (i + 1);
+					sweep.addExperiment(seed, dnas.get(i), dnaName, configuration, configurationName);
+				}
+		}
+
+		System.out.println("Running " + sweep.getNumberOfExperiments() + " experiments, " + parallel + " at a time...");
+		List<String> lines = new ArrayList<>();
+		lines.add(Sweep.Result.toCsvHeader());
+		for (Sweep.Result result : sweep.run(parallel))
+			lines.add(result.toString());
+		Files.write(Paths.get(outputFile), lines, StandardCharsets.UTF_8);
+		System.out.println("Results written to " + outputFile);
+		System.exit(0);
+	}
+
+	/**
+	 * Parses a comma-separated list of seeds and ranges of seeds (like
+	 * "1,2,10-20").
+	 */
+	static List<Long> parseSeeds(String seeds) {
+		List<Long> result = new ArrayList<>();
+		for (String item : seeds.split(",")) {
+			String[] range = item.trim().split("-");
+			long first = Long.parseLong(range[0].trim());
+			long last = (range.length == 1) ? first : Long.parseLong(range[1].trim());
+			for (long seed = first; seed <= last; seed++)
+				result.add(seed);
+		}
+		return result;
+	}
+
+	/**
+	 * Turns the path of a configuration file into a name that can go into the
+	 * id of an experiment (like "fast" for "configs/fast.yaml").
+	 */
+	static String toConfigurationName(String configurationFile) {
+		String result = new File(configurationFile.trim()).getName();
+		if (result.contains("."))
+			result = result.substring(0, result.lastIndexOf('.'));
+		return result.replaceAll("[^A-Za-z0-9_]", "_");
+	}
+
+	private static List<String> readDna(String fileName) throws IOException {
+		return Files.readAllLines(Paths.get(fileName), StandardCharsets.UTF_8).stream()
+				.map(String::trim)
+				.filter((line) -> !line.isEmpty())
+				.collect(Collectors.toList());
+	}
+
+	private static void printHelpText(Options commandLineOptions) {
+		new HelpFormatter().printHelp("sweep -e <seeds> <options>", commandLineOptions);
+	}
+}
@@ -0,0 +1,38 @@
+package org.nusco.narjillos.application;
+
+import java.io.File;
+
+import org.nusco.narjillos.core.utilities.Configuration;
+
+/**
+ * Loads the configuration for the programs. If the configuration is broken,
+ * it prints the error and quits.
+ */
+public class ConfigurationLoader {
+
+	public static Configuration loadDefault() {
+		try {
+			return Configuration.DEFAULT;
+		} catch (ExceptionInInitializerError e) {
+			return exit(e.getCause());
+		}
+	}
+
+	/**
+	 * Returns a copy of the configuration with the values in a file (see
+	 * Configuration.with(File)).
+	 */
+	public static Configuration load(Configuration configuration, File file) {
+		try {
+			return configuration.with(file);
+		} catch (IllegalArgumentException e) {
+			return exit(e);
+		}
+	}
+
+	private static Configuration exit(Throwable error) {
+		System.out.println("Error: " + error.getMessage());
+		System.exit(1);
+		return null;
+	}
+}
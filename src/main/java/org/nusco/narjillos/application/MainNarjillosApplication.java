@@ -19,7 +19,6 @@ import org.nusco.narjillos.application.views.MicroscopeView;
 import org.nusco.narjillos.application.views.StatusBarView;
 import org.nusco.narjillos.core.physics.Vector;
 import org.nusco.narjillos.core.utilities.Chronometer;
-import org.nusco.narjillos.core.utilities.Configuration;
 
 /**
  * The main JavaFX Application class. It binds model and view together, and also
@@ -58,7 +57,7 @@ public class MainNarjillosApplication extends NarjillosApplication {
 					System.exit(1);
 
 				String applicationVersion = Version.read();
-				setDish(new PetriDish(applicationVersion, options, Configuration.ECOSYSTEM_BLOCKS_PER_EDGE_IN_APP * 1000));
+				setDish(new PetriDish(applicationVersion, options, ConfigurationLoader.loadDefault().ecosystemBlocksPerEdgeInApp * 1000));
 
 				isModelInitialized[0] = true;
 
@@ -21,6 +21,7 @@ import org.nusco.narjillos.core.physics.Vector;
 import org.nusco.narjillos.creature.Narjillo;
 import org.nusco.narjillos.experiment.environment.Ecosystem;
 import org.nusco.narjillos.experiment.environment.Environment;
+import org.nusco.narjillos.experiment.environment.Frame;
 
 abstract class NarjillosApplication extends Application {
 
@@ -198,10 +199,12 @@ abstract class NarjillosApplication extends Application {
 	}
 
 	protected String getEnvironmentStatistics() {
-		Environment environment = getDish().getEnvironment();
-		return "Narj: " + environment.getNumberOfNarjillos()
-				+ " / Eggs: " + environment.getNumberOfEggs()
-				+ " / Food: " + environment.getNumberOfFoodPellets();
+		Frame frame = getDish().getEnvironment().getLatestFrame();
+		if (frame == null)
+			return "";
+		return "Narj: " + frame.getNumberOfNarjillos()
+				+ " / Eggs: " + frame.getNumberOfEggs()
+				+ " / Food: " + frame.getNumberOfFoodPellets();
 	}
 
 	protected boolean isBusy() {
@@ -20,7 +20,7 @@ import org.nusco.narjillos.persistence.VolatileHistoryLog;
  */
 public class PetriDish implements Dish {
 
-	private static boolean persistent = false;
+	private final boolean persistent;
 	private final Experiment experiment;
 	private final ExperimentLog experimentLog;
 	private volatile boolean isSaving = false;
@@ -76,7 +76,7 @@ public class PetriDish implements Dish {
 	}
 
 	private Experiment createExperiment(String applicationVersion, CommandLineOptions options, int size) {
-		Ecosystem ecosystem = new Ecosystem(size, true);
+		Ecosystem ecosystem = new Ecosystem(size);
 		String dna = options.getDna();
 
 		Experiment experiment;
@@ -126,7 +126,7 @@ public class PetriDish implements Dish {
 
 	private void executePeriodOperations() {
 		long ticks = experiment.getTicksChronometer().getTotalTicks();
-		if (ticks % Configuration.EXPERIMENT_SAMPLE_INTERVAL_TICKS != 0)
+		if (ticks % experiment.getConfiguration().experimentSampleIntervalTicks != 0)
 			return;
 
 		experiment.saveHistoryEntry();
@@ -134,7 +134,7 @@ public class PetriDish implements Dish {
 		
 		if (persistent) {
 			double secondsSinceLastSave = (System.currentTimeMillis() - lastSaveTime) / 1000.0;
-			if (secondsSinceLastSave > Configuration.EXPERIMENT_SAVE_INTERVAL_SECONDS) {
+			if (secondsSinceLastSave > experiment.getConfiguration().experimentSaveIntervalSeconds) {
 				save();
 				lastSaveTime = System.currentTimeMillis();
 				// only exit after saving in case of extinction
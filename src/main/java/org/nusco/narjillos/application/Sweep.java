@@ -0,0 +1,195 @@
+package org.nusco.narjillos.application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.experiment.Experiment;
+import org.nusco.narjillos.experiment.ExperimentHistoryEntry;
+import org.nusco.narjillos.experiment.environment.Ecosystem;
+import org.nusco.narjillos.genomics.GenePool;
+import org.nusco.narjillos.persistence.ExperimentLog;
+import org.nusco.narjillos.persistence.PersistentDNALog;
+import org.nusco.narjillos.persistence.PersistentHistoryLog;
+import org.nusco.narjillos.persistence.VolatileDNALog;
+import org.nusco.narjillos.persistence.VolatileHistoryLog;
+
+/**
+ * Runs many experiments at the same time in the same JVM, and collects the
+ * final statistics of each experiment.
+ *
+ * Each experiment runs from start to end on a thread of its own (its NumGen
+ * insists on that), but the heavy lifting happens in a pool of tick workers
+ * that all the ecosystems share. So we don't end up with more busy threads
+ * than cores, however many experiments we run.
+ */
+public class Sweep {
+
+	private final String version;
+	private final long ticksPerExperiment;
+	private final boolean persistent;
+	private final List<Variant> variants = new ArrayList<>();
+
+	public Sweep(String version, long ticksPerExperiment, boolean persistent) {
+		this.version = version;
+		this.ticksPerExperiment = ticksPerExperiment;
+		this.persistent = persistent;
+	}
+
+	/**
+	 * Adds an experiment that starts with random DNA.
+	 */
+	public void addExperiment(long seed) {
+		addExperiment(seed, null, null);
+	}
+
+	/**
+	 * Adds an experiment that starts with the given DNA. The name of the DNA
+	 * ends up in the id of the experiment, so that experiments with the same
+	 * seed and different DNA don't overwrite each other's files.
+	 */
+	public void addExperiment(long seed, String dna, String dnaName) {
+		addExperiment(seed, dna, dnaName, Configuration.DEFAULT, null);
+	}
+
+	/**
+	 * Adds an experiment that runs with the given Configuration (including
+	 * the size of its dish), and starts
+	 * with the given DNA (or random DNA if the DNA is null). Like the name of
+	 * the DNA, the name of the Configuration ends up in the id of the
+	 * experiment.
+	 */
+	public void addExperiment(long seed, String dna, String dnaName, Configuration configuration, String configurationName) {
+		variants.add(new Variant(seed, dna, dnaName, configuration, configurationName));
+	}
+
+	public int getNumberOfExperiments() {
+		return variants.size();
+	}
+
+	/**
+	 * Runs all the experiments, a few at a time.
+	 *
+	 * @return The results, in the same order as the experiments were added.
+	 */
+	public List<Result> run(int experimentsAtATime) {
+		ForkJoinPool tickWorkers = Ecosystem.createTickWorkers(Ecosystem.numberOfBackgroundThreads);
+		ExecutorService experimentRunners = Executors.newFixedThreadPool(experimentsAtATime);
+		try {
+			List<Future<Result>> futureResults = new ArrayList<>();
+			for (Variant variant : variants)
+				futureResults.add(experimentRunners.submit(() -> run(variant, tickWorkers)));
+
+			List<Result> result = new ArrayList<>();
+			for (Future<Result> futureResult : futureResults)
+				result.add(futureResult.get());
+			return result;
+		} catch (InterruptedException | ExecutionException e) {
+			throw new RuntimeException(e);
+		} finally {
+			experimentRunners.shutdownNow();
+			tickWorkers.shutdown();
+		}
+	}
+
+	private Result run(Variant variant, ForkJoinPool tickWorkers) {
+		long dishSize = variant.configuration.ecosystemBlocksPerEdgeInExperiment * 1000L;
+		Ecosystem ecosystem = new Ecosystem(dishSize, variant.configuration, tickWorkers);
+		String experimentVersion = version;
+		if (variant.dnaName != null)
+			experimentVersion += "-" + variant.dnaName;
+		if (variant.configurationName != null)
+			experimentVersion += "-" + variant.configurationName;
+		Experiment experiment = new Experiment(variant.seed, ecosystem, experimentVersion);
+
+		if (persistent) {
+			experiment.setGenePool(new GenePool(new PersistentDNALog(experiment.getId())));
+			experiment.setHistoryLog(new PersistentHistoryLog(experiment.getId()));
+		} else {
+			experiment.setGenePool(new GenePool(new VolatileDNALog()));
+			experiment.setHistoryLog(new VolatileHistoryLog());
+		}
+
+		if (variant.dna == null)
+			experiment.populate();
+		else
+			experiment.populate(variant.dna);
+
+		long ticks = 0;
+		while (ticks < ticksPerExperiment && experiment.thereAreSurvivors()) {
+			if (ticks % variant.configuration.experimentSampleIntervalTicks == 0)
+				experiment.saveHistoryEntry();
+			experiment.tick();
+			ticks++;
+		}
+		experiment.saveHistoryEntry();
+
+		Result result = new Result(experiment.getId(), variant, experiment.thereAreSurvivors(), new ExperimentHistoryEntry(experiment));
+
+		if (persistent) {
+			ExperimentLog experimentLog = new ExperimentLog(experiment.getId());
+			experimentLog.save(experiment);
+			experimentLog.close();
+		}
+		experiment.terminate();
+
+		return result;
+	}
+
+	private static class Variant {
+
+		final long seed;
+		final String dna;
+		final String dnaName;
+		final Configuration configuration;
+		final String configurationName;
+
+		Variant(long seed, String dna, String dnaName, Configuration configuration, String configurationName) {
+			this.seed = seed;
+			this.dna = dna;
+			this.dnaName = dnaName;
+			this.configuration = configuration;
+			this.configurationName = configurationName;
+		}
+	}
+
+	/**
+	 * The outcome of one experiment in a sweep.
+	 */
+	public static class Result {
+
+		public final String experimentId;
+		public final long seed;
+		public final String dnaName;
+		public final String configurationName;
+		public final boolean survived;
+		public final ExperimentHistoryEntry finalEntry;
+
+		Result(String experimentId, Variant variant, boolean survived, ExperimentHistoryEntry finalEntry) {
+			this.experimentId = experimentId;
+			this.seed = variant.seed;
+			this.dnaName = (variant.dnaName == null) ? "random" : variant.dnaName;
+			this.configurationName = (variant.configurationName == null) ? "default" : variant.configurationName;
+			this.survived = survived;
+			this.finalEntry = finalEntry;
+		}
+
+		public static String toCsvHeader() {
+			return "experiment, seed, dna, configuration, outcome, " +
+					"ticks, runningTime, " +
+					"numberOfNarjillos, numberOfFoodPellets, dnaPoolSize, " +
+					"oxygen, hydrogen, nitrogen, " +
+					"o2h, o2n, h2o, h2n, n2o, n2h, z2o, z2h, z2n";
+		}
+
+		@Override
+		public String toString() {
+			return experimentId + ", " + seed + ", " + dnaName + ", " + configurationName + ", " + (survived ? "survived" : "extinct") + ", " + finalEntry;
+		}
+	}
+}
@@ -16,6 +16,12 @@ public class Locator {
 
 	private static final double DEFAULT_RADIUS = 100D;
 
+	// Things are indexed by their position, but we look for them around
+	// their center. The two are within a radius of each other, so we need
+	// to look within two radii of the searched position. This assumes that
+	// no thing is larger than this.
+	private static final double MAX_THING_RADIUS = 1000D;
+
 	private final Environment environment;
 
 	public Locator(Environment environment) {
@@ -95,7 +101,8 @@ public class Locator {
 		Thing result = null;
 		double minDistance = Double.MAX_VALUE;
 
-		for (Thing thing : environment.getThings(label)) {
+		double searchRadius = 2 * Math.max(thingMinRadius, MAX_THING_RADIUS);
+		for (Thing thing : environment.getThingsAround(position, searchRadius, label)) {
 			double distance = thing.getCenter().minus(position).getLength();
 			double radius = Math.max(thing.getRadius(), thingMinRadius);
 
@@ -3,6 +3,7 @@ package org.nusco.narjillos.application.utilities;
 import org.nusco.narjillos.core.physics.Vector;
 import org.nusco.narjillos.core.things.Thing;
 import org.nusco.narjillos.experiment.environment.Environment;
+import org.nusco.narjillos.experiment.environment.Frame;
 
 /**
  * A Viewport is a zoomable, rectangular view over an ecosystem.
@@ -19,6 +20,7 @@ public class Viewport {
 	static final double[] ZOOM_CLOSEUP_LEVELS = new double[] { 0.15, 0.6 };
 	private static final double ZOOM_VELOCITY = 1.03;
 
+	private final Environment environment;
 	private final double ecosystemSizeEC;
 	private Vector sizeSC;
 	private Vector centerEC;
@@ -31,6 +33,7 @@ public class Viewport {
 	final double minZoomLevel;
 	
 	public Viewport(Environment ecosystem) {
+		this.environment = ecosystem;
 		this.ecosystemSizeEC = ecosystem.getSize();
 		setCenterEC(getEcosystemCenterEC());
 
@@ -131,7 +134,7 @@ public class Viewport {
 	}
 
 	public void centerOn(Thing target) {
-		targetCenterEC = target.getCenter();
+		targetCenterEC = getCenterOf(target);
 	}
 	
 	public void centerAndZoomOn(Thing target) {
@@ -139,6 +142,16 @@ public class Viewport {
 		targetZoomLevel = Math.min(getMaxZoomLevel(), getZoomToFitLevel(target.getRadius()));
 	}
 
+	// If we can, we read the position from the latest frame rather than
+	// from the thing itself, that might be in the middle of a tick.
+	private Vector getCenterOf(Thing target) {
+		Frame frame = environment.getLatestFrame();
+		int index = (frame == null) ? -1 : frame.indexOf(target);
+		if (index == -1)
+			return target.getCenter();
+		return frame.getCenterOfMass(index);
+	}
+
 	public void zoomToNextLevel() {
 		targetZoomLevel = nextZoomCloseupLevel();
 	}
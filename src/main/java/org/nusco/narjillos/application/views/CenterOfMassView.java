@@ -4,24 +4,23 @@ import javafx.scene.Node;
 import javafx.scene.paint.Color;
 
 import org.nusco.narjillos.core.physics.Vector;
-import org.nusco.narjillos.creature.Narjillo;
 
 /**
  * Only used for debugging.
  */
 class CenterOfMassView extends RoundObjectView {
 
-	private final Narjillo narjillo;
+	private final NarjilloView narjilloView;
 
-	public CenterOfMassView(Narjillo narjillo) {
+	public CenterOfMassView(NarjilloView narjilloView) {
 		super(6);
-		this.narjillo = narjillo;
+		this.narjilloView = narjilloView;
 		getShape().setFill(Color.BLACK);
 	}
 
 	@Override
 	public Node toNode(double zoomLevel, boolean infraredOn, boolean effectsOn) {
-		Vector position = narjillo.getCenterOfMass();
+		Vector position = narjilloView.getFrame().getCenterOfMass(narjilloView.getIndex());
 		moveTo(position);
 		return getShape();
 	}
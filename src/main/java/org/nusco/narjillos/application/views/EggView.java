@@ -8,8 +8,8 @@ import javafx.scene.transform.Translate;
 import org.nusco.narjillos.application.utilities.Viewport;
 import org.nusco.narjillos.core.physics.Angle;
 import org.nusco.narjillos.core.physics.FastMath;
-import org.nusco.narjillos.core.utilities.Configuration;
-import org.nusco.narjillos.creature.Egg;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.experiment.environment.Frame;
 
 class EggView extends ThingView {
 
@@ -18,12 +18,14 @@ class EggView extends ThingView {
 	private static final double BLOBBING_SPEED = 3;
 	
 	private final Ellipse shape;
+	private final double radius;
 	
 	private double waveAngle = Math.random() * 360;
 	
-	public EggView(Egg egg) {
-		super(egg);
-		shape = new Ellipse(Configuration.EGG_RADIUS, Configuration.EGG_RADIUS);
+	public EggView(Frame frame, int index) {
+		super(frame, index);
+		radius = getThing().getRadius();
+		shape = new Ellipse(radius, radius);
 	}
 
 	public Node toNode(double zoomLevel, boolean infraredOn, boolean effectsOn) {
@@ -31,8 +33,8 @@ class EggView extends ThingView {
 			return null;
 
 		waveAngle = Angle.normalize(waveAngle + BLOBBING_SPEED);
-		shape.setRadiusX(Math.min(getEgg().getAge(), Configuration.EGG_RADIUS + RADIUS_VARIATION * FastMath.sin(waveAngle)));
-		shape.setRadiusY(Math.min(getEgg().getAge(), Configuration.EGG_RADIUS + RADIUS_VARIATION * FastMath.cos(waveAngle)));
+		shape.setRadiusX(Math.min(getFrame().getAge(getIndex()), radius + RADIUS_VARIATION * FastMath.sin(waveAngle)));
+		shape.setRadiusY(Math.min(getFrame().getAge(getIndex()), radius + RADIUS_VARIATION * FastMath.cos(waveAngle)));
 
 		shape.setFill(getFillColor(infraredOn));
 
@@ -40,7 +42,8 @@ class EggView extends ThingView {
 			shape.setEffect(getEffects(zoomLevel, infraredOn));
 
 		shape.getTransforms().clear();
-		Translate translation = new Translate(getThing().getPosition().x, getThing().getPosition().y);
+		Vector position = getPosition();
+		Translate translation = new Translate(position.x, position.y);
 		shape.getTransforms().add(translation);
 		
 		return shape;
@@ -52,15 +55,11 @@ class EggView extends ThingView {
 	}
 
 	private double getOpacity() {
-		return 1 - getEgg().getDecay();
-	}
-
-	private Egg getEgg() {
-		return (Egg) getThing();
+		return 1 - getFrame().getDecay(getIndex());
 	}
 
 	@Override
 	public boolean isVisible(Viewport viewport) {
-		return viewport.isVisible(getThing().getPosition(), Configuration.EGG_RADIUS + RADIUS_VARIATION);
+		return viewport.isVisible(getPosition(), radius + RADIUS_VARIATION);
 	}
 }
\ No newline at end of file
@@ -1,8 +1,6 @@
 package org.nusco.narjillos.application.views;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -28,15 +26,16 @@ import org.nusco.narjillos.core.physics.Segment;
 import org.nusco.narjillos.core.things.Thing;
 import org.nusco.narjillos.core.utilities.VisualDebugger;
 import org.nusco.narjillos.experiment.environment.Environment;
-import org.nusco.narjillos.experiment.environment.EnvironmentEventListener;
+import org.nusco.narjillos.experiment.environment.Frame;
 
 public class EnvirommentView {
 
 	static final Color BACKGROUND_COLOR = Color.ANTIQUEWHITE;
 	static final Paint INFRARED_BACKGROUND_COLOR = Color.DARKGRAY.darker();
 	
+	private final Environment environment;
 	private final Viewport viewport;
-	private final Map<Thing, ThingView> thingsToViews = new LinkedHashMap<>();
+	private Map<Thing, ThingView> thingsToViews = new HashMap<>();
 	private final AppState viewState;
 	private final SpecklesView specklesView;
 	private final Shape emptySpace;
@@ -44,6 +43,7 @@ public class EnvirommentView {
 	private final Shape darkness;
 
 	public EnvirommentView(Environment environment, Viewport viewport, AppState state) {
+		this.environment = environment;
 		this.viewport = viewport;
 		this.viewState = state;
 
@@ -59,20 +59,9 @@ public class EnvirommentView {
 
 		specklesView = new SpecklesView(viewport, size);
 
-		for (Thing thing : environment.getThings(""))
-			addThingView(thing);
-
-		environment.addEventListener(new EnvironmentEventListener() {
-			@Override
-			public void added(Thing thing) {
-				addThingView(thing);
-			}
-
-			@Override
-			public void removed(Thing thing) {
-				removeThingView(thing);
-			}
-		});
+		// Instead of looking at the things while they're being ticked, we
+		// draw the frames that the environment captures after each tick.
+		environment.startCapturingFrames();
 	}
 
 	public Node toNode() {
@@ -145,39 +134,47 @@ public class EnvirommentView {
 
 	private List<Node> getNodesForThingsInOrder(boolean infraredOn, boolean effectsOn) {
 		List<Node> result = new LinkedList<>();
-		addNodesFor("food_pellet", result, infraredOn, effectsOn);
-		addNodesFor("narjillo", result, infraredOn, effectsOn);
-		addNodesFor("egg", result, infraredOn, effectsOn);
+		Frame frame = environment.getLatestFrame();
+		if (frame == null)
+			return result; // nothing to see yet
+
+		updateThingViews(frame);
+		addNodesFor("food_pellet", frame, result, infraredOn, effectsOn);
+		addNodesFor("narjillo", frame, result, infraredOn, effectsOn);
+		addNodesFor("egg", frame, result, infraredOn, effectsOn);
 		return result;
 	}
 
-	private void addNodesFor(String thingLabel, List<Node> result, boolean infraredOn, boolean effectsOn) {
-		for (ThingView view : getThingViews()) {
-			if (view.getThing().getLabel().equals(thingLabel)) {
-				Node node = view.toNode(viewport, infraredOn, effectsOn);
+	private void addNodesFor(String thingLabel, Frame frame, List<Node> result, boolean infraredOn, boolean effectsOn) {
+		for (int i = 0; i < frame.size(); i++) {
+			Thing thing = frame.getThing(i);
+			if (thing.getLabel().equals(thingLabel)) {
+				Node node = thingsToViews.get(thing).toNode(viewport, frame, i, infraredOn, effectsOn);
 				if (node != null)
 					result.add(node);
 			}
 		}
 	}
 
+	// Keeps the views of the things that are still in the frame, creates
+	// views for the new things, and forgets the rest.
+	private void updateThingViews(Frame frame) {
+		Map<Thing, ThingView> newThingsToViews = new HashMap<>();
+		for (int i = 0; i < frame.size(); i++) {
+			Thing thing = frame.getThing(i);
+			ThingView view = thingsToViews.get(thing);
+			if (view == null)
+				view = ThingView.createViewFor(frame, i);
+			newThingsToViews.put(thing, view);
+		}
+		thingsToViews = newThingsToViews;
+	}
+
 	private Effect getBlurEffect(double zoomLevel) {
 		int blurAmount = Math.min((int) (15 * (zoomLevel - 0.7)), 10);
 		return new BoxBlur(blurAmount, blurAmount, 1);
 	}
 
-	private synchronized Collection<ThingView> getThingViews() {
-		return new HashSet<ThingView>(thingsToViews.values());
-	}
-
-	private synchronized ThingView addThingView(Thing thing) {
-		return thingsToViews.put(thing, ThingView.createViewFor(thing));
-	}
-
-	private synchronized void removeThingView(Thing thing) {
-		thingsToViews.remove(thing);
-	}
-
 	public void tick() {
 		viewport.tick();
 	}
@@ -12,12 +12,13 @@ import org.nusco.narjillos.core.physics.Vector;
 import org.nusco.narjillos.core.physics.ZeroVectorAngleException;
 import org.nusco.narjillos.creature.Narjillo;
 import org.nusco.narjillos.creature.body.Fiber;
+import org.nusco.narjillos.experiment.environment.Frame;
 
 class EyesView implements ItemView {
 
 	private static final double MINIMUM_ZOOM_LEVEL = 0.15;
 
-	private final Narjillo narjillo;
+	private final NarjilloView narjilloView;
 	private final Circle eye1;
 	private final Circle eye2;
 	private final Circle pupil1;
@@ -31,8 +32,12 @@ class EyesView implements ItemView {
 	private final double eyeGreen;
 	private final double eyeBlue;
 
-	public EyesView(Narjillo narjillo) {
-		this.narjillo = narjillo;
+	public EyesView(NarjilloView narjilloView) {
+		this.narjilloView = narjilloView;
+
+		// The fiber and the body's qualities never change, so we can read
+		// them from the narjillo itself.
+		Narjillo narjillo = narjilloView.getNarjillo();
 
 		Fiber fiber = narjillo.getBody().getHead().getFiber();
 		this.eyeRed = fiber.getPercentOfRed();
@@ -70,7 +75,7 @@ class EyesView implements ItemView {
 		group.getChildren().add(eye1);
 		group.getChildren().add(eye2);
 
-		double eyesDirection = narjillo.getBody().getHead().getAbsoluteAngle() + 90;
+		double eyesDirection = getFrame().getHeadAngle(getIndex()) + 90;
 
 		Color pupilColor = toPupilColor(zoomLevel);
 		pupil1.setFill(pupilColor);
@@ -78,7 +83,7 @@ class EyesView implements ItemView {
 
 		double pupilDirection;
 		try {
-			pupilDirection = narjillo.getMouth().getDirection().getAngle() - eyesDirection - 90;
+			pupilDirection = getFrame().getMouthDirection(getIndex()).getAngle() - eyesDirection - 90;
 		} catch (ZeroVectorAngleException e) {
 			pupilDirection = 0;
 		}
@@ -95,7 +100,7 @@ class EyesView implements ItemView {
 		group.getChildren().add(pupil2);
 		
 		group.getTransforms().clear();
-		Vector position = narjillo.getPosition();
+		Vector position = narjilloView.getPosition();
 		group.getTransforms().add(new Translate(position.x, position.y));
 		group.getTransforms().add(new Rotate(eyesDirection));
 		
@@ -105,7 +110,7 @@ class EyesView implements ItemView {
 	@Override
 	public boolean isVisible(Viewport viewport) {
 		double margin = Math.max(eye1.getRadius() *2, eye2.getRadius() * 2);
-		return viewport.isVisible(narjillo.getPosition(), margin);
+		return viewport.isVisible(narjilloView.getPosition(), margin);
 	}
 
 	private Color toEyeColor(double zoomLevel, boolean infraredOn) {
@@ -119,10 +124,10 @@ class EyesView implements ItemView {
 	}
 
 	private double getEnergyAlpha(double zoomLevel) {
-		double maxEnergy = narjillo.getEnergy().getMaximumValue();
+		double maxEnergy = getFrame().getMaxEnergy(getIndex());
 		if (maxEnergy <= 0)
 			return 0;
-		return narjillo.getEnergy().getValue() * 3 / maxEnergy;
+		return getFrame().getEnergy(getIndex()) * 3 / maxEnergy;
 	}
 
 	private double getZoomAlpha(double zoomLevel) {
@@ -132,4 +137,12 @@ class EyesView implements ItemView {
 	private double clipToRange(double result, double min, double max) {
 		return Math.max(min, Math.min(max, result));
 	}
+
+	private Frame getFrame() {
+		return narjilloView.getFrame();
+	}
+
+	private int getIndex() {
+		return narjilloView.getIndex();
+	}
 }
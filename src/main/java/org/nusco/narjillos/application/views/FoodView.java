@@ -4,8 +4,7 @@ import javafx.scene.Node;
 import javafx.scene.paint.Color;
 
 import org.nusco.narjillos.application.utilities.Viewport;
-import org.nusco.narjillos.core.things.FoodPellet;
-import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.experiment.environment.Frame;
 
 class FoodView extends ThingView {
 
@@ -13,10 +12,10 @@ class FoodView extends ThingView {
 
 	private final RoundObjectView roundObjectView;
 	
-	public FoodView(FoodPellet food) {
-		super(food);
+	public FoodView(Frame frame, int index) {
+		super(frame, index);
 		
-		roundObjectView = new RoundObjectView(Configuration.FOOD_RADIUS) {
+		roundObjectView = new RoundObjectView(getThing().getRadius()) {
 			@Override
 			public Node toNode(double zoomLevel, boolean infraredOn, boolean effectsOn) {
 				if (zoomLevel < MINIMUM_ZOOM_LEVEL)
@@ -43,7 +42,7 @@ class FoodView extends ThingView {
 				return Color.BROWN;
 			}
 		};
-		roundObjectView.moveTo(food.getPosition());
+		roundObjectView.moveTo(getPosition());
 	}
 
 	@Override
@@ -11,7 +11,7 @@ import org.nusco.narjillos.application.utilities.Viewport;
 import org.nusco.narjillos.core.physics.FastMath;
 import org.nusco.narjillos.core.physics.Vector;
 import org.nusco.narjillos.core.physics.ZeroVectorAngleException;
-import org.nusco.narjillos.creature.Narjillo;
+import org.nusco.narjillos.experiment.environment.Frame;
 
 class MouthView implements ItemView {
 
@@ -20,12 +20,12 @@ class MouthView implements ItemView {
 	private static final int LINE_LENGTH = 30;
 	private static final int MAX_LINE_ANGLE = 25;
 
-	private final Narjillo narjillo;
+	private final NarjilloView narjilloView;
 	private final Group group = new Group();
 	private final Line[] lines = new Line[NUMBER_OF_LINES];
 	
-	public MouthView(Narjillo narjillo) {
-		this.narjillo = narjillo;
+	public MouthView(NarjilloView narjilloView) {
+		this.narjilloView = narjilloView;
 		
 		for (int i = 0; i < lines.length; i++) {
 			lines[i] = createLine();
@@ -44,7 +44,7 @@ class MouthView implements ItemView {
 			rotateLine(i);
 		}
 		
-		Vector position = getNarjillo().getPosition();
+		Vector position = narjilloView.getPosition();
 		group.getTransforms().clear();
 		group.getTransforms().add(new Translate(position.x, position.y));
 		
@@ -53,12 +53,12 @@ class MouthView implements ItemView {
 
 	@Override
 	public boolean isVisible(Viewport viewport) {
-		return viewport.isVisible(getNarjillo().getPosition(), LINE_LENGTH);
+		return viewport.isVisible(narjilloView.getPosition(), LINE_LENGTH);
 	}
 	
 	private void rotateLine(int index) {
 		double lineLag = (360 / (lines.length + 1) * index) % 360;
-		double lineAngle = FastMath.sin(getNarjillo().getBrainWaveAngle() - lineLag) * MAX_LINE_ANGLE;
+		double lineAngle = FastMath.sin(getFrame().getBrainWaveAngle(narjilloView.getIndex()) - lineLag) * MAX_LINE_ANGLE;
 		lines[index].getTransforms().clear();
 		lines[index].getTransforms().add(new Rotate(getMouthAngle() + lineAngle));
 	}
@@ -78,7 +78,7 @@ class MouthView implements ItemView {
 	private double getOpacityBasedOnAge() {
 		final double AGE_OF_FULL_OPACITY = 100;
 
-		long age = getNarjillo().getAge();
+		long age = getFrame().getAge(narjilloView.getIndex());
 		if (age > AGE_OF_FULL_OPACITY)
 			return 1;
 		
@@ -87,7 +87,7 @@ class MouthView implements ItemView {
 	
 	private double getMouthAngle() {
 		try {
-			return getNarjillo().getMouth().getDirection().getAngle();
+			return getFrame().getMouthDirection(narjilloView.getIndex()).getAngle();
 		} catch (ZeroVectorAngleException e) {
 			return 0;
 		}
@@ -99,7 +99,7 @@ class MouthView implements ItemView {
 		return result;
 	}
 
-	private Narjillo getNarjillo() {
-		return narjillo;
+	private Frame getFrame() {
+		return narjilloView.getFrame();
 	}
 }
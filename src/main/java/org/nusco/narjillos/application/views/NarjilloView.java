@@ -10,6 +10,7 @@ import org.nusco.narjillos.application.utilities.Viewport;
 import org.nusco.narjillos.core.utilities.VisualDebugger;
 import org.nusco.narjillos.creature.Narjillo;
 import org.nusco.narjillos.creature.body.ConnectedOrgan;
+import org.nusco.narjillos.experiment.environment.Frame;
 
 class NarjilloView extends ThingView {
 	
@@ -19,12 +20,12 @@ class NarjilloView extends ThingView {
 	private final ItemView eyes;
 	private final CenterOfMassView centerOfMass;
 
-	public NarjilloView(Narjillo narjillo) {
-		super(narjillo);
+	public NarjilloView(Frame frame, int index) {
+		super(frame, index);
 		organs = createOrganViews();
-		mouth = new MouthView(narjillo);
-		eyes = new EyesView(narjillo);
-		centerOfMass = new CenterOfMassView(narjillo);
+		mouth = new MouthView(this);
+		eyes = new EyesView(this);
+		centerOfMass = new CenterOfMassView(this);
 	}
 
 	@Override
@@ -62,12 +63,13 @@ class NarjilloView extends ThingView {
 
 	private List<OrganView> createOrganViews() {
 		List<OrganView> result = new LinkedList<>();
-		for (ConnectedOrgan bodyPart : getNarjillo().getOrgans())
-			result.add(new OrganView(bodyPart, getNarjillo()));
+		List<ConnectedOrgan> bodyParts = getNarjillo().getOrgans();
+		for (int i = 0; i < bodyParts.size(); i++)
+			result.add(new OrganView(bodyParts.get(i), i, this));
 		return result;
 	}
 
-	private Narjillo getNarjillo() {
+	Narjillo getNarjillo() {
 		return (Narjillo)getThing();
 	}
 
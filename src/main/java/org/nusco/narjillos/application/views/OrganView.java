@@ -15,9 +15,9 @@ import org.nusco.narjillos.application.utilities.Viewport;
 import org.nusco.narjillos.core.physics.Segment;
 import org.nusco.narjillos.core.physics.Vector;
 import org.nusco.narjillos.core.physics.ZeroVectorAngleException;
-import org.nusco.narjillos.creature.Narjillo;
 import org.nusco.narjillos.creature.body.ConnectedOrgan;
 import org.nusco.narjillos.creature.body.Fiber;
+import org.nusco.narjillos.experiment.environment.Frame;
 
 public class OrganView implements ItemView {
 
@@ -34,8 +34,9 @@ public class OrganView implements ItemView {
 	private static final int MOTION_BLUR_THRESHOLD = 10;
 	private static final int MOTION_BLUR_INTENSITY = 2;
 
-	private final Narjillo narjillo;
+	private final NarjilloView narjilloView;
 	private final ConnectedOrgan organ;
+	private final int organIndex;
 	private final Color baseColor;
 
 	private final Rectangle segment;
@@ -45,9 +46,10 @@ public class OrganView implements ItemView {
 
 	private Segment previousOrganPosition;
 
-	public OrganView(ConnectedOrgan organ, Narjillo narjillo) {
+	public OrganView(ConnectedOrgan organ, int organIndex, NarjilloView narjilloView) {
 		this.organ = organ;
-		this.narjillo = narjillo;
+		this.organIndex = organIndex;
+		this.narjilloView = narjilloView;
 
 		baseColor = toRGBColor(this.organ.getFiber());
 
@@ -59,7 +61,7 @@ public class OrganView implements ItemView {
 		else
 			joint = null;
 		
-		previousOrganPosition = this.organ.getPositionInSpace();
+		previousOrganPosition = getPositionInSpace();
 	}
 
 	@Override
@@ -77,7 +79,7 @@ public class OrganView implements ItemView {
 		addStroke(shape, infraredOn, alpha, zoomLevel);
 		addMotionBlurEffect(shape, zoomLevel, effectsOn);
 
-		previousOrganPosition = organ.getPositionInSpace();
+		previousOrganPosition = getPositionInSpace();
 
 		return shape;
 	}
@@ -87,11 +89,11 @@ public class OrganView implements ItemView {
 		double margin = Math.max(segment.getWidth() / 2 + getOverlap(), segment.getHeight() / 2);
 		if (joint != null)
 			margin = margin + joint.getRadius();  // worst case
-		return viewport.isVisible(organ.getCenterOfMass(), margin);
+		return viewport.isVisible(getCenterOfMass(), margin);
 	}
 
 	private Rectangle createSegment() {
-		Rectangle result = new Rectangle(0, 0, organ.getLength() + getOverlap() * 2, organ.getThickness());
+		Rectangle result = new Rectangle(0, 0, getLength() + getOverlap() * 2, getThickness());
 		
 		double arc = (organ.getAdultLength() * organ.getAdultThickness()) % 15 + 15;
 		result.setArcWidth(arc);
@@ -101,7 +103,7 @@ public class OrganView implements ItemView {
 	}
 
 	private double getOverlap() {
-		return Math.min(organ.getThickness() / 2, MAX_OVERLAP);
+		return Math.min(getThickness() / 2, MAX_OVERLAP);
 	}
 
 	private boolean shouldHaveAJoint() {
@@ -120,27 +122,27 @@ public class OrganView implements ItemView {
 
 	private Shape getShape(double zoomLevel, boolean effectsOn) {
 
-		segment.setWidth(organ.getLength() + getOverlap() * 2);
-		segment.setHeight(organ.getThickness());
+		segment.setWidth(getLength() + getOverlap() * 2);
+		segment.setHeight(getThickness());
 		
 		segment.getTransforms().clear();
 		// overlap slightly and shift to center based on thickness
-		double widthCenter = organ.getThickness() / 2;
+		double widthCenter = getThickness() / 2;
 		segment.getTransforms().add(moveToStartPoint());
 		segment.getTransforms().add(new Translate(-getOverlap(), -widthCenter));
-		segment.getTransforms().add(new Rotate(organ.getAbsoluteAngle(), getOverlap(), widthCenter));
+		segment.getTransforms().add(new Rotate(getAbsoluteAngle(), getOverlap(), widthCenter));
 
 		boolean isHighDetail = hasJoint && zoomLevel >= VERY_HIGH_MAGNIFICATION && effectsOn;
 		
 		if (!isHighDetail)
 			return segment;
 		
-		joint.setRadius(getJointRadius(organ.getThickness()));
+		joint.setRadius(getJointRadius(getThickness()));
 		
 		joint.getTransforms().clear();
 		joint.getTransforms().add(moveToStartPoint());
-		joint.getTransforms().add(new Translate(organ.getLength(), 0));
-		joint.getTransforms().add(new Rotate(organ.getAbsoluteAngle(), -organ.getLength(), 0));
+		joint.getTransforms().add(new Translate(getLength(), 0));
+		joint.getTransforms().add(new Rotate(getAbsoluteAngle(), -getLength(), 0));
 
 		return Path.union(segment, joint);
 	}
@@ -191,7 +193,7 @@ public class OrganView implements ItemView {
 	}
 
 	private Vector calculateMovement() {
-		Segment currentOrganPosition = organ.getPositionInSpace();
+		Segment currentOrganPosition = getPositionInSpace();
 
 		if (!areDistant(currentOrganPosition, previousOrganPosition))
 			return Vector.ZERO;
@@ -218,7 +220,7 @@ public class OrganView implements ItemView {
 	}
 
 	private Translate moveToStartPoint() {
-		Vector startPoint = organ.getStartPoint();
+		Vector startPoint = getStartPoint();
 		return new Translate(startPoint.x, startPoint.y);
 	}
 
@@ -254,15 +256,15 @@ public class OrganView implements ItemView {
 	}
 
 	private boolean isSmall() {
-		return organ.getLength() + getOverlap() * 2 < 100 || organ.getThickness() < 40;
+		return getLength() + getOverlap() * 2 < 100 || getThickness() < 40;
 	}
 
 	private boolean isVerySmall() {
-		return organ.getLength() + getOverlap() * 2 < 50 || organ.getThickness() < 20;
+		return getLength() + getOverlap() * 2 < 50 || getThickness() < 20;
 	}
 
 	private double getEnergyAlpha() {
-		double result = getNarjillo().getEnergy().getValue() / (getNarjillo().getEnergy().getMaximumValue() / 10);
+		double result = getFrame().getEnergy(getIndex()) / (getFrame().getMaxEnergy(getIndex()) / 10);
 		return Math.min(1, result);
 	}
 
@@ -270,7 +272,38 @@ public class OrganView implements ItemView {
 		return new Color(fiber.getPercentOfRed(), fiber.getPercentOfGreen(), fiber.getPercentOfBlue(), 1);
 	}
 
-	private Narjillo getNarjillo() {
-		return narjillo;
+	// The changing state of the organ comes from the frame.
+
+	private Frame getFrame() {
+		return narjilloView.getFrame();
+	}
+
+	private int getIndex() {
+		return narjilloView.getIndex();
+	}
+
+	private double getLength() {
+		return getFrame().getOrganLength(getIndex(), organIndex);
+	}
+
+	private double getThickness() {
+		return getFrame().getOrganThickness(getIndex(), organIndex);
+	}
+
+	private double getAbsoluteAngle() {
+		return getFrame().getOrganAngle(getIndex(), organIndex);
+	}
+
+	private Vector getStartPoint() {
+		return getFrame().getOrganStartPoint(getIndex(), organIndex);
+	}
+
+	private Vector getCenterOfMass() {
+		return getFrame().getOrganCenterOfMass(getIndex(), organIndex);
+	}
+
+	private Segment getPositionInSpace() {
+		Vector startPoint = getStartPoint();
+		return new Segment(startPoint, getFrame().getOrganEndPoint(getIndex(), organIndex).minus(startPoint));
 	}
 }
\ No newline at end of file
@@ -6,30 +6,53 @@ import javafx.scene.effect.Effect;
 import javafx.scene.paint.Color;
 
 import org.nusco.narjillos.application.utilities.Viewport;
-import org.nusco.narjillos.core.things.FoodPellet;
+import org.nusco.narjillos.core.physics.Vector;
 import org.nusco.narjillos.core.things.Thing;
-import org.nusco.narjillos.creature.Egg;
-import org.nusco.narjillos.creature.Narjillo;
+import org.nusco.narjillos.experiment.environment.Frame;
 
+/**
+ * A view of a thing. Views read the state of their thing from a Frame
+ * rather than from the thing itself, that might be in the middle of a tick.
+ */
 abstract class ThingView implements ItemView {
 
 	private final Thing thing;
+	private Frame frame;
+	private int index;
 
-	public ThingView(Thing thing) {
-		this.thing = thing;
+	public ThingView(Frame frame, int index) {
+		this.thing = frame.getThing(index);
+		this.frame = frame;
+		this.index = index;
 	}
 
 	public Thing getThing() {
 		return thing;
 	}
 
-	public final Node toNode(Viewport viewport, boolean infraredOn, boolean effectsOn) {
+	public final Node toNode(Viewport viewport, Frame frame, int index, boolean infraredOn, boolean effectsOn) {
+		this.frame = frame;
+		this.index = index;
+
 		if (!isVisible(viewport))
 			return null;
 		
 		return toNode(viewport.getZoomLevel(), infraredOn, effectsOn);
 	}
 
+	protected Frame getFrame() {
+		return frame;
+	}
+
+	// The index of the thing in the frame.
+	protected int getIndex() {
+		return index;
+	}
+
+	protected Vector getPosition() {
+		return frame.getPosition(index);
+	}
+
 	protected Effect getEffects(double zoomLevel, boolean infraredOn) {
 		if (infraredOn)
 			return getHaloEffect(zoomLevel * 1.5);
@@ -37,13 +60,14 @@ abstract class ThingView implements ItemView {
 		return getHaloEffect(zoomLevel);
 	}
 	
-	static ThingView createViewFor(Thing thing) {
+	static ThingView createViewFor(Frame frame, int index) {
+		Thing thing = frame.getThing(index);
 		if (thing.getLabel().equals("narjillo"))
-			return new NarjilloView((Narjillo) thing);
+			return new NarjilloView(frame, index);
 		else if (thing.getLabel().equals("food_pellet"))
-			return new FoodView((FoodPellet)thing);
+			return new FoodView(frame, index);
 		else if (thing.getLabel().equals("egg"))
-			return new EggView((Egg)thing);
+			return new EggView(frame, index);
 		else
 			throw new RuntimeException("Unknown thing: " + thing.getLabel());
 	}
@@ -7,15 +7,28 @@ import java.util.Map;
 
 import org.nusco.narjillos.core.utilities.Configuration;
 
+/**
+ * The elements in the ecosystem.
+ *
+ * Creatures read the atmosphere in parallel during a tick, so reads never
+ * lock: they go to an immutable snapshot of the levels. Changes lock the
+ * atmosphere and then publish a new snapshot. To change the atmosphere once
+ * per tick instead of once per creature, collect the creatures' conversions
+ * in a Conversions object and apply them all together.
+ */
 public class Atmosphere {
 
 	private final int saturationElementLevels;
 	private final Map<Element, Integer> levels = new LinkedHashMap<>();
-	
+
+	// Replaced after each change. The first one is built lazily, because
+	// deserialization sets the levels behind our backs.
+	private transient volatile Snapshot snapshot = null;
+
 	public Atmosphere() {
-		this(Configuration.ECOSYSTEM_INITIAL_ELEMENT_LEVEL);
+		this(Configuration.DEFAULT.ecosystemInitialElementLevel);
 	}
-	
+
 	public Atmosphere(int initialElementLevels) {
 		this.saturationElementLevels = initialElementLevels * 3;
 		levels.put(OXYGEN, initialElementLevels);
@@ -23,17 +36,59 @@ public class Atmosphere {
 		levels.put(NITROGEN, initialElementLevels);
 	}
 
-	public synchronized int getAmountOf(Element element) {
-		if (element == ZERO)
-			return 0;
-		
-		return levels.get(element);
+	public int getAmountOf(Element element) {
+		return getSnapshot().getAmountOf(element);
 	}
 
 	public synchronized void convert(Element fromElement, Element toElement) {
-		if (fromElement == ZERO || toElement == ZERO)
+		if (fromElement == ZERO || toElement == ZERO || fromElement == toElement)
+			return;
+
+		convertOne(fromElement, toElement);
+		snapshot = createSnapshot();
+	}
+
+	/**
+	 * Applies a batch of conversions. The result is the same as converting
+	 * them one by one, in the order in which they were added to the batch.
+	 */
+	public synchronized void convert(Conversions conversions) {
+		if (conversions.size() == 0)
 			return;
 
+		if (canAfford(conversions)) {
+			// No element can run out, so every single conversion happens,
+			// and their order doesn't matter.
+			for (Element element : Element.values())
+				if (element != ZERO)
+					levels.put(element, levels.get(element) + conversions.getIncomingCount(element) - conversions.getOutgoingCount(element));
+		} else {
+			for (int i = 0; i < conversions.size(); i++)
+				convertOne(conversions.getFromElement(i), conversions.getToElement(i));
+		}
+
+		snapshot = createSnapshot();
+	}
+
+	public double getDensityOf(Element element) {
+		return getSnapshot().getDensityOf(element);
+	}
+
+	public synchronized Atmosphere duplicate() {
+		Atmosphere result = new Atmosphere(saturationElementLevels / 3);
+		result.levels.put(OXYGEN, levels.get(OXYGEN));
+		result.levels.put(HYDROGEN, levels.get(HYDROGEN));
+		result.levels.put(NITROGEN, levels.get(NITROGEN));
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		Snapshot currentSnapshot = getSnapshot();
+		return "O: " + currentSnapshot.oxygen + ", H: " + currentSnapshot.hydrogen + ", N: " + currentSnapshot.nitrogen;
+	}
+
+	private void convertOne(Element fromElement, Element toElement) {
 		int fromLevel = levels.get(fromElement);
 		if (fromLevel > 0) {
 			Integer toLevel = levels.get(toElement);
@@ -42,23 +97,71 @@ public class Atmosphere {
 		}
 	}
 
-	public synchronized double getDensityOf(Element element) {
-		if (element == ZERO)
-			return 0.0;
+	private boolean canAfford(Conversions conversions) {
+		for (Element element : Element.values())
+			if (element != ZERO && levels.get(element) < conversions.getOutgoingCount(element))
+				return false;
+		return true;
+	}
+
+	private Snapshot getSnapshot() {
+		Snapshot result = snapshot;
+		if (result != null)
+			return result;
 
-		return ((double) levels.get(element)) / saturationElementLevels;
+		synchronized (this) {
+			if (snapshot == null)
+				snapshot = createSnapshot();
+			return snapshot;
+		}
 	}
 
-	public Atmosphere duplicate() {
-		Atmosphere result = new Atmosphere();
-		result.levels.put(OXYGEN, levels.get(OXYGEN));
-		result.levels.put(HYDROGEN, levels.get(HYDROGEN));
-		result.levels.put(NITROGEN, levels.get(NITROGEN));
-		return result;
+	private Snapshot createSnapshot() {
+		return new Snapshot(levels.get(OXYGEN), levels.get(HYDROGEN), levels.get(NITROGEN), saturationElementLevels);
 	}
-	
-	@Override
-	public synchronized String toString() {
-		return "O: " + levels.get(OXYGEN) + ", H: " + levels.get(HYDROGEN) + ", N: " + levels.get(NITROGEN);
+
+	private static class Snapshot {
+
+		final int oxygen;
+		final int hydrogen;
+		final int nitrogen;
+		final double oxygenDensity;
+		final double hydrogenDensity;
+		final double nitrogenDensity;
+
+		Snapshot(int oxygen, int hydrogen, int nitrogen, int saturationElementLevels) {
+			this.oxygen = oxygen;
+			this.hydrogen = hydrogen;
+			this.nitrogen = nitrogen;
+			this.oxygenDensity = ((double) oxygen) / saturationElementLevels;
+			this.hydrogenDensity = ((double) hydrogen) / saturationElementLevels;
+			this.nitrogenDensity = ((double) nitrogen) / saturationElementLevels;
+		}
+
+		int getAmountOf(Element element) {
+			switch (element) {
+			case OXYGEN:
+				return oxygen;
+			case HYDROGEN:
+				return hydrogen;
+			case NITROGEN:
+				return nitrogen;
+			default:
+				return 0;
+			}
+		}
+
+		double getDensityOf(Element element) {
+			switch (element) {
+			case OXYGEN:
+				return oxygenDensity;
+			case HYDROGEN:
+				return hydrogenDensity;
+			case NITROGEN:
+				return nitrogenDensity;
+			default:
+				return 0.0;
+			}
+		}
 	}
 }
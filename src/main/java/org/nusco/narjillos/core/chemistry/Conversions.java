@@ -0,0 +1,63 @@
+package org.nusco.narjillos.core.chemistry;
+
+import java.util.Arrays;
+
+/**
+ * A batch of element conversions, to be applied to an Atmosphere all at
+ * once with Atmosphere.convert(Conversions).
+ *
+ * It counts the conversions for each pair of elements, and it also remembers
+ * their order. The Atmosphere only needs the order when an element is about
+ * to run out, and the order decides which conversions still happen.
+ */
+public class Conversions {
+
+	private static final Element[] ELEMENTS = Element.values();
+	private static final int NUMBER_OF_ELEMENTS = ELEMENTS.length;
+
+	private final int[] countsByPair = new int[NUMBER_OF_ELEMENTS * NUMBER_OF_ELEMENTS];
+	private byte[] pairs = new byte[16];
+	private int size = 0;
+
+	public void add(Element fromElement, Element toElement) {
+		if (fromElement == Element.ZERO || toElement == Element.ZERO || fromElement == toElement)
+			return;
+
+		int pair = fromElement.ordinal() * NUMBER_OF_ELEMENTS + toElement.ordinal();
+		countsByPair[pair]++;
+
+		if (size == pairs.length)
+			pairs = Arrays.copyOf(pairs, size * 2);
+		pairs[size++] = (byte) pair;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int getCount(Element fromElement, Element toElement) {
+		return countsByPair[fromElement.ordinal() * NUMBER_OF_ELEMENTS + toElement.ordinal()];
+	}
+
+	int getOutgoingCount(Element fromElement) {
+		int result = 0;
+		for (Element toElement : ELEMENTS)
+			result += getCount(fromElement, toElement);
+		return result;
+	}
+
+	int getIncomingCount(Element toElement) {
+		int result = 0;
+		for (Element fromElement : ELEMENTS)
+			result += getCount(fromElement, toElement);
+		return result;
+	}
+
+	Element getFromElement(int index) {
+		return ELEMENTS[pairs[index] / NUMBER_OF_ELEMENTS];
+	}
+
+	Element getToElement(int index) {
+		return ELEMENTS[pairs[index] % NUMBER_OF_ELEMENTS];
+	}
+}
@@ -19,74 +19,20 @@ public class FastMath {
 	// table is also used to calculate cos.
 	private static final double[] SIN_TABLE = new double[ANGLE_TABLES_LENGTH];
 
-	// The resolution of the arctangent table must be enough to
-	// accomodate changes of 1/100th of a degree. I did some empirical
-	// calculations here, by looking at the minimum distance between consecutive
-	// values in the tan table (that is compiled in the static initializer
-	// below). We need a much higher resolution than ANGLE_RESOLUTION here
-	// (possibly always pow(ANGLE_RESOLUTION, 2)?).
-	private static final int ATAN_RESOLUTION = 10_000;
-
-	// The atan table matches tan length to angles in degrees.
-	private static final double[] ATAN_TABLE;
-
-	// The code will check for this value, so we store it in a field for quick
-	// access. It will be initialized in the static initializer below.
-	private static final int ATAN_TABLE_LENGTH;
-
 	static final double LOG_MIN = 1;
 	public static final double LOG_MAX = 100;
 	private static final double LOG_RESOLUTION = 0.01;
 	private static final double[] LOG_TABLE;
 	
 	static {
-		// The tan table matches angles in the first quadrant to their tangent.
-		// We calculate it, use it to calculate the ATAN_TABLE, then throw it
-		// away.
-		final double[] TAN_TABLE = new double[ANGLE_TABLES_LENGTH];
-
-		// Fill in the SIN_TABLE and the TAN_TABLE.
+		// Fill in the SIN_TABLE.
 		final double degreesStep = 1.0 / ANGLE_RESOLUTION;
 		double degrees = 0;
 		for (int i = 0; i < ANGLE_TABLES_LENGTH; i++) {
-			double radians = Math.toRadians(degrees);
-			SIN_TABLE[i] = Math.sin(radians);
-			TAN_TABLE[i] = Math.tan(radians);
+			SIN_TABLE[i] = Math.sin(Math.toRadians(degrees));
 			degrees += degreesStep;
 		}
 
-		// The very last value in the tan table is overflowing. (It's close to
-		// 90 degrees, so close to an infinite tangent). Set it to the highest
-		// possible value.
-		TAN_TABLE[TAN_TABLE.length - 1] = Double.MAX_VALUE;
-
-		// This is the highest tangent that we need to care about. So we need an
-		// ATAN_TABLE that goes from 0 to this. Anything bigger can be
-		// approximated to 90 degrees.
-		double maxTan = TAN_TABLE[TAN_TABLE.length - 2];
-
-		// Create the ATAN_TABLE as a reverse lookup of the TAN_TABLE. We only
-		// consider the values in the first quadrant. We will calculate the
-		// remaining three quadrants from there.
-		ATAN_TABLE_LENGTH = (int) (maxTan * ATAN_RESOLUTION + 1);
-		ATAN_TABLE = new double[ATAN_TABLE_LENGTH];
-
-		// Fill in the ATAN_TABLE from the TAN_TABLE.
-		ATAN_TABLE[0] = 0.0;
-		int currentIndexInTanTable = 0;
-		for (int i = 1; i < ATAN_TABLE.length; i++) {
-			// Increment the position in the TAN_TABLE until we find a tan that
-			// matches the current angle.
-			double currentTan = ((double) i) / ATAN_RESOLUTION;
-			while (currentIndexInTanTable < TAN_TABLE.length && TAN_TABLE[currentIndexInTanTable] <= currentTan)
-				currentIndexInTanTable++;
-
-			// Store the angle corresponding to the TAN_TABLE index in the
-			// ATAN_TABLE.
-			double currentAngle = ((double) currentIndexInTanTable) / ANGLE_RESOLUTION;
-			ATAN_TABLE[i] = currentAngle;
-		}
-		
 		LOG_TABLE = new double[(int)((LOG_MAX - LOG_MIN) / LOG_RESOLUTION) + 1];
 		for (int currentIndexInLogTable = 0; currentIndexInLogTable < LOG_TABLE.length; currentIndexInLogTable++)
 			LOG_TABLE[currentIndexInLogTable] = Math.log(LOG_MIN + currentIndexInLogTable * LOG_RESOLUTION);
@@ -129,19 +75,9 @@ public class FastMath {
 	}
 
 	private static double atan(double ratio) {
-		if (ratio < 0) {
-			int index = (int) (-ratio * ATAN_RESOLUTION);
-			if (index >= ATAN_TABLE_LENGTH)
-				return -90;
-
-			return -ATAN_TABLE[index];
-		}
-
-		int index = (int) (ratio * ATAN_RESOLUTION);
-		if (index >= ATAN_TABLE_LENGTH)
-			return 90;
-
-		return ATAN_TABLE[index];
+		if (ratio < 0)
+			return -ArcTangent.of(-ratio);
+		return ArcTangent.of(ratio);
 	}
 
 	public static double atan(double y, double x) {
@@ -200,4 +136,102 @@ public class FastMath {
 			throw new RuntimeException("Number out of range in FastMath.log(): " + n);
 		return LOG_TABLE[(int)((n - LOG_MIN) / LOG_RESOLUTION)];
 	}
+
+	/**
+	 * The arctangent tables. They live in their own class, so that they're
+	 * only built the first time that somebody asks for an arctangent.
+	 * 
+	 * Conceptually, the arctangent of a ratio is a reverse lookup in a table of
+	 * tangents: we truncate the ratio to ATAN_RESOLUTION, and then we look for
+	 * the smallest angle (at a 1/100th of a degree resolution) whose tangent is
+	 * bigger than the ratio. I used to store the result of this lookup for each
+	 * possible ratio up to tan(89.99), but that's about 57 million doubles. So
+	 * now I only store it for ratios in [0, 1]. For bigger ratios, I take the
+	 * reciprocal of the ratio (which is also in [0, 1]) and use it to find an
+	 * angle that's at most a step or two away from the result. Then I walk
+	 * from there. The results are exactly the same as the old huge table.
+	 */
+	private static class ArcTangent {
+
+		// The resolution of the arctangent must be enough to accomodate
+		// changes of 1/100th of a degree. I did some empirical calculations
+		// here, by looking at the minimum distance between consecutive values
+		// in the tan table. We need a much higher resolution than
+		// ANGLE_RESOLUTION here (possibly always pow(ANGLE_RESOLUTION, 2)?).
+		private static final int ATAN_RESOLUTION = 10_000;
+
+		// The tan table matches angles in the first quadrant to their tangent.
+		private static final double[] TAN_TABLE = new double[ANGLE_TABLES_LENGTH];
+
+		// Truncated ratios from here on get an angle of 90 degrees.
+		private static final int MAX_TRUNCATED_RATIO;
+
+		// Matches truncated ratios in [0, 1] to angles in degrees.
+		private static final double[] ATAN_TABLE = new double[ATAN_RESOLUTION + 1];
+
+		// For truncated ratios bigger than 1, this table is indexed by the
+		// reciprocal of the ratio (ATAN_RESOLUTION^2 / truncatedRatio). It
+		// contains the index in the TAN_TABLE where we start looking for the
+		// angle.
+		private static final int[] SEARCH_START_IN_TAN_TABLE = new int[ATAN_RESOLUTION];
+
+		static {
+			// Fill in the TAN_TABLE.
+			final double degreesStep = 1.0 / ANGLE_RESOLUTION;
+			double degrees = 0;
+			for (int i = 0; i < ANGLE_TABLES_LENGTH; i++) {
+				TAN_TABLE[i] = Math.tan(Math.toRadians(degrees));
+				degrees += degreesStep;
+			}
+
+			// The very last value in the tan table is overflowing. (It's close to
+			// 90 degrees, so close to an infinite tangent). Set it to the highest
+			// possible value.
+			TAN_TABLE[TAN_TABLE.length - 1] = Double.MAX_VALUE;
+
+			// This is the highest tangent that we need to care about. Anything
+			// bigger can be approximated to 90 degrees.
+			double maxTan = TAN_TABLE[TAN_TABLE.length - 2];
+			MAX_TRUNCATED_RATIO = (int) (maxTan * ATAN_RESOLUTION);
+
+			// Fill in the ATAN_TABLE as a reverse lookup of the TAN_TABLE.
+			ATAN_TABLE[0] = 0.0;
+			for (int i = 1; i < ATAN_TABLE.length; i++)
+				ATAN_TABLE[i] = toDegrees(findInTanTable(i, 0));
+
+			// For each reciprocal, start looking from the smallest ratio
+			// that has that reciprocal.
+			for (int reciprocal = 1; reciprocal < SEARCH_START_IN_TAN_TABLE.length; reciprocal++) {
+				int smallestTruncatedRatio = ATAN_RESOLUTION * ATAN_RESOLUTION / (reciprocal + 1) + 1;
+				SEARCH_START_IN_TAN_TABLE[reciprocal] = findInTanTable(smallestTruncatedRatio, 0);
+			}
+		}
+
+		static double of(double positiveRatio) {
+			int truncatedRatio = (int) (positiveRatio * ATAN_RESOLUTION);
+
+			if (truncatedRatio < ATAN_TABLE.length)
+				return ATAN_TABLE[truncatedRatio];
+
+			if (truncatedRatio > MAX_TRUNCATED_RATIO)
+				return 90;
+
+			int reciprocal = ATAN_RESOLUTION * ATAN_RESOLUTION / truncatedRatio;
+			return toDegrees(findInTanTable(truncatedRatio, SEARCH_START_IN_TAN_TABLE[reciprocal]));
+		}
+
+		// Returns the index of the first tangent that is bigger than the
+		// truncated ratio, starting from a given index in the TAN_TABLE.
+		private static int findInTanTable(int truncatedRatio, int startIndex) {
+			double tan = ((double) truncatedRatio) / ATAN_RESOLUTION;
+			int result = startIndex;
+			while (result < TAN_TABLE.length && TAN_TABLE[result] <= tan)
+				result++;
+			return result;
+		}
+
+		private static double toDegrees(int indexInTanTable) {
+			return ((double) indexInTanTable) / ANGLE_RESOLUTION;
+		}
+	}
 }
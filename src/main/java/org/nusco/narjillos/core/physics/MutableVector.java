@@ -0,0 +1,89 @@
+package org.nusco.narjillos.core.physics;
+
+/**
+ * A Vector that you can change in place.
+ *
+ * Vector is immutable, so every operation on it creates a new Vector. That's
+ * fine most of the time, but not in the hot paths that run for each organ
+ * of each creature at each tick. Those paths can keep a MutableVector
+ * around, and reuse it as scratch space.
+ *
+ * The operations do the same calculations as the ones in Vector, so they
+ * give exactly the same results. (Vector uses this class for its own
+ * calculations, to make sure of that).
+ */
+public final class MutableVector {
+
+	static {
+		FastMath.setUp();
+	}
+
+	public double x;
+	public double y;
+
+	public MutableVector set(double x, double y) {
+		this.x = x;
+		this.y = y;
+		return this;
+	}
+
+	public MutableVector set(Vector vector) {
+		return set(vector.x, vector.y);
+	}
+
+	public MutableVector setPolar(double degrees, double length) {
+		double sin = FastMath.sin(degrees);
+		double cos = FastMath.cos(degrees);
+		return set(cos * length, sin * length);
+	}
+
+	public MutableVector plus(double x, double y) {
+		return set(this.x + x, this.y + y);
+	}
+
+	public MutableVector minus(double x, double y) {
+		return set(this.x - x, this.y - y);
+	}
+
+	public MutableVector by(double scalar) {
+		return set(x * scalar, y * scalar);
+	}
+
+	public boolean isZero() {
+		return x == 0 && y == 0;
+	}
+
+	public double getLength() {
+		return getLength(x, y);
+	}
+
+	public double getAngle() throws ZeroVectorAngleException {
+		if (isZero())
+			throw new ZeroVectorAngleException();
+		return FastMath.atan(y, x);
+	}
+
+	/**
+	 * Replaces this vector with its component that is normal to the other
+	 * vector.
+	 */
+	public MutableVector setNormalComponentOn(double otherX, double otherY) throws ZeroVectorAngleException {
+		if (otherX == 0 && otherY == 0)
+			throw new ZeroVectorAngleException();
+		double resultAngle = FastMath.atan(otherY, otherX) - 90;
+		double resultLength = FastMath.cos(getAngle() - resultAngle) * getLength();
+		return setPolar(resultAngle, resultLength);
+	}
+
+	public Vector toVector() {
+		return Vector.cartesian(x, y);
+	}
+
+	public static double getLength(double x, double y) {
+		return Math.sqrt(x * x + y * y);
+	}
+
+	public static double getDistance(double x1, double y1, double x2, double y2) {
+		return getLength(x1 - x2, y1 - y2);
+	}
+}
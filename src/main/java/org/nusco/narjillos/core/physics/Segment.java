@@ -26,48 +26,71 @@ public class Segment {
 	}
 
 	public double getMinimumDistanceFromPoint(Vector point) {
+		return getMinimumDistanceFromPoint(startPoint.x, startPoint.y, vector.x, vector.y, point.x, point.y);
+	}
+
+	public Vector getDistanceFrom(Segment other) {
+		MutableVector result = new MutableVector();
+		getDistance(startPoint.x, startPoint.y, vector.x, vector.y, other.startPoint.x, other.startPoint.y, other.vector.x, other.vector.y,
+				result);
+		return result.toVector();
+	}
+
+	// The next two methods are the primitive versions of the previous two,
+	// for code that keeps its segments as plain doubles.
+
+	public static double getMinimumDistanceFromPoint(double startX, double startY, double vectorX, double vectorY, double pointX,
+			double pointY) {
 		// TODO: this was probably meant to avoid zerovectorexceptions,
 		// but it's just wrong. fix it.
-		if (vector.isZero())
-			return startPoint.getDistanceFrom(point);
-		
-		double length = vector.getLength();
+		if (vectorX == 0 && vectorY == 0)
+			return MutableVector.getDistance(startX, startY, pointX, pointY);
+
+		double length = MutableVector.getLength(vectorX, vectorY);
 
 		// TODO: do we need this?
 		if (length < 0.0001)
-			return startPoint.getDistanceFrom(point);
+			return MutableVector.getDistance(startX, startY, pointX, pointY);
 
 		double lengthSquared = length * length;
 
-		double t = ((point.x - startPoint.x) * (vector.x - startPoint.x) + (point.y - startPoint.y) * (vector.y - startPoint.y)) / lengthSquared;
+		double t = ((pointX - startX) * vectorX + (pointY - startY) * vectorY) / lengthSquared;
 
 		if (t < 0)
-			return startPoint.getDistanceFrom(point);
+			return MutableVector.getDistance(startX, startY, pointX, pointY);
 
 		if (t > 1)
-			return vector.getDistanceFrom(point);
+			return MutableVector.getDistance(startX + vectorX, startY + vectorY, pointX, pointY);
 
-		Vector projection = startPoint.plus(vector.minus(startPoint).by(t));
-		return projection.minus(point).getLength();
+		return MutableVector.getDistance(startX + vectorX * t, startY + vectorY * t, pointX, pointY);
 	}
 
-	public Vector getDistanceFrom(Segment other) {
+	/**
+	 * Puts the distance between the segment (start, vector) and the other
+	 * segment in the result, and returns it.
+	 */
+	public static MutableVector getDistance(double startX, double startY, double vectorX, double vectorY, double otherStartX,
+			double otherStartY, double otherVectorX, double otherVectorY, MutableVector result) {
+		result.set(0, 0);
+
 		// TODO: why did I do this? surely it's conceptually wrong?
-		if (other.getVector().isZero())
-			return Vector.ZERO;
-		
-		Vector startPointMovement = getStartPoint().minus(other.getStartPoint());
-		Vector endPointMovement = getEndPoint().minus(other.getEndPoint());
-		Vector movement = startPointMovement.plus(endPointMovement).by(0.5);
+		if (otherVectorX == 0 && otherVectorY == 0)
+			return result;
+
+		double startPointMovementX = startX - otherStartX;
+		double startPointMovementY = startY - otherStartY;
+		double endPointMovementX = (startX + vectorX) - (otherStartX + otherVectorX);
+		double endPointMovementY = (startY + vectorY) - (otherStartY + otherVectorY);
+		result.set(startPointMovementX + endPointMovementX, startPointMovementY + endPointMovementY).by(0.5);
 
-		if (movement.isZero())
-			return Vector.ZERO;
+		if (result.isZero())
+			return result;
 
 		try {
-			return movement.getNormalComponentOn(getVector());
+			return result.setNormalComponentOn(vectorX, vectorY);
 		} catch (ZeroVectorAngleException e) {
-			// should never happen with the previous checks
-			return null;
+			// This segment has no length, so it has no normal either
+			return result.set(0, 0);
 		}
 	}
 
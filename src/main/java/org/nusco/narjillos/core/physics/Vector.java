@@ -49,7 +49,7 @@ public class Vector {
 
 	public double getLength() {
 		if (Double.isNaN(length))
-			length = Math.sqrt(x * x + y * y);
+			length = MutableVector.getLength(x, y);
 
 		return length;
 	}
@@ -71,9 +71,7 @@ public class Vector {
 	}
 
 	public Vector getNormalComponentOn(Vector other) throws ZeroVectorAngleException {
-		double resultAngle = other.getAngle() - 90;
-		double resultLength = FastMath.cos(getAngle() - resultAngle) * getLength();
-		return Vector.polar(resultAngle, resultLength);
+		return new MutableVector().set(this).setNormalComponentOn(other.x, other.y).toVector();
 	}
 
 	@Override
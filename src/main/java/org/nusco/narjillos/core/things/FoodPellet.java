@@ -8,9 +8,19 @@ import org.nusco.narjillos.core.utilities.Configuration;
 public class FoodPellet implements Thing {
 
 	public Vector position;
-	private final Energy energy = new LifeFormEnergy(Configuration.FOOD_ENERGY, Double.MAX_VALUE);
+	private final Energy energy;
+	private final double radius;
 	private Thing eater;
 
+	public FoodPellet() {
+		this(Configuration.DEFAULT);
+	}
+
+	public FoodPellet(Configuration configuration) {
+		energy = new LifeFormEnergy(configuration.foodEnergy, Double.MAX_VALUE, configuration);
+		radius = configuration.foodRadius;
+	}
+
 	public void setPosition(Vector position) {
 		this.position = position;
 	}
@@ -26,7 +36,7 @@ public class FoodPellet implements Thing {
 	}
 
 	@Override
-	public Segment tick(Atmosphere atmosphere) {
+	public Segment tick(Atmosphere atmosphere, Configuration configuration) {
 		return new Segment(position, Vector.ZERO);
 	}
 
@@ -42,7 +52,7 @@ public class FoodPellet implements Thing {
 
 	@Override
 	public double getRadius() {
-		return Configuration.FOOD_RADIUS;
+		return radius;
 	}
 
 	public Thing getEater() {
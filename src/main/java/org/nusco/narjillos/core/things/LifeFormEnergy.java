@@ -16,9 +16,13 @@ public class LifeFormEnergy implements Energy {
 	}
 
 	public LifeFormEnergy(double initialValue, double lifespan) {
+		this(initialValue, lifespan, Configuration.DEFAULT);
+	}
+
+	public LifeFormEnergy(double initialValue, double lifespan, Configuration configuration) {
 		this.initialValue = initialValue;
 		this.value = this.initialValue;
-		this.maxForAge = this.initialValue * Configuration.CREATURE_MAX_ENERGY_TO_INITIAL_ENERGY;
+		this.maxForAge = this.initialValue * configuration.creatureMaxEnergyToInitialEnergy;
 		this.decay = maxForAge / lifespan;
 	}
 
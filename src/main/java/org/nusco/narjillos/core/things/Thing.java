@@ -3,6 +3,7 @@ package org.nusco.narjillos.core.things;
 import org.nusco.narjillos.core.chemistry.Atmosphere;
 import org.nusco.narjillos.core.physics.Segment;
 import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.utilities.Configuration;
 
 /**
  * Something that has a physical representation in the environment.
@@ -12,7 +13,7 @@ public interface Thing {
 	public static Thing NULL = new Thing() {
 		
 		@Override
-		public Segment tick(Atmosphere atmosphere) {
+		public Segment tick(Atmosphere atmosphere, Configuration configuration) {
 			return new Segment(Vector.ZERO, Vector.ZERO);
 		}
 		
@@ -45,7 +46,7 @@ public interface Thing {
 	/**
 	 * @return The movement segment.
 	 */
-	public Segment tick(Atmosphere atmosphere);
+	public Segment tick(Atmosphere atmosphere, Configuration configuration);
 	public Vector getPosition();
 	public Vector getCenter();
 	public double getRadius();
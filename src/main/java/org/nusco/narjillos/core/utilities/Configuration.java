@@ -3,25 +3,213 @@ package org.nusco.narjillos.core.utilities;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.yaml.snakeyaml.Yaml;
 
+/**
+ * The parameters of an experiment. (See config.yaml for what they mean).
+ *
+ * A Configuration never changes after it's created. Each experiment carries
+ * its own Configuration, and passes it down to the code that needs it - so
+ * you can run differently configured experiments side by side in the same
+ * process. DEFAULT is the configuration in config.yaml.
+ *
+ * A broken configuration (a missing file, a missing value, a value of the
+ * wrong type) is an IllegalArgumentException. If config.yaml itself is
+ * broken, you get the exception (wrapped in an ExceptionInInitializerError)
+ * as soon as you use this class.
+ */
 public class Configuration {
 
-	private static Map<String, Map<String, Object>> data = loadConfigurationData();
-	
+	public static final Configuration DEFAULT = new Configuration(loadConfigurationData(locateConfigurationFile()));
+
+	private final Map<String, Map<String, Object>> data;
+
+	// physics
+	public final double physicsViscosityKickinVelocity;
+	public final double physicsCollisionDistance;
+	public final double physicsEnergyExpensePerJoule;
+	public final double physicsMetabolicConsumptionPow;
+
+	// dna
+	public final double dnaMutationRate;
+	public final double dnaMutationRange;
+	public final int dnaNumberOfChromosomes;
+
+	// creatures
+	public final double creatureMaxLifespan;
+	public final double creatureMatureAge;
+	public final double creatureMaxEnergyToInitialEnergy;
+	public final double creatureBaseWaveFrequency;
+	public final double creatureBaseSkewingVelocity;
+	public final double creatureLateralViewfield;
+	public final double creatureSeedEnergy;
+	public final double creatureMinEnergyToChildren;
+
+	// organs
+	public final double organMinimumLengthAtBirth;
+	public final double organMinimumThicknessAtBirth;
+	public final double organGrowthRate;
+
+	// eggs
+	public final double eggRadius;
+	public final int eggMinIncubationTime;
+	public final int eggMaxIncubationTime;
+	public final double eggMass;
+	public final double eggMinVelocity;
+	public final double eggVelocityDecay;
+
+	// food
+	public final double foodRadius;
+	public final double foodEnergy;
+
+	// ecosystem
+	public final int ecosystemBlocksPerEdgeInApp;
+	public final int ecosystemBlocksPerEdgeInExperiment;
+	public final double ecosystemEggsDensityPerBlock;
+	public final double ecosystemFoodDensityPerBlock;
+	public final double ecosystemMaxFoodDensityPer1000Block;
+	public final double ecosystemFoodRespawnAverageIntervalPerBlock;
+	public final int ecosystemUpdateFoodTargetsInterval;
+	public final int ecosystemInitialElementLevel;
+	public final String ecosystemSpatialIndex;
+	public final String ecosystemTopology;
+
+	// experiment
+	public final int experimentSampleIntervalTicks;
+	public final int experimentSaveIntervalSeconds;
+
+	// archipelago
+	public final int archipelagoMigrationInterval;
+	public final double archipelagoMigrationRate;
+
+	// database
+	public final String databaseHost;
+	public final int databasePort;
+
+	/**
+	 * Creates a Configuration from sections of key/value pairs, in the same
+	 * format as config.yaml.
+	 */
+	public Configuration(Map<String, Map<String, Object>> data) {
+		this.data = copy(data);
+
+		physicsViscosityKickinVelocity = getDouble("physics", "viscosity_kickin_velocity");
+		physicsCollisionDistance = getDouble("physics", "collision_distance");
+		physicsEnergyExpensePerJoule = getDouble("physics", "energy_expense_per_joule");
+		physicsMetabolicConsumptionPow = getDouble("physics", "metabolic_consumption_pow");
+
+		dnaMutationRate = getDouble("dna", "mutation_rate");
+		dnaMutationRange = getDouble("dna", "mutation_range");
+		dnaNumberOfChromosomes = getInt("dna", "number_of_chromosomes");
+
+		creatureMaxLifespan = getDouble("creature", "max_lifespan");
+		creatureMatureAge = getDouble("creature", "mature_age");
+		creatureMaxEnergyToInitialEnergy = getDouble("creature", "max_energy_to_initial_energy");
+		creatureBaseWaveFrequency = getDouble("creature", "base_wave_frequency");
+		creatureBaseSkewingVelocity = getDouble("creature", "base_skewing_velocity");
+		creatureLateralViewfield = getDouble("creature", "lateral_viewfield");
+		creatureSeedEnergy = getDouble("creature", "seed_energy");
+		creatureMinEnergyToChildren = getDouble("creature", "min_energy_to_children");
+
+		organMinimumLengthAtBirth = getInt("organ", "minimum_length_at_birth");
+		organMinimumThicknessAtBirth = getInt("organ", "minimum_thickness_at_birth");
+		organGrowthRate = getDouble("organ", "growth_rate");
+
+		eggRadius = getInt("egg", "radius");
+		eggMinIncubationTime = getInt("egg", "min_incubation_time");
+		eggMaxIncubationTime = getInt("egg", "max_incubation_time");
+		eggMass = getDouble("egg", "mass");
+		eggMinVelocity = getDouble("egg", "min_velocity");
+		eggVelocityDecay = getDouble("egg", "velocity_decay");
+
+		foodRadius = getInt("food", "radius");
+		foodEnergy = getInt("food", "energy");
+
+		ecosystemBlocksPerEdgeInApp = getInt("ecosystem", "blocks_per_edge_in_app");
+		ecosystemBlocksPerEdgeInExperiment = getInt("ecosystem", "blocks_per_edge_in_experiment");
+		ecosystemEggsDensityPerBlock = getDouble("ecosystem", "eggs_density_per_block");
+		ecosystemFoodDensityPerBlock = getDouble("ecosystem", "food_density_per_block");
+		ecosystemMaxFoodDensityPer1000Block = getDouble("ecosystem", "max_food_density_per_1000_blocks");
+		ecosystemFoodRespawnAverageIntervalPerBlock = getInt("ecosystem", "food_respawn_average_interval_per_block");
+		ecosystemUpdateFoodTargetsInterval = getInt("ecosystem", "update_food_targets_interval");
+		ecosystemInitialElementLevel = getInt("ecosystem", "initial_element_level");
+		ecosystemSpatialIndex = getString("ecosystem", "spatial_index");
+		ecosystemTopology = getString("ecosystem", "topology");
+
+		experimentSampleIntervalTicks = getInt("experiment", "sample_interval_ticks");
+		experimentSaveIntervalSeconds = getInt("experiment", "save_interval_seconds");
+
+		archipelagoMigrationInterval = getInt("archipelago", "migration_interval");
+		archipelagoMigrationRate = getDouble("archipelago", "migration_rate");
+
+		databaseHost = getString("database", "host");
+		databasePort = getInt("database", "port");
+	}
+
+	/**
+	 * Reads a file in the same format as config.yaml, and returns a copy of
+	 * this Configuration with the values in that file. The file can contain
+	 * only the values that you want to change.
+	 */
+	public Configuration with(File file) {
+		return with(loadConfigurationData(file));
+	}
+
+	/**
+	 * Returns a copy of this Configuration with the values in the given
+	 * sections. The sections can contain only the values that you want to
+	 * change.
+	 */
+	public Configuration with(Map<String, Map<String, Object>> values) {
+		Map<String, Map<String, Object>> result = copy(data);
+		for (Map.Entry<String, Map<String, Object>> section : values.entrySet())
+			for (Map.Entry<String, Object> entry : section.getValue().entrySet())
+				put(result, section.getKey(), entry.getKey(), entry.getValue());
+		return new Configuration(result);
+	}
+
+	/**
+	 * Returns a copy of this Configuration with a different value.
+	 */
+	public Configuration with(String configSection, String configKey, Object value) {
+		Map<String, Map<String, Object>> result = copy(data);
+		put(result, configSection, configKey, value);
+		return new Configuration(result);
+	}
+
+	/**
+	 * Returns the sections of key/value pairs in this Configuration (a copy,
+	 * so changing it doesn't change the Configuration).
+	 */
+	public Map<String, Map<String, Object>> toMap() {
+		return copy(data);
+	}
+
+	private static void put(Map<String, Map<String, Object>> data, String configSection, String configKey, Object value) {
+		Map<String, Object> section = data.get(configSection);
+		if (section == null || !section.containsKey(configKey))
+			throw new IllegalArgumentException("Unknown configuration value: \"" + configSection + ":" + configKey + "\"");
+		section.put(configKey, value);
+	}
+
+	private static Map<String, Map<String, Object>> copy(Map<String, Map<String, Object>> data) {
+		Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+		for (Map.Entry<String, Map<String, Object>> section : data.entrySet())
+			result.put(section.getKey(), new LinkedHashMap<>(section.getValue()));
+		return result;
+	}
+
 	@SuppressWarnings("unchecked")
-	private static Map<String, Map<String, Object>> loadConfigurationData() {		
-		File configurationFile = locateConfigurationFile();
+	private static Map<String, Map<String, Object>> loadConfigurationData(File configurationFile) {
 		try {
 			return (Map<String, Map<String, Object>>) new Yaml().load(new FileReader(configurationFile));
 		} catch (FileNotFoundException e) {
-			fail("cannot find a configuration file (config.yaml) in the current working directory");
-			return null;
+			throw new IllegalArgumentException("cannot find a configuration file (" + configurationFile.getName() + ")", e);
 		} catch (Exception e) {
-			fail("cannot parse the config.yaml file: " + e.getMessage());
-			return null;
+			throw new IllegalArgumentException("cannot parse the " + configurationFile.getName() + " file: " + e.getMessage(), e);
 		}
 	}
 
@@ -30,115 +218,47 @@ public class Configuration {
 		File defaultPath = new File(System.getProperty("user.dir") + "/config.yaml");
 		if (defaultPath.exists())
 			return defaultPath;
-			
+
 		// The working folder mechanism is unreliable in a Mac app bundle,
 		// so try an alternative. The "narjillos.home" system variable
 		// is set manually in the Info.plist file of the packaged app.
 		return new File(System.getProperty("narjillos.home") + "/config.yaml");
 	}
-	
-	private static double getDouble(String configSection, String configKey) {
+
+	// Numbers can come as Integers or Doubles, depending on where the data
+	// comes from (YAML or JSON).
+	private double getDouble(String configSection, String configKey) {
 		Object result = get(configSection, configKey);
-		try {
-			if (result instanceof Double)
-				return (Double) result;
-			return new Double((int) result);
-		} catch (ClassCastException e) {
-			fail("\"" + configSection + ":" + configKey + "\" in config.yaml is not a number");
-			return 0;
+		if (!(result instanceof Number)) {
+			throw new IllegalArgumentException("\"" + configSection + ":" + configKey + "\" in config.yaml is not a number");
 		}
+		return ((Number) result).doubleValue();
 	}
-	
-	private static int getInt(String configSection, String configKey) {
+
+	private int getInt(String configSection, String configKey) {
 		Object result = get(configSection, configKey);
-		try {
-			return (int) result;
-		} catch (ClassCastException e) {
-			fail("\"" + configSection + ":" + configKey + "\" in config.yaml is not an integer number");
-			return 0;
+		if (!(result instanceof Number) || ((Number) result).doubleValue() != ((Number) result).intValue()) {
+			throw new IllegalArgumentException("\"" + configSection + ":" + configKey + "\" in config.yaml is not an integer number");
 		}
+		return ((Number) result).intValue();
 	}
-	
-	private static String getString(String configSection, String configKey) {
+
+	private String getString(String configSection, String configKey) {
 		Object result = get(configSection, configKey);
 		try {
 			return (String) result;
 		} catch (ClassCastException e) {
-			fail("\"" + configSection + ":" + configKey + "\" in config.yaml is not a string");
-			return "";
+			throw new IllegalArgumentException("\"" + configSection + ":" + configKey + "\" in config.yaml is not a string");
 		}
 	}
 
-	private static Object get(String configSection, String configKey) {
+	private Object get(String configSection, String configKey) {
 		Map<String, Object> section = data.get(configSection);
-		if (section == null) {
-			fail("cannot find section \"" + configSection + "\" in config.yaml");
-		}
+		if (section == null)
+			throw new IllegalArgumentException("cannot find section \"" + configSection + "\" in config.yaml");
 		Object result = section.get(configKey);
-		if (result == null) {
-			fail("cannot find value \"" + configSection + ":" + configKey + "\" in config.yaml");
-		}
+		if (result == null)
+			throw new IllegalArgumentException("cannot find value \"" + configSection + ":" + configKey + "\" in config.yaml");
 		return result;
 	}
-
-	private static void fail(String errorMessage) {
-		System.out.println("Error: " + errorMessage);
-		System.exit(1);
-	}
-
-	// physics
-	public static final double PHYSICS_VISCOSITY_KICKIN_VELOCITY = getDouble("physics", "viscosity_kickin_velocity");
-	public static final double PHYSICS_COLLISION_DISTANCE = getDouble("physics", "collision_distance");
-	public static final double PHYSICS_ENERGY_EXPENSE_PER_JOULE = getDouble("physics", "energy_expense_per_joule");
-	public static final double PHYSICS_METABOLIC_CONSUMPTION_POW = getDouble("physics", "metabolic_consumption_pow");
-
-	// dna
-	public static final double DNA_MUTATION_RATE = getDouble("dna", "mutation_rate");
-	public static final double DNA_MUTATION_RANGE = getDouble("dna", "mutation_range");
-	public static final int DNA_NUMBER_OF_CHROMOSOMES = getInt("dna", "number_of_chromosomes");
-
-	// creatures
-	public static final double CREATURE_MAX_LIFESPAN = getDouble("creature", "max_lifespan");
-	public static final double CREATURE_MATURE_AGE = getDouble("creature", "mature_age");
-	public static final double CREATURE_MAX_ENERGY_TO_INITIAL_ENERGY = getDouble("creature", "max_energy_to_initial_energy");
-	public static final double CREATURE_BASE_WAVE_FREQUENCY = getDouble("creature", "base_wave_frequency");
-	public static final double CREATURE_BASE_SKEWING_VELOCITY = getDouble("creature", "base_skewing_velocity");
-	public static final double CREATURE_LATERAL_VIEWFIELD = getDouble("creature", "lateral_viewfield");
-	public static final double CREATURE_SEED_ENERGY = getDouble("creature", "seed_energy");
-	public static final double CREATURE_MIN_ENERGY_TO_CHILDREN = getDouble("creature", "min_energy_to_children");
-
-	// organs
-	public static final double ORGAN_MINIMUM_LENGTH_AT_BIRTH = getInt("organ", "minimum_length_at_birth");
-	public static final double ORGAN_MINIMUM_THICKNESS_AT_BIRTH = getInt("organ", "minimum_thickness_at_birth");
-	public static final double ORGAN_GROWTH_RATE = getDouble("organ", "growth_rate");
-
-	// eggs
-	public static final double EGG_RADIUS = getInt("egg", "radius");
-	public static final int EGG_MIN_INCUBATION_TIME = getInt("egg", "min_incubation_time");
-	public static final int EGG_MAX_INCUBATION_TIME = getInt("egg", "max_incubation_time");
-	public static final double EGG_MASS = getDouble("egg", "mass");
-	public static final double EGG_MIN_VELOCITY = getDouble("egg", "min_velocity");
-	public static final double EGG_VELOCITY_DECAY = getDouble("egg", "velocity_decay");
-
-	// food
-	public static final double FOOD_RADIUS = getInt("food", "radius");
-	public static final double FOOD_ENERGY = getInt("food", "energy");
-
-	// ecosystem
-	public final static int ECOSYSTEM_BLOCKS_PER_EDGE_IN_APP = getInt("ecosystem", "blocks_per_edge_in_app");
-	public final static int ECOSYSTEM_BLOCKS_PER_EDGE_IN_EXPERIMENT = getInt("ecosystem", "blocks_per_edge_in_experiment");
-	public static final double ECOSYSTEM_EGGS_DENSITY_PER_BLOCK = getDouble("ecosystem", "eggs_density_per_block");
-	public static final double ECOSYSTEM_FOOD_DENSITY_PER_BLOCK = getDouble("ecosystem", "food_density_per_block");
-	public static final double ECOSYSTEM_MAX_FOOD_DENSITY_PER_1000_BLOCK = getDouble("ecosystem", "max_food_density_per_1000_blocks");
-	public static final double ECOSYSTEM_FOOD_RESPAWN_AVERAGE_INTERVAL_PER_BLOCK = getInt("ecosystem", "food_respawn_average_interval_per_block");
-	public static final int ECOSYSTEM_UPDATE_FOOD_TARGETS_INTERVAL = getInt("ecosystem", "update_food_targets_interval");
-	public static final int ECOSYSTEM_INITIAL_ELEMENT_LEVEL = getInt("ecosystem", "initial_element_level");
-
-	// experiment
-	public static final int EXPERIMENT_SAMPLE_INTERVAL_TICKS = getInt("experiment", "sample_interval_ticks");
-	public static final int EXPERIMENT_SAVE_INTERVAL_SECONDS = getInt("experiment", "save_interval_seconds");
-
-	// database
-	public static final String DATABASE_HOST = getString("database", "host");
-	public static final int DATABASE_PORT = getInt("database", "port");
 }
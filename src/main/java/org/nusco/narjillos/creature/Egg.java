@@ -25,42 +25,63 @@ public class Egg implements Thing {
 	private double energy;
 	private int hatchAge = NOT_HATCHED_YET;
 	private transient Narjillo hatchedNarjillo = null;
+	private transient Configuration configuration;
 	
 	public Egg(DNA dna, Vector position, Vector velocity, double energy, NumGen numGen) {
+		this(dna, position, velocity, energy, numGen, Configuration.DEFAULT);
+	}
+
+	public Egg(DNA dna, Vector position, Vector velocity, double energy, NumGen numGen, Configuration configuration) {
 		this.dna = dna;
-		this.incubationTime = calculateIncubationTime(numGen);
+		this.incubationTime = calculateIncubationTime(numGen, configuration);
+		this.configuration = configuration;
 		this.position = position;
 		this.velocity = velocity;
 		this.energy = energy;
 	}
 
 	@Override
-	public Segment tick(Atmosphere atmosphere) {
+	public Segment tick(Atmosphere atmosphere, Configuration configuration) {
 		age++;
 
-		if (velocity.getLength() > Configuration.EGG_MIN_VELOCITY) {
+		if (velocity.getLength() > configuration.eggMinVelocity) {
 			position = position.plus(velocity);
-			velocity = velocity.by(Configuration.EGG_VELOCITY_DECAY);
+			velocity = velocity.by(configuration.eggVelocityDecay);
 		} else
 			velocity = Vector.ZERO;
 		
 		return new Segment(position, velocity);
 	}
 
-	public boolean hatch(NumGen numGen) {
-		if (hasHatched())
-			return false;
-		if (!hasStopped())
-			return false;
-		if (age < incubationTime)
+	public boolean hatch(NumGen numGen, Configuration configuration) {
+		if (!isReadyToHatch())
 			return false;
 
-		
+		hatch(getHatchingAngle(numGen), configuration);
+		return true;
+	}
+
+	public boolean isReadyToHatch() {
+		return !hasHatched() && hasStopped() && age >= incubationTime;
+	}
+
+	/**
+	 * Picks the angle of the hatched narjillo. Together with hatch(double, Configuration),
+	 * this lets you draw the random numbers first, and then hatch many eggs
+	 * in parallel.
+	 */
+	public static double getHatchingAngle(NumGen numGen) {
+		return numGen.nextInt() % 360;
+	}
+
+	/**
+	 * Hatches the egg, even if it isn't ready to hatch yet.
+	 */
+	public void hatch(double angle, Configuration configuration) {
 		hatchAge = age;
-		double angle = numGen.nextInt() % 360;
-		hatchedNarjillo = new Narjillo(dna, getPosition(), angle, new LifeFormEnergy(energy, Configuration.CREATURE_MAX_LIFESPAN));
+		LifeFormEnergy narjilloEnergy = new LifeFormEnergy(energy, configuration.creatureMaxLifespan, configuration);
+		hatchedNarjillo = new Narjillo(dna, getPosition(), angle, narjilloEnergy, configuration);
 		energy = 0;
-		return true;
 	}
 
 	public Narjillo getHatchedNarjillo() {
@@ -79,7 +100,7 @@ public class Egg implements Thing {
 
 	@Override
 	public Energy getEnergy() {
-		return new LifeFormEnergy(energy, Double.MAX_VALUE);
+		return new LifeFormEnergy(energy, Double.MAX_VALUE, getConfiguration());
 	}
 
 	@Override
@@ -114,22 +135,39 @@ public class Egg implements Thing {
 		return velocity;
 	}
 
+	public void forcePosition(Vector position) {
+		this.position = position;
+	}
+
 	private boolean hasStopped() {
 		return getVelocity().equals(Vector.ZERO);
 	}
 
 	@Override
 	public double getRadius() {
-		return Configuration.EGG_RADIUS;
+		return getConfiguration().eggRadius;
+	}
+
+	/**
+	 * The configuration doesn't go into JSON with the egg. When you read an
+	 * egg from JSON, give it back the configuration of its ecosystem. (Until
+	 * you do, it uses the default configuration).
+	 */
+	public void setConfiguration(Configuration configuration) {
+		this.configuration = configuration;
+	}
+
+	private Configuration getConfiguration() {
+		return (configuration != null) ? configuration : Configuration.DEFAULT;
 	}
 
 	public int getIncubationTime() {
 		return incubationTime;
 	}
 
-	private int calculateIncubationTime(NumGen numGen) {
-		final int MAX_INCUBATION_INTERVAL = Configuration.EGG_MAX_INCUBATION_TIME - Configuration.EGG_MIN_INCUBATION_TIME;
+	private int calculateIncubationTime(NumGen numGen, Configuration configuration) {
+		final int MAX_INCUBATION_INTERVAL = configuration.eggMaxIncubationTime - configuration.eggMinIncubationTime;
 		int extraIncubation = (int) (MAX_INCUBATION_INTERVAL * numGen.nextDouble());
-		return Configuration.EGG_MIN_INCUBATION_TIME + extraIncubation;
+		return configuration.eggMinIncubationTime + extraIncubation;
 	}
 }
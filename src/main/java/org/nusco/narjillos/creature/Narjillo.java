@@ -32,14 +32,18 @@ public class Narjillo implements Thing {
 	private long nextEggAge = 0;
 
 	public Narjillo(DNA dna, Vector position, double angle, Energy energy) {
-		this.body = new Embryo(dna).develop();
+		this(dna, position, angle, energy, Configuration.DEFAULT);
+	}
+
+	public Narjillo(DNA dna, Vector position, double angle, Energy energy, Configuration configuration) {
+		this.body = new Embryo(dna, configuration).develop();
 		body.forcePosition(position, angle);
 		this.dna = dna;
 		this.energy = energy;
 	}
 
 	@Override
-	public Segment tick(Atmosphere atmosphere) {
+	public Segment tick(Atmosphere atmosphere, Configuration configuration) {
 		growOlder();
 
 		Vector startingPosition = body.getStartPoint();
@@ -47,9 +51,9 @@ public class Narjillo implements Thing {
 		if (isDead())
 			return new Segment(startingPosition, Vector.ZERO);
 
-		mouth.tick(getPosition(), getTarget(), getBody().getAngle());
+		mouth.tick(getPosition(), getTarget(), getBody().getAngle(), configuration);
 
-		double energyRequiredToMove = body.tick(getMouth().getDirection());
+		double energyRequiredToMove = body.tick(getMouth().getDirection(), configuration);
 		updateEnergy(energyRequiredToMove, atmosphere);
 
 		return new Segment(startingPosition, body.getStartPoint().minus(startingPosition));
@@ -96,6 +100,14 @@ public class Narjillo implements Thing {
 		return body.getCenterOfMass();
 	}
 
+	/**
+	 * Moves the narjillo without changing its shape. (Unlike a normal
+	 * movement, this doesn't consume energy).
+	 */
+	public void translateBy(Vector translation) {
+		body.translateBy(translation);
+	}
+
 	public void feedOn(FoodPellet thing) {
 		getEnergy().steal(thing.getEnergy());
 		thing.setEater(this);
@@ -125,30 +137,30 @@ public class Narjillo implements Thing {
 	 * Returns the newly laid egg, or null if the narjillo doesn't want to lay
 	 * it.
 	 */
-	public Egg layEgg(GenePool genePool, NumGen numGen) {
+	public Egg layEgg(GenePool genePool, NumGen numGen, Configuration configuration) {
 		if (getAge() < nextEggAge)
 			return null;
 
-		if (isTooYoungToLayEggs()) {
+		if (isTooYoungToLayEggs(configuration)) {
 			// skip this chance to reproduce
 			decideWhenToLayTheNextEgg();
 			return null;
 		}
 
 		double energyToChild = getBody().getEnergyToChildren();
-		double energyToEgg = Math.pow(getBody().getEggVelocity() * Configuration.EGG_MASS, 2);
+		double energyToEgg = Math.pow(getBody().getEggVelocity() * configuration.eggMass, 2);
 
 		double totalEnergyRequired = energyToChild + energyToEgg;
 		if (getEnergy().getValue() < totalEnergyRequired)
 			return null;
 
 		getEnergy().decreaseBy(energyToChild);
-		DNA childDNA = genePool.mutateDna(getDNA(), numGen);
+		DNA childDNA = genePool.mutateDna(getDNA(), numGen, configuration);
 
 		decideWhenToLayTheNextEgg();
 		Vector position = getNeckLocation();
 		Vector velocity = Vector.polar(360 * numGen.nextDouble(), getBody().getEggVelocity());
-		return new Egg(childDNA, position, velocity, energyToChild, numGen);
+		return new Egg(childDNA, position, velocity, energyToChild, numGen, configuration);
 	}
 
 	public Element getBreathedElement() {
@@ -189,8 +201,8 @@ public class Narjillo implements Thing {
 		nextEggAge = getAge() + getBody().getEggInterval();
 	}
 
-	private boolean isTooYoungToLayEggs() {
-		return getAge() < Configuration.CREATURE_MATURE_AGE;
+	private boolean isTooYoungToLayEggs(Configuration configuration) {
+		return getAge() < configuration.creatureMatureAge;
 	}
 
 	private void growOlder() {
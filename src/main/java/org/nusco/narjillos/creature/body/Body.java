@@ -1,14 +1,10 @@
 package org.nusco.narjillos.creature.body;
 
 import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.nusco.narjillos.core.chemistry.Element;
 import org.nusco.narjillos.core.physics.Angle;
-import org.nusco.narjillos.core.physics.Segment;
 import org.nusco.narjillos.core.physics.Vector;
 import org.nusco.narjillos.core.physics.ZeroVectorAngleException;
 import org.nusco.narjillos.core.utilities.Configuration;
@@ -32,14 +28,19 @@ public class Body {
 	private double greenMass;
 	private double blueMass;
 	private transient List<ConnectedOrgan> organs;
+	private transient volatile CompiledBody compiledBody;
 
 	private transient Vector cachedCenterOfMass = null;
 	private transient double cachedRadius = Double.NaN;
 
 	public Body(MovingOrgan head) {
+		this(head, Configuration.DEFAULT);
+	}
+
+	public Body(MovingOrgan head, Configuration configuration) {
 		this.head = head;
 		adultMass = calculateAdultMass();
-		this.metabolicConsumption = Math.pow(getHead().getMetabolicRate(), Configuration.PHYSICS_METABOLIC_CONSUMPTION_POW);
+		this.metabolicConsumption = Math.pow(getHead().getMetabolicRate(), configuration.physicsMetabolicConsumptionPow);
 		updateMasses();
 	}
 
@@ -56,11 +57,12 @@ public class Body {
 	}
 
 	public Vector getStartPoint() {
-		return getHead().getStartPoint();
+		CompiledBody compiledBody = getCompiledBody();
+		return Vector.cartesian(compiledBody.getStartX(), compiledBody.getStartY());
 	}
 
 	public double getAngle() {
-		return Angle.normalize(getHead().getAbsoluteAngle() + 180);
+		return Angle.normalize(getCompiledBody().getAbsoluteAngle() + 180);
 	}
 
 	public double getMass() {
@@ -129,19 +131,27 @@ public class Body {
 	}
 
 	public synchronized double getRadius() {
-		if (Double.isNaN(cachedRadius))
-			cachedRadius = calculateRadius(getCenterOfMass());
+		if (Double.isNaN(cachedRadius)) {
+			Vector centerOfMass = getCenterOfMass();
+			cachedRadius = getCompiledBody().calculateRadius(centerOfMass.x, centerOfMass.y);
+		}
 		return cachedRadius;
 	}
 
 	public synchronized Vector getCenterOfMass() {
 		if (cachedCenterOfMass == null)
-			cachedCenterOfMass = calculateCenterOfMass();
+			cachedCenterOfMass = Vector.cartesian(getCompiledBody().calculateCenterOfMassX(mass),
+					getCompiledBody().calculateCenterOfMassY(mass));
 		return cachedCenterOfMass;
 	}
 
 	public void forcePosition(Vector position, double angle) {
-		getHead().forcePosition(position, angle);
+		getCompiledBody().forcePosition(position.x, position.y, angle);
+		resetCaches();
+	}
+
+	public void translateBy(Vector translation) {
+		getCompiledBody().translateBy(translation.x, translation.y);
 		resetCaches();
 	}
 
@@ -155,22 +165,28 @@ public class Body {
 	 * 
 	 * Look inside for more details...
 	 */
-	public double tick(Vector targetDirection) {
+	public double tick(Vector targetDirection, Configuration configuration) {
+		// All the calculations happen on the compiled version of the body,
+		// that keeps the state of all organs in flat arrays (much faster
+		// than walking the tree of organs). They use primitive doubles
+		// instead of Vectors, so that ticking doesn't allocate memory.
+		CompiledBody compiledBody = getCompiledBody();
+
 		// Before any movement, store away the current center of mass and the
 		// angles and positions of all body parts. These will come useful later.
 		// (Note that we could calculate the angles from the positions, but
 		// computing angles is expensive - so it's faster to store the angles
 		// away now that we already have them).
-		Vector initialCenterOfMass = calculateCenterOfMass();
-		Map<Organ, Double> initialAnglesOfOrgans = calculateAnglesOfOrgans();
-		Map<Organ, Segment> initialPositionsOfOrgans = calculatePositionsOfOrgans();
+		double initialCenterOfMassX = compiledBody.calculateCenterOfMassX(mass);
+		double initialCenterOfMassY = compiledBody.calculateCenterOfMassY(mass);
+		compiledBody.saveInitialState();
 
 		// This first step happens as if the body where in a vacuum.
 		// The organs in the body remodel their own geometry based on the
 		// target's direction. They don't "think" were to go - they just
 		// changes their positions *somehow*. Natural selection will eventually
 		// favor movements that result in getting closer to the target.
-		tick_step1_updateAngles(targetDirection);
+		tick_step1_updateAngles(compiledBody, targetDirection, configuration);
 
 		// The organs might have grown during the previous ticks.
 		// Update the masses in a still-developing body. (Then stop
@@ -181,21 +197,22 @@ public class Body {
 		// Changing the angles in the body results in a rotational force.
 		// Rotate the body to match the force. In other words, keep the body's
 		// moment of inertia equal to zero.
-		double rotationEnergy = tick_step2_rotate(initialAnglesOfOrgans, initialPositionsOfOrgans, initialCenterOfMass, mass);
+		double rotationEnergy = tick_step2_rotate(compiledBody, initialCenterOfMassX, initialCenterOfMassY, mass, configuration);
 
 		// The previous updates moved the center of mass. Remember, we're
 		// in a vacuum - so the center of mass shouldn't move. Let's put it
 		// back to its original position.
 		// It's important to recalculate the center of mass here.
 		// Otherwise, we will get the old, cached value from before the movement.
-		tick_step3_recenter(initialCenterOfMass, calculateCenterOfMass());
+		tick_step3_recenter(compiledBody, initialCenterOfMassX, initialCenterOfMassY, compiledBody.calculateCenterOfMassX(mass),
+				compiledBody.calculateCenterOfMassY(mass));
 		
 		// Now we can finally move out of the "vacuum" reference system.
 		// All the movements from the previous steps result in a different
 		// body position in space, and this different position generates
 		// translational forces. We can update the body position based on
 		// these translations.
-		double translationEnergy = tick_step4_translate(initialPositionsOfOrgans, initialCenterOfMass, mass);
+		double translationEnergy = tick_step4_translate(compiledBody, mass, configuration);
 
 		resetCaches();
 
@@ -204,17 +221,11 @@ public class Body {
 	}
 
 	final void updateMasses() {
-		mass = 0;
-		redMass = 0;
-		greenMass = 0;
-		blueMass = 0;
-		for (Organ organ : getOrgans()) {
-			double organMass = organ.getMass();
-			mass += organMass;
-			redMass += organMass * organ.getFiber().getPercentOfRed();
-			greenMass += organMass * organ.getFiber().getPercentOfGreen();
-			blueMass += organMass * organ.getFiber().getPercentOfBlue();
-		}
+		CompiledBody compiledBody = getCompiledBody();
+		mass = compiledBody.calculateMass();
+		redMass = compiledBody.calculateRedMass();
+		greenMass = compiledBody.calculateGreenMass();
+		blueMass = compiledBody.calculateBlueMass();
 	}
 
 	@Override
@@ -227,7 +238,7 @@ public class Body {
 	}
 
 	public void growToAdultForm() {
-		getHead().growToAdultFormWithChildren();
+		getCompiledBody().growToAdultForm();
 		resetCaches();
 		updateMasses();
 	}
@@ -237,56 +248,41 @@ public class Body {
 		cachedRadius = Double.NaN;
 	}
 
-	private Vector calculateCenterOfMass() {
-		if (mass <= 0)
-			return getStartPoint();
-
-		// do it in one swoop instead of creating a lot of
-		// intermediate vectors
-
-		List<ConnectedOrgan> organs = getOrgans();
-		Vector[] weightedCentersOfMass = new Vector[organs.size()];
-		Iterator<ConnectedOrgan> iterator = organs.iterator();
-		for (int i = 0; i < weightedCentersOfMass.length; i++) {
-			Organ organ = iterator.next();
-			weightedCentersOfMass[i] = organ.getCenterOfMass().by(organ.getMass());
+	// Bodies that come from deserialization are compiled the first time
+	// they're used.
+	CompiledBody getCompiledBody() {
+		CompiledBody result = compiledBody;
+		if (result != null)
+			return result;
+		synchronized (this) {
+			if (compiledBody == null)
+				compiledBody = new CompiledBody(getOrgans());
+			return compiledBody;
 		}
-
-		double totalX = 0;
-		double totalY = 0;
-		for (int i = 0; i < weightedCentersOfMass.length; i++) {
-			totalX += weightedCentersOfMass[i].x;
-			totalY += weightedCentersOfMass[i].y;
-		}
-
-		return Vector.cartesian(totalX / mass, totalY / mass);
 	}
 
-	private void tick_step1_updateAngles(Vector targetDirection) {
+	private void tick_step1_updateAngles(CompiledBody compiledBody, Vector targetDirection, Configuration configuration) {
 		double angleToTarget = getAngleTo(targetDirection);
-		getHead().tick(angleToTarget);
+		compiledBody.updateAngles(angleToTarget, getWaveBeatRatio(), configuration);
 	}
 
-	private double tick_step2_rotate(Map<Organ, Double> initialAnglesOfOrgans, Map<Organ, Segment> initialPositions, Vector centerOfMass,
-			double mass) {
-		RotationsPhysicsEngine forceField = new RotationsPhysicsEngine(mass, calculateRadius(centerOfMass), centerOfMass);
-		for (Organ bodyPart : getOrgans())
-			forceField.registerMovement(initialAnglesOfOrgans.get(bodyPart), bodyPart.getAbsoluteAngle(), bodyPart.getPositionInSpace(),
-					bodyPart.getMass());
-		getHead().rotateBy(forceField.getRotation());
+	private double tick_step2_rotate(CompiledBody compiledBody, double centerOfMassX, double centerOfMassY, double mass,
+			Configuration configuration) {
+		RotationsPhysicsEngine forceField = compiledBody.calculateRotations(mass, centerOfMassX, centerOfMassY, configuration);
+		compiledBody.rotateBy(forceField.getRotation());
 		return forceField.getEnergy();
 	}
 
-	private void tick_step3_recenter(Vector centerOfMassBeforeReshaping, Vector centerOfMassAfterReshaping) {
-		Vector centerOfMassOffset = centerOfMassBeforeReshaping.minus(centerOfMassAfterReshaping);
-		getHead().translateBy(centerOfMassOffset);
+	private void tick_step3_recenter(CompiledBody compiledBody, double centerOfMassBeforeReshapingX, double centerOfMassBeforeReshapingY,
+			double centerOfMassAfterReshapingX, double centerOfMassAfterReshapingY) {
+		double centerOfMassOffsetX = centerOfMassBeforeReshapingX - centerOfMassAfterReshapingX;
+		double centerOfMassOffsetY = centerOfMassBeforeReshapingY - centerOfMassAfterReshapingY;
+		compiledBody.translateBy(centerOfMassOffsetX, centerOfMassOffsetY);
 	}
 
-	private double tick_step4_translate(Map<Organ, Segment> initialPositions, Vector centerOfMass, double mass) {
-		TranslationsPhysicsEngine forceField = new TranslationsPhysicsEngine(mass);
-		for (Organ bodyPart : getOrgans())
-			forceField.registerMovement(initialPositions.get(bodyPart), bodyPart.getPositionInSpace(), bodyPart.getMass());
-		getHead().translateBy(forceField.getTranslation());
+	private double tick_step4_translate(CompiledBody compiledBody, double mass, Configuration configuration) {
+		TranslationsPhysicsEngine forceField = compiledBody.calculateTranslations(mass, configuration);
+		compiledBody.translateBy(forceField.getTranslationX(), forceField.getTranslationY());
 		return forceField.getEnergy();
 	}
 
@@ -311,37 +307,10 @@ public class Body {
 		}
 	}
 
-	private Map<Organ, Segment> calculatePositionsOfOrgans() {
-		Map<Organ, Segment> result = new LinkedHashMap<>();
-		for (Organ organ : getOrgans())
-			result.put(organ, organ.getPositionInSpace());
-		return result;
-	}
-
-	private Map<Organ, Double> calculateAnglesOfOrgans() {
-		Map<Organ, Double> result = new LinkedHashMap<>();
-		for (Organ organ : getOrgans())
-			result.put(organ, organ.getAbsoluteAngle());
-		return result;
-	}
-
 	private double calculateAdultMass() {
 		double result = 0;
 		for (Organ organ : getOrgans())
 			result += organ.getAdultMass();
 		return result;
 	}
-
-	private double calculateRadius(Vector centerOfMass) {
-		final double MIN_RADIUS = 1;
-		double result = MIN_RADIUS;
-		for (Organ bodyPart : getOrgans()) {
-			double startPointDistance = bodyPart.getStartPoint().minus(centerOfMass).getLength();
-			double endPointDistance = bodyPart.getEndPoint().minus(centerOfMass).getLength();
-			double distance = Math.max(startPointDistance, endPointDistance);
-			if (distance > result)
-				result = distance;
-		}
-		return result;
-	}
 }
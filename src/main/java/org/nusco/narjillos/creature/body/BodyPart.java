@@ -19,22 +19,32 @@ public class BodyPart extends MovingOrgan {
 
 	// TODO: too many constructor arguments. introduce parameter object like I did for Head
 	public BodyPart(int adultLength, int adultThickness, int redShift, int greenShift, int blueShift, ConnectedOrgan parent, int delay, int angleToParentAtRest, int amplitude, int skewing) {
+		this(adultLength, adultThickness, redShift, greenShift, blueShift, parent, delay, angleToParentAtRest, amplitude, skewing, Configuration.DEFAULT);
+	}
+
+	public BodyPart(int adultLength, int adultThickness, int redShift, int greenShift, int blueShift, ConnectedOrgan parent, int delay, int angleToParentAtRest, int amplitude, int skewing, Configuration configuration) {
+		this(adultLength, adultThickness, redShift, greenShift, blueShift, parent, new DelayNerve(delay), angleToParentAtRest, amplitude, skewing, configuration);
+	}
+
+	// for testing
+	BodyPart(ConnectedOrgan parent, Nerve nerve) {
+		this(0, 0, 0, 0, 0, parent, nerve, 0, 1, 0, Configuration.DEFAULT);
+	}
+
+	private BodyPart(int adultLength, int adultThickness, int redShift, int greenShift, int blueShift, ConnectedOrgan parent, Nerve nerve, int angleToParentAtRest, int amplitude, int skewing, Configuration configuration) {
 		super(adultLength,
 			  adultThickness,
 			  parent.getFiber().shift(redShift, greenShift, blueShift),
 			  parent,
-			  new DelayNerve(delay),
-			  angleToParentAtRest);
+			  nerve,
+			  angleToParentAtRest,
+			  configuration);
 		this.angleToParentAtRest = angleToParentAtRest;
 		this.orientation = (int) Math.signum(angleToParentAtRest);
 		this.amplitude = amplitude;
 		this.skewing = skewing;
 	}
 
-	BodyPart(Nerve nerve) {
-		this(0, 0, 0, 0, 0, null, 13, 0, 1, 0);
-	}
-
 	public double getAngleToParentAtRest() {
 		return angleToParentAtRest;
 	}
@@ -55,12 +65,6 @@ public class BodyPart extends MovingOrgan {
 		return ((DelayNerve) getNerve()).getDelay();
 	}
 
-	@Override
-	protected double calculateNewAngleToParent(double targetAmplitudePercent, double angleToTarget) {
-		double unbentAmplitude = orientation * targetAmplitudePercent * amplitude;
-		return angleToParentAtRest + unbentAmplitude + calculateSkewing(angleToTarget);
-	}
-	
 	@Override
 	protected double calculateAbsoluteAngle() {
 		return getParent().getAbsoluteAngle() + getAngleToParent();
@@ -73,17 +77,34 @@ public class BodyPart extends MovingOrgan {
 		return cachedMetabolicRate;
 	}
 
-	protected double calculateSkewing(double angleToTarget) {
-		double targetSkewing = (angleToTarget % 180) / 180 * getSkewing();
-		currentSkewing += getSkewingVelocity(targetSkewing);
+	double getCurrentSkewing() {
+		syncWithCompiledBody();
 		return currentSkewing;
 	}
 
-	private double getSkewingVelocity(double targetSkewing) {
-		double result = targetSkewing - currentSkewing;
-		double maxSkewingVelocity = getMetabolicRate() * Configuration.CREATURE_BASE_SKEWING_VELOCITY;
-		if (Math.abs(result) > maxSkewingVelocity)
-			return Math.signum(result) * maxSkewingVelocity;
-		return result;
+	@Override
+	void copyStateFrom(OrganArrays arrays, int position) {
+		super.copyStateFrom(arrays, position);
+		currentSkewing = arrays.currentSkewing[position];
+	}
+
+	// The next two methods calculate how a body part bends. CompiledBody
+	// uses them to move the body parts without going through the BodyPart
+	// objects.
+
+	static double calculateAngleToParent(double angleToParentAtRest, int orientation, int amplitude, double targetAmplitudePercent,
+			double currentSkewing) {
+		double unbentAmplitude = orientation * targetAmplitudePercent * amplitude;
+		return angleToParentAtRest + unbentAmplitude + currentSkewing;
+	}
+
+	static double calculateSkewing(double currentSkewing, double angleToTarget, int skewing, double metabolicRate,
+			Configuration configuration) {
+		double targetSkewing = (angleToTarget % 180) / 180 * skewing;
+		double skewingVelocity = targetSkewing - currentSkewing;
+		double maxSkewingVelocity = metabolicRate * configuration.creatureBaseSkewingVelocity;
+		if (Math.abs(skewingVelocity) > maxSkewingVelocity)
+			skewingVelocity = Math.signum(skewingVelocity) * maxSkewingVelocity;
+		return currentSkewing + skewingVelocity;
 	}
 }
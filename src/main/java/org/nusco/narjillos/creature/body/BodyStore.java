@@ -0,0 +1,114 @@
+package org.nusco.narjillos.creature.body;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs the organs of many bodies into the same arrays, one body after the
+ * other (see CompiledBody and OrganArrays).
+ *
+ * An Ecosystem keeps all its creatures in here. When it ticks them in the
+ * same order as the store, each worker thread walks through a contiguous
+ * chunk of memory, instead of jumping around between separate arrays for
+ * each body.
+ *
+ * Adding a body copies its organs to the end of the arrays. Removing a body
+ * leaves a hole, and the next compact() (or add()) closes all the holes in
+ * one pass, by moving the following bodies back. The bodies always stay in
+ * the order you added them. A body that leaves the store takes its organs
+ * with it, in arrays of its own, so you can keep using it.
+ *
+ * This class is not thread-safe. Add, remove and compact the bodies from one
+ * thread at a time, while they're not ticking. (It's fine to tick different
+ * bodies in parallel, though).
+ */
+public class BodyStore {
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private OrganArrays arrays = new OrganArrays(INITIAL_CAPACITY);
+	private final List<CompiledBody> bodies = new ArrayList<>();
+	private int end = 0;
+	private int numberOfHoles = 0;
+
+	public void add(Body body) {
+		CompiledBody compiledBody = body.getCompiledBody();
+		if (compiledBody.store != null)
+			throw new IllegalArgumentException("The body is already in a store");
+
+		compact();
+		ensureCapacity(end + compiledBody.size);
+		compiledBody.moveTo(arrays, end);
+		compiledBody.store = this;
+		compiledBody.positionInStore = bodies.size();
+		bodies.add(compiledBody);
+		end += compiledBody.size;
+	}
+
+	public void remove(Body body) {
+		CompiledBody compiledBody = body.getCompiledBody();
+		if (compiledBody.store != this)
+			return;
+
+		bodies.set(compiledBody.positionInStore, null);
+		numberOfHoles++;
+		compiledBody.moveTo(new OrganArrays(compiledBody.size), 0);
+		compiledBody.store = null;
+		compiledBody.positionInStore = -1;
+	}
+
+	public boolean contains(Body body) {
+		return body.getCompiledBody().store == this;
+	}
+
+	/**
+	 * Returns the position of the body in the store (0 for the first body
+	 * you added, and so on), or -1 if the body is not in the store. The
+	 * positions can change after you remove bodies.
+	 */
+	public int getPosition(Body body) {
+		CompiledBody compiledBody = body.getCompiledBody();
+		return (compiledBody.store == this) ? compiledBody.positionInStore : -1;
+	}
+
+	public int getNumberOfBodies() {
+		return bodies.size() - numberOfHoles;
+	}
+
+	public int getNumberOfOrgans() {
+		compact();
+		return end;
+	}
+
+	public void compact() {
+		if (numberOfHoles == 0)
+			return;
+
+		int nextPosition = 0;
+		int nextOrgan = 0;
+		for (CompiledBody compiledBody : bodies) {
+			if (compiledBody == null)
+				continue;
+			if (compiledBody.getSlice().first != nextOrgan)
+				compiledBody.moveTo(arrays, nextOrgan);
+			compiledBody.positionInStore = nextPosition;
+			bodies.set(nextPosition++, compiledBody);
+			nextOrgan += compiledBody.size;
+		}
+		bodies.subList(nextPosition, bodies.size()).clear();
+
+		arrays.clear(nextOrgan, end);
+		end = nextOrgan;
+		numberOfHoles = 0;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity <= arrays.getCapacity())
+			return;
+
+		OrganArrays newArrays = new OrganArrays(Math.max(capacity, arrays.getCapacity() * 2));
+		for (CompiledBody compiledBody : bodies)
+			compiledBody.moveTo(newArrays, compiledBody.getSlice().first);
+		arrays = newArrays;
+	}
+}
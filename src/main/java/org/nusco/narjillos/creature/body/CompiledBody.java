@@ -0,0 +1,412 @@
+package org.nusco.narjillos.creature.body;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.nusco.narjillos.core.physics.Angle;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.creature.body.physics.RotationsPhysicsEngine;
+import org.nusco.narjillos.creature.body.physics.TranslationsPhysicsEngine;
+
+/**
+ * The organs of a Body, flattened into parallel arrays of primitives.
+ *
+ * Walking a tree of Organs is slow: lots of pointer chasing, and lots of
+ * intermediate Vectors. So when a Body is created, it "compiles" its organs
+ * into this structure, and from then on Body.tick() runs as a few tight
+ * loops over the arrays.
+ *
+ * The organs are in the same order as Body.getOrgans(): children first, and
+ * the head last. So if you loop backwards, you always meet a parent before
+ * its children. If you loop forwards, you add things up in the same order as
+ * Body always did.
+ *
+ * Once an organ is compiled, its real state lives here. The Organ object
+ * becomes a view that copies its state from these arrays when somebody
+ * looks at it (see Organ.syncWithCompiledBody()). The Organs are still
+ * the ones that get serialized.
+ *
+ * The arrays can be the body's own, or they can be shared with other
+ * bodies in a BodyStore. Either way, the body's organs sit next to each
+ * other in a range of positions that starts at the "first" position, and
+ * the parents are indexes relative to that position. So the body can move
+ * around in the arrays (and even to different arrays) without changing its
+ * structure.
+ *
+ * Once it's compiled, the body can tick without allocating any memory.
+ */
+class CompiledBody {
+
+	final int size;
+
+	// Where the organs are. The arrays and the first position change
+	// together when the body moves, so they're in the same immutable
+	// object. A thread that looks at the organs while the body is moving
+	// sees either the old position or the new one, never a mix of the two.
+	private volatile Slice slice;
+
+	private double headStartX;
+	private double headStartY;
+
+	private final RotationsPhysicsEngine rotations = new RotationsPhysicsEngine();
+	private final TranslationsPhysicsEngine translations = new TranslationsPhysicsEngine();
+
+	// Changes every time the state changes (or moves), so that the organs
+	// know when their copy of the state is out of date.
+	private volatile long version = 0;
+
+	// Managed by the BodyStore that contains this body, if any.
+	BodyStore store = null;
+	int positionInStore = -1;
+
+	CompiledBody(List<ConnectedOrgan> organsList) {
+		size = organsList.size();
+		OrganArrays arrays = new OrganArrays(size);
+		slice = new Slice(arrays, 0);
+
+		Map<ConnectedOrgan, Integer> indexes = new IdentityHashMap<>();
+		for (int i = 0; i < size; i++)
+			indexes.put(organsList.get(i), i);
+
+		int head = size - 1;
+		for (int i = head; i >= 0; i--) {
+			MovingOrgan organ = (MovingOrgan) organsList.get(i);
+			arrays.organs[i] = organ;
+			arrays.parent[i] = (i == head) ? -1 : indexes.get(organ.getParent());
+			arrays.level[i] = (i == head) ? 1 : arrays.level[arrays.parent[i]] + 1;
+			compile(arrays, organ, i);
+		}
+
+		for (int i = 0; i < size; i++)
+			arrays.organs[i].attachTo(this, i);
+	}
+
+	long getVersion() {
+		return version;
+	}
+
+	Slice getSlice() {
+		return slice;
+	}
+
+	MovingOrgan getOrgan(int index) {
+		Slice slice = this.slice;
+		return slice.arrays.organs[slice.first + index];
+	}
+
+	double getStartX() {
+		Slice slice = this.slice;
+		return slice.arrays.startX[slice.getHead(size)];
+	}
+
+	double getStartY() {
+		Slice slice = this.slice;
+		return slice.arrays.startY[slice.getHead(size)];
+	}
+
+	double getAbsoluteAngle() {
+		Slice slice = this.slice;
+		return slice.arrays.absoluteAngle[slice.getHead(size)];
+	}
+
+	/**
+	 * Copies the organs to a different position (maybe in different
+	 * arrays), and leaves the old copy behind.
+	 */
+	void moveTo(OrganArrays arrays, int first) {
+		Slice slice = this.slice;
+		slice.arrays.copy(slice.first, arrays, first, size);
+		this.slice = new Slice(arrays, first);
+		version++;
+	}
+
+	/**
+	 * Remembers the current angles and positions of the organs, so that
+	 * the physics engines can compare them with the new ones later.
+	 */
+	void saveInitialState() {
+		Slice slice = this.slice;
+		OrganArrays a = slice.arrays;
+		int first = slice.first;
+		System.arraycopy(a.absoluteAngle, first, a.initialAngle, first, size);
+		System.arraycopy(a.startX, first, a.initialStartX, first, size);
+		System.arraycopy(a.startY, first, a.initialStartY, first, size);
+		System.arraycopy(a.vectorX, first, a.initialVectorX, first, size);
+		System.arraycopy(a.vectorY, first, a.initialVectorY, first, size);
+	}
+
+	/**
+	 * Grows the organs, sends the nerve signals from the head down to the
+	 * tail, and moves each organ based on its signal.
+	 */
+	void updateAngles(double angleToTarget, double waveBeatRatio, Configuration configuration) {
+		Slice slice = this.slice;
+		OrganArrays a = slice.arrays;
+		int first = slice.first;
+		int head = slice.getHead(size);
+		for (int i = head; i >= first; i--) {
+			// Organs towards the head grow slower, organs towards the tail
+			// grow faster. This gives juveline narjillos a nice "infant"
+			// shape.
+			if (a.length[i] < a.adultLength[i] || a.thickness[i] < a.adultThickness[i]) {
+				a.length[i] = Math.min(a.adultLength[i], a.length[i] + configuration.organGrowthRate * a.level[i]);
+				a.thickness[i] = Math.min(a.adultThickness[i], a.thickness[i] + configuration.organGrowthRate * a.level[i]);
+			}
+
+			double inputSignal = (i == head) ? waveBeatRatio : a.nerveOutput[first + a.parent[i]];
+			a.nerveOutput[i] = a.nerves[i].tick(inputSignal);
+
+			// The head never rotates on its own. It must be explicitly
+			// repositioned by its client.
+			if (i != head) {
+				a.currentSkewing[i] = BodyPart.calculateSkewing(a.currentSkewing[i], angleToTarget, a.skewing[i], a.metabolicRate[i],
+						configuration);
+				a.angleToParent[i] = BodyPart.calculateAngleToParent(a.angleToParentAtRest[i], a.orientation[i], a.amplitude[i],
+						a.nerveOutput[i], a.currentSkewing[i]);
+			}
+
+			updateGeometry(a, first, head, i);
+		}
+		version++;
+	}
+
+	void rotateBy(double rotation) {
+		Slice slice = this.slice;
+		int head = slice.getHead(size);
+		slice.arrays.angleToParent[head] = Angle.normalize(slice.arrays.angleToParent[head] + rotation);
+		updateGeometry(slice);
+	}
+
+	void translateBy(double x, double y) {
+		Slice slice = this.slice;
+		OrganArrays a = slice.arrays;
+		int first = slice.first;
+		int head = slice.getHead(size);
+		headStartX = a.startX[head] + x;
+		headStartY = a.startY[head] + y;
+		for (int i = head; i >= first; i--)
+			updatePosition(a, first, head, i);
+		version++;
+	}
+
+	void forcePosition(double x, double y, double angle) {
+		Slice slice = this.slice;
+		headStartX = x;
+		headStartY = y;
+		slice.arrays.angleToParent[slice.getHead(size)] = angle;
+		updateGeometry(slice);
+	}
+
+	void growToAdultForm() {
+		Slice slice = this.slice;
+		OrganArrays a = slice.arrays;
+		int first = slice.first;
+		int head = slice.getHead(size);
+		for (int i = head; i >= first; i--) {
+			a.length[i] = a.adultLength[i];
+			a.thickness[i] = a.adultThickness[i];
+			updateGeometry(a, first, head, i);
+		}
+		version++;
+	}
+
+	/**
+	 * Registers the movements of all organs since saveInitialState() with
+	 * the RotationsPhysicsEngine.
+	 */
+	RotationsPhysicsEngine calculateRotations(double bodyMass, double centerOfMassX, double centerOfMassY, Configuration configuration) {
+		double radius = calculateRadius(centerOfMassX, centerOfMassY);
+		rotations.reset(bodyMass, radius, centerOfMassX, centerOfMassY, configuration);
+		Slice slice = this.slice;
+		OrganArrays a = slice.arrays;
+		int end = slice.first + size;
+		for (int i = slice.first; i < end; i++)
+			rotations.registerMovement(a.initialAngle[i], a.absoluteAngle[i], a.startX[i], a.startY[i], a.vectorX[i], a.vectorY[i],
+					a.mass[i]);
+		return rotations;
+	}
+
+	/**
+	 * Registers the movements of all organs since saveInitialState() with
+	 * the TranslationsPhysicsEngine.
+	 */
+	TranslationsPhysicsEngine calculateTranslations(double bodyMass, Configuration configuration) {
+		translations.reset(bodyMass, configuration);
+		Slice slice = this.slice;
+		OrganArrays a = slice.arrays;
+		int end = slice.first + size;
+		for (int i = slice.first; i < end; i++)
+			translations.registerMovement(a.initialStartX[i], a.initialStartY[i], a.initialVectorX[i], a.initialVectorY[i], a.startX[i],
+					a.startY[i], a.vectorX[i], a.vectorY[i], a.mass[i]);
+		return translations;
+	}
+
+	// The next two methods calculate the center of mass of the whole body
+	// one coordinate at a time, to avoid creating a Vector.
+
+	double calculateCenterOfMassX(double bodyMass) {
+		Slice slice = this.slice;
+		if (bodyMass <= 0)
+			return slice.arrays.startX[slice.getHead(size)];
+
+		double total = 0;
+		int end = slice.first + size;
+		for (int i = slice.first; i < end; i++)
+			total += slice.arrays.centerOfMassX[i] * slice.arrays.mass[i];
+		return total / bodyMass;
+	}
+
+	double calculateCenterOfMassY(double bodyMass) {
+		Slice slice = this.slice;
+		if (bodyMass <= 0)
+			return slice.arrays.startY[slice.getHead(size)];
+
+		double total = 0;
+		int end = slice.first + size;
+		for (int i = slice.first; i < end; i++)
+			total += slice.arrays.centerOfMassY[i] * slice.arrays.mass[i];
+		return total / bodyMass;
+	}
+
+	double calculateRadius(double centerOfMassX, double centerOfMassY) {
+		final double MIN_RADIUS = 1;
+		double result = MIN_RADIUS;
+		Slice slice = this.slice;
+		OrganArrays a = slice.arrays;
+		int end = slice.first + size;
+		for (int i = slice.first; i < end; i++) {
+			double startPointDistance = distance(a.startX[i], a.startY[i], centerOfMassX, centerOfMassY);
+			double endPointDistance = distance(a.endX[i], a.endY[i], centerOfMassX, centerOfMassY);
+			double distance = Math.max(startPointDistance, endPointDistance);
+			if (distance > result)
+				result = distance;
+		}
+		return result;
+	}
+
+	// The next four methods add up the masses in the same order as the
+	// organs, like Body always did.
+
+	double calculateMass() {
+		Slice slice = this.slice;
+		return calculateMass(slice, null);
+	}
+
+	double calculateRedMass() {
+		Slice slice = this.slice;
+		return calculateMass(slice, slice.arrays.percentOfRed);
+	}
+
+	double calculateGreenMass() {
+		Slice slice = this.slice;
+		return calculateMass(slice, slice.arrays.percentOfGreen);
+	}
+
+	double calculateBlueMass() {
+		Slice slice = this.slice;
+		return calculateMass(slice, slice.arrays.percentOfBlue);
+	}
+
+	private double calculateMass(Slice slice, double[] percentOfColor) {
+		double result = 0;
+		int end = slice.first + size;
+		for (int i = slice.first; i < end; i++)
+			result += (percentOfColor == null) ? slice.arrays.mass[i] : slice.arrays.mass[i] * percentOfColor[i];
+		return result;
+	}
+
+	private void compile(OrganArrays a, MovingOrgan organ, int i) {
+		a.nerves[i] = organ.getNerve();
+		a.adultLength[i] = organ.getAdultLength();
+		a.adultThickness[i] = organ.getAdultThickness();
+		a.percentOfRed[i] = organ.getFiber().getPercentOfRed();
+		a.percentOfGreen[i] = organ.getFiber().getPercentOfGreen();
+		a.percentOfBlue[i] = organ.getFiber().getPercentOfBlue();
+		a.metabolicRate[i] = organ.getMetabolicRate();
+
+		if (organ instanceof BodyPart) {
+			BodyPart bodyPart = (BodyPart) organ;
+			a.angleToParentAtRest[i] = bodyPart.getAngleToParentAtRest();
+			a.orientation[i] = bodyPart.getOrientation();
+			a.amplitude[i] = bodyPart.getAmplitude();
+			a.skewing[i] = bodyPart.getSkewing();
+			a.currentSkewing[i] = bodyPart.getCurrentSkewing();
+		} else if (organ instanceof Head) {
+			Vector headStartPoint = ((Head) organ).calculateStartPoint();
+			headStartX = headStartPoint.x;
+			headStartY = headStartPoint.y;
+		} else
+			throw new IllegalArgumentException("Cannot compile organ: " + organ.getClass().getSimpleName());
+
+		a.length[i] = organ.getLength();
+		a.thickness[i] = organ.getThickness();
+		a.angleToParent[i] = organ.getAngleToParent();
+		a.absoluteAngle[i] = organ.getAbsoluteAngle();
+		a.mass[i] = organ.getMass();
+		setVector(a.startX, a.startY, i, organ.getStartPoint());
+		setVector(a.vectorX, a.vectorY, i, organ.getPositionInSpace().getVector());
+		setVector(a.endX, a.endY, i, organ.getEndPoint());
+		setVector(a.centerOfMassX, a.centerOfMassY, i, organ.getCenterOfMass());
+	}
+
+	private void updateGeometry(Slice slice) {
+		int first = slice.first;
+		int head = slice.getHead(size);
+		for (int i = head; i >= first; i--)
+			updateGeometry(slice.arrays, first, head, i);
+		version++;
+	}
+
+	// Organ.updateGeometry(), on the arrays.
+	private void updateGeometry(OrganArrays a, int first, int head, int i) {
+		a.absoluteAngle[i] = (i == head) ? a.angleToParent[i] : a.absoluteAngle[first + a.parent[i]] + a.angleToParent[i];
+		a.vectorX[i] = Organ.calculateVectorX(a.absoluteAngle[i], a.length[i]);
+		a.vectorY[i] = Organ.calculateVectorY(a.absoluteAngle[i], a.length[i]);
+		a.mass[i] = Organ.calculateMass(a.length[i], a.thickness[i]);
+		updatePosition(a, first, head, i);
+	}
+
+	// Like updateGeometry(), but it skips the angles. It's enough after a
+	// translation.
+	private void updatePosition(OrganArrays a, int first, int head, int i) {
+		a.startX[i] = (i == head) ? headStartX : a.endX[first + a.parent[i]];
+		a.startY[i] = (i == head) ? headStartY : a.endY[first + a.parent[i]];
+		a.endX[i] = a.startX[i] + a.vectorX[i];
+		a.endY[i] = a.startY[i] + a.vectorY[i];
+		a.centerOfMassX[i] = Organ.calculateCenterOfMass(a.startX[i], a.vectorX[i]);
+		a.centerOfMassY[i] = Organ.calculateCenterOfMass(a.startY[i], a.vectorY[i]);
+	}
+
+	private static double distance(double x1, double y1, double x2, double y2) {
+		double deltaX = x1 - x2;
+		double deltaY = y1 - y2;
+		return Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+	}
+
+	private static void setVector(double[] xs, double[] ys, int index, Vector vector) {
+		xs[index] = vector.x;
+		ys[index] = vector.y;
+	}
+
+	/**
+	 * The arrays that contain a body's organs, and the position of the
+	 * body's first organ in them.
+	 */
+	static final class Slice {
+
+		final OrganArrays arrays;
+		final int first;
+
+		Slice(OrganArrays arrays, int first) {
+			this.arrays = arrays;
+			this.first = first;
+		}
+
+		// The head is the last organ.
+		int getHead(int size) {
+			return first + size - 1;
+		}
+	}
+}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.creature.body.pns.Nerve;
 
 /**
@@ -15,8 +16,8 @@ public abstract class ConnectedOrgan extends Organ {
 	private final List<ConnectedOrgan> children = new ArrayList<>();
 	protected final Nerve nerve;
 
-	public ConnectedOrgan(int adultLength, int adultThickness, Fiber fiber, ConnectedOrgan parent, Nerve nerve) {
-		super(adultLength, adultThickness, fiber);
+	public ConnectedOrgan(int adultLength, int adultThickness, Fiber fiber, ConnectedOrgan parent, Nerve nerve, Configuration configuration) {
+		super(adultLength, adultThickness, fiber, configuration);
 		setParent(parent);
 		this.nerve = nerve;
 	}
@@ -48,7 +49,7 @@ public abstract class ConnectedOrgan extends Organ {
 	}
 
 	public void growToAdultFormWithChildren() {
-		growBy(Integer.MAX_VALUE);
+		growToAdultForm();
 		updateGeometry();
 
 		for (ConnectedOrgan child : getChildren())
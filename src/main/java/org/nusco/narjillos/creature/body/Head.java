@@ -20,7 +20,11 @@ public class Head extends MovingOrgan {
 	private Vector startPoint = Vector.ZERO;
 	
 	public Head(HeadParameters parameters) {
-		super(parameters.getAdultLength(), parameters.getAdultThickness(), new Fiber(parameters.getRed(), parameters.getGreen(), parameters.getBlue()), null, new WaveNerve(Configuration.CREATURE_BASE_WAVE_FREQUENCY * parameters.getMetabolicRate()), 0);
+		this(parameters, Configuration.DEFAULT);
+	}
+
+	public Head(HeadParameters parameters, Configuration configuration) {
+		super(parameters.getAdultLength(), parameters.getAdultThickness(), new Fiber(parameters.getRed(), parameters.getGreen(), parameters.getBlue()), null, new WaveNerve(configuration.creatureBaseWaveFrequency * parameters.getMetabolicRate()), 0, configuration);
 		this.metabolicRate = parameters.getMetabolicRate();
 		this.waveBeatRatio = parameters.getWaveBeatRatio();
 		this.byproduct = parameters.getByproduct();
@@ -29,10 +33,6 @@ public class Head extends MovingOrgan {
 		this.eggInterval = parameters.getEggInterval();
 	}
 
-	public void tick(double angleToTarget) {
-		tick(angleToTarget, getWaveBeatRatio(), 1);
-	}
-
 	@Override
 	public double getMetabolicRate() {
 		return metabolicRate;
@@ -66,12 +66,6 @@ public class Head extends MovingOrgan {
 		updateTree();
 	}
 
-	@Override
-	public void translateBy(Vector translation) {
-		this.startPoint  = getStartPoint().plus(translation);
-		super.translateBy(translation);
-	}
-
 	@Override
 	protected Vector calculateStartPoint() {
 		return startPoint;
@@ -83,10 +77,11 @@ public class Head extends MovingOrgan {
 	}
 	
 	@Override
-	protected double calculateNewAngleToParent(double targetAngle, double angleToTarget) {
-		// The head never rotates on its own. It must be
-		// explicitly repositioned by its client.
-		return getAngleToParent();
+	void copyStateFrom(OrganArrays arrays, int position) {
+		super.copyStateFrom(arrays, position);
+		// The head's start point is always the same as the start point of
+		// the whole body.
+		startPoint = Vector.cartesian(arrays.startX[position], arrays.startY[position]);
 	}
 
 	double getBrainWaveAngle() {
@@ -12,20 +12,20 @@ public class Mouth {
 
 	private double directionAngle = 0;
 	
-	public void tick(Vector position, Vector target, double rotation) {
+	public void tick(Vector position, Vector target, double rotation, Configuration configuration) {
 		try {
 			double absoluteTargetAngle = target.minus(position).getAngle();
 			double relativeTargetAngle = Angle.normalize(absoluteTargetAngle - rotation);
 			
-			boolean targetIsInViewField = Math.abs(relativeTargetAngle) < Configuration.CREATURE_LATERAL_VIEWFIELD;
+			boolean targetIsInViewField = Math.abs(relativeTargetAngle) < configuration.creatureLateralViewfield;
 			if (targetIsInViewField) {
 				shiftSmoothlyTowards(absoluteTargetAngle);
 				return;
 			}
 			
-			boolean targetJustExitedTheViewField = Math.abs(directionAngle) < Configuration.CREATURE_LATERAL_VIEWFIELD;
+			boolean targetJustExitedTheViewField = Math.abs(directionAngle) < configuration.creatureLateralViewfield;
 			if (targetJustExitedTheViewField)
-				shiftSmoothlyTowards(rotation + Configuration.CREATURE_LATERAL_VIEWFIELD * Math.signum(relativeTargetAngle));
+				shiftSmoothlyTowards(rotation + configuration.creatureLateralViewfield * Math.signum(relativeTargetAngle));
 
 			// else keep pointing in the same direction
 		} catch (ZeroVectorAngleException e) {
@@ -1,37 +1,25 @@
 package org.nusco.narjillos.creature.body;
 
-import org.nusco.narjillos.core.physics.Angle;
-import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.creature.body.pns.Nerve;
 
 /**
- * Enahnces organs with the notion of time , embodied by the tick() method. This
- * means that the organ moves (see calculateNewAngleToParent()).
+ * An organ that can bend in relation to its parent.
+ * 
+ * The organs don't move on their own: the Body that contains them moves them
+ * all at once (see CompiledBody.updateAngles()).
  */
 public abstract class MovingOrgan extends ConnectedOrgan {
 
 	private double angleToParent = 0;
 
-	protected MovingOrgan(int adultLength, int adultThickness, Fiber fiber, ConnectedOrgan parent, Nerve nerve, int angleToParentAtRest) {
-		super(adultLength, adultThickness, fiber, parent, nerve);
+	protected MovingOrgan(int adultLength, int adultThickness, Fiber fiber, ConnectedOrgan parent, Nerve nerve, int angleToParentAtRest, Configuration configuration) {
+		super(adultLength, adultThickness, fiber, parent, nerve, configuration);
 		setAngleToParent(angleToParentAtRest);
 	}
 
-	public void tick(double angleToTarget, double inputSignal, int level) {
-		// Organs towards the head grow slower, organs towards the tail grow
-		// faster. This gives juveline narjillos a nice "infant" shape.
-		growBy(level);
-
-		double processedPercentOfAmplitude = getNerve().tick(inputSignal);
-		setAngleToParent(calculateNewAngleToParent(processedPercentOfAmplitude, angleToTarget));
-
-		updateGeometry();
-
-		for (ConnectedOrgan child : getChildren())
-			((MovingOrgan) child).tick(angleToTarget, processedPercentOfAmplitude, level + 1);
-	}
-
 	protected final double getAngleToParent() {
+		syncWithCompiledBody();
 		return angleToParent;
 	}
 
@@ -39,7 +27,11 @@ public abstract class MovingOrgan extends ConnectedOrgan {
 		angleToParent = newAngleToParent;
 	}
 
-	protected abstract double calculateNewAngleToParent(double targetAngle, double angleToTarget);
+	@Override
+	void copyStateFrom(OrganArrays arrays, int position) {
+		super.copyStateFrom(arrays, position);
+		angleToParent = arrays.angleToParent[position];
+	}
 
 	protected void updateTree() {
 		updateGeometry();
@@ -47,16 +39,4 @@ public abstract class MovingOrgan extends ConnectedOrgan {
 		for (ConnectedOrgan child : getChildren())
 			((MovingOrgan) child).updateTree();
 	}
-
-	public void rotateBy(double rotation) {
-		setAngleToParent(Angle.normalize(getAngleToParent() + rotation));
-		updateTree();
-	}
-
-	protected void translateBy(Vector translation) {
-		updatePosition();
-
-		for (ConnectedOrgan child : getChildren())
-			((MovingOrgan) child).translateBy(translation);
-	}
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package org.nusco.narjillos.creature.body;
 
+import org.nusco.narjillos.core.physics.FastMath;
 import org.nusco.narjillos.core.physics.Segment;
 import org.nusco.narjillos.core.physics.Vector;
 import org.nusco.narjillos.core.utilities.Configuration;
@@ -13,10 +14,14 @@ import org.nusco.narjillos.core.utilities.Configuration;
  * It grows from a small minimum size at birth to adult size.
  * 
  * This class is a micro-framework (sigh). In and by itself, it cannot change
- * state (apart from the growBy() method). Subclasses are supposed to override
- * calculateStartPoint() and calculateAbsoluteAngle(), and then call either
- * updateGeometry() or updatePosition() when they want to update the state of
- * the Organ.
+ * state (apart from the growToAdultForm() method). Subclasses are supposed to override
+ * calculateStartPoint() and calculateAbsoluteAngle(), and then call
+ * updateGeometry() when they want to update the state of the Organ.
+ * 
+ * When a Body compiles its organs (see CompiledBody), the real state of the
+ * organs moves into the CompiledBody. After that, the Organ becomes a view:
+ * it copies its state from the CompiledBody whenever somebody reads it, and
+ * it shouldn't be moved directly anymore.
  */
 public abstract class Organ {
 
@@ -28,7 +33,7 @@ public abstract class Organ {
 	private double thickness;
 
 	// Caching - ugly, but has huge performance benefits. These will be updated
-	// at start, and in the update() methods.
+	// at start, and in updateGeometry().
 	// All volatile, to avoid too much synchronization.
 	private volatile double cachedAbsoluteAngle;
 	private volatile Vector cachedStartPoint;
@@ -38,13 +43,18 @@ public abstract class Organ {
 	private volatile Vector cachedCenterOfMass;
 	private volatile Segment cachedPositionInSpace;
 
-	public Organ(int adultLength, int adultThickness, Fiber fiber) {
+	// Set if the organ has been compiled into a body.
+	private transient volatile CompiledBody compiledBody;
+	private transient int index;
+	private transient volatile long syncedVersion;
+
+	public Organ(int adultLength, int adultThickness, Fiber fiber, Configuration configuration) {
 		this.adultLength = adultLength;
 		this.adultThickness = adultThickness;
 		this.adultMass = Math.max(adultLength * adultThickness, 1);
 
-		this.length = Math.min(Configuration.ORGAN_MINIMUM_LENGTH_AT_BIRTH, adultLength);
-		this.thickness = Math.min(Configuration.ORGAN_MINIMUM_THICKNESS_AT_BIRTH, adultThickness);
+		this.length = Math.min(configuration.organMinimumLengthAtBirth, adultLength);
+		this.thickness = Math.min(configuration.organMinimumThicknessAtBirth, adultThickness);
 		this.fiber = fiber;
 
 		this.cachedAbsoluteAngle = 0;
@@ -57,7 +67,8 @@ public abstract class Organ {
 	}
 
 	// Must be called to update the state of the organ. It will call into
-	// calculateAbsoluteAngle() and calculateStartPoint().
+	// calculateAbsoluteAngle() and calculateStartPoint(). Once the organ is
+	// compiled, the CompiledBody does the same calculations on its arrays.
 	public final void updateGeometry() {
 		cachedAbsoluteAngle = calculateAbsoluteAngle();
 		cachedVector = calculateVector();
@@ -68,25 +79,56 @@ public abstract class Organ {
 		cachedCenterOfMass = calculateCenterOfMass();
 	}
 
-	// Like updateGeometry() but much cheaper. It can only be called after pure
-	// translations. Don't call after a rotation, because it doesn't update
-	// angles.
-	public final void updatePosition() {
-		cachedStartPoint = calculateStartPoint();
-		cachedEndPoint = calculateEndPoint();
-		cachedPositionInSpace = calculatePositionInSpace();
-		cachedCenterOfMass = calculateCenterOfMass();
+	/**
+	 * Makes sure that the state of the organ is up to date. Call it before
+	 * you look at the organ's fields directly (for example, to serialize
+	 * them).
+	 */
+	public void refresh() {
+		if (compiledBody == null)
+			updateGeometry();
+		else
+			syncWithCompiledBody();
+	}
+
+	void attachTo(CompiledBody compiledBody, int index) {
+		this.index = index;
+		this.syncedVersion = compiledBody.getVersion();
+		this.compiledBody = compiledBody;
 	}
 
-	void growBy(int amount) {
-		if (isFullyGrown())
+	final void syncWithCompiledBody() {
+		CompiledBody compiledBody = this.compiledBody;
+		if (compiledBody == null || syncedVersion == compiledBody.getVersion())
 			return;
 
-		length = Math.min(adultLength, getLength() + Configuration.ORGAN_GROWTH_RATE * amount);
-		thickness = Math.min(adultThickness, getThickness() + Configuration.ORGAN_GROWTH_RATE * amount);
+		synchronized (this) {
+			long version = compiledBody.getVersion();
+			if (syncedVersion == version)
+				return;
+			CompiledBody.Slice slice = compiledBody.getSlice();
+			copyStateFrom(slice.arrays, slice.first + index);
+			syncedVersion = version;
+		}
+	}
+
+	// Subclasses that keep more state in the CompiledBody should override
+	// this, and call super().
+	void copyStateFrom(OrganArrays arrays, int position) {
+		length = arrays.length[position];
+		thickness = arrays.thickness[position];
+		cachedAbsoluteAngle = arrays.absoluteAngle[position];
+		cachedStartPoint = Vector.cartesian(arrays.startX[position], arrays.startY[position]);
+		cachedVector = Vector.cartesian(arrays.vectorX[position], arrays.vectorY[position]);
+		cachedEndPoint = Vector.cartesian(arrays.endX[position], arrays.endY[position]);
+		cachedPositionInSpace = new Segment(cachedStartPoint, cachedVector);
+		cachedMass = arrays.mass[position];
+		cachedCenterOfMass = Vector.cartesian(arrays.centerOfMassX[position], arrays.centerOfMassY[position]);
+	}
 
-		// Optimization: don't update the geometry here. Instead, let the
-		// client do it - it knows when that's needed.
+	void growToAdultForm() {
+		length = adultLength;
+		thickness = adultThickness;
 	}
 	
 	public boolean isFullyGrown() {
@@ -94,6 +136,7 @@ public abstract class Organ {
 	}
 
 	public Segment getPositionInSpace() {
+		syncWithCompiledBody();
 		return cachedPositionInSpace;
 	}
 
@@ -110,10 +153,12 @@ public abstract class Organ {
 	}
 
 	public final double getLength() {
+		syncWithCompiledBody();
 		return length;
 	}
 
 	public double getThickness() {
+		syncWithCompiledBody();
 		return thickness;
 	}
 
@@ -122,6 +167,7 @@ public abstract class Organ {
 	}
 
 	public double getMass() {
+		syncWithCompiledBody();
 		return cachedMass;
 	}
 
@@ -130,18 +176,22 @@ public abstract class Organ {
 	}
 
 	public final double getAbsoluteAngle() {
+		syncWithCompiledBody();
 		return cachedAbsoluteAngle;
 	}
 
 	public final Vector getStartPoint() {
+		syncWithCompiledBody();
 		return cachedStartPoint;
 	}
 
 	public final Vector getEndPoint() {
+		syncWithCompiledBody();
 		return cachedEndPoint;
 	}
 
 	public final Vector getCenterOfMass() {
+		syncWithCompiledBody();
 		return cachedCenterOfMass;
 	}
 
@@ -153,13 +203,15 @@ public abstract class Organ {
 	
 	// The next two methods give subclasses a chance to change the geometry of
 	// the Organ. These are the only methods that can change the state of the
-	// Organ (apart from growBy(). Everything else in the organ will be
+	// Organ (apart from growToAdultForm()). Everything else in the organ will be
 	// calculated after these.
 	protected abstract Vector calculateStartPoint();
 	protected abstract double calculateAbsoluteAngle();
 
 	private Vector calculateVector() {
-		return Vector.polar(getAbsoluteAngle(), getLength());
+		double absoluteAngle = getAbsoluteAngle();
+		double length = getLength();
+		return Vector.cartesian(calculateVectorX(absoluteAngle, length), calculateVectorY(absoluteAngle, length));
 	}
 
 	private Vector getVector() {
@@ -171,14 +223,35 @@ public abstract class Organ {
 	}
 
 	private double calculateMass() {
-		return Math.max(getLength() * getThickness(), 1);
+		return calculateMass(getLength(), getThickness());
 	}
 
 	private Vector calculateCenterOfMass() {
-		return getStartPoint().plus(getVector().by(0.5));
+		Vector startPoint = getStartPoint();
+		Vector vector = getVector();
+		return Vector.cartesian(calculateCenterOfMass(startPoint.x, vector.x), calculateCenterOfMass(startPoint.y, vector.y));
 	}
 
 	private Segment calculatePositionInSpace() {
 		return new Segment(getStartPoint(), getVector());
 	}
+
+	// The next methods are shared with CompiledBody, that calculates the
+	// geometry of compiled organs one coordinate at a time.
+
+	static double calculateVectorX(double absoluteAngle, double length) {
+		return FastMath.cos(absoluteAngle) * length;
+	}
+
+	static double calculateVectorY(double absoluteAngle, double length) {
+		return FastMath.sin(absoluteAngle) * length;
+	}
+
+	static double calculateMass(double length, double thickness) {
+		return Math.max(length * thickness, 1);
+	}
+
+	static double calculateCenterOfMass(double start, double vector) {
+		return start + vector * 0.5;
+	}
 }
@@ -0,0 +1,151 @@
+package org.nusco.narjillos.creature.body;
+
+import java.util.Arrays;
+
+import org.nusco.narjillos.creature.body.pns.Nerve;
+
+/**
+ * The parallel arrays where compiled bodies keep the state of their organs,
+ * one organ per position (see CompiledBody).
+ *
+ * A body can have arrays of its own, or share them with many other bodies
+ * in a BodyStore. In that case, each body owns a contiguous range of
+ * positions.
+ */
+final class OrganArrays {
+
+	// structure
+	final MovingOrgan[] organs;
+	final int[] parent; // relative to the body's first organ
+	final int[] level;
+	final Nerve[] nerves;
+	final double[] adultLength;
+	final int[] adultThickness;
+	final double[] percentOfRed;
+	final double[] percentOfGreen;
+	final double[] percentOfBlue;
+
+	// body parts only (they're meaningless for the head)
+	final double[] angleToParentAtRest;
+	final int[] orientation;
+	final int[] amplitude;
+	final int[] skewing;
+	final double[] metabolicRate;
+
+	// state
+	final double[] length;
+	final double[] thickness;
+	final double[] angleToParent;
+	final double[] currentSkewing;
+
+	// geometry
+	final double[] absoluteAngle;
+	final double[] startX;
+	final double[] startY;
+	final double[] vectorX;
+	final double[] vectorY;
+	final double[] endX;
+	final double[] endY;
+	final double[] mass;
+	final double[] centerOfMassX;
+	final double[] centerOfMassY;
+
+	// scratch space for Body.tick()
+	final double[] initialAngle;
+	final double[] initialStartX;
+	final double[] initialStartY;
+	final double[] initialVectorX;
+	final double[] initialVectorY;
+	final double[] nerveOutput;
+
+	OrganArrays(int capacity) {
+		organs = new MovingOrgan[capacity];
+		parent = new int[capacity];
+		level = new int[capacity];
+		nerves = new Nerve[capacity];
+		adultLength = new double[capacity];
+		adultThickness = new int[capacity];
+		percentOfRed = new double[capacity];
+		percentOfGreen = new double[capacity];
+		percentOfBlue = new double[capacity];
+		angleToParentAtRest = new double[capacity];
+		orientation = new int[capacity];
+		amplitude = new int[capacity];
+		skewing = new int[capacity];
+		metabolicRate = new double[capacity];
+		length = new double[capacity];
+		thickness = new double[capacity];
+		angleToParent = new double[capacity];
+		currentSkewing = new double[capacity];
+		absoluteAngle = new double[capacity];
+		startX = new double[capacity];
+		startY = new double[capacity];
+		vectorX = new double[capacity];
+		vectorY = new double[capacity];
+		endX = new double[capacity];
+		endY = new double[capacity];
+		mass = new double[capacity];
+		centerOfMassX = new double[capacity];
+		centerOfMassY = new double[capacity];
+		initialAngle = new double[capacity];
+		initialStartX = new double[capacity];
+		initialStartY = new double[capacity];
+		initialVectorX = new double[capacity];
+		initialVectorY = new double[capacity];
+		nerveOutput = new double[capacity];
+	}
+
+	int getCapacity() {
+		return organs.length;
+	}
+
+	/**
+	 * Copies a range of organs to another position, in these arrays or in
+	 * other ones. The ranges can overlap.
+	 */
+	void copy(int from, OrganArrays target, int to, int count) {
+		System.arraycopy(organs, from, target.organs, to, count);
+		System.arraycopy(parent, from, target.parent, to, count);
+		System.arraycopy(level, from, target.level, to, count);
+		System.arraycopy(nerves, from, target.nerves, to, count);
+		System.arraycopy(adultLength, from, target.adultLength, to, count);
+		System.arraycopy(adultThickness, from, target.adultThickness, to, count);
+		System.arraycopy(percentOfRed, from, target.percentOfRed, to, count);
+		System.arraycopy(percentOfGreen, from, target.percentOfGreen, to, count);
+		System.arraycopy(percentOfBlue, from, target.percentOfBlue, to, count);
+		System.arraycopy(angleToParentAtRest, from, target.angleToParentAtRest, to, count);
+		System.arraycopy(orientation, from, target.orientation, to, count);
+		System.arraycopy(amplitude, from, target.amplitude, to, count);
+		System.arraycopy(skewing, from, target.skewing, to, count);
+		System.arraycopy(metabolicRate, from, target.metabolicRate, to, count);
+		System.arraycopy(length, from, target.length, to, count);
+		System.arraycopy(thickness, from, target.thickness, to, count);
+		System.arraycopy(angleToParent, from, target.angleToParent, to, count);
+		System.arraycopy(currentSkewing, from, target.currentSkewing, to, count);
+		System.arraycopy(absoluteAngle, from, target.absoluteAngle, to, count);
+		System.arraycopy(startX, from, target.startX, to, count);
+		System.arraycopy(startY, from, target.startY, to, count);
+		System.arraycopy(vectorX, from, target.vectorX, to, count);
+		System.arraycopy(vectorY, from, target.vectorY, to, count);
+		System.arraycopy(endX, from, target.endX, to, count);
+		System.arraycopy(endY, from, target.endY, to, count);
+		System.arraycopy(mass, from, target.mass, to, count);
+		System.arraycopy(centerOfMassX, from, target.centerOfMassX, to, count);
+		System.arraycopy(centerOfMassY, from, target.centerOfMassY, to, count);
+		System.arraycopy(initialAngle, from, target.initialAngle, to, count);
+		System.arraycopy(initialStartX, from, target.initialStartX, to, count);
+		System.arraycopy(initialStartY, from, target.initialStartY, to, count);
+		System.arraycopy(initialVectorX, from, target.initialVectorX, to, count);
+		System.arraycopy(initialVectorY, from, target.initialVectorY, to, count);
+		System.arraycopy(nerveOutput, from, target.nerveOutput, to, count);
+	}
+
+	/**
+	 * Forgets the organs in a range of positions, so that they can be
+	 * garbage collected. (The primitives can stay where they are).
+	 */
+	void clear(int from, int to) {
+		Arrays.fill(organs, from, to, null);
+		Arrays.fill(nerves, from, to, null);
+	}
+}
@@ -1,11 +1,7 @@
 package org.nusco.narjillos.creature.body.physics;
 
-import java.util.LinkedList;
-import java.util.List;
-
 import org.nusco.narjillos.core.physics.Angle;
-import org.nusco.narjillos.core.physics.Segment;
-import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.physics.MutableVector;
 import org.nusco.narjillos.core.utilities.Configuration;
 
 /**
@@ -33,55 +29,61 @@ import org.nusco.narjillos.core.utilities.Configuration;
  *                        = total_angular_momentum / (mass * radius^2 / 4)
  *                  
  * rotation_energy = moment_of_inertia * angular_velocity^2 / 2;
+ * 
+ * This runs for every body at every tick, so it doesn't allocate anything.
+ * Each body keeps one engine, and calls reset() before it uses it.
  */
 public class RotationsPhysicsEngine {
 
-	private final double bodyMass;
-	private final double bodyRadius;
-	private final Vector centerOfMass;
-	private final List<Double> angularMomenta = new LinkedList<>();
-	private double rotationEnergy = 0;
-	
-	public RotationsPhysicsEngine(double bodyMass, double bodyRadius, Vector centerOfMass) {
+	private double bodyMass;
+	private double bodyRadius;
+	private double centerOfMassX;
+	private double centerOfMassY;
+	private double energyExpensePerJoule;
+	private double totalAngularMomentum;
+	private double rotationEnergy;
+
+	public void reset(double bodyMass, double bodyRadius, double centerOfMassX, double centerOfMassY, Configuration configuration) {
 		this.bodyMass = bodyMass;
 		this.bodyRadius = bodyRadius;
-		this.centerOfMass = centerOfMass;
+		this.centerOfMassX = centerOfMassX;
+		this.centerOfMassY = centerOfMassY;
+		this.energyExpensePerJoule = configuration.physicsEnergyExpensePerJoule;
+		totalAngularMomentum = 0;
+		rotationEnergy = 0;
 	}
 
-	public void registerMovement(double initialAngle, double finalAngle, Segment finalPositionInSpace, double mass) {
+	/**
+	 * Takes the final position of a body segment as a start point and a
+	 * vector.
+	 */
+	public void registerMovement(double initialAngle, double finalAngle, double startX, double startY, double vectorX, double vectorY,
+			double mass) {
 		double angularVelocity = calculateAngularVelocity(initialAngle, finalAngle);
-		double momentOfInertia = calculateMomentOfInertia(finalPositionInSpace, mass);
-		double angularMomentum = momentOfInertia * angularVelocity;
-		angularMomenta.add(angularMomentum);
+		double momentOfInertia = calculateMomentOfInertia(startX, startY, vectorX, vectorY, mass);
+		totalAngularMomentum += momentOfInertia * angularVelocity;
 		rotationEnergy += calculateRotationEnergy(momentOfInertia, angularVelocity);
 	}
 
 	public double getRotation() {
-		return -getTotalAngularMomentum() / (bodyMass * bodyRadius * bodyRadius / 4);
+		return -totalAngularMomentum / (bodyMass * bodyRadius * bodyRadius / 4);
 	}
 
 	public double getEnergy() {
-		return rotationEnergy * Configuration.PHYSICS_ENERGY_EXPENSE_PER_JOULE / 1_000_000_000L;
+		return rotationEnergy * energyExpensePerJoule / 1_000_000_000L;
 	}
 
 	private double calculateAngularVelocity(double initialAngle, double finalAngle) {
 		return Angle.normalize(finalAngle - initialAngle);
 	}
 
- 	private double calculateMomentOfInertia(Segment positionInSpace, double mass) {
-		double length = positionInSpace.getVector().getLength();
-		double distance = positionInSpace.getStartPoint().minus(centerOfMass).getLength();
+	private double calculateMomentOfInertia(double startX, double startY, double vectorX, double vectorY, double mass) {
+		double length = MutableVector.getLength(vectorX, vectorY);
+		double distance = MutableVector.getDistance(startX, startY, centerOfMassX, centerOfMassY);
 		return mass * length * length * 16 / 48 + distance * distance;
 	}
 
 	private double calculateRotationEnergy(double momentOfInertia, double angularVelocity) {
 		return momentOfInertia * angularVelocity * angularVelocity / 2;
 	}
-
-	private double getTotalAngularMomentum() {
-		double result = 0;
-		for (double angularMomentum : angularMomenta)
-			result += angularMomentum;
-		return result;
-	}
 }
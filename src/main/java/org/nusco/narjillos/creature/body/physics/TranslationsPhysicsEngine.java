@@ -1,8 +1,6 @@
 package org.nusco.narjillos.creature.body.physics;
 
-import java.util.LinkedList;
-import java.util.List;
-
+import org.nusco.narjillos.core.physics.MutableVector;
 import org.nusco.narjillos.core.physics.Segment;
 import org.nusco.narjillos.core.physics.Vector;
 import org.nusco.narjillos.core.physics.ZeroVectorAngleException;
@@ -20,51 +18,86 @@ import org.nusco.narjillos.core.utilities.Configuration;
  * total_linear_velocity = total_linear_momentum / mass (in [points / tick])
  * 
  * translation_energy = mass * linear_velocity^2 / 2;
+ * 
+ * Like RotationsPhysicsEngine, this one doesn't allocate anything. Call
+ * reset() before you reuse it.
  */
 public class TranslationsPhysicsEngine {
 
-	private final double bodyMass;
-	private final List<Vector> linearMomenta = new LinkedList<>();
-	private double translationEnergy = 0;
-	
-	public TranslationsPhysicsEngine(double bodyMass) {
+	private double bodyMass;
+	private double energyExpensePerJoule;
+	private double viscosityKickinVelocity;
+	private double totalLinearMomentumX;
+	private double totalLinearMomentumY;
+	private double translationEnergy;
+
+	// Scratch space
+	private final MutableVector linearVelocity = new MutableVector();
+	private final MutableVector translation = new MutableVector();
+	private boolean translationIsUpToDate;
+
+	public void reset(double bodyMass, Configuration configuration) {
 		this.bodyMass = bodyMass;
+		this.energyExpensePerJoule = configuration.physicsEnergyExpensePerJoule;
+		this.viscosityKickinVelocity = configuration.physicsViscosityKickinVelocity;
+		totalLinearMomentumX = 0;
+		totalLinearMomentumY = 0;
+		translationEnergy = 0;
+		translationIsUpToDate = false;
 	}
 
-	public void registerMovement(Segment initialPositionInSpace, Segment finalPositionInSpace, double mass) {
-		Vector linearVelocity = finalPositionInSpace.getDistanceFrom(initialPositionInSpace);
-		Vector linearMomentum = linearVelocity.by(mass);
-		linearMomenta.add(linearMomentum);
+	/**
+	 * Takes the initial and final positions of a body segment, each as a
+	 * start point and a vector.
+	 */
+	public void registerMovement(double initialStartX, double initialStartY, double initialVectorX, double initialVectorY,
+			double finalStartX, double finalStartY, double finalVectorX, double finalVectorY, double mass) {
+		Segment.getDistance(finalStartX, finalStartY, finalVectorX, finalVectorY, initialStartX, initialStartY, initialVectorX,
+				initialVectorY, linearVelocity);
+		totalLinearMomentumX += linearVelocity.x * mass;
+		totalLinearMomentumY += linearVelocity.y * mass;
 		translationEnergy += calculateTranslationEnergy(mass, linearVelocity);
+		translationIsUpToDate = false;
+	}
+
+	public double getTranslationX() {
+		calculateTranslation();
+		return translation.x;
+	}
+
+	public double getTranslationY() {
+		calculateTranslation();
+		return translation.y;
 	}
 
 	public Vector getTranslation() {
-		Vector result = getTotalLinearMomentum().by(-1.0 / bodyMass);
-		double length = result.getLength();
+		return Vector.cartesian(getTranslationX(), getTranslationY());
+	}
+
+	public double getEnergy() {
+		return translationEnergy * energyExpensePerJoule / 1_000_000_000L;
+	}
+
+	private void calculateTranslation() {
+		if (translationIsUpToDate)
+			return;
+		translationIsUpToDate = true;
+
+		translation.set(totalLinearMomentumX, totalLinearMomentumY).by(-1.0 / bodyMass);
+		double length = translation.getLength();
 
 		if (length == 0)
-			return result;
-		
+			return;
+
 		try {
-			return Vector.polar(result.getAngle(), Viscosity.limit(length));
+			translation.setPolar(translation.getAngle(), Viscosity.limit(length, viscosityKickinVelocity));
 		} catch (ZeroVectorAngleException e) {
 			throw new RuntimeException(e); // should never happen
 		}
 	}
 
-	public double getEnergy() {
-		return translationEnergy * Configuration.PHYSICS_ENERGY_EXPENSE_PER_JOULE / 1_000_000_000L;
-	}
-
-	private double calculateTranslationEnergy(double mass, Vector linearVelocity) {
+	private double calculateTranslationEnergy(double mass, MutableVector linearVelocity) {
 		double linearVelocityLength = linearVelocity.getLength();
 		return mass * linearVelocityLength * linearVelocityLength / 2;
 	}
-
-	private Vector getTotalLinearMomentum() {
-		Vector result = Vector.ZERO;
-		for (Vector linearMomentum : linearMomenta)
-			result = result.plus(linearMomentum);
-		return result;
-	}
 }
@@ -1,29 +1,31 @@
 package org.nusco.narjillos.creature.body.physics;
 
 import org.nusco.narjillos.core.physics.FastMath;
-import org.nusco.narjillos.core.utilities.Configuration;
 
 /**
  * Quick hacky functions to calculate limited velocity in a viscous fluid. No
  * relation to real-life physics, but good enough for our needs. We just want
  * to give dimishing returns to narjillos that get overly fast.
+ * 
+ * The kick-in velocity is where viscosity starts to bite. It comes from the
+ * experiment's Configuration.
  */
 public class Viscosity {
 
-	private static final double PHYSICS_VISCOSITY_VELOCITY_CLIPPING_VALUE = Configuration.PHYSICS_VISCOSITY_KICKIN_VELOCITY
-			+ FastMath.LOG_MAX;
+	public static double limit(double velocity, double kickinVelocity) {
+		velocity = Math.min(getClippingValue(kickinVelocity), velocity);
 
-	public static double limit(double velocity) {
-		velocity = Math.min(Viscosity.PHYSICS_VISCOSITY_VELOCITY_CLIPPING_VALUE, velocity);
-
-		if (velocity <= Configuration.PHYSICS_VISCOSITY_KICKIN_VELOCITY + 1)
+		if (velocity <= kickinVelocity + 1)
 			return velocity;
 
-		return Configuration.PHYSICS_VISCOSITY_KICKIN_VELOCITY + 1
-				+ FastMath.log(velocity - Configuration.PHYSICS_VISCOSITY_KICKIN_VELOCITY);
+		return kickinVelocity + 1 + FastMath.log(velocity - kickinVelocity);
+	}
+
+	public static double getMaxVelocity(double kickinVelocity) {
+		return limit(getClippingValue(kickinVelocity), kickinVelocity);
 	}
 
-	public static double getMaxVelocity() {
-		return limit(Viscosity.PHYSICS_VISCOSITY_VELOCITY_CLIPPING_VALUE);
+	private static double getClippingValue(double kickinVelocity) {
+		return kickinVelocity + FastMath.LOG_MAX;
 	}
 }
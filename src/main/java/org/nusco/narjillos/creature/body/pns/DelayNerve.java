@@ -1,29 +1,57 @@
 package org.nusco.narjillos.creature.body.pns;
 
-import java.util.LinkedList;
-
 /**
  * Outputs the same signal it gets as an input, delayed by a given number of ticks.
+ * 
+ * The signals that are waiting to come out are stored in a circular buffer
+ * of primitives, so that ticking the nerve doesn't allocate memory.
  */
 public class DelayNerve implements Nerve {
 
 	private final int delay;
-	private final LinkedList<Double> buffer = new LinkedList<>();
+	private final double[] buffer;
+	private int first = 0;
+	private int size = 0;
 
 	public DelayNerve(int delay) {
 		this.delay = delay;
+		this.buffer = new double[delay + 1];
+	}
+
+	/**
+	 * Creates a nerve that is already waiting to output the given signals,
+	 * from the oldest to the newest.
+	 */
+	public DelayNerve(int delay, double[] pendingSignals) {
+		this(delay);
+		if (pendingSignals.length > delay)
+			throw new IllegalArgumentException("Too many pending signals (" + pendingSignals.length + ") for a delay of " + delay);
+		for (double signal : pendingSignals)
+			tick(signal);
 	}
 
 	@Override
 	public double tick(double inputSignal) {
-		buffer.add(inputSignal);
-		if(buffer.size() < delay + 1)
+		buffer[(first + size) % buffer.length] = inputSignal;
+		size++;
+		if (size < delay + 1)
 			return 0;
-		return buffer.pop();
+
+		double result = buffer[first];
+		first = (first + 1) % buffer.length;
+		size--;
+		return result;
 	}
 
-	public LinkedList<Double> getBuffer() {
-		return buffer;
+	/**
+	 * Returns the signals that are waiting to come out, from the oldest to
+	 * the newest.
+	 */
+	public double[] getPendingSignals() {
+		double[] result = new double[size];
+		for (int i = 0; i < size; i++)
+			result[i] = buffer[(first + i) % buffer.length];
+		return result;
 	}
 
 	public int getDelay() {
@@ -8,6 +8,7 @@ import static org.nusco.narjillos.creature.embryogenesis.CytogeneticLocations.GR
 import static org.nusco.narjillos.creature.embryogenesis.CytogeneticLocations.RED_SHIFT;
 import static org.nusco.narjillos.creature.embryogenesis.CytogeneticLocations.SKEWING;
 
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.creature.body.BodyPart;
 import org.nusco.narjillos.creature.body.ConnectedOrgan;
 import org.nusco.narjillos.creature.body.MovingOrgan;
@@ -18,8 +19,8 @@ import org.nusco.narjillos.genomics.Chromosome;
  */
 class BodySegmentBuilder extends ConcreteOrganBuilder {
 
-	public BodySegmentBuilder(Chromosome chromosome) {
-		super(chromosome);
+	public BodySegmentBuilder(Chromosome chromosome, Configuration configuration) {
+		super(chromosome, configuration);
 	}
 
 	int getDelay() {
@@ -63,6 +64,6 @@ class BodySegmentBuilder extends ConcreteOrganBuilder {
 
 	@Override
 	public MovingOrgan buildOrgan(ConnectedOrgan parent, int sign) {
-		return new BodyPart(getLength(), getThickness(), getRedShift(), getGreenShift(), getBlueShift(), parent, getDelay(), getAngleToParent(sign), getAmplitude(), getSkewing());
+		return new BodyPart(getLength(), getThickness(), getRedShift(), getGreenShift(), getBlueShift(), parent, getDelay(), getAngleToParent(sign), getAmplitude(), getSkewing(), getConfiguration());
 	}
 }
@@ -9,6 +9,7 @@ import static org.nusco.narjillos.creature.embryogenesis.bodyplan.BodyPlanInstru
 import static org.nusco.narjillos.creature.embryogenesis.bodyplan.BodyPlanInstruction.SKIP;
 import static org.nusco.narjillos.creature.embryogenesis.bodyplan.BodyPlanInstruction.STOP;
 
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.creature.embryogenesis.bodyplan.BodyPlanInstruction;
 import org.nusco.narjillos.creature.embryogenesis.bodyplan.OrganBuilder;
 import org.nusco.narjillos.genomics.Chromosome;
@@ -16,14 +17,20 @@ import org.nusco.narjillos.genomics.Chromosome;
 abstract class ConcreteOrganBuilder implements OrganBuilder {
 
 	private final Chromosome chromosome;
+	private final Configuration configuration;
 
-	public ConcreteOrganBuilder(Chromosome chromosome) {
+	public ConcreteOrganBuilder(Chromosome chromosome, Configuration configuration) {
 		this.chromosome = chromosome;
+		this.configuration = configuration;
 	}
 
 	protected Chromosome getChromosome() {
 		return chromosome;
 	}
+
+	protected Configuration getConfiguration() {
+		return configuration;
+	}
 	
 	int getLength() {
 		final int ATROPHY_LENGTH = 29;
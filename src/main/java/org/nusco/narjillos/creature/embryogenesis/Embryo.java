@@ -4,6 +4,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.creature.body.Body;
 import org.nusco.narjillos.creature.body.MovingOrgan;
 import org.nusco.narjillos.creature.embryogenesis.bodyplan.BodyPlan;
@@ -17,26 +18,28 @@ import org.nusco.narjillos.genomics.DNA;
 public class Embryo {
 
 	private final DNA dna;
+	private final Configuration configuration;
 
-	public Embryo(DNA dna) {
+	public Embryo(DNA dna, Configuration configuration) {
 		this.dna = dna;
+		this.configuration = configuration;
 	}
 	
 	public Body develop() {
 		List<OrganBuilder> organBuilders = getOrganBuilders();
 		BodyPlan bodyPlan = new BodyPlan(organBuilders.toArray(new OrganBuilder[0]));
 		MovingOrgan head = bodyPlan.buildBodyTree();
-		return new Body(head);
+		return new Body(head, configuration);
 	}
 
 	private List<OrganBuilder> getOrganBuilders() {
 		Iterator<Chromosome> iterator = dna.iterator();
 		List<OrganBuilder> result = new LinkedList<>();
-		result.add(new HeadBuilder(iterator.next()));
+		result.add(new HeadBuilder(iterator.next(), configuration));
 
 		while (iterator.hasNext()) {
 			Chromosome chromosome = iterator.next();
-			result.add(new BodySegmentBuilder(chromosome));
+			result.add(new BodySegmentBuilder(chromosome, configuration));
 		}
 		
 		return result;
@@ -15,8 +15,8 @@ import org.nusco.narjillos.genomics.Chromosome;
  */
 class HeadBuilder extends ConcreteOrganBuilder {
 
-	public HeadBuilder(Chromosome chromosome) {
-		super(chromosome);
+	public HeadBuilder(Chromosome chromosome, Configuration configuration) {
+		super(chromosome, configuration);
 	}
 	
 	int getRed() {
@@ -49,7 +49,7 @@ class HeadBuilder extends ConcreteOrganBuilder {
 	}
 
 	double getEnergyToChildren() {
-		return getChromosome().getGene(ENERGY_TO_CHILDREN) * 100 + Configuration.CREATURE_MIN_ENERGY_TO_CHILDREN;
+		return getChromosome().getGene(ENERGY_TO_CHILDREN) * 100 + getConfiguration().creatureMinEnergyToChildren;
 	}
 
 	int getEggVelocity() {
@@ -74,6 +74,6 @@ class HeadBuilder extends ConcreteOrganBuilder {
 		parameters.setEnergyToChildren(getEnergyToChildren());
 		parameters.setEggVelocity(getEggVelocity());
 		parameters.setEggInterval(getEggInterval());
-		return new Head(parameters);
+		return new Head(parameters, getConfiguration());
 	}
 }
@@ -38,7 +38,7 @@ public class Experiment {
 	}
 
 	public void tick() {
-		if (ticksChronometer.getTotalTicks() % Configuration.ECOSYSTEM_UPDATE_FOOD_TARGETS_INTERVAL == 0)
+		if (ticksChronometer.getTotalTicks() % getConfiguration().ecosystemUpdateFoodTargetsInterval == 0)
 			ecosystem.updateTargets();
 
 		ecosystem.tick(genePool, numGen);
@@ -49,6 +49,10 @@ public class Experiment {
 		return ecosystem;
 	}
 
+	public Configuration getConfiguration() {
+		return ecosystem.getConfiguration();
+	}
+
 	public Chronometer getTicksChronometer() {
 		return ticksChronometer;
 	}
@@ -0,0 +1,169 @@
+package org.nusco.narjillos.experiment.archipelago;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.core.utilities.NumGen;
+import org.nusco.narjillos.creature.Narjillo;
+import org.nusco.narjillos.experiment.distributed.Census;
+import org.nusco.narjillos.experiment.environment.Ecosystem;
+import org.nusco.narjillos.genomics.DNALog;
+
+/**
+ * A group of islands that evolve separately. Each island is an Ecosystem
+ * that ticks on its own thread, without waiting for the others - so unlike
+ * a single large Ecosystem, an archipelago keeps all the cores busy.
+ *
+ * Every once in a while (see the "archipelago" section in config.yaml), the
+ * islands stop, and some of their narjillos migrate to other islands. The
+ * archipelago's own NumGen decides who migrates where, so the same seed
+ * always gives the same results, no matter how many cores we have.
+ *
+ * All the islands write their DNA to the same DNALog, so you can follow a
+ * lineage across islands.
+ */
+public class Archipelago {
+
+	private final List<Island> islands = new ArrayList<>();
+	private final DNALog dnaLog;
+	private final ForkJoinPool tickWorkers;
+	private final Configuration configuration;
+	private final NumGen numGen;
+	private long ticks = 0;
+
+	public Archipelago(long seed, int numberOfIslands, long islandSize, Configuration configuration, DNALog dnaLog) {
+		this.dnaLog = new SharedDNALog(dnaLog);
+		this.tickWorkers = Ecosystem.createTickWorkers(Ecosystem.numberOfBackgroundThreads);
+		this.configuration = configuration;
+		this.numGen = new NumGen(seed);
+		for (int i = 0; i < numberOfIslands; i++)
+			islands.add(new Island(i, numberOfIslands, numGen.nextInt(), islandSize, configuration, tickWorkers, this.dnaLog));
+	}
+
+	public void populate() {
+		onAllIslands((island) -> island.populate());
+	}
+
+	public void tick() {
+		tick(1);
+	}
+
+	/**
+	 * Ticks all the islands in parallel. The islands only wait for each
+	 * other when it's time to migrate.
+	 */
+	public void tick(long numberOfTicks) {
+		long migrationInterval = configuration.archipelagoMigrationInterval;
+		while (numberOfTicks > 0) {
+			long ticksBeforeMigration = Math.min(numberOfTicks, migrationInterval - ticks % migrationInterval);
+			onAllIslands((island) -> island.tick(ticksBeforeMigration));
+			ticks += ticksBeforeMigration;
+			numberOfTicks -= ticksBeforeMigration;
+
+			if (ticks % migrationInterval == 0)
+				migrate();
+		}
+	}
+
+	public long getTotalTicks() {
+		return ticks;
+	}
+
+	public int getNumberOfIslands() {
+		return islands.size();
+	}
+
+	public Census getCensus() {
+		Census result = new Census(0, 0, 0);
+		for (Island island : islands)
+			result = result.plus(Census.of(island.getEcosystem()));
+		return result;
+	}
+
+	public int getDnaCount() {
+		return dnaLog.getDnaCount();
+	}
+
+	public boolean thereAreSurvivors() {
+		Census census = getCensus();
+		return census.getNumberOfNarjillos() > 0 || census.getNumberOfEggs() > 0;
+	}
+
+	public void terminate() {
+		for (Island island : islands)
+			island.terminate();
+		tickWorkers.shutdown();
+		dnaLog.close();
+	}
+
+	// for testing
+	Ecosystem getIsland(int index) {
+		return islands.get(index).getEcosystem();
+	}
+
+	/**
+	 * Moves some of the narjillos on each island to another island. It picks
+	 * all the migrants first, and then moves them, so that nobody migrates
+	 * twice in the same round.
+	 */
+	private void migrate() {
+		if (islands.size() < 2)
+			return;
+
+		List<List<Narjillo>> immigrants = new ArrayList<>();
+		for (int i = 0; i < islands.size(); i++)
+			immigrants.add(new ArrayList<>());
+
+		for (int i = 0; i < islands.size(); i++) {
+			Ecosystem island = islands.get(i).getEcosystem();
+			List<Narjillo> residents = new ArrayList<>(island.getNarjillos());
+			int numberOfEmigrants = getNumberOfEmigrants(residents.size());
+			for (int j = 0; j < numberOfEmigrants; j++) {
+				Narjillo emigrant = residents.remove((int) (numGen.nextDouble() * residents.size()));
+				island.extract(emigrant);
+				immigrants.get(getDestination(i)).add(emigrant);
+			}
+		}
+
+		for (int i = 0; i < islands.size(); i++) {
+			Ecosystem island = islands.get(i).getEcosystem();
+			for (Narjillo immigrant : immigrants.get(i))
+				island.insertNarjillo(immigrant);
+
+			// The narjillos were chasing food on the island they came from.
+			island.updateTargetsOf(immigrants.get(i));
+		}
+	}
+
+	// The migration rate is rarely a whole number of narjillos, so the
+	// fractional part becomes the chance of one more emigrant.
+	private int getNumberOfEmigrants(int numberOfResidents) {
+		double expectedEmigrants = numberOfResidents * configuration.archipelagoMigrationRate;
+		int result = (int) expectedEmigrants;
+		if (numGen.nextDouble() < expectedEmigrants - result)
+			result++;
+		return Math.min(result, numberOfResidents);
+	}
+
+	private int getDestination(int origin) {
+		int otherIslands = islands.size() - 1;
+		return (origin + 1 + (int) (numGen.nextDouble() * otherIslands)) % islands.size();
+	}
+
+	private void onAllIslands(Function<Island, Future<?>> task) {
+		List<Future<?>> results = new ArrayList<>();
+		for (Island island : islands)
+			results.add(task.apply(island));
+		try {
+			for (Future<?> result : results)
+				result.get();
+		} catch (InterruptedException | ExecutionException e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package org.nusco.narjillos.experiment.archipelago;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.core.utilities.NumGen;
+import org.nusco.narjillos.experiment.environment.Ecosystem;
+import org.nusco.narjillos.genomics.DNALog;
+import org.nusco.narjillos.genomics.GenePool;
+
+/**
+ * One of the islands in an archipelago: an Ecosystem with its own NumGen,
+ * ticked on a thread of its own.
+ *
+ * A NumGen only works on the thread that created it, so all the work that
+ * involves the NumGen happens on the island's thread. The archipelago can
+ * touch the Ecosystem directly, but only while the island is not ticking.
+ */
+class Island {
+
+	private final ExecutorService thread;
+	private final long seed;
+	private final Ecosystem ecosystem;
+	private final GenePool genePool;
+	private NumGen numGen;
+	private long ticks = 0;
+
+	Island(int index, int numberOfIslands, long seed, long size, Configuration configuration, ForkJoinPool tickWorkers, DNALog dnaLog) {
+		this.thread = Executors.newSingleThreadExecutor((runnable) -> {
+			Thread result = new Thread(runnable, "island-" + index);
+			result.setDaemon(true);
+			return result;
+		});
+		this.seed = seed;
+		this.ecosystem = new Ecosystem(size, configuration, tickWorkers);
+		this.genePool = new IslandGenePool(dnaLog, index, numberOfIslands);
+	}
+
+	Future<?> populate() {
+		return thread.submit(() -> {
+			numGen = new NumGen(seed);
+			ecosystem.populate(genePool, numGen);
+		});
+	}
+
+	Future<?> tick(long numberOfTicks) {
+		return thread.submit(() -> {
+			for (long i = 0; i < numberOfTicks; i++) {
+				if (ticks % ecosystem.getConfiguration().ecosystemUpdateFoodTargetsInterval == 0)
+					ecosystem.updateTargets();
+
+				ecosystem.tick(genePool, numGen);
+				ticks++;
+			}
+		});
+	}
+
+	Ecosystem getEcosystem() {
+		return ecosystem;
+	}
+
+	void terminate() {
+		ecosystem.terminate();
+		thread.shutdown();
+	}
+}
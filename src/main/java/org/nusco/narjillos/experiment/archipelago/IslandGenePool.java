@@ -0,0 +1,31 @@
+package org.nusco.narjillos.experiment.archipelago;
+
+import org.nusco.narjillos.core.utilities.NumGen;
+import org.nusco.narjillos.genomics.DNALog;
+import org.nusco.narjillos.genomics.GenePool;
+
+/**
+ * The view of an island on the gene pool of the archipelago.
+ *
+ * All the islands write to the same DNALog, but each of them has its own
+ * NumGen. To keep the DNA ids unique (and independent of the order in which
+ * the islands happen to write), each island gets every n-th id: with three
+ * islands, the first island gets 1, 4, 7..., the second gets 2, 5, 8... and
+ * so on.
+ */
+class IslandGenePool extends GenePool {
+
+	private final int islandIndex;
+	private final int numberOfIslands;
+
+	IslandGenePool(DNALog dnaLog, int islandIndex, int numberOfIslands) {
+		super(dnaLog);
+		this.islandIndex = islandIndex;
+		this.numberOfIslands = numberOfIslands;
+	}
+
+	@Override
+	protected long nextDnaId(NumGen numGen) {
+		return (numGen.nextSerial() - 1) * numberOfIslands + islandIndex + 1;
+	}
+}
@@ -0,0 +1,60 @@
+package org.nusco.narjillos.experiment.archipelago;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.nusco.narjillos.genomics.DNA;
+import org.nusco.narjillos.genomics.DNALog;
+
+/**
+ * A DNALog that many islands can write to at the same time. It serializes
+ * the calls to another DNALog, which doesn't need to be thread-safe.
+ */
+class SharedDNALog implements DNALog {
+
+	private final DNALog dnaLog;
+
+	SharedDNALog(DNALog dnaLog) {
+		this.dnaLog = dnaLog;
+	}
+
+	@Override
+	public synchronized void save(DNA dna) {
+		dnaLog.save(dna);
+	}
+
+	@Override
+	public synchronized DNA getDna(long id) {
+		return dnaLog.getDna(id);
+	}
+
+	@Override
+	public synchronized void markAsDead(long id) {
+		dnaLog.markAsDead(id);
+	}
+
+	@Override
+	public synchronized List<DNA> getAllDna() {
+		return new ArrayList<>(dnaLog.getAllDna());
+	}
+
+	@Override
+	public synchronized List<DNA> getLiveDna() {
+		return new ArrayList<>(dnaLog.getLiveDna());
+	}
+
+	@Override
+	public synchronized int getDnaCount() {
+		return dnaLog.getDnaCount();
+	}
+
+	@Override
+	public synchronized void close() {
+		dnaLog.close();
+	}
+
+	@Override
+	public synchronized void delete() {
+		dnaLog.delete();
+	}
+}
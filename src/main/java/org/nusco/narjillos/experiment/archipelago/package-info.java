@@ -0,0 +1,5 @@
+/**
+ * A group of separate dishes (the "islands") that evolve in parallel, and
+ * every now and then exchange some of their narjillos.
+ */
+package org.nusco.narjillos.experiment.archipelago;
@@ -0,0 +1,55 @@
+package org.nusco.narjillos.experiment.distributed;
+
+import org.nusco.narjillos.experiment.environment.Environment;
+
+/**
+ * How many things of each kind live in a region, or in a whole distributed
+ * dish.
+ */
+public class Census {
+
+	private final int numberOfNarjillos;
+	private final int numberOfEggs;
+	private final int numberOfFoodPellets;
+
+	public Census(int numberOfNarjillos, int numberOfEggs, int numberOfFoodPellets) {
+		this.numberOfNarjillos = numberOfNarjillos;
+		this.numberOfEggs = numberOfEggs;
+		this.numberOfFoodPellets = numberOfFoodPellets;
+	}
+
+	public static Census of(Environment environment) {
+		return new Census(environment.getNumberOfNarjillos(), environment.getNumberOfEggs(), environment.getNumberOfFoodPellets());
+	}
+
+	public int getNumberOfNarjillos() {
+		return numberOfNarjillos;
+	}
+
+	public int getNumberOfEggs() {
+		return numberOfEggs;
+	}
+
+	public int getNumberOfFoodPellets() {
+		return numberOfFoodPellets;
+	}
+
+	public Census plus(Census other) {
+		return new Census(numberOfNarjillos + other.numberOfNarjillos, numberOfEggs + other.numberOfEggs, numberOfFoodPellets
+				+ other.numberOfFoodPellets);
+	}
+
+	@Override
+	public String toString() {
+		return "Narj: " + numberOfNarjillos + " / Eggs: " + numberOfEggs + " / Food: " + numberOfFoodPellets;
+	}
+
+	String encode() {
+		return numberOfNarjillos + " " + numberOfEggs + " " + numberOfFoodPellets;
+	}
+
+	static Census decode(String line) {
+		String[] counts = line.split(" ");
+		return new Census(Integer.parseInt(counts[0]), Integer.parseInt(counts[1]), Integer.parseInt(counts[2]));
+	}
+}
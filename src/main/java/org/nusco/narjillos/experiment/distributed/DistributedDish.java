@@ -0,0 +1,202 @@
+package org.nusco.narjillos.experiment.distributed;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.things.FoodPellet;
+import org.nusco.narjillos.core.things.Thing;
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.core.utilities.NumGen;
+import org.nusco.narjillos.experiment.environment.Ecosystem;
+import org.nusco.narjillos.persistence.serialization.JSON;
+import org.yaml.snakeyaml.Yaml;
+
+/**
+ * A dish split in regions, each run by a RegionWorker (usually in its own
+ * process). This is the coordinator.
+ *
+ * The regions tick in lockstep: they all tick, then the things that crossed
+ * a boundary move to their new region, and only then the next tick begins.
+ * Each region is deterministic, and things move between regions in a fixed
+ * order, so the same seed and number of regions always give the same
+ * results.
+ *
+ * The coordinator spawns the food for the whole dish, and sends each new
+ * food pellet to its region. It also passes the food close to each boundary
+ * to the regions on the other side, so that the narjillos can see across
+ * the boundaries (see RegionWorker).
+ */
+public class DistributedDish {
+
+	// How long we wait for the region servers to populate their regions and
+	// connect.
+	private static final int CONNECTION_TIMEOUT_MILLIS = 60_000;
+
+	private final List<RegionLink> regions;
+	private final List<Process> processes;
+	private final long dishSize;
+	private final Configuration configuration;
+	private final NumGen numGen;
+	private long ticks = 0;
+
+	public DistributedDish(List<RegionLink> regions, long seed, long dishSize) {
+		this(regions, seed, dishSize, Configuration.DEFAULT);
+	}
+
+	/**
+	 * The regions must run with the same Configuration as the coordinator.
+	 */
+	public DistributedDish(List<RegionLink> regions, long seed, long dishSize, Configuration configuration) {
+		this(regions, new ArrayList<>(), seed, dishSize, configuration);
+	}
+
+	private DistributedDish(List<RegionLink> regions, List<Process> processes, long seed, long dishSize, Configuration configuration) {
+		this.regions = regions;
+		this.processes = processes;
+		this.dishSize = dishSize;
+		this.configuration = configuration;
+		this.numGen = new NumGen(seed);
+	}
+
+	/**
+	 * Starts a RegionServer process for each region on this machine, and
+	 * waits for all of them to connect. The servers read the Configuration
+	 * from a temporary file.
+	 */
+	public static DistributedDish launch(long seed, long dishSize, int numberOfRegions, Configuration configuration) {
+		InetAddress localhost = InetAddress.getLoopbackAddress();
+		List<Process> processes = new ArrayList<>();
+		File configurationFile = null;
+		try (ServerSocket serverSocket = new ServerSocket(0, numberOfRegions, localhost)) {
+			configurationFile = writeToTemporaryFile(configuration);
+			serverSocket.setSoTimeout(CONNECTION_TIMEOUT_MILLIS);
+			for (int i = 0; i < numberOfRegions; i++) {
+				String[] arguments = { localhost.getHostAddress(), "" + serverSocket.getLocalPort(), "" + seed, "" + i,
+						"" + numberOfRegions, "" + dishSize, configurationFile.getAbsolutePath() };
+				processes.add(startProcess(RegionServer.class.getName(), arguments));
+			}
+			return new DistributedDish(connect(serverSocket, numberOfRegions), processes, seed, dishSize, configuration);
+		} catch (IOException e) {
+			for (Process process : processes)
+				process.destroy();
+			throw new RuntimeException(e);
+		} finally {
+			// The servers read the file before they connect.
+			if (configurationFile != null)
+				configurationFile.delete();
+		}
+	}
+
+	/**
+	 * Waits for a RegionServer to connect for each region.
+	 *
+	 * @return The links to the servers, in the order of their regions.
+	 */
+	public static List<RegionLink> connect(ServerSocket serverSocket, int numberOfRegions) throws IOException {
+		RegionLink[] result = new RegionLink[numberOfRegions];
+		for (int i = 0; i < numberOfRegions; i++) {
+			SocketRegionLink link = new SocketRegionLink(serverSocket.accept());
+			result[link.getRegionIndex()] = link;
+		}
+		return Arrays.asList(result);
+	}
+
+	public void tick() {
+		for (RegionLink region : regions)
+			region.startTick();
+
+		List<List<String>> immigrants = new ArrayList<>();
+		for (int i = 0; i < regions.size(); i++)
+			immigrants.add(new ArrayList<>());
+
+		List<RegionReport> reports = new ArrayList<>();
+		for (RegionLink region : regions)
+			reports.add(region.finishTick());
+
+		// Collect the emigrants in the order of the regions they left, so
+		// that each region welcomes them in a predictable order.
+		int numberOfFoodPellets = 0;
+		for (RegionReport report : reports) {
+			for (Map.Entry<Integer, String> emigrants : report.getEmigrants().entrySet())
+				immigrants.get(emigrants.getKey()).add(emigrants.getValue());
+			numberOfFoodPellets += report.getNumberOfFoodPellets();
+		}
+
+		if (Ecosystem.shouldSpawnFood(dishSize, numberOfFoodPellets, configuration, numGen)) {
+			FoodPellet food = new FoodPellet(configuration);
+			food.setPosition(Vector.cartesian(numGen.nextDouble() * dishSize, numGen.nextDouble() * dishSize));
+			int region = new Region(0, regions.size(), dishSize).getIndexOf(food.getPosition());
+			immigrants.get(region).add(JSON.toJson(new Thing[] { food }, Thing[].class));
+		}
+
+		for (int i = 0; i < regions.size(); i++) {
+			List<String> neighborsBorderFood = new ArrayList<>();
+			if (i > 0)
+				neighborsBorderFood.add(reports.get(i - 1).getBorderFood());
+			if (i < regions.size() - 1)
+				neighborsBorderFood.add(reports.get(i + 1).getBorderFood());
+			regions.get(i).welcome(immigrants.get(i), neighborsBorderFood);
+		}
+
+		ticks++;
+	}
+
+	public long getTotalTicks() {
+		return ticks;
+	}
+
+	public Census getCensus() {
+		Census result = new Census(0, 0, 0);
+		for (RegionLink region : regions)
+			result = result.plus(region.getCensus());
+		return result;
+	}
+
+	public void terminate() {
+		for (RegionLink region : regions)
+			region.close();
+
+		try {
+			for (Process process : processes)
+				if (!process.waitFor(10, TimeUnit.SECONDS))
+					process.destroy();
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static File writeToTemporaryFile(Configuration configuration) throws IOException {
+		File result = File.createTempFile("narjillos-config-", ".yaml");
+		result.deleteOnExit();
+		try (Writer writer = new OutputStreamWriter(new FileOutputStream(result), StandardCharsets.UTF_8)) {
+			new Yaml().dump(configuration.toMap(), writer);
+		}
+		return result;
+	}
+
+	// The new process gets the same JVM options as this one.
+	private static Process startProcess(String mainClass, String[] arguments) throws IOException {
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(mainClass);
+		command.addAll(Arrays.asList(arguments));
+		return new ProcessBuilder(command).inheritIO().start();
+	}
+}
@@ -0,0 +1,44 @@
+package org.nusco.narjillos.experiment.distributed;
+
+import java.util.List;
+
+/**
+ * A RegionLink to a RegionWorker in the same thread. The regions don't tick
+ * at the same time, so this is mostly useful for testing.
+ */
+public class LocalRegionLink implements RegionLink {
+
+	private final RegionWorker worker;
+	private RegionReport report = null;
+
+	public LocalRegionLink(RegionWorker worker) {
+		this.worker = worker;
+	}
+
+	@Override
+	public void startTick() {
+		report = worker.tick();
+	}
+
+	@Override
+	public RegionReport finishTick() {
+		RegionReport result = report;
+		report = null;
+		return result;
+	}
+
+	@Override
+	public void welcome(List<String> immigrants, List<String> neighborsBorderFood) {
+		worker.welcome(immigrants, neighborsBorderFood);
+	}
+
+	@Override
+	public Census getCensus() {
+		return worker.getCensus();
+	}
+
+	@Override
+	public void close() {
+		worker.terminate();
+	}
+}
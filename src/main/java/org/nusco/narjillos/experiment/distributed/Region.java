@@ -0,0 +1,65 @@
+package org.nusco.narjillos.experiment.distributed;
+
+import org.nusco.narjillos.core.physics.Vector;
+
+/**
+ * One of the vertical strips of the same width that a distributed dish is
+ * split into. Things outside the dish belong to the closest region.
+ */
+public class Region {
+
+	private final int index;
+	private final int numberOfRegions;
+	private final long dishSize;
+
+	public Region(int index, int numberOfRegions, long dishSize) {
+		if (index < 0 || index >= numberOfRegions)
+			throw new RuntimeException("There is no region " + index + " in a dish with " + numberOfRegions + " regions");
+
+		this.index = index;
+		this.numberOfRegions = numberOfRegions;
+		this.dishSize = dishSize;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public int getNumberOfRegions() {
+		return numberOfRegions;
+	}
+
+	public long getDishSize() {
+		return dishSize;
+	}
+
+	public boolean contains(Vector position) {
+		return getIndexOf(position) == index;
+	}
+
+	/**
+	 * @return The index of the region that contains the position.
+	 */
+	public int getIndexOf(Vector position) {
+		if (!(position.x > 0)) // also catches NaN
+			return 0;
+		double width = ((double) dishSize) / numberOfRegions;
+		return (int) Math.min(numberOfRegions - 1, Math.floor(position.x / width));
+	}
+
+	/**
+	 * @return The horizontal distance from the position to the region's
+	 *         strip (zero if the position is inside the strip).
+	 */
+	public double getDistanceFrom(Vector position) {
+		double width = ((double) dishSize) / numberOfRegions;
+		double minX = index * width;
+		double maxX = minX + width;
+		return Math.max(0, Math.max(minX - position.x, position.x - maxX));
+	}
+
+	@Override
+	public String toString() {
+		return "Region " + index + " of " + numberOfRegions;
+	}
+}
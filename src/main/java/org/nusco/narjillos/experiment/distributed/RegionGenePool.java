@@ -0,0 +1,31 @@
+package org.nusco.narjillos.experiment.distributed;
+
+import org.nusco.narjillos.core.utilities.NumGen;
+import org.nusco.narjillos.genomics.DNALog;
+import org.nusco.narjillos.genomics.GenePool;
+
+/**
+ * The gene pool of one region in a distributed dish.
+ *
+ * Narjillos and eggs take their DNA with them when they move to another
+ * region, so the DNA ids must be unique across the whole dish. Like the
+ * islands of an archipelago, each region gets every n-th id: with three
+ * regions, the first region gets 1, 4, 7..., the second gets 2, 5, 8... and
+ * so on.
+ */
+class RegionGenePool extends GenePool {
+
+	private final int regionIndex;
+	private final int numberOfRegions;
+
+	RegionGenePool(DNALog dnaLog, Region region) {
+		super(dnaLog);
+		this.regionIndex = region.getIndex();
+		this.numberOfRegions = region.getNumberOfRegions();
+	}
+
+	@Override
+	protected long nextDnaId(NumGen numGen) {
+		return (numGen.nextSerial() - 1) * numberOfRegions + regionIndex + 1;
+	}
+}
@@ -0,0 +1,31 @@
+package org.nusco.narjillos.experiment.distributed;
+
+import java.util.List;
+
+/**
+ * The coordinator's end of the connection to a RegionWorker. This is where
+ * you plug in a transport.
+ *
+ * A tick is split in two calls, so that the coordinator can start all the
+ * regions ticking before it waits for any of them.
+ */
+public interface RegionLink {
+
+	public void startTick();
+
+	/**
+	 * Waits for the tick to end.
+	 * 
+	 * @return What happened in the region (see RegionWorker.tick()).
+	 */
+	public RegionReport finishTick();
+
+	/**
+	 * See RegionWorker.welcome().
+	 */
+	public void welcome(List<String> immigrants, List<String> neighborsBorderFood);
+
+	public Census getCensus();
+
+	public void close();
+}
@@ -0,0 +1,43 @@
+package org.nusco.narjillos.experiment.distributed;
+
+import java.util.Map;
+
+/**
+ * What a RegionWorker tells the coordinator at the end of a tick.
+ */
+public class RegionReport {
+
+	private final Map<Integer, String> emigrants;
+	private final String borderFood;
+	private final int numberOfFoodPellets;
+
+	public RegionReport(Map<Integer, String> emigrants, String borderFood, int numberOfFoodPellets) {
+		this.emigrants = emigrants;
+		this.borderFood = borderFood;
+		this.numberOfFoodPellets = numberOfFoodPellets;
+	}
+
+	/**
+	 * @return The things that left the region, as JSON arrays of things
+	 *         indexed by the region that they entered.
+	 */
+	public Map<Integer, String> getEmigrants() {
+		return emigrants;
+	}
+
+	/**
+	 * @return The food pellets close to the region's boundaries, as a JSON
+	 *         array. The neighbors keep copies of them (see RegionWorker).
+	 */
+	public String getBorderFood() {
+		return borderFood;
+	}
+
+	/**
+	 * @return The number of food pellets in the region (not counting the
+	 *         copies of the neighbors' food).
+	 */
+	public int getNumberOfFoodPellets() {
+		return numberOfFoodPellets;
+	}
+}
@@ -0,0 +1,140 @@
+package org.nusco.narjillos.experiment.distributed;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.experiment.environment.Ecosystem;
+
+/**
+ * Runs a RegionWorker in its own process, and connects it to the
+ * coordinator over TCP.
+ *
+ * The protocol is one command per line. The worker introduces itself with
+ * "HELLO <region>". Then the coordinator sends commands, and the worker only
+ * answers the ones that ask for something:
+ *
+ * "TICK" -> "REPORT <n> <food pellets>", followed by n lines of "<region>
+ * <JSON emigrants>" and one line of "<JSON border food>".
+ * "WELCOME <n> <m>", followed by n lines of "<JSON immigrants>" and m lines
+ * of "<JSON neighbors' border food>" -> no answer.
+ * "CENSUS" -> "<narjillos> <eggs> <food pellets>".
+ * "QUIT" -> no answer.
+ */
+public class RegionServer {
+
+	static final String HELLO = "HELLO";
+	static final String TICK = "TICK";
+	static final String REPORT = "REPORT";
+	static final String WELCOME = "WELCOME";
+	static final String CENSUS = "CENSUS";
+	static final String QUIT = "QUIT";
+
+	private static final int SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+	/**
+	 * Takes the coordinator's host and port, the seed, the index of the
+	 * region, the number of regions, the size of the dish and a
+	 * configuration file.
+	 */
+	public static void main(String[] args) throws IOException {
+		String host = args[0];
+		int port = Integer.parseInt(args[1]);
+		long seed = Long.parseLong(args[2]);
+		int index = Integer.parseInt(args[3]);
+		int numberOfRegions = Integer.parseInt(args[4]);
+		long dishSize = Long.parseLong(args[5]);
+		Configuration configuration = Configuration.DEFAULT.with(new File(args[6]));
+
+		// The regions share the cores of the machine.
+		Ecosystem.numberOfBackgroundThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / numberOfRegions);
+
+		// A Ctrl-C in the terminal stops the coordinator and the servers
+		// at the same time. In that case, the server waits for the
+		// coordinator to finish its tick and quit, so that the coordinator
+		// doesn't find its connections cut in the middle of a tick.
+		final CountDownLatch served = new CountDownLatch(1);
+		Runtime.getRuntime().addShutdownHook(new Thread() {
+			@Override
+			public void run() {
+				try {
+					served.await(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+				}
+			}
+		});
+
+		RegionWorker worker = new RegionWorker(seed, new Region(index, numberOfRegions, dishSize), configuration);
+		try (Socket socket = new Socket(host, port)) {
+			serve(worker, socket);
+		} finally {
+			served.countDown();
+		}
+		System.exit(0);
+	}
+
+	/**
+	 * Serves the coordinator until it quits or hangs up. Call this from the
+	 * thread that created the worker.
+	 */
+	public static void serve(RegionWorker worker, Socket socket) throws IOException {
+		// See SocketRegionLink.
+		socket.setTcpNoDelay(true);
+		BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+		PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)));
+
+		try {
+			out.println(HELLO + " " + worker.getRegion().getIndex());
+			out.flush();
+
+			String line;
+			while ((line = in.readLine()) != null) {
+				String[] command = line.split(" ");
+				switch (command[0]) {
+				case TICK:
+					RegionReport report = worker.tick();
+					out.println(REPORT + " " + report.getEmigrants().size() + " " + report.getNumberOfFoodPellets());
+					for (Map.Entry<Integer, String> entry : report.getEmigrants().entrySet())
+						out.println(entry.getKey() + " " + entry.getValue());
+					out.println(report.getBorderFood());
+					out.flush();
+					break;
+				case WELCOME:
+					List<String> immigrants = readLines(in, Integer.parseInt(command[1]));
+					List<String> neighborsBorderFood = readLines(in, Integer.parseInt(command[2]));
+					worker.welcome(immigrants, neighborsBorderFood);
+					break;
+				case CENSUS:
+					out.println(worker.getCensus().encode());
+					out.flush();
+					break;
+				case QUIT:
+					return;
+				default:
+					throw new RuntimeException("Unknown command: " + line);
+				}
+			}
+		} finally {
+			worker.terminate();
+		}
+	}
+
+	private static List<String> readLines(BufferedReader in, int numberOfLines) throws IOException {
+		List<String> result = new ArrayList<>();
+		for (int i = 0; i < numberOfLines; i++)
+			result.add(in.readLine());
+		return result;
+	}
+}
@@ -0,0 +1,282 @@
+package org.nusco.narjillos.experiment.distributed;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.nusco.narjillos.core.physics.Segment;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.things.FoodPellet;
+import org.nusco.narjillos.core.things.Thing;
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.core.utilities.NumGen;
+import org.nusco.narjillos.creature.Egg;
+import org.nusco.narjillos.creature.Narjillo;
+import org.nusco.narjillos.experiment.environment.Ecosystem;
+import org.nusco.narjillos.genomics.DNA;
+import org.nusco.narjillos.genomics.DNALog;
+import org.nusco.narjillos.genomics.GenePool;
+import org.nusco.narjillos.persistence.VolatileDNALog;
+import org.nusco.narjillos.persistence.serialization.JSON;
+
+/**
+ * Runs one Region of a distributed dish. It has an Ecosystem as big as the
+ * whole dish, but only the things in its own region live there.
+ *
+ * After each tick, the narjillos and eggs that left the region go back to
+ * the coordinator, grouped by the region that they entered. Things travel
+ * as JSON, so the worker doesn't care whether the coordinator is in the
+ * same process or in another one.
+ *
+ * Each worker keeps its own gene pool. The regions hand out different DNA
+ * ids (see RegionGenePool), and the DNA moves from one gene pool to the
+ * other together with its narjillo or egg.
+ *
+ * The worker also keeps "ghost" copies of the food in a band along the
+ * neighbors' side of each boundary, so that the narjillos close to a
+ * boundary can see the food across it. The ghosts are only there to be
+ * targeted: a narjillo can only eat them after it moves into their region,
+ * where the real food is. The worker doesn't spawn food on its own, either.
+ * The coordinator decides when to spawn food for the whole dish, so that
+ * the dish as a whole never goes over the maximum density of food.
+ */
+public class RegionWorker {
+
+	private final Region region;
+	private final List<Region> neighbors = new ArrayList<>();
+	private final Ecosystem ecosystem;
+	private final DNALog dnaLog = new VolatileDNALog();
+	private final GenePool genePool;
+	private final NumGen numGen;
+	private final double ghostZoneWidth;
+	private long ticks = 0;
+
+	// Food never moves, so we can recognize the ghosts by their position.
+	private final Map<Vector, FoodPellet> ghosts = new LinkedHashMap<>();
+
+	public RegionWorker(long seed, Region region) {
+		this(seed, region, Configuration.DEFAULT);
+	}
+
+	public RegionWorker(long seed, Region region, Configuration configuration) {
+		this.region = region;
+		this.ecosystem = new RegionEcosystem(region.getDishSize(), configuration);
+		this.genePool = new RegionGenePool(dnaLog, region);
+		this.numGen = new NumGen(seed);
+		this.ghostZoneWidth = getGhostZoneWidth(ecosystem.getConfiguration());
+
+		for (int index = region.getIndex() - 1; index <= region.getIndex() + 1; index += 2)
+			if (index >= 0 && index < region.getNumberOfRegions())
+				neighbors.add(new Region(index, region.getNumberOfRegions(), region.getDishSize()));
+
+		// All the workers populate the whole dish in the same way, and then
+		// each of them keeps what's in its own region. So the dish starts
+		// out like an undistributed dish with the same seed.
+		ecosystem.populate(genePool, numGen);
+		extractOutsiders();
+	}
+
+	/**
+	 * How far the narjillos can see across a boundary: twice the average
+	 * distance between food pellets, when the food is as dense as it gets.
+	 * A narjillo that doesn't see any food within this distance will find
+	 * some after it crosses the boundary.
+	 */
+	static double getGhostZoneWidth(Configuration configuration) {
+		return 2 * 1000 / Math.sqrt(configuration.ecosystemMaxFoodDensityPer1000Block);
+	}
+
+	public Region getRegion() {
+		return region;
+	}
+
+	/**
+	 * Ticks the region, and tells the coordinator what happened (see
+	 * RegionReport).
+	 */
+	public RegionReport tick() {
+		if (ticks % ecosystem.getConfiguration().ecosystemUpdateFoodTargetsInterval == 0)
+			ecosystem.updateTargets();
+
+		ecosystem.tick(genePool, numGen);
+		ticks++;
+
+		Map<Integer, List<Thing>> emigrants = new TreeMap<>();
+		for (Thing thing : extractOutsiders()) {
+			int destination = region.getIndexOf(thing.getPosition());
+			emigrants.computeIfAbsent(destination, (index) -> new ArrayList<>()).add(thing);
+		}
+
+		Map<Integer, String> emigrantsJson = new TreeMap<>();
+		for (Map.Entry<Integer, List<Thing>> entry : emigrants.entrySet())
+			emigrantsJson.put(entry.getKey(), JSON.toJson(entry.getValue().toArray(new Thing[0]), Thing[].class));
+
+		String borderFoodJson = JSON.toJson(getBorderFood().toArray(new Thing[0]), Thing[].class);
+		return new RegionReport(emigrantsJson, borderFoodJson, getNumberOfFoodPellets());
+	}
+
+	/**
+	 * Adds the things that entered the region from other regions, and
+	 * updates the ghosts of the neighbors' food. Each string is a JSON array
+	 * of things.
+	 */
+	public void welcome(List<String> immigrants, List<String> neighborsBorderFood) {
+		List<Narjillo> narjillos = new ArrayList<>();
+		boolean newFood = false;
+		for (String json : immigrants) {
+			for (Thing thing : JSON.fromJson(json, Thing[].class)) {
+				DNA dna = getDNA(thing);
+				if (dna != null)
+					genePool.add(dna);
+				if (thing instanceof Egg)
+					((Egg) thing).setConfiguration(ecosystem.getConfiguration());
+
+				if (thing instanceof Narjillo) {
+					ecosystem.insertNarjillo((Narjillo) thing);
+					narjillos.add((Narjillo) thing);
+				} else {
+					ecosystem.insert(thing);
+					if (thing instanceof FoodPellet)
+						newFood = true;
+				}
+			}
+		}
+
+		if (updateGhosts(neighborsBorderFood))
+			newFood = true;
+
+		// The narjillos were chasing food in the region they came from.
+		// If there is new food around, everybody might want to chase it.
+		if (newFood)
+			ecosystem.updateTargets();
+		else
+			ecosystem.updateTargetsOf(narjillos);
+	}
+
+	public Census getCensus() {
+		Census census = Census.of(ecosystem);
+		return new Census(census.getNumberOfNarjillos(), census.getNumberOfEggs(), getNumberOfFoodPellets());
+	}
+
+	public void terminate() {
+		ecosystem.terminate();
+		genePool.terminate();
+	}
+
+	// for testing
+	Ecosystem getEcosystem() {
+		return ecosystem;
+	}
+
+	// for testing
+	List<DNA> getLiveDna() {
+		return dnaLog.getLiveDna();
+	}
+
+	boolean isGhost(Thing thing) {
+		return ghosts.get(thing.getPosition()) == thing;
+	}
+
+	private int getNumberOfFoodPellets() {
+		return ecosystem.getNumberOfFoodPellets() - ghosts.size();
+	}
+
+	// The things that leave take their DNA with them, so it's dead as far
+	// as this region is concerned.
+	private List<Thing> extractOutsiders() {
+		List<Thing> result = new ArrayList<>();
+		for (Thing thing : ecosystem.getThings(""))
+			if (!region.contains(thing.getPosition()) && !isGhost(thing))
+				result.add(thing);
+
+		for (Thing thing : result) {
+			ecosystem.extract(thing);
+			DNA dna = getDNA(thing);
+			if (dna != null)
+				genePool.remove(dna);
+		}
+		return result;
+	}
+
+	private List<Thing> getBorderFood() {
+		List<Thing> result = new ArrayList<>();
+		for (Thing food : ecosystem.getThings("food_pellet"))
+			if (!isGhost(food) && isCloseToANeighbor(food.getPosition()))
+				result.add(food);
+		return result;
+	}
+
+	private boolean isCloseToANeighbor(Vector position) {
+		for (Region neighbor : neighbors)
+			if (neighbor.getDistanceFrom(position) <= ghostZoneWidth)
+				return true;
+		return false;
+	}
+
+	// Replaces the old ghosts with the food that the neighbors have now,
+	// and returns true if any of that food is new.
+	private boolean updateGhosts(List<String> neighborsBorderFood) {
+		Map<Vector, FoodPellet> newGhosts = new LinkedHashMap<>();
+		for (String json : neighborsBorderFood) {
+			for (Thing thing : JSON.fromJson(json, Thing[].class)) {
+				double distance = region.getDistanceFrom(thing.getPosition());
+				if (distance > 0 && distance <= ghostZoneWidth)
+					newGhosts.put(thing.getPosition(), (FoodPellet) thing);
+			}
+		}
+
+		List<FoodPellet> vanishedGhosts = new ArrayList<>();
+		for (Map.Entry<Vector, FoodPellet> entry : ghosts.entrySet())
+			if (!newGhosts.containsKey(entry.getKey()))
+				vanishedGhosts.add(entry.getValue());
+		for (FoodPellet ghost : vanishedGhosts) {
+			ghosts.remove(ghost.getPosition());
+			ecosystem.extract(ghost);
+		}
+
+		boolean result = false;
+		for (Map.Entry<Vector, FoodPellet> entry : newGhosts.entrySet()) {
+			if (!ghosts.containsKey(entry.getKey())) {
+				ghosts.put(entry.getKey(), entry.getValue());
+				ecosystem.insert(entry.getValue());
+				result = true;
+			}
+		}
+		return result;
+	}
+
+	private static DNA getDNA(Thing thing) {
+		if (thing instanceof Narjillo)
+			return ((Narjillo) thing).getDNA();
+		if (thing instanceof Egg)
+			return ((Egg) thing).getDNA();
+		return null;
+	}
+
+	// An Ecosystem that doesn't spawn food, and where the narjillos can
+	// see the ghosts, but not eat them.
+	class RegionEcosystem extends Ecosystem {
+
+		RegionEcosystem(long size, Configuration configuration) {
+			super(size, configuration);
+		}
+
+		@Override
+		protected boolean shouldSpawnFood(NumGen numGen) {
+			return false;
+		}
+
+		@Override
+		protected Set<Thing> getCollisions(Segment movement) {
+			Set<Thing> result = new LinkedHashSet<>();
+			for (Thing food : super.getCollisions(movement))
+				if (!isGhost(food))
+					result.add(food);
+			return result;
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package org.nusco.narjillos.experiment.distributed;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A RegionLink to a RegionServer, over TCP. (See RegionServer for the
+ * protocol).
+ */
+public class SocketRegionLink implements RegionLink {
+
+	private final Socket socket;
+	private final BufferedReader in;
+	private final PrintWriter out;
+	private final int regionIndex;
+
+	/**
+	 * Takes a connection from a RegionServer, and waits for the server to
+	 * introduce itself.
+	 */
+	public SocketRegionLink(Socket socket) {
+		try {
+			this.socket = socket;
+			// The coordinator sends short commands, and sometimes two in a row
+			// before it waits for an answer. Don't let Nagle's algorithm hold
+			// them back.
+			socket.setTcpNoDelay(true);
+			this.in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			this.out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)));
+			this.regionIndex = Integer.parseInt(expect(RegionServer.HELLO));
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	public int getRegionIndex() {
+		return regionIndex;
+	}
+
+	@Override
+	public void startTick() {
+		send(RegionServer.TICK);
+	}
+
+	@Override
+	public RegionReport finishTick() {
+		try {
+			String[] counts = expect(RegionServer.REPORT).split(" ");
+			int numberOfLines = Integer.parseInt(counts[0]);
+			int numberOfFoodPellets = Integer.parseInt(counts[1]);
+			Map<Integer, String> emigrants = new TreeMap<>();
+			for (int i = 0; i < numberOfLines; i++) {
+				String line = readLine();
+				int separator = line.indexOf(' ');
+				emigrants.put(Integer.parseInt(line.substring(0, separator)), line.substring(separator + 1));
+			}
+			String borderFood = readLine();
+			return new RegionReport(emigrants, borderFood, numberOfFoodPellets);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Override
+	public void welcome(List<String> immigrants, List<String> neighborsBorderFood) {
+		out.println(RegionServer.WELCOME + " " + immigrants.size() + " " + neighborsBorderFood.size());
+		for (String json : immigrants)
+			out.println(json);
+		for (String json : neighborsBorderFood)
+			out.println(json);
+		out.flush();
+	}
+
+	@Override
+	public Census getCensus() {
+		send(RegionServer.CENSUS);
+		try {
+			return Census.decode(readLine());
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Override
+	public void close() {
+		send(RegionServer.QUIT);
+		try {
+			socket.close();
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private void send(String command) {
+		out.println(command);
+		out.flush();
+	}
+
+	private String expect(String answer) throws IOException {
+		String line = readLine();
+		if (!line.startsWith(answer + " "))
+			throw new RuntimeException("Expected " + answer + " from region server, got: " + line);
+		return line.substring(answer.length() + 1);
+	}
+
+	private String readLine() throws IOException {
+		String result = in.readLine();
+		if (result == null)
+			throw new IOException("Region server hung up");
+		return result;
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * A dish that is split in regions, each run by its own worker (usually in
+ * its own process).
+ */
+package org.nusco.narjillos.experiment.distributed;
@@ -0,0 +1,173 @@
+package org.nusco.narjillos.experiment.environment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.nusco.narjillos.core.physics.Segment;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.things.Thing;
+
+/**
+ * One of the partitions of a SpatialIndex. It keeps things of different
+ * types in different arrays, so that looking for one type of things doesn't
+ * mean going through all the other things.
+ *
+ * The arrays are copy-on-write: changes lock the Area and replace the
+ * arrays, and searches go through the arrays without locking. Areas are
+ * small, so copying them is cheap.
+ */
+class Area {
+
+	private static final Thing[] NO_THINGS = new Thing[0];
+
+	// Indexed by type. Neither this array nor the arrays in it ever change
+	// after they're published.
+	private volatile Thing[][] thingsByType = new Thing[0][];
+	private volatile int size = 0;
+
+	public synchronized void add(Thing thing, int type) {
+		Thing[] things = getArray(type);
+		for (Thing existingThing : things)
+			if (existingThing == thing)
+				return;
+
+		Thing[] newThings = Arrays.copyOf(things, things.length + 1);
+		newThings[things.length] = thing;
+		replace(type, newThings);
+		size++;
+	}
+
+	public synchronized void remove(Thing thing, int type) {
+		Thing[] things = getArray(type);
+		for (int i = 0; i < things.length; i++) {
+			if (things[i] == thing) {
+				Thing[] newThings = new Thing[things.length - 1];
+				System.arraycopy(things, 0, newThings, 0, i);
+				System.arraycopy(things, i + 1, newThings, i, things.length - i - 1);
+				replace(type, newThings);
+				size--;
+				return;
+			}
+		}
+	}
+
+	public List<Thing> get(int type) {
+		return Collections.unmodifiableList(Arrays.asList(getArray(type)));
+	}
+
+	public List<Thing> getAll() {
+		List<Thing> result = new ArrayList<>();
+		for (Thing[] things : thingsByType)
+			if (things != null)
+				result.addAll(Arrays.asList(things));
+		return result;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void addTo(Set<Thing> collector, long typeMask) {
+		Thing[][] things = thingsByType;
+		for (int type = 0; type < things.length; type++)
+			if (things[type] != null && Inventory.isOfType(type, typeMask))
+				collector.addAll(Arrays.asList(things[type]));
+	}
+
+	public void addCollisionsTo(Set<Thing> collector, Segment movement, double collisionDistance, long typeMask) {
+		Thing[][] things = thingsByType;
+		for (int type = 0; type < things.length; type++) {
+			if (things[type] == null || !Inventory.isOfType(type, typeMask))
+				continue;
+			for (Thing thing : things[type])
+				if (movement.getMinimumDistanceFromPoint(thing.getPosition()) <= collisionDistance)
+					collector.add(thing);
+		}
+	}
+
+	public void addInRectangleTo(Set<Thing> collector, double minX, double minY, double maxX, double maxY, long typeMask) {
+		Thing[][] things = thingsByType;
+		for (int type = 0; type < things.length; type++) {
+			if (things[type] == null || !Inventory.isOfType(type, typeMask))
+				continue;
+			for (Thing thing : things[type]) {
+				Vector position = thing.getPosition();
+				if (position.x >= minX && position.x <= maxX && position.y >= minY && position.y <= maxY)
+					collector.add(thing);
+			}
+		}
+	}
+
+	public void searchClosest(ClosestThingSearch search) {
+		Thing[][] things = thingsByType;
+		for (int type = 0; type < things.length; type++) {
+			if (things[type] == null || !Inventory.isOfType(type, search.getTypeMask()))
+				continue;
+			for (Thing thing : things[type])
+				search.consider(thing);
+		}
+	}
+
+	private Thing[] getArray(int type) {
+		Thing[][] things = thingsByType;
+		if (type >= things.length || things[type] == null)
+			return NO_THINGS;
+		return things[type];
+	}
+
+	private void replace(int type, Thing[] newThings) {
+		Thing[][] newThingsByType = Arrays.copyOf(thingsByType, Math.max(thingsByType.length, type + 1));
+		newThingsByType[type] = newThings;
+		thingsByType = newThingsByType;
+	}
+
+	/**
+	 * Keeps track of the closest thing to a position, as we look through
+	 * the areas.
+	 */
+	static class ClosestThingSearch {
+
+		private final Vector position;
+		private final Thing excludedThing;
+		private final long typeMask;
+
+		private Thing result = null;
+		private double minDistance = Double.MAX_VALUE;
+
+		public ClosestThingSearch(Vector position, Thing excludedThing, long typeMask) {
+			this.position = position;
+			this.excludedThing = excludedThing;
+			this.typeMask = typeMask;
+		}
+
+		public void consider(Thing thing) {
+			if (thing == excludedThing)
+				return;
+
+			double distance = thing.getPosition().minus(position).getLength();
+			if (distance < minDistance) {
+				minDistance = distance;
+				result = thing;
+			}
+		}
+
+		public long getTypeMask() {
+			return typeMask;
+		}
+
+		public Thing getResult() {
+			return result;
+		}
+
+		public double getMinDistance() {
+			return minDistance;
+		}
+	}
+}
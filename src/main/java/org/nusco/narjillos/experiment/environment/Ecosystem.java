@@ -1,18 +1,20 @@
 package org.nusco.narjillos.experiment.environment;
 
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
 
+import org.nusco.narjillos.core.chemistry.Conversions;
 import org.nusco.narjillos.core.physics.Segment;
 import org.nusco.narjillos.core.physics.Vector;
 import org.nusco.narjillos.core.things.FoodPellet;
@@ -21,7 +23,7 @@ import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.core.utilities.NumGen;
 import org.nusco.narjillos.creature.Egg;
 import org.nusco.narjillos.creature.Narjillo;
-import org.nusco.narjillos.creature.body.physics.Viscosity;
+import org.nusco.narjillos.creature.body.BodyStore;
 import org.nusco.narjillos.genomics.DNA;
 import org.nusco.narjillos.genomics.GenePool;
 
@@ -32,33 +34,55 @@ public class Ecosystem extends Environment {
 
 	public static int numberOfBackgroundThreads = Runtime.getRuntime().availableProcessors();
 
-	private final ExecutorService executorService;
+	// Each worker gets a few chunks of work (for example, narjillos to
+	// tick), so that workers that finish early can steal from the others.
+	private static final int CHUNKS_PER_WORKER = 4;
 
-	/** Counter used by the ThreadFactory to name threads. */
-	private final AtomicInteger tickWorkerCounter = new AtomicInteger(1);
+	private final ForkJoinPool tickWorkers;
+	private final boolean ownsTickWorkers;
+	private volatile boolean isTerminated = false;
 
-	private final Set<Narjillo> narjillos = new LinkedHashSet<>();
+	private final TargetIndex targets = new TargetIndex();
 
-	private final Space space;
+	// The organs of all the narjillos, packed together.
+	private final BodyStore bodies = new BodyStore();
+
+	private final SpatialIndex space;
+	private final Topology topology;
 	private final Vector center;
 
-	public Ecosystem(final long size, boolean sizeCheck) {
-		super(size);
-		
-		ThreadFactory tickWorkerFactory = (Runnable r) -> {
-			Thread result = new Thread(r, "tick-worker-" + tickWorkerCounter.getAndIncrement());
-			result.setPriority(Thread.currentThread().getPriority());
-			return result;
-		};
-		executorService = Executors.newFixedThreadPool(numberOfBackgroundThreads, tickWorkerFactory);
+	public Ecosystem(final long size) {
+		this(size, Configuration.DEFAULT);
+	}
 
-		this.space = new Space(size);
-		this.center = Vector.cartesian(size, size).by(0.5);
+	public Ecosystem(final long size, Topology topology) {
+		this(size, topology, Configuration.DEFAULT);
+	}
+
+	public Ecosystem(final long size, Configuration configuration) {
+		this(size, Topology.fromName(configuration.ecosystemTopology), configuration);
+	}
+
+	public Ecosystem(final long size, Topology topology, Configuration configuration) {
+		this(size, topology, configuration, createTickWorkers(numberOfBackgroundThreads), true);
+	}
 
-		// check that things cannot move faster than a space area in a single
-		// tick (which would make collision detection unreliable)
-		if (sizeCheck && space.getAreaSize() < Viscosity.getMaxVelocity())
-			throw new RuntimeException("Bug: Area size smaller than max velocity");
+	/**
+	 * Creates an Ecosystem that shares its tick workers with other
+	 * ecosystems (for example, when you run many experiments at once).
+	 * Terminating the Ecosystem doesn't shut the tick workers down.
+	 */
+	public Ecosystem(final long size, Configuration configuration, ForkJoinPool tickWorkers) {
+		this(size, Topology.fromName(configuration.ecosystemTopology), configuration, tickWorkers, false);
+	}
+
+	private Ecosystem(final long size, Topology topology, Configuration configuration, ForkJoinPool tickWorkers, boolean ownsTickWorkers) {
+		super(size, configuration);
+		this.tickWorkers = tickWorkers;
+		this.ownsTickWorkers = ownsTickWorkers;
+		this.space = SpatialIndex.create(configuration.ecosystemSpatialIndex, size, configuration.physicsCollisionDistance);
+		this.topology = topology;
+		this.center = Vector.cartesian(size, size).by(0.5);
 	}
 
 	@Override
@@ -71,18 +95,31 @@ public class Ecosystem extends Environment {
 	
 	@Override
 	public Set<Thing> getThings(String label) {
-		Set<Thing> result = new LinkedHashSet<>();
-		// this ugliness will stay until we have narjillos
-		// in the same space as other things
-		if (label.equals("narjillo") || label.equals("")) {
-			synchronized (narjillos) {
-				result.addAll(narjillos);
-			}
-		}
-		result.addAll(space.getAll(label));
+		if (!label.equals(""))
+			return space.getAll(label);
+
+		// Narjillos come first, as they always did (the views rely on
+		// the order of things).
+		Set<Thing> result = space.getAll("narjillo");
+		result.addAll(space.getAll(""));
 		return result;
 	}
 
+	@Override
+	public Set<Thing> getThingsAround(Vector position, double radius, String label) {
+		return space.findAround(position, radius, label);
+	}
+
+	@Override
+	public Set<Thing> getThingsInRectangle(Vector corner1, Vector corner2, String label) {
+		return space.findInRectangle(corner1, corner2, label);
+	}
+
+	@Override
+	public List<Thing> getClosestThings(Vector position, int k, String label) {
+		return space.findClosestTo(position, k, label);
+	}
+
 	public Vector findClosestFood(Thing thing) {
 		Thing target = space.findClosestTo(thing, "food_pellet");
 
@@ -93,7 +130,7 @@ public class Ecosystem extends Environment {
 	}
 
 	public final FoodPellet spawnFood(Vector position) {
-		FoodPellet newFood = new FoodPellet();
+		FoodPellet newFood = new FoodPellet(getConfiguration());
 		newFood.setPosition(position);
 		insert(newFood);
 		return newFood;
@@ -105,18 +142,37 @@ public class Ecosystem extends Environment {
 	}
 
 	public void insertNarjillo(Narjillo narjillo) {
-		synchronized (narjillos) {
-			narjillos.add(narjillo);
-			notifyThingAdded(narjillo);
-		}
+		space.add(narjillo);
+		bodies.add(narjillo.getBody());
+		targets.add(narjillo);
+		trackExistingTarget(narjillo);
+		notifyThingAdded(narjillo);
+	}
+
+	/**
+	 * Removes a thing that leaves the ecosystem alive (for example, because
+	 * it's moving to another ecosystem). Unlike dying, this doesn't touch
+	 * the gene pool.
+	 */
+	public void extract(Thing thing) {
+		remove(thing);
+		if (thing instanceof Narjillo) {
+			targets.remove((Narjillo) thing);
+			bodies.remove(((Narjillo) thing).getBody());
+		} else
+			updateTargetsOf(targets.getPursuersOf(Collections.singletonList(thing)));
 	}
 
 	public final Egg spawnEgg(DNA genes, Vector position, NumGen numGen) {
-		Egg egg = new Egg(genes, position, Vector.ZERO, Configuration.CREATURE_SEED_ENERGY, numGen);
-		insert(egg);
+		Egg egg = new Egg(genes, position, Vector.ZERO, getConfiguration().creatureSeedEnergy, numGen, getConfiguration());
+		insertEgg(egg);
 		return egg;
 	}
 
+	public Topology getTopology() {
+		return topology;
+	}
+
 	@Override
 	public int getNumberOfFoodPellets() {
 		return space.count("food_pellet");
@@ -129,79 +185,129 @@ public class Ecosystem extends Environment {
 
 	@Override
 	public int getNumberOfNarjillos() {
-		synchronized (narjillos) {
-			return narjillos.size();
-		}
+		return space.count("narjillo");
 	}
 
 	public Set<Narjillo> getNarjillos() {
-		synchronized (narjillos) {
-			return new LinkedHashSet<>(narjillos);
-		}
+		Set<Narjillo> result = new LinkedHashSet<>();
+		space.getAll("narjillo").stream().forEach((thing) -> {
+			result.add((Narjillo) thing);
+		});
+		return result;
 	}
 
 	public void updateTargets() {
-		synchronized (narjillos) {
-			narjillos.stream()
-				.map((creature) -> (Narjillo) creature)
-				.forEach((narjillo) -> {
-					Vector closestTarget = findClosestFood(narjillo);
-					narjillo.setTarget(closestTarget);
-				});
-		}
+		updateTargetsOf(new ArrayList<>(getNarjillos()));
+	}
+
+	/**
+	 * The narjillos look for their new targets in parallel, and then they
+	 * change their targets in the same order as the list.
+	 */
+	public void updateTargetsOf(List<Narjillo> narjillos) {
+		Thing[] newTargets = new Thing[narjillos.size()];
+		inParallel(newTargets.length, (i) -> {
+			newTargets[i] = space.findClosestTo(narjillos.get(i), "food_pellet");
+		});
+
+		for (int i = 0; i < newTargets.length; i++)
+			setTarget(narjillos.get(i), newTargets[i]);
 	}
 
 	public void populate(String dna, GenePool genePool, NumGen numGen) {
 		spawnFood(numGen);
 
-		for (int i = 0; i < getNumberOf1000SquarePointsBlocks() * Configuration.ECOSYSTEM_EGGS_DENSITY_PER_BLOCK; i++)
+		for (int i = 0; i < getNumberOf1000SquarePointsBlocks() * getConfiguration().ecosystemEggsDensityPerBlock; i++)
 			spawnEgg(genePool.createDna(dna, numGen), randomPosition(getSize(), numGen), numGen);
 	}
 
 	public void populate(GenePool genePool, NumGen numGen) {
 		spawnFood(numGen);
 
-		for (int i = 0; i < getNumberOf1000SquarePointsBlocks() * Configuration.ECOSYSTEM_EGGS_DENSITY_PER_BLOCK; i++)
-			spawnEgg(genePool.createRandomDna(numGen), randomPosition(getSize(), numGen), numGen);
+		for (int i = 0; i < getNumberOf1000SquarePointsBlocks() * getConfiguration().ecosystemEggsDensityPerBlock; i++)
+			spawnEgg(genePool.createRandomDna(numGen, getConfiguration()), randomPosition(getSize(), numGen), numGen);
+	}
+
+	/**
+	 * Creates a pool of threads to tick ecosystems.
+	 */
+	public static ForkJoinPool createTickWorkers(int numberOfThreads) {
+		final AtomicInteger tickWorkerCounter = new AtomicInteger(1);
+		final int tickWorkerPriority = Thread.currentThread().getPriority();
+		ForkJoinPool.ForkJoinWorkerThreadFactory tickWorkerFactory = (ForkJoinPool pool) -> {
+			ForkJoinWorkerThread result = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			result.setName("tick-worker-" + tickWorkerCounter.getAndIncrement());
+			result.setPriority(tickWorkerPriority);
+			return result;
+		};
+		return new ForkJoinPool(numberOfThreads, tickWorkerFactory, null, false);
 	}
 
 	public synchronized void terminate() {
-		executorService.shutdown();
+		isTerminated = true;
+		if (!ownsTickWorkers)
+			return;
+
+		tickWorkers.shutdown();
 		try {
-			executorService.awaitTermination(10, TimeUnit.SECONDS);
+			tickWorkers.awaitTermination(10, TimeUnit.SECONDS);
 		} catch (InterruptedException e) {
 			throw new RuntimeException(e);
 		}
 	}
 
 	protected boolean isShuttingDown() {
-		return executorService.isShutdown();
+		return isTerminated || tickWorkers.isShutdown();
+	}
+
+	/**
+	 * Ticks the narjillos in parallel, and returns the food that each of them
+	 * collided with (in the same order as the narjillos).
+	 */
+	protected Set<Thing>[] tickNarjillos(Narjillo[] narjillos) {
+		// Tick the narjillos in the same order as their bodies in the store,
+		// so that each chunk of work goes through a contiguous range of
+		// organs. (The order doesn't change the results, because the
+		// narjillos don't look at each other while they tick).
+		int[] order = inStoreOrder(narjillos);
+
+		@SuppressWarnings("unchecked")
+		Set<Thing>[] result = (Set<Thing>[]) new Set<?>[narjillos.length];
+		inParallel(narjillos.length, (position) -> {
+			int i = order[position];
+			Segment movement = narjillos[i].tick(getAtmosphere(), getConfiguration());
+			result[i] = getCollisions(movement);
+		});
+		return result;
 	}
 
-	protected Map<Narjillo, Future<Set<Thing>>> tickNarjillos(Set<Narjillo> narjillos) {
-		Map<Narjillo, Future<Set<Thing>>> result = new LinkedHashMap<>();
-		for (final Narjillo narjillo : narjillos) {
-			result.put(narjillo, executorService.submit(() -> {
-				Segment movement = narjillo.tick(getAtmosphere());
-				return getCollisions(movement);
-			}));
+	/**
+	 * Decides who eats what when more than one narjillo collided with the
+	 * same food pellet: the first narjillo (in the order of the array) gets
+	 * it. Returns the food pellets that each narjillo won.
+	 */
+	protected List<FoodPellet>[] resolveContests(Set<Thing>[] collidedFood) {
+		@SuppressWarnings("unchecked")
+		List<FoodPellet>[] result = (List<FoodPellet>[]) new List<?>[collidedFood.length];
+		Set<Thing> claimedFood = new HashSet<>();
+		for (int i = 0; i < collidedFood.length; i++) {
+			result[i] = new ArrayList<>();
+			for (Thing food : collidedFood[i])
+				if (space.contains(food) && claimedFood.add(food))
+					result[i].add((FoodPellet) food);
 		}
 		return result;
 	}
 
 	@Override
 	protected void tickThings(GenePool genePool, NumGen numGen) {
-		new LinkedList<>(space.getAll("egg")).stream().forEach((thing) -> {
-			tickEgg((Egg) thing, numGen);
-		});
+		tickEggs(numGen);
 
-		synchronized (narjillos) {
-			new LinkedList<>(narjillos).stream()
-				.filter((narjillo) -> (narjillo.isDead()))
-				.forEach((narjillo) -> {
-					removeNarjillo(narjillo, genePool);
-				});
-		}
+		getNarjillos().stream()
+			.filter((narjillo) -> (narjillo.isDead()))
+			.forEach((narjillo) -> {
+				removeNarjillo(narjillo, genePool);
+			});
 
 		tickNarjillos(genePool, numGen);
 
@@ -210,75 +316,123 @@ public class Ecosystem extends Environment {
 			updateTargets();
 		}
 
-		synchronized (narjillos) {
-			narjillos.stream().forEach((narjillo) -> {
-				maybeLayEgg(narjillo, genePool, numGen);
-			});
-		}
+		getNarjillos().stream().forEach((narjillo) -> {
+			maybeLayEgg(narjillo, genePool, numGen);
+		});
 	}
 
 	protected Set<Thing> getCollisions(Segment movement) {
-		return space.detectCollisions(movement, "food_pellet");
+		Set<Thing> result = space.detectCollisions(movement, "food_pellet");
+
+		// In a torus, a movement that crosses an edge goes on from the
+		// opposite edge.
+		if (topology.wrapsAround()) {
+			Vector endPoint = movement.getEndPoint();
+			Vector wrappedEndPoint = topology.constrain(endPoint, getSize());
+			if (!wrappedEndPoint.equals(endPoint)) {
+				Vector startPoint = movement.getStartPoint().plus(wrappedEndPoint.minus(endPoint));
+				result.addAll(space.detectCollisions(new Segment(startPoint, movement.getVector()), "food_pellet"));
+			}
+		}
+
+		return result;
 	}
 
 	private void spawnFood(NumGen numGen) {
-		for (int i = 0; i < getNumberOf1000SquarePointsBlocks() * Configuration.ECOSYSTEM_FOOD_DENSITY_PER_BLOCK; i++)
+		for (int i = 0; i < getNumberOf1000SquarePointsBlocks() * getConfiguration().ecosystemFoodDensityPerBlock; i++)
 			spawnFood(randomPosition(getSize(), numGen));
 	}
 
-	private void tickEgg(Egg egg, NumGen numGen) {
-		egg.tick(getAtmosphere());
-		if (egg.hatch(numGen))
-			insertNarjillo(egg.getHatchedNarjillo());
-		if (egg.isDecayed())
-			remove(egg);
-	}
+	// Like the narjillos, the eggs go through parallel and sequential
+	// phases that give the same results regardless of the number of
+	// threads.
+	private void tickEggs(NumGen numGen) {
+		Egg[] eggs = space.getAll("egg").toArray(new Egg[0]);
 
-	private synchronized void tickNarjillos(GenePool genePool, NumGen numGen) {
-		Map<Narjillo, Set<Thing>> narjillosToCollidedFood;
-		synchronized (narjillos) {
-			narjillosToCollidedFood = tick(narjillos);
+		// Move (in parallel).
+		inParallel(eggs.length, (i) -> {
+			eggs[i].tick(getAtmosphere(), getConfiguration());
+			keepInside(eggs[i]);
+		});
+
+		// Update the space, and draw the random numbers for the eggs that
+		// are about to hatch (sequentially, in the order of the eggs).
+		boolean[] hatching = new boolean[eggs.length];
+		double[] hatchingAngles = new double[eggs.length];
+		for (int i = 0; i < eggs.length; i++) {
+			space.update(eggs[i]);
+			if (eggs[i].isReadyToHatch()) {
+				hatching[i] = true;
+				hatchingAngles[i] = Egg.getHatchingAngle(numGen);
+			}
 		}
 
-		// Consume food in a predictable order, to avoid non-deterministic
-		// behavior or race conditions when multiple narjillos collide with the
-		// same food pellet.
-		narjillosToCollidedFood.entrySet().stream()
-			.forEach((entry) -> {
-				Narjillo narjillo = entry.getKey();
-				Set<Thing> collidedFood = entry.getValue();
-				consume(narjillo, collidedFood, genePool, numGen);
-			});
+		// Hatch (in parallel). Growing a narjillo from its DNA is the
+		// expensive part.
+		inParallel(eggs.length, (i) -> {
+			if (hatching[i])
+				eggs[i].hatch(hatchingAngles[i], getConfiguration());
+		});
+
+		// Add the newborns and remove the old eggs (sequentially, in the
+		// order of the eggs).
+		for (int i = 0; i < eggs.length; i++) {
+			if (hatching[i])
+				insertNarjillo(eggs[i].getHatchedNarjillo());
+			if (eggs[i].isDecayed())
+				remove(eggs[i]);
+		}
 	}
 
-	private Map<Narjillo, Set<Thing>> tick(Set<Narjillo> narjillos) {
-		Map<Narjillo, Set<Thing>> result = new LinkedHashMap<>();
+	// The narjillos go through a few phases. Each phase is either
+	// parallel or sequential, but it always gives the same results
+	// regardless of the number of threads.
+	private synchronized void tickNarjillos(GenePool genePool, NumGen numGen) {
+		Narjillo[] narjillos = getNarjillos().toArray(new Narjillo[0]);
 
-		// Calculate collisions in parallel...
-		Map<Narjillo, Future<Set<Thing>>> collisionFutures = tickNarjillos(narjillos);
+		// Move and detect collisions (in parallel).
+		Set<Thing>[] collidedFood = tickNarjillos(narjillos);
 
-		// ...but collect the results in a predictable sequential order
-		for (Narjillo narjillo : collisionFutures.keySet()) {
-			try {
-				result.put(narjillo, collisionFutures.get(narjillo).get());
-			} catch (InterruptedException | ExecutionException e) {
-				throw new RuntimeException(e);
-			}
-		}
+		// Now that nobody is looking for collisions anymore, we can move the
+		// narjillos to their new areas in the space (sequentially).
+		inParallel(narjillos.length, (i) -> keepInside(narjillos[i]));
+		for (Narjillo narjillo : narjillos)
+			space.update(narjillo);
 
-		// Finally, go through the breathing loop (also sequential)
+		// Go through the breathing loop (sequentially), and change the
+		// atmosphere once for all the narjillos.
+		Conversions breathing = new Conversions();
 		for (Narjillo narjillo : narjillos)
-			getAtmosphere().convert(narjillo.getBreathedElement(), narjillo.getByproduct());
-		
-		return result;
+			breathing.add(narjillo.getBreathedElement(), narjillo.getByproduct());
+		getAtmosphere().convert(breathing);
+
+		// Resolve contests for food (sequentially, and in a predictable
+		// order). After this, the narjillos don't compete for food anymore.
+		List<FoodPellet>[] meals = resolveContests(collidedFood);
+
+		// Apply the meals (in parallel where possible).
+		consume(narjillos, meals);
+	}
+
+	/**
+	 * Decides whether a new food pellet spawns in this tick. Override it
+	 * if somebody else spawns the food (for example, the coordinator of a
+	 * distributed dish).
+	 */
+	protected boolean shouldSpawnFood(NumGen numGen) {
+		return shouldSpawnFood(getSize(), getNumberOfFoodPellets(), getConfiguration(), numGen);
 	}
 
-	private boolean shouldSpawnFood(NumGen numGen) {
-		double maxFoodPellets = getNumberOf1000SquarePointsBlocks() * Configuration.ECOSYSTEM_MAX_FOOD_DENSITY_PER_1000_BLOCK;
-		if (getNumberOfFoodPellets() >= maxFoodPellets)
+	/**
+	 * Decides whether a new food pellet spawns in this tick, in a dish with
+	 * the given size and number of food pellets.
+	 */
+	public static boolean shouldSpawnFood(long size, int numberOfFoodPellets, Configuration configuration, NumGen numGen) {
+		double maxFoodPellets = getNumberOf1000SquarePointsBlocks(size) * configuration.ecosystemMaxFoodDensityPer1000Block;
+		if (numberOfFoodPellets >= maxFoodPellets)
 			return false;
 
-		double foodRespawnAverageInterval = Configuration.ECOSYSTEM_FOOD_RESPAWN_AVERAGE_INTERVAL_PER_BLOCK / getNumberOf1000SquarePointsBlocks();
+		double foodRespawnAverageInterval = configuration.ecosystemFoodRespawnAverageIntervalPerBlock / getNumberOf1000SquarePointsBlocks(size);
 		return numGen.nextDouble() < 1.0 / foodRespawnAverageInterval;
 	}
 
@@ -286,31 +440,56 @@ public class Ecosystem extends Environment {
 		return Vector.cartesian(numGen.nextDouble() * size, numGen.nextDouble() * size);
 	}
 
-	private void updateTargets(Thing food) {
-		synchronized (narjillos) {
-			narjillos.stream()
-				.filter((narjillo) -> (narjillo.getTarget().equals(food.getPosition())))
-				.forEach((narjillo) -> {
-					Vector closestTarget = findClosestFood(narjillo);
-					narjillo.setTarget(closestTarget);
-				});
+	private void updateTargets(List<Thing> eatenFood) {
+		// Only the narjillos that were chasing the eaten food need a new
+		// target.
+		updateTargetsOf(targets.getPursuersOf(eatenFood));
+	}
+
+	private void setTarget(Narjillo narjillo, Thing food) {
+		if (food == null) {
+			narjillo.setTarget(center);
+			targets.setTarget(narjillo, null);
+			return;
 		}
+
+		narjillo.setTarget(food.getPosition());
+		targets.setTarget(narjillo, food);
 	}
 
-	private void consume(Narjillo narjillo, Set<Thing> foodPellets, GenePool genePool, NumGen numGen) {
-		foodPellets.stream().forEach((foodPellet) -> {
-			consumeFood(narjillo, (FoodPellet) foodPellet, genePool, numGen);
-		});
+	// When we insert a narjillo that already has a target (for example,
+	// after deserialization), we need to find out which food it's chasing.
+	private void trackExistingTarget(Narjillo narjillo) {
+		Vector target = narjillo.getTarget();
+		if (target.equals(Vector.ZERO))
+			return;
+
+		Thing food = space.findClosestTo(target, "food_pellet");
+		if (food != null && food.getPosition().equals(target))
+			targets.setTarget(narjillo, food);
 	}
 
-	private void consumeFood(Narjillo narjillo, FoodPellet foodPellet, GenePool genePool, NumGen numGen) {
-		if (!space.contains(foodPellet))
-			return;		// race condition: already consumed
+	private void consume(Narjillo[] narjillos, List<FoodPellet>[] meals) {
+		// Removing things notifies the listeners, so we do it sequentially.
+		List<Thing> eatenFood = new ArrayList<>();
+		for (List<FoodPellet> meal : meals) {
+			for (FoodPellet foodPellet : meal) {
+				remove(foodPellet);
+				eatenFood.add(foodPellet);
+			}
+		}
 
-		remove(foodPellet);
-		narjillo.feedOn(foodPellet);
+		// Each narjillo only touches its own food, so they can eat in
+		// parallel.
+		inParallel(narjillos.length, (i) -> {
+			for (FoodPellet foodPellet : meals[i])
+				narjillos[i].feedOn(foodPellet);
+		});
 
-		updateTargets(foodPellet);
+		// The retargeted narjillos end up chasing the same food that they
+		// would chase if they had retargeted after each single meal: the
+		// closest remaining pellet.
+		updateTargets(eatenFood);
 	}
 
 	private void remove(Thing thing) {
@@ -320,22 +499,107 @@ public class Ecosystem extends Environment {
 
 	private void removeNarjillo(Narjillo narjillo, GenePool genePool) {
 		notifyThingRemoved(narjillo);
-		synchronized (narjillos) {
-			narjillos.remove(narjillo);
-		}
+		space.remove(narjillo);
+		targets.remove(narjillo);
+		bodies.remove(narjillo.getBody());
 		genePool.remove(narjillo.getDNA());
 	}
 
 	private void maybeLayEgg(Narjillo narjillo, GenePool genePool, NumGen numGen) {
-		Egg egg = narjillo.layEgg(genePool, numGen);
+		Egg egg = narjillo.layEgg(genePool, numGen, getConfiguration());
 		if (egg == null)
 			return;
 
+		insertEgg(egg);
+	}
+
+	private void insertEgg(Egg egg) {
+		keepInside(egg);
 		insert(egg);
 	}
 
+	private void keepInside(Egg egg) {
+		Vector position = egg.getPosition();
+		Vector constrainedPosition = topology.constrain(position, getSize());
+		if (!constrainedPosition.equals(position))
+			egg.forcePosition(constrainedPosition);
+	}
+
+	private void keepInside(Narjillo narjillo) {
+		Vector position = narjillo.getPosition();
+		Vector constrainedPosition = topology.constrain(position, getSize());
+		if (constrainedPosition.equals(position))
+			return;
+
+		narjillo.translateBy(constrainedPosition.minus(position));
+		if (topology.kills())
+			narjillo.getEnergy().dropToZero();
+	}
+
+	// Returns the indexes of the narjillos, sorted by the position of their
+	// bodies in the store. (Narjillos that are not in the store go last).
+	private int[] inStoreOrder(Narjillo[] narjillos) {
+		bodies.compact();
+		long[] positionsAndIndexes = new long[narjillos.length];
+		for (int i = 0; i < narjillos.length; i++) {
+			int position = bodies.getPosition(narjillos[i].getBody());
+			if (position < 0)
+				position = Integer.MAX_VALUE;
+			positionsAndIndexes[i] = ((long) position << 32) | i;
+		}
+		Arrays.sort(positionsAndIndexes);
+
+		int[] result = new int[narjillos.length];
+		for (int i = 0; i < narjillos.length; i++)
+			result[i] = (int) positionsAndIndexes[i];
+		return result;
+	}
+
 	private double getNumberOf1000SquarePointsBlocks() {
-		double blocksPerEdge = getSize() / 1000.0;
+		return getNumberOf1000SquarePointsBlocks(getSize());
+	}
+
+	private static double getNumberOf1000SquarePointsBlocks(long size) {
+		double blocksPerEdge = size / 1000.0;
 		return blocksPerEdge * blocksPerEdge;
 	}
+
+	// Runs the action on the indexes from 0 to size - 1, in parallel chunks.
+	private void inParallel(int size, IntConsumer action) {
+		if (size == 0)
+			return;
+		int numberOfChunks = tickWorkers.getParallelism() * CHUNKS_PER_WORKER;
+		int chunkSize = Math.max(1, (size + numberOfChunks - 1) / numberOfChunks);
+		tickWorkers.invoke(new ChunkedTask(action, 0, size, chunkSize));
+	}
+
+	private static class ChunkedTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final IntConsumer action;
+		private final int start;
+		private final int end;
+		private final int chunkSize;
+
+		public ChunkedTask(IntConsumer action, int start, int end, int chunkSize) {
+			this.action = action;
+			this.start = start;
+			this.end = end;
+			this.chunkSize = chunkSize;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= chunkSize) {
+				for (int i = start; i < end; i++)
+					action.accept(i);
+				return;
+			}
+
+			int middle = (start + end) >>> 1;
+			invokeAll(new ChunkedTask(action, start, middle, chunkSize),
+					new ChunkedTask(action, middle, end, chunkSize));
+		}
+	}
 }
@@ -1,11 +1,15 @@
 package org.nusco.narjillos.experiment.environment;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 
 import org.nusco.narjillos.core.chemistry.Atmosphere;
+import org.nusco.narjillos.core.physics.Vector;
 import org.nusco.narjillos.core.things.Thing;
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.core.utilities.NumGen;
 import org.nusco.narjillos.core.utilities.VisualDebugger;
 import org.nusco.narjillos.genomics.GenePool;
@@ -16,17 +20,66 @@ import org.nusco.narjillos.genomics.GenePool;
 public abstract class Environment {
 
 	private final long size;
+	private final Configuration configuration;
 	private Atmosphere atmosphere;
 
 	private final transient List<EnvironmentEventListener> eventListeners = new LinkedList<>();
 
-	public Environment(long size) {
+	// The latest Frame, for readers on other threads. We only capture
+	// frames if somebody asked for them.
+	private transient volatile boolean isCapturingFrames = false;
+	private transient volatile Frame latestFrame = null;
+	private transient long numberOfFrames = 0;
+
+	public Environment(long size, Configuration configuration) {
 		this.size = size;
-		this.atmosphere = new Atmosphere();
+		this.configuration = configuration;
+		this.atmosphere = new Atmosphere(configuration.ecosystemInitialElementLevel);
 	}
 
 	public abstract Set<Thing> getThings(String label);
 
+	// The following searches go through all the things. Subclasses that
+	// keep things in a spatial index should override them with something
+	// faster.
+
+	/**
+	 * Returns the things with the given label that are within the given
+	 * distance from the position.
+	 */
+	public Set<Thing> getThingsAround(Vector position, double radius, String label) {
+		Set<Thing> result = new LinkedHashSet<>();
+		for (Thing thing : getThings(label))
+			if (thing.getPosition().minus(position).getLength() <= radius)
+				result.add(thing);
+		return result;
+	}
+
+	/**
+	 * Returns the things with the given label that are inside the rectangle
+	 * with the given opposite corners.
+	 */
+	public Set<Thing> getThingsInRectangle(Vector corner1, Vector corner2, String label) {
+		Set<Thing> result = new LinkedHashSet<>();
+		for (Thing thing : getThings(label)) {
+			Vector position = thing.getPosition();
+			if (position.x >= Math.min(corner1.x, corner2.x) && position.x <= Math.max(corner1.x, corner2.x)
+					&& position.y >= Math.min(corner1.y, corner2.y) && position.y <= Math.max(corner1.y, corner2.y))
+				result.add(thing);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the k things with the given label that are closest to the
+	 * position, from the closest to the farthest.
+	 */
+	public List<Thing> getClosestThings(Vector position, int k, String label) {
+		List<Thing> result = new ArrayList<>(getThings(label));
+		result.sort((thing1, thing2) -> Double.compare(thing1.getPosition().minus(position).getLength(), thing2.getPosition().minus(position).getLength()));
+		return result.subList(0, Math.max(0, Math.min(k, result.size())));
+	}
+
 	public abstract int getNumberOfNarjillos();
 
 	public abstract int getNumberOfEggs();
@@ -37,14 +90,45 @@ public abstract class Environment {
 	public void tick(GenePool genePool, NumGen numGen) {
 		tickThings(genePool, numGen);
 
+		if (isCapturingFrames)
+			captureFrame();
+
 		if (VisualDebugger.DEBUG)
 			VisualDebugger.clear();
 	}
 
+	/**
+	 * From now on, capture a Frame at the end of each tick.
+	 */
+	public void startCapturingFrames() {
+		isCapturingFrames = true;
+	}
+
+	/**
+	 * Returns the Frame captured at the end of the latest tick (or, if no
+	 * tick happened since startCapturingFrames(), null). It never waits on
+	 * the ticking thread.
+	 */
+	public Frame getLatestFrame() {
+		return latestFrame;
+	}
+
+	/**
+	 * Captures a Frame right away. Only call this from the thread that
+	 * ticks the environment.
+	 */
+	public void captureFrame() {
+		latestFrame = Frame.capture(this, numberOfFrames++);
+	}
+
 	public long getSize() {
 		return size;
 	}
 
+	public Configuration getConfiguration() {
+		return configuration;
+	}
+
 	public void addEventListener(EnvironmentEventListener eventListener) {
 		eventListeners.add(eventListener);
 	}
@@ -0,0 +1,274 @@
+package org.nusco.narjillos.experiment.environment;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.nusco.narjillos.core.chemistry.Element;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.things.Energy;
+import org.nusco.narjillos.core.things.Thing;
+import org.nusco.narjillos.creature.Egg;
+import org.nusco.narjillos.creature.Narjillo;
+import org.nusco.narjillos.creature.body.ConnectedOrgan;
+
+/**
+ * A picture of an Environment at the end of a tick, for the code that
+ * looks at the simulation from other threads (the views and the
+ * statistics).
+ *
+ * A Frame never changes after it's captured, so you can read it without
+ * locking, and you'll never see a body that's half-way through a tick.
+ * The things themselves are still live: only use them for things that
+ * don't change during a tick, like their labels, DNA and fibers. Read
+ * everything else from the Frame.
+ *
+ * Things are referred to by index, and their data is packed in arrays of
+ * doubles.
+ */
+public class Frame {
+
+	// The data of each thing.
+	private static final int X = 0;
+	private static final int Y = 1;
+	private static final int CENTER_OF_MASS_X = 2;
+	private static final int CENTER_OF_MASS_Y = 3;
+	private static final int ENERGY = 4;
+	private static final int MAX_ENERGY = 5;
+	private static final int AGE = 6;
+	private static final int DECAY = 7;
+	private static final int HEAD_ANGLE = 8;
+	private static final int MOUTH_DIRECTION_X = 9;
+	private static final int MOUTH_DIRECTION_Y = 10;
+	private static final int BRAIN_WAVE_ANGLE = 11;
+	private static final int THING_DATA_SIZE = 12;
+
+	// The data of each organ (only narjillos have organs).
+	private static final int START_X = 0;
+	private static final int START_Y = 1;
+	private static final int END_X = 2;
+	private static final int END_Y = 3;
+	private static final int ANGLE = 4;
+	private static final int LENGTH = 5;
+	private static final int THICKNESS = 6;
+	private static final int ORGAN_CENTER_OF_MASS_X = 7;
+	private static final int ORGAN_CENTER_OF_MASS_Y = 8;
+	private static final int ORGAN_DATA_SIZE = 9;
+
+	private final long number;
+	private final Thing[] things;
+	private final double[] thingData;
+	private final int[] firstOrgans; // one more than the things
+	private final double[] organData;
+	private final Map<Thing, Integer> indexes;
+
+	private final int numberOfNarjillos;
+	private final int numberOfEggs;
+	private final int numberOfFoodPellets;
+	private final double oxygenDensity;
+	private final double hydrogenDensity;
+	private final double nitrogenDensity;
+
+	/**
+	 * Captures the current state of the environment. Call this from the
+	 * thread that ticks the environment, in between ticks.
+	 */
+	public static Frame capture(Environment environment, long number) {
+		Set<Thing> things = environment.getThings("");
+		return new Frame(environment, number, things.toArray(new Thing[things.size()]));
+	}
+
+	private Frame(Environment environment, long number, Thing[] things) {
+		this.number = number;
+		this.things = things;
+		this.thingData = new double[things.length * THING_DATA_SIZE];
+		this.firstOrgans = new int[things.length + 1];
+		this.indexes = new IdentityHashMap<>(things.length);
+
+		int numberOfOrgans = 0;
+		for (int i = 0; i < things.length; i++) {
+			firstOrgans[i] = numberOfOrgans;
+			if (things[i] instanceof Narjillo)
+				numberOfOrgans += ((Narjillo) things[i]).getOrgans().size();
+		}
+		firstOrgans[things.length] = numberOfOrgans;
+		this.organData = new double[numberOfOrgans * ORGAN_DATA_SIZE];
+
+		for (int i = 0; i < things.length; i++) {
+			indexes.put(things[i], i);
+			capture(i, things[i]);
+		}
+
+		this.numberOfNarjillos = environment.getNumberOfNarjillos();
+		this.numberOfEggs = environment.getNumberOfEggs();
+		this.numberOfFoodPellets = environment.getNumberOfFoodPellets();
+		this.oxygenDensity = environment.getAtmosphere().getDensityOf(Element.OXYGEN);
+		this.hydrogenDensity = environment.getAtmosphere().getDensityOf(Element.HYDROGEN);
+		this.nitrogenDensity = environment.getAtmosphere().getDensityOf(Element.NITROGEN);
+	}
+
+	/**
+	 * Frames are numbered in the order in which they were captured.
+	 */
+	public long getNumber() {
+		return number;
+	}
+
+	public int size() {
+		return things.length;
+	}
+
+	public Thing getThing(int index) {
+		return things[index];
+	}
+
+	/**
+	 * @return The index of the thing, or -1 if the thing isn't in the frame.
+	 */
+	public int indexOf(Thing thing) {
+		Integer result = indexes.get(thing);
+		return (result == null) ? -1 : result;
+	}
+
+	public Vector getPosition(int index) {
+		return getVector(thingData, index * THING_DATA_SIZE, X, Y);
+	}
+
+	public Vector getCenterOfMass(int index) {
+		return getVector(thingData, index * THING_DATA_SIZE, CENTER_OF_MASS_X, CENTER_OF_MASS_Y);
+	}
+
+	public double getEnergy(int index) {
+		return thingData[index * THING_DATA_SIZE + ENERGY];
+	}
+
+	public double getMaxEnergy(int index) {
+		return thingData[index * THING_DATA_SIZE + MAX_ENERGY];
+	}
+
+	public long getAge(int index) {
+		return (long) thingData[index * THING_DATA_SIZE + AGE];
+	}
+
+	public double getDecay(int index) {
+		return thingData[index * THING_DATA_SIZE + DECAY];
+	}
+
+	public double getHeadAngle(int index) {
+		return thingData[index * THING_DATA_SIZE + HEAD_ANGLE];
+	}
+
+	public Vector getMouthDirection(int index) {
+		return getVector(thingData, index * THING_DATA_SIZE, MOUTH_DIRECTION_X, MOUTH_DIRECTION_Y);
+	}
+
+	public double getBrainWaveAngle(int index) {
+		return thingData[index * THING_DATA_SIZE + BRAIN_WAVE_ANGLE];
+	}
+
+	public int getNumberOfOrgans(int index) {
+		return firstOrgans[index + 1] - firstOrgans[index];
+	}
+
+	public Vector getOrganStartPoint(int index, int organ) {
+		return getVector(organData, getOrganOffset(index, organ), START_X, START_Y);
+	}
+
+	public Vector getOrganEndPoint(int index, int organ) {
+		return getVector(organData, getOrganOffset(index, organ), END_X, END_Y);
+	}
+
+	public Vector getOrganCenterOfMass(int index, int organ) {
+		return getVector(organData, getOrganOffset(index, organ), ORGAN_CENTER_OF_MASS_X, ORGAN_CENTER_OF_MASS_Y);
+	}
+
+	public double getOrganAngle(int index, int organ) {
+		return organData[getOrganOffset(index, organ) + ANGLE];
+	}
+
+	public double getOrganLength(int index, int organ) {
+		return organData[getOrganOffset(index, organ) + LENGTH];
+	}
+
+	public double getOrganThickness(int index, int organ) {
+		return organData[getOrganOffset(index, organ) + THICKNESS];
+	}
+
+	public int getNumberOfNarjillos() {
+		return numberOfNarjillos;
+	}
+
+	public int getNumberOfEggs() {
+		return numberOfEggs;
+	}
+
+	public int getNumberOfFoodPellets() {
+		return numberOfFoodPellets;
+	}
+
+	public double getDensityOf(Element element) {
+		switch (element) {
+		case OXYGEN:
+			return oxygenDensity;
+		case HYDROGEN:
+			return hydrogenDensity;
+		case NITROGEN:
+			return nitrogenDensity;
+		default:
+			return 0.0;
+		}
+	}
+
+	private void capture(int index, Thing thing) {
+		int offset = index * THING_DATA_SIZE;
+		setVector(thingData, offset, X, Y, thing.getPosition());
+		setVector(thingData, offset, CENTER_OF_MASS_X, CENTER_OF_MASS_Y, thing.getPosition());
+		Energy energy = thing.getEnergy();
+		thingData[offset + ENERGY] = energy.getValue();
+		thingData[offset + MAX_ENERGY] = energy.getMaximumValue();
+
+		if (thing instanceof Egg) {
+			Egg egg = (Egg) thing;
+			thingData[offset + AGE] = egg.getAge();
+			thingData[offset + DECAY] = egg.getDecay();
+		}
+
+		if (thing instanceof Narjillo)
+			capture(index, (Narjillo) thing);
+	}
+
+	private void capture(int index, Narjillo narjillo) {
+		int offset = index * THING_DATA_SIZE;
+		setVector(thingData, offset, CENTER_OF_MASS_X, CENTER_OF_MASS_Y, narjillo.getCenterOfMass());
+		thingData[offset + AGE] = narjillo.getAge();
+		thingData[offset + HEAD_ANGLE] = narjillo.getBody().getHead().getAbsoluteAngle();
+		setVector(thingData, offset, MOUTH_DIRECTION_X, MOUTH_DIRECTION_Y, narjillo.getMouth().getDirection());
+		thingData[offset + BRAIN_WAVE_ANGLE] = narjillo.getBrainWaveAngle();
+
+		List<ConnectedOrgan> organs = narjillo.getOrgans();
+		for (int organ = 0; organ < organs.size(); organ++) {
+			ConnectedOrgan connectedOrgan = organs.get(organ);
+			int organOffset = getOrganOffset(index, organ);
+			setVector(organData, organOffset, START_X, START_Y, connectedOrgan.getStartPoint());
+			setVector(organData, organOffset, END_X, END_Y, connectedOrgan.getEndPoint());
+			setVector(organData, organOffset, ORGAN_CENTER_OF_MASS_X, ORGAN_CENTER_OF_MASS_Y, connectedOrgan.getCenterOfMass());
+			organData[organOffset + ANGLE] = connectedOrgan.getAbsoluteAngle();
+			organData[organOffset + LENGTH] = connectedOrgan.getLength();
+			organData[organOffset + THICKNESS] = connectedOrgan.getThickness();
+		}
+	}
+
+	private int getOrganOffset(int index, int organ) {
+		return (firstOrgans[index] + organ) * ORGAN_DATA_SIZE;
+	}
+
+	private static Vector getVector(double[] data, int offset, int x, int y) {
+		return Vector.cartesian(data[offset + x], data[offset + y]);
+	}
+
+	private static void setVector(double[] data, int offset, int x, int y, Vector vector) {
+		data[offset + x] = vector.x;
+		data[offset + y] = vector.y;
+	}
+}
@@ -0,0 +1,301 @@
+package org.nusco.narjillos.experiment.environment;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.nusco.narjillos.core.physics.Segment;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.things.Thing;
+
+/**
+ * A SpatialIndex that partitions the space in a uniform grid of areas. This
+ * is the default, and it works well as long as things are spread across
+ * the whole space.
+ */
+class GridSpace implements SpatialIndex {
+
+	private static final int SPACE_AREAS_PER_EDGE = 100;
+
+	private final double areaSize;
+	private final Area[][] areas;
+	private final Inventory inventory = new Inventory();
+
+	// There is no visibility to/from outer space. The first would be
+	// easy, the second would be hard. It's better to find simulation-level
+	// tricks to prevent Things from moving into outer space.
+	private final Area outerSpace = new Area();
+
+	private final double collisionDistance;
+
+	public GridSpace(long size, double collisionDistance) {
+		this.collisionDistance = collisionDistance;
+		areaSize = ((double) size) / GridSpace.SPACE_AREAS_PER_EDGE;
+		this.areas = new Area[GridSpace.SPACE_AREAS_PER_EDGE][GridSpace.SPACE_AREAS_PER_EDGE];
+		for (Area[] area : areas) {
+			for (int j = 0; j < area.length; j++) {
+				area[j] = new Area();
+			}
+		}
+	}
+
+	@Override
+	public void add(Thing thing) {
+		inventory.add(thing, getArea(thing));
+	}
+
+	@Override
+	public void remove(Thing thing) {
+		inventory.remove(thing);
+	}
+
+	@Override
+	public boolean contains(Thing thing) {
+		return inventory.contains(thing);
+	}
+
+	@Override
+	public void update(Thing thing) {
+		inventory.move(thing, getArea(thing));
+	}
+
+	/**
+	 * Spiral search: looks at the area that contains the thing, then at the
+	 * rings of areas around it, one ring at a time. It stops as soon as no
+	 * area in the next ring can be closer than the closest thing found so
+	 * far. Outer space is only searched if it might contain something closer.
+	 *
+	 * If the space is so sparse that we end up looking at more areas than
+	 * there are things, then it's cheaper to just check all the things.
+	 */
+	@Override
+	public Thing findClosestTo(Thing thing, String label) {
+		return findClosestTo(thing.getPosition(), thing, label);
+	}
+
+	@Override
+	public Thing findClosestTo(Vector position, String label) {
+		return findClosestTo(position, null, label);
+	}
+
+	/**
+	 * Sweeps all the areas that the movement goes through, plus the areas
+	 * around them that are within collision distance. Movements can be as
+	 * long as they like, and span any number of areas.
+	 */
+	@Override
+	public Set<Thing> detectCollisions(Segment movement, String label) {
+		long typeMask = inventory.getTypeMask(label);
+
+		Set<Thing> result = new LinkedHashSet<>();
+		boolean[] includesOuterSpace = { false };
+		GridTraversal.visitAreasAlong(movement, areaSize, collisionDistance, (x, y) -> {
+			if (isInOuterSpace(x, y))
+				includesOuterSpace[0] = true;
+			else
+				areas[x][y].addCollisionsTo(result, movement, collisionDistance, typeMask);
+		});
+
+		if (includesOuterSpace[0])
+			outerSpace.addCollisionsTo(result, movement, collisionDistance, typeMask);
+
+		return result;
+	}
+
+	@Override
+	public Set<Thing> findInRectangle(Vector corner1, Vector corner2, String label) {
+		long typeMask = inventory.getTypeMask(label);
+		double minX = Math.min(corner1.x, corner2.x);
+		double minY = Math.min(corner1.y, corner2.y);
+		double maxX = Math.max(corner1.x, corner2.x);
+		double maxY = Math.max(corner1.y, corner2.y);
+
+		int minAreaX = toAreaCoordinates(minX);
+		int minAreaY = toAreaCoordinates(minY);
+		int maxAreaX = toAreaCoordinates(maxX);
+		int maxAreaY = toAreaCoordinates(maxY);
+
+		Set<Thing> result = new LinkedHashSet<>();
+		for (int x = Math.max(0, minAreaX); x <= Math.min(SPACE_AREAS_PER_EDGE - 1, maxAreaX); x++)
+			for (int y = Math.max(0, minAreaY); y <= Math.min(SPACE_AREAS_PER_EDGE - 1, maxAreaY); y++)
+				areas[x][y].addInRectangleTo(result, minX, minY, maxX, maxY, typeMask);
+
+		if (isInOuterSpace(minAreaX, minAreaY) || isInOuterSpace(maxAreaX, maxAreaY))
+			outerSpace.addInRectangleTo(result, minX, minY, maxX, maxY, typeMask);
+
+		return result;
+	}
+
+	@Override
+	public Set<Thing> getAll(String label) {
+		return inventory.getAll(label);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return inventory.isEmpty();
+	}
+
+	@Override
+	public int count(String label) {
+		return inventory.count(label);
+	}
+
+	@Override
+	public int countMatching(String label) {
+		return inventory.count(inventory.getTypeMask(label));
+	}
+
+	double getAreaSize() {
+		return areaSize;
+	}
+
+	int[] getAreaCoordinates(Thing thing) {
+		return new int[] { toAreaCoordinates(thing.getPosition().x), toAreaCoordinates(thing.getPosition().y) };
+	}
+
+	Set<Thing> getNearbyNeighbors(Thing thing, String label) {
+		Set<Thing> result = getNearbyNeighbors(thing.getPosition(), label);
+		result.remove(thing);
+		return result;
+	}
+
+	private Set<Thing> getNearbyNeighbors(Vector position, String label) {
+		int x = toAreaCoordinates(position.x);
+		int y = toAreaCoordinates(position.y);
+		long typeMask = inventory.getTypeMask(label);
+		Set<Thing> result = new LinkedHashSet<>();
+
+		if (isInOuterSpace(x, y)) {
+			outerSpace.addTo(result, typeMask);
+			return result;
+		}
+
+		getArea(x - 1, y - 1).addTo(result, typeMask);
+		getArea(x - 1, y).addTo(result, typeMask);
+		getArea(x - 1, y + 1).addTo(result, typeMask);
+		getArea(x, y - 1).addTo(result, typeMask);
+		getArea(x, y).addTo(result, typeMask);
+		getArea(x, y + 1).addTo(result, typeMask);
+		getArea(x + 1, y - 1).addTo(result, typeMask);
+		getArea(x + 1, y).addTo(result, typeMask);
+		getArea(x + 1, y + 1).addTo(result, typeMask);
+
+		return result;
+	}
+
+	private Thing findClosestTo(Vector position, Thing excludedThing, String label) {
+		long typeMask = inventory.getTypeMask(label);
+		int numberOfThings = inventory.count(typeMask);
+
+		if (numberOfThings == 0)
+			return null;
+
+		int x = toAreaCoordinates(position.x);
+		int y = toAreaCoordinates(position.y);
+
+		Area.ClosestThingSearch search = new Area.ClosestThingSearch(position, excludedThing, typeMask);
+		int searchedAreas = 0;
+
+		int firstRing = getDistanceFromGrid(x, y);
+		int lastRing = getMaxRingInGrid(x, y);
+		for (int ring = firstRing; ring <= lastRing; ring++) {
+			// Things in this ring are at least this far away.
+			double ringDistance = Math.max(0, ring - 1) * areaSize;
+			if (ringDistance > search.getMinDistance())
+				break;
+
+			List<Area> areasInRing = getAreasInRing(x, y, ring);
+			searchedAreas += areasInRing.size();
+			if (searchedAreas > numberOfThings) {
+				Area.ClosestThingSearch fullSearch = new Area.ClosestThingSearch(position, excludedThing, typeMask);
+				inventory.searchClosest(fullSearch);
+				return fullSearch.getResult();
+			}
+
+			for (Area area : areasInRing)
+				area.searchClosest(search);
+		}
+
+		if (getDistanceFromOuterSpace(position) < search.getMinDistance())
+			outerSpace.searchClosest(search);
+
+		return search.getResult();
+	}
+
+	// Returns all the areas in the grid that are exactly "ring" areas
+	// away from the area at (x, y), skipping the ones in outer space.
+	private List<Area> getAreasInRing(int x, int y, int ring) {
+		List<Area> result = new ArrayList<>();
+
+		if (ring == 0) {
+			if (!isInOuterSpace(x, y))
+				result.add(areas[x][y]);
+			return result;
+		}
+
+		int minX = Math.max(0, x - ring);
+		int maxX = Math.min(SPACE_AREAS_PER_EDGE - 1, x + ring);
+		int minY = Math.max(0, y - ring + 1);
+		int maxY = Math.min(SPACE_AREAS_PER_EDGE - 1, y + ring - 1);
+
+		for (int i = minX; i <= maxX; i++) {
+			if (!isInOuterSpace(i, y - ring))
+				result.add(areas[i][y - ring]);
+			if (!isInOuterSpace(i, y + ring))
+				result.add(areas[i][y + ring]);
+		}
+		for (int j = minY; j <= maxY; j++) {
+			if (!isInOuterSpace(x - ring, j))
+				result.add(areas[x - ring][j]);
+			if (!isInOuterSpace(x + ring, j))
+				result.add(areas[x + ring][j]);
+		}
+
+		return result;
+	}
+
+	// The number of rings between the area at (x, y) and the closest area in
+	// the grid. (Zero if the area is in the grid).
+	private int getDistanceFromGrid(int x, int y) {
+		int distanceX = Math.max(0, Math.max(-x, x - (SPACE_AREAS_PER_EDGE - 1)));
+		int distanceY = Math.max(0, Math.max(-y, y - (SPACE_AREAS_PER_EDGE - 1)));
+		return Math.max(distanceX, distanceY);
+	}
+
+	// The number of rings between the area at (x, y) and the farthest area in
+	// the grid.
+	private int getMaxRingInGrid(int x, int y) {
+		int distanceX = Math.max(Math.abs(x), Math.abs(x - (SPACE_AREAS_PER_EDGE - 1)));
+		int distanceY = Math.max(Math.abs(y), Math.abs(y - (SPACE_AREAS_PER_EDGE - 1)));
+		return Math.max(distanceX, distanceY);
+	}
+
+	// The minimum distance between a position and anything in outer space.
+	private double getDistanceFromOuterSpace(Vector position) {
+		double edge = areaSize * SPACE_AREAS_PER_EDGE;
+		double result = Math.min(Math.min(position.x, position.y), Math.min(edge - position.x, edge - position.y));
+		return Math.max(0, result);
+	}
+
+	private boolean isInOuterSpace(int x, int y) {
+		return x < 0 || x >= GridSpace.SPACE_AREAS_PER_EDGE || y < 0 || y >= GridSpace.SPACE_AREAS_PER_EDGE;
+	}
+
+	private Area getArea(int x, int y) {
+		if (isInOuterSpace(x, y))
+			return outerSpace;
+		return areas[x][y];
+	}
+
+	private Area getArea(Thing thing) {
+		int x = toAreaCoordinates(thing.getPosition().x);
+		int y = toAreaCoordinates(thing.getPosition().y);
+		return getArea(x, y);
+	}
+
+	private int toAreaCoordinates(double x) {
+		return GridTraversal.toAreaCoordinate(x, areaSize);
+	}
+}
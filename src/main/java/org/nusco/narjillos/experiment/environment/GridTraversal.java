@@ -0,0 +1,96 @@
+package org.nusco.narjillos.experiment.environment;
+
+import java.util.Arrays;
+
+import org.nusco.narjillos.core.physics.Segment;
+import org.nusco.narjillos.core.physics.Vector;
+
+/**
+ * Helps grid-based spatial indexes find the areas along a movement. Areas
+ * are identified by their coordinates, packed into a single long key.
+ */
+class GridTraversal {
+
+	interface AreaVisitor {
+		public void visit(int x, int y);
+	}
+
+	public static long toKey(int x, int y) {
+		return (((long) x) << 32) | (y & 0xFFFFFFFFL);
+	}
+
+	public static int getX(long key) {
+		return (int) (key >> 32);
+	}
+
+	public static int getY(long key) {
+		return (int) key;
+	}
+
+	public static int toAreaCoordinate(double value, double areaSize) {
+		return (int) Math.floor(value / areaSize);
+	}
+
+	/**
+	 * Visits the areas crossed by the segment, plus all the areas that might
+	 * contain something within "margin" of the segment. It visits each area
+	 * once, sorted by x, then by y (at least for positive coordinates).
+	 *
+	 * To find the crossed areas, this walks the grid along the segment, one
+	 * area at a time (as in Amanatides and Woo's voxel traversal). It collects
+	 * the keys of the areas in an array, and then sorts them to skip the
+	 * duplicates, so it doesn't allocate anything else.
+	 */
+	public static void visitAreasAlong(Segment segment, double areaSize, double margin, AreaVisitor visitor) {
+		Vector start = segment.getStartPoint();
+		Vector end = segment.getEndPoint();
+		int x = toAreaCoordinate(start.x, areaSize);
+		int y = toAreaCoordinate(start.y, areaSize);
+		int endX = toAreaCoordinate(end.x, areaSize);
+		int endY = toAreaCoordinate(end.y, areaSize);
+
+		int stepX = Integer.signum(endX - x);
+		int stepY = Integer.signum(endY - y);
+		double deltaX = segment.getVector().x;
+		double deltaY = segment.getVector().y;
+
+		// How far along the segment (from 0 to 1) we cross the next vertical
+		// and the next horizontal edge, and how far we move between edges.
+		double nextCrossingX = (stepX == 0) ? Double.MAX_VALUE : ((x + Math.max(stepX, 0)) * areaSize - start.x) / deltaX;
+		double nextCrossingY = (stepY == 0) ? Double.MAX_VALUE : ((y + Math.max(stepY, 0)) * areaSize - start.y) / deltaY;
+		double crossingDistanceX = (stepX == 0) ? Double.MAX_VALUE : areaSize / Math.abs(deltaX);
+		double crossingDistanceY = (stepY == 0) ? Double.MAX_VALUE : areaSize / Math.abs(deltaY);
+
+		int margins = (int) Math.ceil(margin / areaSize);
+		int areasAroundEachStep = (2 * margins + 1) * (2 * margins + 1);
+		int steps = Math.abs(endX - x) + Math.abs(endY - y);
+		long[] keys = new long[(steps + 1) * areasAroundEachStep];
+		int numberOfKeys = addAreasAround(keys, 0, x, y, margins);
+
+		// Floating-point errors can make us take a step in the wrong
+		// direction near a corner, but the margins cover for that.
+		for (int i = 0; i < steps; i++) {
+			if (x != endX && (nextCrossingX < nextCrossingY || y == endY)) {
+				x += stepX;
+				nextCrossingX += crossingDistanceX;
+			} else {
+				y += stepY;
+				nextCrossingY += crossingDistanceY;
+			}
+			numberOfKeys = addAreasAround(keys, numberOfKeys, x, y, margins);
+		}
+
+		Arrays.sort(keys, 0, numberOfKeys);
+		for (int i = 0; i < numberOfKeys; i++)
+			if (i == 0 || keys[i] != keys[i - 1])
+				visitor.visit(getX(keys[i]), getY(keys[i]));
+	}
+
+	private static int addAreasAround(long[] keys, int numberOfKeys, int x, int y, int margins) {
+		int result = numberOfKeys;
+		for (int i = x - margins; i <= x + margins; i++)
+			for (int j = y - margins; j <= y + margins; j++)
+				keys[result++] = toKey(i, j);
+		return result;
+	}
+}
@@ -0,0 +1,227 @@
+package org.nusco.narjillos.experiment.environment;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.nusco.narjillos.core.physics.Segment;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.things.Thing;
+
+/**
+ * A SpatialIndex that partitions the space in a grid of fixed-size areas,
+ * but only keeps the areas that contain something (in a hash map). The size
+ * of the space doesn't matter, so this works for very large dishes. It
+ * doesn't need an outer space, either.
+ */
+class HashGridSpace implements SpatialIndex {
+
+	private static final double AREA_SIZE = 400;
+
+	// Changes lock the whole space, because they create and delete cells.
+	// Searches don't lock.
+	private final Map<Long, Cell> cells = new ConcurrentHashMap<>();
+	private final Inventory inventory = new Inventory();
+
+	private final double collisionDistance;
+
+	public HashGridSpace(double collisionDistance) {
+		this.collisionDistance = collisionDistance;
+	}
+
+	@Override
+	public synchronized void add(Thing thing) {
+		inventory.add(thing, getOrCreateCell(thing.getPosition()));
+	}
+
+	@Override
+	public synchronized void remove(Thing thing) {
+		Cell cell = (Cell) inventory.remove(thing);
+		if (cell != null)
+			removeIfEmpty(cell);
+	}
+
+	@Override
+	public boolean contains(Thing thing) {
+		return inventory.contains(thing);
+	}
+
+	@Override
+	public synchronized void update(Thing thing) {
+		Cell oldCell = (Cell) inventory.getArea(thing);
+		if (oldCell == null)
+			return;
+
+		long key = toKey(thing.getPosition());
+		if (oldCell.key == key)
+			return;
+
+		inventory.move(thing, getOrCreateCell(thing.getPosition()));
+		removeIfEmpty(oldCell);
+	}
+
+	@Override
+	public Thing findClosestTo(Thing thing, String label) {
+		return findClosestTo(thing.getPosition(), thing, label);
+	}
+
+	@Override
+	public Thing findClosestTo(Vector position, String label) {
+		return findClosestTo(position, null, label);
+	}
+
+	@Override
+	public Set<Thing> detectCollisions(Segment movement, String label) {
+		long typeMask = inventory.getTypeMask(label);
+
+		Set<Thing> result = new LinkedHashSet<>();
+		GridTraversal.visitAreasAlong(movement, AREA_SIZE, collisionDistance, (x, y) -> {
+			Cell cell = cells.get(GridTraversal.toKey(x, y));
+			if (cell != null)
+				cell.addCollisionsTo(result, movement, collisionDistance, typeMask);
+		});
+		return result;
+	}
+
+	@Override
+	public Set<Thing> findInRectangle(Vector corner1, Vector corner2, String label) {
+		long typeMask = inventory.getTypeMask(label);
+		double minX = Math.min(corner1.x, corner2.x);
+		double minY = Math.min(corner1.y, corner2.y);
+		double maxX = Math.max(corner1.x, corner2.x);
+		double maxY = Math.max(corner1.y, corner2.y);
+
+		int minCellX = GridTraversal.toAreaCoordinate(minX, AREA_SIZE);
+		int minCellY = GridTraversal.toAreaCoordinate(minY, AREA_SIZE);
+		int maxCellX = GridTraversal.toAreaCoordinate(maxX, AREA_SIZE);
+		int maxCellY = GridTraversal.toAreaCoordinate(maxY, AREA_SIZE);
+
+		Set<Thing> result = new LinkedHashSet<>();
+
+		// If the rectangle is larger than the occupied cells, it's cheaper
+		// to just go through all the cells.
+		double numberOfCellsInRectangle = ((double) maxCellX - minCellX + 1) * ((double) maxCellY - minCellY + 1);
+		if (numberOfCellsInRectangle > cells.size()) {
+			for (Cell cell : cells.values())
+				cell.addInRectangleTo(result, minX, minY, maxX, maxY, typeMask);
+			return result;
+		}
+
+		for (int x = minCellX; x <= maxCellX; x++)
+			for (int y = minCellY; y <= maxCellY; y++) {
+				Cell cell = cells.get(GridTraversal.toKey(x, y));
+				if (cell != null)
+					cell.addInRectangleTo(result, minX, minY, maxX, maxY, typeMask);
+			}
+		return result;
+	}
+
+	@Override
+	public Set<Thing> getAll(String label) {
+		return inventory.getAll(label);
+	}
+
+	@Override
+	public int count(String label) {
+		return inventory.count(label);
+	}
+
+	@Override
+	public int countMatching(String label) {
+		return inventory.count(inventory.getTypeMask(label));
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return inventory.isEmpty();
+	}
+
+	int getNumberOfCells() {
+		return cells.size();
+	}
+
+	// Same spiral search as GridSpace. The grid has no edges, so we
+	// rely on the full scan to stop searching if the space is sparse.
+	private Thing findClosestTo(Vector position, Thing excludedThing, String label) {
+		long typeMask = inventory.getTypeMask(label);
+		int numberOfThings = inventory.count(typeMask);
+
+		if (numberOfThings == 0)
+			return null;
+
+		int x = GridTraversal.toAreaCoordinate(position.x, AREA_SIZE);
+		int y = GridTraversal.toAreaCoordinate(position.y, AREA_SIZE);
+
+		Area.ClosestThingSearch search = new Area.ClosestThingSearch(position, excludedThing, typeMask);
+		int searchedCells = 0;
+
+		for (int ring = 0;; ring++) {
+			// Things in this ring are at least this far away.
+			double ringDistance = Math.max(0, ring - 1) * AREA_SIZE;
+			if (ringDistance > search.getMinDistance())
+				return search.getResult();
+
+			searchedCells += (ring == 0) ? 1 : ring * 8;
+			if (searchedCells > numberOfThings) {
+				Area.ClosestThingSearch fullSearch = new Area.ClosestThingSearch(position, excludedThing, typeMask);
+				inventory.searchClosest(fullSearch);
+				return fullSearch.getResult();
+			}
+
+			searchRing(search, x, y, ring);
+		}
+	}
+
+	private void searchRing(Area.ClosestThingSearch search, int x, int y, int ring) {
+		if (ring == 0) {
+			searchCell(search, x, y);
+			return;
+		}
+
+		for (int i = x - ring; i <= x + ring; i++) {
+			searchCell(search, i, y - ring);
+			searchCell(search, i, y + ring);
+		}
+		for (int j = y - ring + 1; j <= y + ring - 1; j++) {
+			searchCell(search, x - ring, j);
+			searchCell(search, x + ring, j);
+		}
+	}
+
+	private void searchCell(Area.ClosestThingSearch search, int x, int y) {
+		Cell cell = cells.get(GridTraversal.toKey(x, y));
+		if (cell != null)
+			cell.searchClosest(search);
+	}
+
+	private Cell getOrCreateCell(Vector position) {
+		long key = toKey(position);
+		Cell result = cells.get(key);
+		if (result == null) {
+			result = new Cell(key);
+			cells.put(key, result);
+		}
+		return result;
+	}
+
+	private void removeIfEmpty(Cell cell) {
+		if (cell.isEmpty())
+			cells.remove(cell.key);
+	}
+
+	private long toKey(Vector position) {
+		int x = GridTraversal.toAreaCoordinate(position.x, AREA_SIZE);
+		int y = GridTraversal.toAreaCoordinate(position.y, AREA_SIZE);
+		return GridTraversal.toKey(x, y);
+	}
+
+	private static class Cell extends Area {
+
+		private final long key;
+
+		public Cell(long key) {
+			this.key = key;
+		}
+	}
+}
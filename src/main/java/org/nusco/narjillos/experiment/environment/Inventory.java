@@ -0,0 +1,271 @@
+package org.nusco.narjillos.experiment.environment;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.nusco.narjillos.core.things.Thing;
+
+/**
+ * Keeps track of all the things in a SpatialIndex, of their types, and of
+ * the Area that each thing is in. All the SpatialIndex implementations
+ * share this bookkeeping.
+ *
+ * Each label gets its own integer type the first time that the Inventory
+ * sees it. Searches by label match any label that contains the searched
+ * label (so "" matches everything), and they're resolved to a bitmask of
+ * types once.
+ *
+ * Reads never lock. Changes only lock the thing that they change (or
+ * rather, one of a few stripes of things) and the Areas involved, so
+ * changes to different things can run in parallel. A thing that moves is
+ * added to its new Area before it's removed from the old one, so searches
+ * that run at the same time don't miss it.
+ */
+class Inventory {
+
+	private static final int MAX_TYPES = 64; // the bits in a type mask
+	private static final int STRIPES = 64;
+
+	private final Map<Thing, Entry> entries = new ConcurrentHashMap<>();
+
+	// Sorted by serial number, that is, by the order in which the things
+	// were added.
+	private final Map<Long, Entry> allTheThings = new ConcurrentSkipListMap<>();
+	private final AtomicLong nextSerial = new AtomicLong();
+
+	private final Object[] locks = new Object[STRIPES];
+
+	private volatile Types types;
+
+	public Inventory() {
+		@SuppressWarnings("unchecked")
+		ConcurrentSkipListMap<Long, Thing>[] thingsByType = (ConcurrentSkipListMap<Long, Thing>[]) new ConcurrentSkipListMap<?, ?>[0];
+		types = new Types(new String[0], thingsByType, new LongAdder[0]);
+
+		for (int i = 0; i < locks.length; i++)
+			locks[i] = new Object();
+	}
+
+	public static boolean isOfType(int type, long typeMask) {
+		return (typeMask & (1L << type)) != 0;
+	}
+
+	public void add(Thing thing, Area area) {
+		int type = getOrCreateType(thing.getLabel());
+		Types currentTypes = types;
+
+		synchronized (getLock(thing)) {
+			if (entries.containsKey(thing))
+				return;
+
+			Entry entry = new Entry(thing, type, nextSerial.getAndIncrement(), area);
+			area.add(thing, type);
+			entries.put(thing, entry);
+			allTheThings.put(entry.serial, entry);
+			currentTypes.thingsByType[type].put(entry.serial, thing);
+			currentTypes.counters[type].increment();
+		}
+	}
+
+	/**
+	 * @return The area that contained the thing, or null if the thing wasn't
+	 *         there.
+	 */
+	public Area remove(Thing thing) {
+		synchronized (getLock(thing)) {
+			Entry entry = entries.remove(thing);
+			if (entry == null)
+				return null;
+
+			Types currentTypes = types;
+			currentTypes.counters[entry.type].decrement();
+			currentTypes.thingsByType[entry.type].remove(entry.serial);
+			allTheThings.remove(entry.serial);
+			entry.area.remove(thing, entry.type);
+			return entry.area;
+		}
+	}
+
+	/**
+	 * Moves a thing to a different area.
+	 *
+	 * @return The area that contained the thing before, or null if the thing
+	 *         isn't there.
+	 */
+	public Area move(Thing thing, Area newArea) {
+		synchronized (getLock(thing)) {
+			Entry entry = entries.get(thing);
+			if (entry == null || entry.area == newArea)
+				return (entry == null) ? null : entry.area;
+
+			Area result = entry.area;
+			newArea.add(thing, entry.type);
+			entry.area = newArea;
+			result.remove(thing, entry.type);
+			return result;
+		}
+	}
+
+	/**
+	 * Like move(), but it leaves the thing in the old area as well. Use this
+	 * when the old area is being thrown away, so that searches that are
+	 * still looking at it will find everything that was there.
+	 */
+	public void relocate(Thing thing, Area newArea) {
+		synchronized (getLock(thing)) {
+			Entry entry = entries.get(thing);
+			if (entry == null)
+				return;
+
+			newArea.add(thing, entry.type);
+			entry.area = newArea;
+		}
+	}
+
+	public boolean contains(Thing thing) {
+		return entries.containsKey(thing);
+	}
+
+	public Area getArea(Thing thing) {
+		Entry entry = entries.get(thing);
+		return (entry == null) ? null : entry.area;
+	}
+
+	public boolean isEmpty() {
+		return entries.isEmpty();
+	}
+
+	public Set<Thing> getAll(String label) {
+		long typeMask = getTypeMask(label);
+		Types currentTypes = types;
+
+		if (Long.bitCount(typeMask) == 1)
+			return new LinkedHashSet<>(currentTypes.thingsByType[Long.numberOfTrailingZeros(typeMask)].values());
+
+		Set<Thing> result = new LinkedHashSet<>();
+		if (typeMask == 0)
+			return result;
+		for (Entry entry : allTheThings.values())
+			if (isOfType(entry.type, typeMask))
+				result.add(entry.thing);
+		return result;
+	}
+
+	public int count(String label) {
+		Types currentTypes = types;
+		for (int type = 0; type < currentTypes.labels.length; type++)
+			if (currentTypes.labels[type].equals(label))
+				return (int) currentTypes.counters[type].sum();
+		return 0;
+	}
+
+	public int count(long typeMask) {
+		Types currentTypes = types;
+		long result = 0;
+		for (int type = 0; type < currentTypes.labels.length; type++)
+			if (isOfType(type, typeMask))
+				result += currentTypes.counters[type].sum();
+		return (int) result;
+	}
+
+	public long getTypeMask(String label) {
+		Types currentTypes = types;
+		Long result = currentTypes.typeMasksByLabel.get(label);
+		if (result != null)
+			return result;
+
+		long typeMask = 0;
+		for (int type = 0; type < currentTypes.labels.length; type++)
+			if (currentTypes.labels[type].contains(label))
+				typeMask |= 1L << type;
+		currentTypes.typeMasksByLabel.put(label, typeMask);
+		return typeMask;
+	}
+
+	/**
+	 * Looks at all the things, in the order in which they were added.
+	 */
+	public void searchClosest(Area.ClosestThingSearch search) {
+		for (Entry entry : allTheThings.values())
+			if (isOfType(entry.type, search.getTypeMask()))
+				search.consider(entry.thing);
+	}
+
+	private Object getLock(Thing thing) {
+		return locks[(System.identityHashCode(thing) & Integer.MAX_VALUE) % STRIPES];
+	}
+
+	private int getOrCreateType(String label) {
+		int result = getType(types, label);
+		if (result >= 0)
+			return result;
+
+		// New types are rare, so it's OK to take a global lock here.
+		synchronized (this) {
+			Types currentTypes = types;
+			result = getType(currentTypes, label);
+			if (result >= 0)
+				return result;
+
+			if (currentTypes.labels.length == MAX_TYPES)
+				throw new RuntimeException("Too many types of things in space: " + Arrays.toString(currentTypes.labels));
+
+			result = currentTypes.labels.length;
+			String[] labels = Arrays.copyOf(currentTypes.labels, result + 1);
+			ConcurrentSkipListMap<Long, Thing>[] thingsByType = Arrays.copyOf(currentTypes.thingsByType, result + 1);
+			LongAdder[] counters = Arrays.copyOf(currentTypes.counters, result + 1);
+			labels[result] = label;
+			thingsByType[result] = new ConcurrentSkipListMap<>();
+			counters[result] = new LongAdder();
+
+			// This also throws away the cached type masks, that might
+			// match the new type.
+			types = new Types(labels, thingsByType, counters);
+			return result;
+		}
+	}
+
+	private static int getType(Types types, String label) {
+		for (int type = 0; type < types.labels.length; type++)
+			if (types.labels[type].equals(label))
+				return type;
+		return -1;
+	}
+
+	// Everything that depends on the list of types. When a new type comes
+	// along, it gets replaced as a whole. All these are indexed by type.
+	private static class Types {
+
+		final String[] labels;
+		final ConcurrentSkipListMap<Long, Thing>[] thingsByType;
+		final LongAdder[] counters;
+		final Map<String, Long> typeMasksByLabel = new ConcurrentHashMap<>();
+
+		Types(String[] labels, ConcurrentSkipListMap<Long, Thing>[] thingsByType, LongAdder[] counters) {
+			this.labels = labels;
+			this.thingsByType = thingsByType;
+			this.counters = counters;
+		}
+	}
+
+	private static class Entry {
+
+		final Thing thing;
+		final int type;
+		final long serial;
+		volatile Area area;
+
+		Entry(Thing thing, int type, long serial, Area area) {
+			this.thing = thing;
+			this.type = type;
+			this.serial = serial;
+			this.area = area;
+		}
+	}
+}
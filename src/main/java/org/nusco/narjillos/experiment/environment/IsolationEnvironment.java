@@ -6,6 +6,7 @@ import java.util.Set;
 
 import org.nusco.narjillos.core.physics.Vector;
 import org.nusco.narjillos.core.things.Thing;
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.core.utilities.NumGen;
 import org.nusco.narjillos.creature.Narjillo;
 import org.nusco.narjillos.genomics.GenePool;
@@ -22,7 +23,7 @@ public class IsolationEnvironment extends Environment {
 	private double targetAngle = 0;
 
 	public IsolationEnvironment(long size, NumGen numGen) {
-		super(size);
+		super(size, Configuration.DEFAULT);
 	}
 
 	@Override
@@ -49,7 +50,7 @@ public class IsolationEnvironment extends Environment {
 
 	@Override
 	protected void tickThings(GenePool genePool, NumGen numGen) {
-		getNarjillo().tick(getAtmosphere());
+		getNarjillo().tick(getAtmosphere(), getConfiguration());
 	}
 
 	public synchronized void updateSpecimen(Narjillo narjillo) {
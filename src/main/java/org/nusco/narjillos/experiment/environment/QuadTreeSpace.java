@@ -0,0 +1,368 @@
+package org.nusco.narjillos.experiment.environment;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.nusco.narjillos.core.physics.Segment;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.things.Thing;
+
+/**
+ * A SpatialIndex that partitions the space with a quadtree. Crowded areas
+ * get split into four smaller areas, and areas that become almost empty
+ * get merged back. This adapts to clustered things, where a uniform grid
+ * would end up with a few crowded areas and many empty ones.
+ *
+ * Changes lock the whole tree, because they can change its shape. Searches
+ * don't lock. When nodes are split or merged, the old leaves keep their
+ * things, so that searches that are still going through them don't miss
+ * anything. Each node keeps its leaf and its children in one immutable
+ * object, so a search always sees a node as either a leaf or a parent,
+ * never as something in between.
+ */
+class QuadTreeSpace implements SpatialIndex {
+
+	private static final int MAX_THINGS_PER_LEAF = 16;
+	private static final int MAX_DEPTH = 12;
+
+	private final Node root;
+	private final Inventory inventory = new Inventory();
+
+	// Same as in GridSpace, things outside the tree end up here.
+	private final Area outerSpace = new Area();
+
+	private final double collisionDistance;
+
+	public QuadTreeSpace(long size, double collisionDistance) {
+		this.collisionDistance = collisionDistance;
+		root = new Node(null, 0, 0, size, 0);
+	}
+
+	@Override
+	public synchronized void add(Thing thing) {
+		Area area = getArea(thing.getPosition());
+		inventory.add(thing, area);
+		splitIfCrowded(area);
+	}
+
+	@Override
+	public synchronized void remove(Thing thing) {
+		Area area = inventory.remove(thing);
+		if (area instanceof Leaf)
+			mergeIfEmptyEnough(((Leaf) area).node.parent);
+	}
+
+	@Override
+	public boolean contains(Thing thing) {
+		return inventory.contains(thing);
+	}
+
+	@Override
+	public synchronized void update(Thing thing) {
+		Area newArea = getArea(thing.getPosition());
+		Area oldArea = inventory.move(thing, newArea);
+		if (oldArea == null || oldArea == newArea)
+			return;
+
+		splitIfCrowded(newArea);
+		if (oldArea instanceof Leaf)
+			mergeIfEmptyEnough(((Leaf) oldArea).node.parent);
+	}
+
+	@Override
+	public Thing findClosestTo(Thing thing, String label) {
+		return findClosestTo(thing.getPosition(), thing, label);
+	}
+
+	@Override
+	public Thing findClosestTo(Vector position, String label) {
+		return findClosestTo(position, null, label);
+	}
+
+	@Override
+	public Set<Thing> detectCollisions(Segment movement, String label) {
+		long typeMask = inventory.getTypeMask(label);
+		double margin = collisionDistance;
+
+		Vector start = movement.getStartPoint();
+		Vector end = movement.getEndPoint();
+		double minX = Math.min(start.x, end.x) - margin;
+		double minY = Math.min(start.y, end.y) - margin;
+		double maxX = Math.max(start.x, end.x) + margin;
+		double maxY = Math.max(start.y, end.y) + margin;
+
+		List<Leaf> leaves = new ArrayList<>();
+		root.collectLeavesInBox(leaves, minX, minY, maxX, maxY);
+
+		Set<Thing> result = new LinkedHashSet<>();
+		for (Leaf leaf : leaves)
+			leaf.addCollisionsTo(result, movement, margin, typeMask);
+
+		if (!root.containsBox(minX, minY, maxX, maxY))
+			outerSpace.addCollisionsTo(result, movement, margin, typeMask);
+
+		return result;
+	}
+
+	@Override
+	public Set<Thing> findInRectangle(Vector corner1, Vector corner2, String label) {
+		long typeMask = inventory.getTypeMask(label);
+		double minX = Math.min(corner1.x, corner2.x);
+		double minY = Math.min(corner1.y, corner2.y);
+		double maxX = Math.max(corner1.x, corner2.x);
+		double maxY = Math.max(corner1.y, corner2.y);
+
+		List<Leaf> leaves = new ArrayList<>();
+		root.collectLeavesInBox(leaves, minX, minY, maxX, maxY);
+
+		Set<Thing> result = new LinkedHashSet<>();
+		for (Leaf leaf : leaves)
+			leaf.addInRectangleTo(result, minX, minY, maxX, maxY, typeMask);
+
+		if (!root.containsBox(minX, minY, maxX, maxY))
+			outerSpace.addInRectangleTo(result, minX, minY, maxX, maxY, typeMask);
+
+		return result;
+	}
+
+	@Override
+	public Set<Thing> getAll(String label) {
+		return inventory.getAll(label);
+	}
+
+	@Override
+	public int count(String label) {
+		return inventory.count(label);
+	}
+
+	@Override
+	public int countMatching(String label) {
+		return inventory.count(inventory.getTypeMask(label));
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return inventory.isEmpty();
+	}
+
+	int getNumberOfLeaves() {
+		return root.countLeaves();
+	}
+
+	// Best-first search: looks at the nodes in order of distance, and stops
+	// when the next node is farther than the closest thing found so far.
+	private Thing findClosestTo(Vector position, Thing excludedThing, String label) {
+		long typeMask = inventory.getTypeMask(label);
+		if (inventory.count(typeMask) == 0)
+			return null;
+
+		Area.ClosestThingSearch search = new Area.ClosestThingSearch(position, excludedThing, typeMask);
+
+		PriorityQueue<Node> nodes = new PriorityQueue<>((node1, node2) -> Double.compare(node1.getDistanceFrom(position), node2.getDistanceFrom(position)));
+		nodes.add(root);
+		while (!nodes.isEmpty()) {
+			Node node = nodes.poll();
+			if (node.getDistanceFrom(position) > search.getMinDistance())
+				break;
+
+			NodeState state = node.state;
+			if (state.leaf != null)
+				state.leaf.searchClosest(search);
+			else
+				for (Node child : state.children)
+					nodes.add(child);
+		}
+
+		if (root.getDistanceFromOutside(position) < search.getMinDistance())
+			outerSpace.searchClosest(search);
+
+		return search.getResult();
+	}
+
+	private Area getArea(Vector position) {
+		if (!root.contains(position))
+			return outerSpace;
+		return root.findLeaf(position).getLeaf();
+	}
+
+	private void splitIfCrowded(Area area) {
+		if (!(area instanceof Leaf))
+			return;
+
+		Node node = ((Leaf) area).node;
+		if (area.size() <= MAX_THINGS_PER_LEAF || node.depth >= MAX_DEPTH)
+			return;
+
+		node.split();
+		for (Node child : node.getChildren())
+			splitIfCrowded(child.getLeaf());
+	}
+
+	private void mergeIfEmptyEnough(Node node) {
+		if (node == null)
+			return;
+
+		int numberOfThings = 0;
+		for (Node child : node.getChildren()) {
+			if (!child.isLeaf())
+				return;
+			numberOfThings += child.getLeaf().size();
+		}
+		if (numberOfThings > MAX_THINGS_PER_LEAF / 2)
+			return;
+
+		node.merge();
+		mergeIfEmptyEnough(node.parent);
+	}
+
+	private List<Thing> getThingsIn(Area area) {
+		return area.getAll();
+	}
+
+	private class Node {
+
+		private final Node parent;
+		private final double minX;
+		private final double minY;
+		private final double size;
+		private final int depth;
+
+		// A node is either a leaf, or it has four children. Readers that
+		// look at both should read this field only once.
+		private volatile NodeState state;
+
+		public Node(Node parent, double minX, double minY, double size, int depth) {
+			this.parent = parent;
+			this.minX = minX;
+			this.minY = minY;
+			this.size = size;
+			this.depth = depth;
+			this.state = new NodeState(new Leaf(this), null);
+		}
+
+		public boolean isLeaf() {
+			return state.leaf != null;
+		}
+
+		public Leaf getLeaf() {
+			return state.leaf;
+		}
+
+		public Node[] getChildren() {
+			return state.children;
+		}
+
+		public boolean contains(Vector position) {
+			return position.x >= minX && position.x < minX + size && position.y >= minY && position.y < minY + size;
+		}
+
+		public boolean containsBox(double boxMinX, double boxMinY, double boxMaxX, double boxMaxY) {
+			return boxMinX >= minX && boxMaxX < minX + size && boxMinY >= minY && boxMaxY < minY + size;
+		}
+
+		public Node findLeaf(Vector position) {
+			Node[] currentChildren = state.children;
+			if (currentChildren == null)
+				return this;
+			return currentChildren[getChildIndex(position)].findLeaf(position);
+		}
+
+		public void collectLeavesInBox(List<Leaf> collector, double boxMinX, double boxMinY, double boxMaxX, double boxMaxY) {
+			if (boxMaxX < minX || boxMinX >= minX + size || boxMaxY < minY || boxMinY >= minY + size)
+				return;
+
+			NodeState currentState = state;
+			if (currentState.leaf != null) {
+				collector.add(currentState.leaf);
+				return;
+			}
+
+			for (Node child : currentState.children)
+				child.collectLeavesInBox(collector, boxMinX, boxMinY, boxMaxX, boxMaxY);
+		}
+
+		public double getDistanceFrom(Vector position) {
+			double distanceX = Math.max(0, Math.max(minX - position.x, position.x - (minX + size)));
+			double distanceY = Math.max(0, Math.max(minY - position.y, position.y - (minY + size)));
+			return Math.sqrt(distanceX * distanceX + distanceY * distanceY);
+		}
+
+		// The minimum distance between a position and anything outside
+		// this node.
+		public double getDistanceFromOutside(Vector position) {
+			double result = Math.min(Math.min(position.x - minX, position.y - minY), Math.min(minX + size - position.x, minY + size - position.y));
+			return Math.max(0, result);
+		}
+
+		public int countLeaves() {
+			NodeState currentState = state;
+			if (currentState.children == null)
+				return 1;
+
+			int result = 0;
+			for (Node child : currentState.children)
+				result += child.countLeaves();
+			return result;
+		}
+
+		public void split() {
+			double halfSize = size / 2;
+			Node[] newChildren = new Node[] {
+				new Node(this, minX, minY, halfSize, depth + 1),
+				new Node(this, minX, minY + halfSize, halfSize, depth + 1),
+				new Node(this, minX + halfSize, minY, halfSize, depth + 1),
+				new Node(this, minX + halfSize, minY + halfSize, halfSize, depth + 1),
+			};
+
+			for (Thing thing : getThingsIn(getLeaf()))
+				inventory.relocate(thing, newChildren[getChildIndex(thing.getPosition())].getLeaf());
+
+			state = new NodeState(null, newChildren);
+		}
+
+		public void merge() {
+			Leaf newLeaf = new Leaf(this);
+			for (Node child : getChildren())
+				for (Thing thing : getThingsIn(child.getLeaf()))
+					inventory.relocate(thing, newLeaf);
+
+			state = new NodeState(newLeaf, null);
+		}
+
+		// Things that have moved out of this node (and haven't been updated
+		// yet) end up in the closest child.
+		private int getChildIndex(Vector position) {
+			double halfSize = size / 2;
+			int result = 0;
+			if (position.x >= minX + halfSize)
+				result += 2;
+			if (position.y >= minY + halfSize)
+				result += 1;
+			return result;
+		}
+	}
+
+	// Either the leaf or the children of a node (the other one is null).
+	private static class NodeState {
+
+		private final Leaf leaf;
+		private final Node[] children;
+
+		public NodeState(Leaf leaf, Node[] children) {
+			this.leaf = leaf;
+			this.children = children;
+		}
+	}
+
+	private static class Leaf extends Area {
+
+		private final Node node;
+
+		public Leaf(Node node) {
+			this.node = node;
+		}
+	}
+}
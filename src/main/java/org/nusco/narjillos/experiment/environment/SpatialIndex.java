@@ -0,0 +1,137 @@
+package org.nusco.narjillos.experiment.environment;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import org.nusco.narjillos.core.physics.Segment;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.things.Thing;
+
+/**
+ * A data structure that keeps things in space, for fast neighbor searches,
+ * collision detection, etc.
+ *
+ * Things that move must be updated after they move, so that the index can
+ * keep track of them.
+ *
+ * Searches by label match any label that contains the searched label (so ""
+ * matches everything).
+ *
+ * All the methods are thread-safe, and searches don't take global locks. A
+ * search that runs while things are changing finds all the things that
+ * aren't changing, and each changing thing either before or after the
+ * change.
+ */
+interface SpatialIndex {
+
+	/**
+	 * Creates a SpatialIndex of a given type. The types are "grid" (a uniform
+	 * grid), "hash_grid" (a sparse grid that only allocates the areas that
+	 * are in use) and "quadtree" (a tree that adapts to clustered things).
+	 */
+	static SpatialIndex create(String type, long size, double collisionDistance) {
+		switch (type) {
+		case "grid":
+			return new GridSpace(size, collisionDistance);
+		case "hash_grid":
+			return new HashGridSpace(collisionDistance);
+		case "quadtree":
+			return new QuadTreeSpace(size, collisionDistance);
+		default:
+			throw new RuntimeException("Unknown spatial index: \"" + type + "\"");
+		}
+	}
+
+	public void add(Thing thing);
+
+	public void remove(Thing thing);
+
+	public boolean contains(Thing thing);
+
+	/**
+	 * Call this after a thing has moved.
+	 */
+	public void update(Thing thing);
+
+	/**
+	 * @return The closest thing with the given label, excluding the thing
+	 *         itself (or null if there is no such thing).
+	 */
+	public Thing findClosestTo(Thing thing, String label);
+
+	public Thing findClosestTo(Vector position, String label);
+
+	/**
+	 * @return The k things with the given label that are closest to the
+	 *         position, sorted by distance (or all the things, if there are
+	 *         fewer than k).
+	 */
+	public default List<Thing> findClosestTo(Vector position, int k, String label) {
+		Comparator<Thing> byDistance = Comparator.comparingDouble((thing) -> thing.getPosition().minus(position).getLength());
+
+		if (k <= 0)
+			return new ArrayList<>();
+
+		if (countMatching(label) <= k) {
+			List<Thing> result = new ArrayList<>(getAll(label));
+			result.sort(byDistance);
+			return result;
+		}
+
+		// Widen the search until it contains at least k things. Then the k
+		// closest things are all in there.
+		Thing closestThing = findClosestTo(position, label);
+		double radius = Math.max(1, closestThing.getPosition().minus(position).getLength() * 2);
+		List<Thing> result = new ArrayList<>(findAround(position, radius, label));
+		while (result.size() < k) {
+			radius *= 2;
+			result = new ArrayList<>(findAround(position, radius, label));
+		}
+
+		result.sort(byDistance);
+		return result.subList(0, k);
+	}
+
+	/**
+	 * @return All the things with the given label that are inside the
+	 *         rectangle with the given opposite corners (edges included).
+	 */
+	public Set<Thing> findInRectangle(Vector corner1, Vector corner2, String label);
+
+	/**
+	 * @return All the things with the given label that are within the given
+	 *         distance from the position.
+	 */
+	public default Set<Thing> findAround(Vector position, double radius, String label) {
+		Vector diagonal = Vector.cartesian(radius, radius);
+		Set<Thing> result = findInRectangle(position.minus(diagonal), position.plus(diagonal), label);
+		result.removeIf((thing) -> thing.getPosition().minus(position).getLength() > radius);
+		return result;
+	}
+
+	/**
+	 * @return All the things with the given label that are closer than the
+	 *         collision distance to the movement.
+	 */
+	public Set<Thing> detectCollisions(Segment movement, String label);
+
+	/**
+	 * @return All the things with the given label, in the order in which they
+	 *         were added.
+	 */
+	public Set<Thing> getAll(String label);
+
+	/**
+	 * @return The number of things with exactly the given label.
+	 */
+	public int count(String label);
+
+	/**
+	 * @return The number of things whose label contains the given label.
+	 */
+	public int countMatching(String label);
+
+	public boolean isEmpty();
+}
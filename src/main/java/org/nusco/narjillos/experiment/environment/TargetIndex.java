@@ -0,0 +1,80 @@
+package org.nusco.narjillos.experiment.environment;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.nusco.narjillos.core.things.Thing;
+import org.nusco.narjillos.creature.Narjillo;
+
+/**
+ * Keeps track of which narjillos are chasing which things (usually food
+ * pellets), so that we don't have to go through all the narjillos when a
+ * thing disappears.
+ *
+ * The narjillos chasing a thing are always returned in the order in which
+ * they were added to the index.
+ */
+class TargetIndex {
+
+	private long nextOrdinal = 0;
+	private final Map<Narjillo, Long> ordinals = new HashMap<>();
+	private final Map<Narjillo, Thing> targets = new HashMap<>();
+	private final Map<Thing, TreeMap<Long, Narjillo>> pursuers = new HashMap<>();
+
+	public synchronized void add(Narjillo narjillo) {
+		ordinals.put(narjillo, nextOrdinal++);
+	}
+
+	public synchronized void remove(Narjillo narjillo) {
+		stopChasing(narjillo);
+		ordinals.remove(narjillo);
+	}
+
+	public synchronized void setTarget(Narjillo narjillo, Thing target) {
+		stopChasing(narjillo);
+
+		if (target == null || !ordinals.containsKey(narjillo))
+			return;
+
+		targets.put(narjillo, target);
+		if (!pursuers.containsKey(target))
+			pursuers.put(target, new TreeMap<>());
+		pursuers.get(target).put(ordinals.get(narjillo), narjillo);
+	}
+
+	public synchronized List<Narjillo> getPursuersOf(Thing target) {
+		TreeMap<Long, Narjillo> result = pursuers.get(target);
+		if (result == null)
+			return new ArrayList<>();
+		return new ArrayList<>(result.values());
+	}
+
+	/**
+	 * Returns the narjillos chasing any of the targets, in the order in which
+	 * they were added to the index.
+	 */
+	public synchronized List<Narjillo> getPursuersOf(Collection<? extends Thing> targets) {
+		TreeMap<Long, Narjillo> result = new TreeMap<>();
+		for (Thing target : targets) {
+			TreeMap<Long, Narjillo> targetPursuers = pursuers.get(target);
+			if (targetPursuers != null)
+				result.putAll(targetPursuers);
+		}
+		return new ArrayList<>(result.values());
+	}
+
+	private void stopChasing(Narjillo narjillo) {
+		Thing oldTarget = targets.remove(narjillo);
+		if (oldTarget == null)
+			return;
+
+		TreeMap<Long, Narjillo> oldTargetPursuers = pursuers.get(oldTarget);
+		oldTargetPursuers.remove(ordinals.get(narjillo));
+		if (oldTargetPursuers.isEmpty())
+			pursuers.remove(oldTarget);
+	}
+}
@@ -0,0 +1,64 @@
+package org.nusco.narjillos.experiment.environment;
+
+import org.nusco.narjillos.core.physics.Vector;
+
+/**
+ * The shape of the dish's edges.
+ *
+ * In an OPEN dish, things can wander anywhere, and the ones that leave the
+ * dish end up in the spatial index's outer space (where searches are slow).
+ * The other topologies keep everything inside the dish: WALLS stop things at
+ * the edges, DEADLY_WALLS also kill the narjillos that touch them, and in a
+ * TORUS things that leave from one edge come back from the opposite edge.
+ */
+public enum Topology {
+
+	OPEN, WALLS, DEADLY_WALLS, TORUS;
+
+	public static Topology fromName(String name) {
+		for (Topology topology : values())
+			if (topology.name().equalsIgnoreCase(name))
+				return topology;
+		throw new RuntimeException("Unknown topology: \"" + name + "\"");
+	}
+
+	/**
+	 * Returns the position where a thing at the given position should be in
+	 * a dish of the given size.
+	 */
+	public Vector constrain(Vector position, long size) {
+		switch (this) {
+		case OPEN:
+			return position;
+		case WALLS:
+		case DEADLY_WALLS:
+			return Vector.cartesian(clamp(position.x, size), clamp(position.y, size));
+		case TORUS:
+			return Vector.cartesian(wrap(position.x, size), wrap(position.y, size));
+		default:
+			throw new RuntimeException("Unknown topology: " + this);
+		}
+	}
+
+	public boolean kills() {
+		return this == DEADLY_WALLS;
+	}
+
+	public boolean wrapsAround() {
+		return this == TORUS;
+	}
+
+	// The upper edge is outside the dish, so we stop just before it.
+	private static double clamp(double value, long size) {
+		return Math.max(0, Math.min(Math.nextDown((double) size), value));
+	}
+
+	private static double wrap(double value, long size) {
+		double result = value % size;
+		if (result < 0)
+			result += size;
+		if (result >= size) // rounding errors for tiny negative values
+			result = 0;
+		return result;
+	}
+}
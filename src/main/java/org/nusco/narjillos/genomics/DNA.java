@@ -35,7 +35,11 @@ public class DNA implements Iterable<Chromosome> {
 	}
 
 	public static DNA random(long id, NumGen numGen) {
-		return new DNA(id, randomGenes(getDefaultSize(), numGen), 0);
+		return random(id, numGen, Configuration.DEFAULT);
+	}
+
+	public static DNA random(long id, NumGen numGen, Configuration configuration) {
+		return new DNA(id, randomGenes(Chromosome.SIZE * configuration.dnaNumberOfChromosomes, numGen), 0);
 	}
 
 	public long getId() {
@@ -51,12 +55,16 @@ public class DNA implements Iterable<Chromosome> {
 	}
 
 	public DNA mutate(long id, NumGen numGen) {
+		return mutate(id, numGen, Configuration.DEFAULT);
+	}
+
+	public DNA mutate(long id, NumGen numGen, Configuration configuration) {
 		List<Integer[]> resultChromosomes = new LinkedList<>();
 		for (Chromosome chromosome : this)
-			if (isChromosomeMutation(numGen))
-				resultChromosomes.addAll(mutateChromosome(numGen, chromosome));
+			if (isChromosomeMutation(numGen, configuration))
+				resultChromosomes.addAll(mutateChromosome(numGen, chromosome, configuration));
 			else
-				resultChromosomes.add(copyChromosome(chromosome, numGen));
+				resultChromosomes.add(copyChromosome(chromosome, numGen, configuration));
 		Integer[] resultGenes = flattenToGenes(resultChromosomes);
 		return new DNA(id, padToSameGenomeLength(resultGenes, numGen), getId());
 	}
@@ -144,10 +152,6 @@ public class DNA implements Iterable<Chromosome> {
 		return result;
 	}
 
-	private static int getDefaultSize() {
-		return Chromosome.SIZE * Configuration.DNA_NUMBER_OF_CHROMOSOMES;
-	}
-
 	private static Integer[] randomGenes(int size, NumGen numGen) {
 		Integer[] genes = new Integer[size];
 		for (int i = 0; i < genes.length; i++)
@@ -155,13 +159,13 @@ public class DNA implements Iterable<Chromosome> {
 		return genes;
 	}
 
-	private List<Integer[]> mutateChromosome(NumGen numGen, Chromosome chromosome) {
+	private List<Integer[]> mutateChromosome(NumGen numGen, Chromosome chromosome, Configuration configuration) {
 		if (isSkipMutation(numGen))
 			return new LinkedList<Integer[]>();
 
 		// duplicate the chromosome
 		List<Integer[]> resultChromosomes = new LinkedList<>();
-		Integer[] copiedGenes = copyChromosome(chromosome, numGen);
+		Integer[] copiedGenes = copyChromosome(chromosome, numGen, configuration);
 		resultChromosomes.add(copiedGenes);
 		resultChromosomes.add(copiedGenes);
 		return resultChromosomes;
@@ -171,31 +175,31 @@ public class DNA implements Iterable<Chromosome> {
 		return numGen.nextDouble() > 0.5;
 	}
 
-	private Integer[] copyChromosome(Chromosome chromosome, NumGen numGen) {
+	private Integer[] copyChromosome(Chromosome chromosome, NumGen numGen, Configuration configuration) {
 		Integer[] result = new Integer[Chromosome.SIZE];
 		for (int i = 0; i < result.length; i++)
-			result[i] = copyWithMutations(chromosome.getGene(i), numGen);
+			result[i] = copyWithMutations(chromosome.getGene(i), numGen, configuration);
 		return result;
 	}
 
-	private int copyWithMutations(int gene, NumGen numGen) {
-		return isMutantGene(numGen) ? mutate(gene, numGen) : gene;
+	private int copyWithMutations(int gene, NumGen numGen, Configuration configuration) {
+		return isMutantGene(numGen, configuration) ? mutate(gene, numGen, configuration) : gene;
 	}
 
-	private boolean isMutantGene(NumGen numGen) {
-		return numGen.nextDouble() < Configuration.DNA_MUTATION_RATE;
+	private boolean isMutantGene(NumGen numGen, Configuration configuration) {
+		return numGen.nextDouble() < configuration.dnaMutationRate;
 	}
 
-	private boolean isChromosomeMutation(NumGen numGen) {
-		return numGen.nextDouble() < (Configuration.DNA_MUTATION_RATE / (Chromosome.SIZE * 2));
+	private boolean isChromosomeMutation(NumGen numGen, Configuration configuration) {
+		return numGen.nextDouble() < (configuration.dnaMutationRate / (Chromosome.SIZE * 2));
 	}
 
 	private Integer[] clipGenes(Integer[] genes) {
 		return (genes.length > 0) ? clipToByteSize(genes) : new Integer[] { 0 };
 	}
 
-	private int mutate(int gene, NumGen numGen) {
-		int randomFactor = (int) ((numGen.nextDouble() * Configuration.DNA_MUTATION_RANGE * 2) - Configuration.DNA_MUTATION_RANGE);
+	private int mutate(int gene, NumGen numGen, Configuration configuration) {
+		int randomFactor = (int) ((numGen.nextDouble() * configuration.dnaMutationRange * 2) - configuration.dnaMutationRange);
 		return gene + randomFactor;
 	}
 
@@ -6,6 +6,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.core.utilities.NumGen;
 
 /**
@@ -22,23 +23,43 @@ public class GenePool implements Cloneable {
 	}
 
 	public DNA createDna(String dna, NumGen numGen) {
-		DNA result = new DNA(numGen.nextSerial(), dna, DNA.NO_PARENT);
+		DNA result = new DNA(nextDnaId(numGen), dna, DNA.NO_PARENT);
 		addToPool(result);
 		return result;
 	}
 
 	public DNA createRandomDna(NumGen numGen) {
-		DNA result = DNA.random(numGen.nextSerial(), numGen);
+		return createRandomDna(numGen, Configuration.DEFAULT);
+	}
+
+	public DNA createRandomDna(NumGen numGen, Configuration configuration) {
+		DNA result = DNA.random(nextDnaId(numGen), numGen, configuration);
 		addToPool(result);
 		return result;
 	}
 
 	public DNA mutateDna(DNA parent, NumGen numGen) {
-		DNA result = parent.mutate(numGen.nextSerial(), numGen);
+		return mutateDna(parent, numGen, Configuration.DEFAULT);
+	}
+
+	public DNA mutateDna(DNA parent, NumGen numGen, Configuration configuration) {
+		DNA result = parent.mutate(nextDnaId(numGen), numGen, configuration);
 		addToPool(result);
 		return result;
 	}
 
+	/**
+	 * Adds DNA that was created by another gene pool (for example, the DNA
+	 * of a narjillo that moves in from another region of the dish). If the
+	 * DNA was already in this pool, it comes back to life.
+	 */
+	public void add(DNA dna) {
+		boolean isNew = dnaLog.getDna(dna.getId()) == null;
+		dnaLog.save(dna);
+		if (isNew)
+			allDnaCountCache++;
+	}
+
 	public void remove(DNA dna) {
 		dnaLog.markAsDead(dna.getId());
 	}
@@ -137,6 +158,14 @@ public class GenePool implements Cloneable {
 		return dnaLog.getLiveDna();
 	}
 
+	/**
+	 * Returns the id of the next DNA in the pool. By default, ids come from
+	 * the serial numbers of the NumGen.
+	 */
+	protected long nextDnaId(NumGen numGen) {
+		return numGen.nextSerial();
+	}
+
 	private void addToPool(DNA dna) {
 		dnaLog.save(dna);
 		allDnaCountCache++;
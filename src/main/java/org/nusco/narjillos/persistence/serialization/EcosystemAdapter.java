@@ -1,9 +1,12 @@
 package org.nusco.narjillos.persistence.serialization;
 
 import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.nusco.narjillos.core.chemistry.Atmosphere;
 import org.nusco.narjillos.core.things.FoodPellet;
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.creature.Egg;
 import org.nusco.narjillos.creature.Narjillo;
 import org.nusco.narjillos.experiment.environment.Ecosystem;
@@ -14,6 +17,7 @@ import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
 
@@ -24,6 +28,9 @@ class EcosystemAdapter implements JsonSerializer<Ecosystem>, JsonDeserializer<Ec
 		JsonObject jsonObject = new JsonObject();
 		jsonObject.addProperty("size", ecosystem.getSize());
 
+		final JsonElement configuration = context.serialize(ecosystem.getConfiguration().toMap());
+		jsonObject.add("configuration", configuration);
+
 		final JsonElement foodPellets = context.serialize(ecosystem.getThings("food_pellet"));
 		jsonObject.add("foodPellets", foodPellets);
 
@@ -44,7 +51,8 @@ class EcosystemAdapter implements JsonSerializer<Ecosystem>, JsonDeserializer<Ec
 		JsonObject jsonObject = json.getAsJsonObject();
 
 		long size = jsonObject.get("size").getAsLong();
-		Ecosystem result = new Ecosystem(size, false);
+		Configuration configuration = deserializeConfiguration(jsonObject.get("configuration"));
+		Ecosystem result = new Ecosystem(size, configuration);
 
 		JsonArray foodPellets = jsonObject.get("foodPellets").getAsJsonArray();
 		for (int i = 0; i < foodPellets.size(); i++) {
@@ -57,6 +65,7 @@ class EcosystemAdapter implements JsonSerializer<Ecosystem>, JsonDeserializer<Ec
 		for (int i = 0; i < eggs.size(); i++) {
 			JsonElement jsonEgg = eggs.get(i);
 			Egg egg = context.deserialize(jsonEgg, Egg.class);
+			egg.setConfiguration(configuration);
 			result.insert(egg);
 		}
 
@@ -73,4 +82,33 @@ class EcosystemAdapter implements JsonSerializer<Ecosystem>, JsonDeserializer<Ec
 
 		return result;
 	}
+
+	// Experiments saved before configurations were saved with them get the
+	// default configuration. Values that didn't exist yet when the
+	// experiment was saved also come from the default configuration.
+	private Configuration deserializeConfiguration(JsonElement jsonConfiguration) {
+		if (jsonConfiguration == null)
+			return Configuration.DEFAULT;
+		Map<String, Map<String, Object>> data = new LinkedHashMap<>();
+		for (Map.Entry<String, JsonElement> jsonSection : jsonConfiguration.getAsJsonObject().entrySet()) {
+			Map<String, Object> section = new LinkedHashMap<>();
+			for (Map.Entry<String, JsonElement> entry : jsonSection.getValue().getAsJsonObject().entrySet())
+				section.put(entry.getKey(), toConfigurationValue(entry.getValue().getAsJsonPrimitive()));
+			data.put(jsonSection.getKey(), section);
+		}
+		return Configuration.DEFAULT.with(data);
+	}
+
+	// Keep integers as integers, like the YAML parser does, so that a
+	// configuration looks the same after a round trip through JSON.
+	private Object toConfigurationValue(JsonPrimitive value) {
+		if (value.isBoolean())
+			return value.getAsBoolean();
+		if (!value.isNumber())
+			return value.getAsString();
+		String number = value.getAsString();
+		if (number.contains(".") || number.contains("e") || number.contains("E"))
+			return value.getAsDouble();
+		return value.getAsInt();
+	}
 }
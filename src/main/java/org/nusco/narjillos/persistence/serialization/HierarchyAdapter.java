@@ -21,12 +21,22 @@ abstract class HierarchyAdapter<T> implements JsonSerializer<T>, JsonDeserialize
 	protected void postDeserialize(T obj) {
 	}
 
+	// Override these two if you need a custom format for the data.
+
+	protected JsonElement serializeData(T obj, JsonSerializationContext context) {
+		return context.serialize(obj);
+	}
+
+	protected T deserializeData(JsonElement data, Class<?> clazz, JsonDeserializationContext context) {
+		return context.deserialize(data, clazz);
+	}
+
 	@Override
 	public JsonElement serialize(T obj, Type type, JsonSerializationContext context) {
 		preSerialize(obj);
 		JsonObject result = new JsonObject();
 		result.addProperty("type", getTypeTag(obj));
-		result.add("data", context.serialize(obj));
+		result.add("data", serializeData(obj, context));
 		return result;
 	}
 
@@ -34,7 +44,7 @@ abstract class HierarchyAdapter<T> implements JsonSerializer<T>, JsonDeserialize
 	public T deserialize(JsonElement json, Type type, JsonDeserializationContext context) throws JsonParseException {
 		JsonObject jsonObject = json.getAsJsonObject();
 		String specificType = jsonObject.get("type").getAsString();
-		T result = context.deserialize(jsonObject.get("data"), getClass(specificType));
+		T result = deserializeData(jsonObject.get("data"), getClass(specificType), context);
 		postDeserialize(result);
 		return result;
 	}
@@ -1,8 +1,13 @@
 package org.nusco.narjillos.persistence.serialization;
 
+import org.nusco.narjillos.creature.body.pns.DelayNerve;
 import org.nusco.narjillos.creature.body.pns.Nerve;
 
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.google.gson.JsonSerializationContext;
 
 class NerveAdapter extends HierarchyAdapter<Nerve> {
 
@@ -17,4 +22,31 @@ class NerveAdapter extends HierarchyAdapter<Nerve> {
 	protected Class<?> getClass(String typeTag) throws JsonParseException {
 		return getClassForName(NERVE_PACKAGE + "." + typeTag + "Nerve");
 	}
-}
\ No newline at end of file
+
+	// DelayNerves store their signals as a "buffer" list, from the oldest
+	// to the newest. (That's how they were stored when they kept their
+	// signals in a LinkedList, so old experiments can still be loaded).
+
+	@Override
+	protected JsonElement serializeData(Nerve nerve, JsonSerializationContext context) {
+		if (!(nerve instanceof DelayNerve))
+			return super.serializeData(nerve, context);
+
+		DelayNerve delayNerve = (DelayNerve) nerve;
+		JsonObject result = new JsonObject();
+		result.addProperty("delay", delayNerve.getDelay());
+		result.add("buffer", context.serialize(delayNerve.getPendingSignals()));
+		return result;
+	}
+
+	@Override
+	protected Nerve deserializeData(JsonElement data, Class<?> clazz, JsonDeserializationContext context) {
+		if (clazz != DelayNerve.class)
+			return super.deserializeData(data, clazz, context);
+
+		JsonObject jsonObject = data.getAsJsonObject();
+		int delay = jsonObject.get("delay").getAsInt();
+		double[] pendingSignals = context.deserialize(jsonObject.get("buffer"), double[].class);
+		return new DelayNerve(delay, pendingSignals);
+	}
+}
@@ -22,6 +22,9 @@ import org.nusco.narjillos.persistence.serialization.JSON;
  * serialized and then deserialized, so this test also checks that top-level
  * serialization works.
  * 
+ * The two experiments also run with a different number of threads, so this
+ * test checks that the results don't depend on it.
+ * 
  * To check whether that's true, we run two experiments for about a thousands
  * cycles and compare the results. This is not particularly safe, because bugs
  * with non-deterministic behavior may only become visible after tens of
@@ -72,10 +75,20 @@ public class DeterministicExperimentTest {
 	}
 
 	public static void runTest(int cycles) throws IOException {
+		int originalNumberOfBackgroundThreads = Ecosystem.numberOfBackgroundThreads;
+		try {
+			runTest(cycles, 4, 1);
+		} finally {
+			Ecosystem.numberOfBackgroundThreads = originalNumberOfBackgroundThreads;
+		}
+	}
+
+	private static void runTest(int cycles, int threads1, int threads2) throws IOException {
 		int halfCycles = cycles / 2;
 
 		// Run an experiment for a few ticks
-		Experiment experiment1 = new Experiment(1234, new Ecosystem(Configuration.ECOSYSTEM_BLOCKS_PER_EDGE_IN_APP * 1000, false), "deterministic_experiment_test");
+		Ecosystem.numberOfBackgroundThreads = threads1;
+		Experiment experiment1 = new Experiment(1234, new Ecosystem(Configuration.DEFAULT.ecosystemBlocksPerEdgeInApp * 1000), "deterministic_experiment_test");
 		genePoolLog1 = new PersistentDNALog("test_database1");
 		historyLog1 = new PersistentHistoryLog("test_database1");
 		experiment1.setGenePool(new GenePool(genePoolLog1));
@@ -95,7 +108,8 @@ public class DeterministicExperimentTest {
 		genePoolLog1.open();
 		historyLog1.open();
 
-		// Deserialize the experiment
+		// Deserialize the experiment (with a different number of threads)
+		Ecosystem.numberOfBackgroundThreads = threads2;
 		Experiment experiment2 = JSON.fromJson(json, Experiment.class);
 		genePoolLog2 = new PersistentDNALog("test_database2");
 		historyLog2 = new PersistentHistoryLog("test_database2");
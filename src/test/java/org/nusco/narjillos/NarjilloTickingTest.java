@@ -9,6 +9,7 @@ import org.junit.Test;
 import org.nusco.narjillos.core.chemistry.Atmosphere;
 import org.nusco.narjillos.core.physics.Vector;
 import org.nusco.narjillos.core.things.LifeFormEnergy;
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.core.utilities.NumGen;
 import org.nusco.narjillos.creature.Narjillo;
 import org.nusco.narjillos.creature.body.Organ;
@@ -74,12 +75,12 @@ public class NarjilloTickingTest {
 		// Then tick the narjillo for a while, and stop the readers.
 		startReadThreads(narjillo);
 		for (int i = 0; i < 50; i++)
-			narjillo.tick(atmosphere);
+			narjillo.tick(atmosphere, Configuration.DEFAULT);
 		stopReadThreads();
 
 		// Tick one last time to ensure that any cached value is correctly
 		// updated at the end of the tick, even when no readers are around.
-		narjillo.tick(atmosphere);
+		narjillo.tick(atmosphere, Configuration.DEFAULT);
 
 		String currentState = JSON.toJson(narjillo, Narjillo.class);
 
@@ -11,7 +11,7 @@ import org.nusco.narjillos.persistence.VolatileHistoryLog;
 public class SimpleExperiment extends Experiment {
 
 	public SimpleExperiment() {
-		super(1234, new Ecosystem(Configuration.ECOSYSTEM_BLOCKS_PER_EDGE_IN_APP * 1000, false), "simple_experiment-" + Version.read());
+		super(1234, new Ecosystem(Configuration.DEFAULT.ecosystemBlocksPerEdgeInApp * 1000), "simple_experiment-" + Version.read());
 		setGenePool(new GenePool(new VolatileDNALog()));
 		setHistoryLog(new VolatileHistoryLog());
 		populate();
@@ -0,0 +1,26 @@
+package org.nusco.narjillos;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class SweepRunnerTest {
+
+	@Test
+	public void parsesSingleSeeds() {
+		assertEquals(Arrays.asList(1L, 42L, 7L), SweepRunner.parseSeeds("1,42, 7"));
+	}
+
+	@Test
+	public void parsesRangesOfSeeds() {
+		assertEquals(Arrays.asList(1L, 10L, 11L, 12L), SweepRunner.parseSeeds("1,10-12"));
+	}
+
+	@Test
+	public void namesConfigurationsAfterTheirFiles() {
+		assertEquals("fast", SweepRunner.toConfigurationName("configs/fast.yaml"));
+		assertEquals("more_food", SweepRunner.toConfigurationName(" more-food.yaml"));
+	}
+}
@@ -0,0 +1,101 @@
+package org.nusco.narjillos.application;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.experiment.ExperimentHistoryEntry;
+
+public class SweepTest {
+
+	private static final Configuration SMALL_DISH = Configuration.DEFAULT.with("ecosystem", "blocks_per_edge_in_experiment", 1);
+	private static final long TICKS = 300;
+
+	@Test
+	public void returnsTheResultsInTheSameOrderAsTheExperiments() {
+		Sweep sweep = new Sweep("0.0.0", TICKS, false);
+		sweep.addExperiment(3, null, null, SMALL_DISH, null);
+		sweep.addExperiment(1, null, null, SMALL_DISH, null);
+		sweep.addExperiment(2, null, null, SMALL_DISH, null);
+
+		List<Sweep.Result> results = sweep.run(2);
+
+		assertEquals(3, results.size());
+		assertEquals(3, results.get(0).seed);
+		assertEquals(1, results.get(1).seed);
+		assertEquals(2, results.get(2).seed);
+		assertEquals("3-0.0.0", results.get(0).experimentId);
+		assertEquals("random", results.get(0).dnaName);
+	}
+
+	@Test
+	public void concurrentExperimentsEndUpInTheSameStateAsSequentialOnes() {
+		Sweep concurrentSweep = new Sweep("0.0.0", TICKS, false);
+		for (long seed = 1; seed <= 3; seed++)
+			concurrentSweep.addExperiment(seed, null, null, SMALL_DISH, null);
+		List<Sweep.Result> concurrentResults = concurrentSweep.run(3);
+
+		for (int i = 0; i < concurrentResults.size(); i++) {
+			Sweep sequentialSweep = new Sweep("0.0.0", TICKS, false);
+			sequentialSweep.addExperiment(i + 1, null, null, SMALL_DISH, null);
+			Sweep.Result sequentialResult = sequentialSweep.run(1).get(0);
+
+			assertSameState(sequentialResult.finalEntry, concurrentResults.get(i).finalEntry);
+		}
+	}
+
+	@Test
+	public void namesExperimentsAfterTheirDna() {
+		Sweep sweep = new Sweep("0.0.0", 1, false);
+		sweep.addExperiment(1, "{001_002_003_004_005_006_007_008_009_010_011_012_013_014}", "mydna", SMALL_DISH, null);
+
+		Sweep.Result result = sweep.run(1).get(0);
+
+		assertEquals("1-0.0.0-mydna", result.experimentId);
+		assertEquals("mydna", result.dnaName);
+	}
+
+	@Test
+	public void runsExperimentsWithDifferentConfigurationsSideBySide() {
+		Configuration moreFood = SMALL_DISH.with("ecosystem", "food_density_per_block", 10.0);
+		Sweep sweep = new Sweep("0.0.0", 1, false);
+		sweep.addExperiment(1, null, null, SMALL_DISH, null);
+		sweep.addExperiment(1, null, null, moreFood, "morefood");
+
+		List<Sweep.Result> results = sweep.run(2);
+
+		assertEquals("1-0.0.0", results.get(0).experimentId);
+		assertEquals("default", results.get(0).configurationName);
+		assertEquals("1-0.0.0-morefood", results.get(1).experimentId);
+		assertEquals("morefood", results.get(1).configurationName);
+		assertTrue(results.get(1).finalEntry.numberOfFoodPellets > results.get(0).finalEntry.numberOfFoodPellets);
+	}
+
+	@Test
+	public void takesTheSizeOfTheDishFromTheConfiguration() {
+		Configuration smallDish = SMALL_DISH.with("ecosystem", "food_density_per_block", 10.0);
+		Configuration biggerDish = smallDish.with("ecosystem", "blocks_per_edge_in_experiment", 2);
+		Sweep sweep = new Sweep("0.0.0", 1, false);
+		sweep.addExperiment(1, null, null, smallDish, "small");
+		sweep.addExperiment(1, null, null, biggerDish, "bigger");
+
+		List<Sweep.Result> results = sweep.run(2);
+
+		// The initial food grows with the area of the dish.
+		assertTrue(results.get(1).finalEntry.numberOfFoodPellets > 3 * results.get(0).finalEntry.numberOfFoodPellets);
+	}
+
+	private void assertSameState(ExperimentHistoryEntry expected, ExperimentHistoryEntry actual) {
+		// The running time is different from run to run, so I don't compare it.
+		assertEquals(expected.ticks, actual.ticks);
+		assertEquals(expected.numberOfNarjillos, actual.numberOfNarjillos);
+		assertEquals(expected.numberOfFoodPellets, actual.numberOfFoodPellets);
+		assertEquals(expected.dnaPoolSize, actual.dnaPoolSize);
+		assertEquals(expected.oxygen, actual.oxygen, 0.0);
+		assertEquals(expected.hydrogen, actual.hydrogen, 0.0);
+		assertEquals(expected.nitrogen, actual.nitrogen, 0.0);
+	}
+}
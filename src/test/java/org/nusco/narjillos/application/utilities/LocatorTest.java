@@ -21,7 +21,7 @@ public class LocatorTest {
 
 	@Before
 	public void initialize() {
-		ecosystem = new Ecosystem(1000, false);
+		ecosystem = new Ecosystem(1000);
 		locator = new Locator(ecosystem);
 	}
 
@@ -69,7 +69,7 @@ public class LocatorTest {
 
 	@Test
 	public void returnsNullIfTheEcosystemContainsNoNarjillos() {
-		Locator emptyLocator = new Locator(new Ecosystem(1000, false));
+		Locator emptyLocator = new Locator(new Ecosystem(1000));
 
 		assertNull(emptyLocator.findNarjilloAt(Vector.cartesian(150, 150)));
 	}
@@ -9,6 +9,7 @@ import static org.nusco.narjillos.core.chemistry.Element.ZERO;
 import org.junit.Test;
 import org.nusco.narjillos.core.chemistry.Atmosphere;
 import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.core.utilities.NumGen;
 
 public class AtmosphereTest {
 
@@ -34,7 +35,7 @@ public class AtmosphereTest {
 	public void theDefaultInitialLevelIsReadFromConfiguration() {
 		Atmosphere atmosphere = new Atmosphere();
 		
-		assertEquals(Configuration.ECOSYSTEM_INITIAL_ELEMENT_LEVEL, atmosphere.getAmountOf(OXYGEN), 0.0);
+		assertEquals(Configuration.DEFAULT.ecosystemInitialElementLevel, atmosphere.getAmountOf(OXYGEN), 0.0);
 	}
 
 	@Test
@@ -125,4 +126,58 @@ public class AtmosphereTest {
 		assertEquals(15, atmosphere.getAmountOf(HYDROGEN), 0.0);
 		assertEquals(15, atmosphere.getAmountOf(NITROGEN), 0.0);
 	}
+
+	@Test
+	public void convertsBatchesOfElements() {
+		Atmosphere atmosphere = new Atmosphere(10);
+		Conversions conversions = new Conversions();
+		conversions.add(OXYGEN, HYDROGEN);
+		conversions.add(OXYGEN, NITROGEN);
+		conversions.add(NITROGEN, HYDROGEN);
+		conversions.add(ZERO, HYDROGEN);
+
+		atmosphere.convert(conversions);
+
+		assertEquals(8, atmosphere.getAmountOf(OXYGEN));
+		assertEquals(12, atmosphere.getAmountOf(HYDROGEN));
+		assertEquals(10, atmosphere.getAmountOf(NITROGEN));
+	}
+
+	@Test
+	public void convertsBatchesInOrderWhenElementsRunOut() {
+		Atmosphere atmosphere = new Atmosphere(1);
+		Conversions conversions = new Conversions();
+		conversions.add(OXYGEN, HYDROGEN);
+		conversions.add(OXYGEN, HYDROGEN);
+		conversions.add(HYDROGEN, OXYGEN);
+		conversions.add(OXYGEN, NITROGEN);
+
+		atmosphere.convert(conversions);
+
+		assertEquals(0, atmosphere.getAmountOf(OXYGEN));
+		assertEquals(1, atmosphere.getAmountOf(HYDROGEN));
+		assertEquals(2, atmosphere.getAmountOf(NITROGEN));
+	}
+
+	@Test
+	public void batchesGiveTheSameResultsAsSingleConversions() {
+		NumGen numGen = new NumGen(1234);
+		Element[] elements = Element.values();
+
+		for (int round = 0; round < 100; round++) {
+			Atmosphere atmosphere1 = new Atmosphere(10);
+			Atmosphere atmosphere2 = new Atmosphere(10);
+			Conversions conversions = new Conversions();
+
+			for (int i = 0; i < 30; i++) {
+				Element fromElement = elements[(int) (numGen.nextDouble() * elements.length)];
+				Element toElement = elements[(int) (numGen.nextDouble() * elements.length)];
+				atmosphere1.convert(fromElement, toElement);
+				conversions.add(fromElement, toElement);
+			}
+			atmosphere2.convert(conversions);
+
+			assertEquals(atmosphere1.toString(), atmosphere2.toString());
+		}
+	}
 }
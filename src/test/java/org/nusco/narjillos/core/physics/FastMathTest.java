@@ -89,6 +89,46 @@ public class FastMathTest {
 		assertEqualsAtan(-VERY_LARGE, -VERY_SMALL);
 	}
 	
+	@Test
+	public void calculatesTheSameArcTangentsAsTheOriginalHugeTable() {
+		// FastMath used to store the arctangent of every ratio up to
+		// tan(89.99), at a 1/10000th resolution. Here we replay the
+		// original algorithm on the fly, and check that the results are
+		// still exactly the same. (Otherwise, old experiments would
+		// evolve differently).
+		final int ANGLE_RESOLUTION = 100;
+		final int ATAN_RESOLUTION = 10_000;
+		double[] tanTable = new double[90 * ANGLE_RESOLUTION + 1];
+		double degrees = 0;
+		for (int i = 0; i < tanTable.length; i++) {
+			tanTable[i] = Math.tan(Math.toRadians(degrees));
+			degrees += 1.0 / ANGLE_RESOLUTION;
+		}
+		tanTable[tanTable.length - 1] = Double.MAX_VALUE;
+		int originalTableLength = (int) (tanTable[tanTable.length - 2] * ATAN_RESOLUTION + 1);
+
+		int indexInTanTable = 0;
+		for (int i = 0; i < originalTableLength + ATAN_RESOLUTION; i += 7) {
+			double ratio = ((double) i) / ATAN_RESOLUTION + 0.00003;
+			int indexInOriginalTable = (int) (ratio * ATAN_RESOLUTION);
+
+			double expectedAtan;
+			if (indexInOriginalTable == 0)
+				expectedAtan = 0;
+			else if (indexInOriginalTable >= originalTableLength)
+				expectedAtan = 90;
+			else {
+				double tan = ((double) indexInOriginalTable) / ATAN_RESOLUTION;
+				while (tanTable[indexInTanTable] <= tan)
+					indexInTanTable++;
+				expectedAtan = ((double) indexInTanTable) / ANGLE_RESOLUTION;
+			}
+
+			assertEquals("Mismatched atan(" + ratio + ")", expectedAtan, FastMath.atan(ratio, 1), 0.0);
+			assertEquals("Mismatched atan(" + -ratio + ")", -expectedAtan, FastMath.atan(-ratio, 1), 0.0);
+		}
+	}
+
 	// Very slow test, so keep it disabled by default
 	//@Test
 	public void calculatesApproximatedArcTangent() {
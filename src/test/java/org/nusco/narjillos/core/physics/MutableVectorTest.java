@@ -0,0 +1,52 @@
+package org.nusco.narjillos.core.physics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class MutableVectorTest {
+
+	@Test
+	public void changesInPlace() {
+		MutableVector vector = new MutableVector().set(10, 20);
+
+		MutableVector result = vector.plus(3, -4).minus(1, 1).by(-0.5);
+
+		assertSame(vector, result);
+		assertEquals(Vector.cartesian(-6, -7.5), vector.toVector());
+	}
+
+	@Test
+	public void givesTheSameResultsAsVector() throws ZeroVectorAngleException {
+		Vector vector = Vector.polar(37, 12.3);
+		Vector other = Vector.polar(-101, 4.5);
+
+		assertEquals(vector, new MutableVector().setPolar(37, 12.3).toVector());
+		assertEquals(vector.plus(other), new MutableVector().set(vector).plus(other.x, other.y).toVector());
+		assertEquals(vector.minus(other), new MutableVector().set(vector).minus(other.x, other.y).toVector());
+		assertEquals(vector.by(0.3), new MutableVector().set(vector).by(0.3).toVector());
+		assertEquals(vector.getLength(), new MutableVector().set(vector).getLength(), 0.0);
+		assertEquals(vector.getAngle(), new MutableVector().set(vector).getAngle(), 0.0);
+	}
+
+	@Test
+	public void hasANormalComponentOnAnotherVector() throws ZeroVectorAngleException {
+		MutableVector vector = new MutableVector().setPolar(45, 10);
+
+		vector.setNormalComponentOn(10, 0);
+
+		assertEquals(0, vector.x, 0.001);
+		assertEquals(7.0710, vector.y, 0.001);
+	}
+
+	@Test(expected = ZeroVectorAngleException.class)
+	public void hasNoAngleIfItsLengthIsZero() throws ZeroVectorAngleException {
+		new MutableVector().getAngle();
+	}
+
+	@Test(expected = ZeroVectorAngleException.class)
+	public void hasNoNormalComponentOnVectorZero() throws ZeroVectorAngleException {
+		new MutableVector().set(0, 1).setNormalComponentOn(0, 0);
+	}
+}
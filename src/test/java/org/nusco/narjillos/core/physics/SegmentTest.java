@@ -26,6 +26,16 @@ public class SegmentTest {
 		assertEquals(30, segment.getMinimumDistanceFromPoint(Vector.cartesian(120, 0)), 0.001);
 	}
 
+	@Test
+	public void hasAMinimumDistanceFromAPointIfItDoesNotStartAtTheOrigin() {
+		Segment segment = new Segment(Vector.cartesian(1000, 1000), Vector.cartesian(90, 0));
+
+		assertEquals(10, segment.getMinimumDistanceFromPoint(Vector.cartesian(1050, 1010)), 0.001);
+		assertEquals(30, segment.getMinimumDistanceFromPoint(Vector.cartesian(1120, 1000)), 0.001);
+		assertEquals(50, segment.getMinimumDistanceFromPoint(Vector.cartesian(950, 1000)), 0.001);
+		assertEquals(500, segment.getMinimumDistanceFromPoint(Vector.cartesian(500, 1000)), 0.001);
+	}
+
 	@Test
 	public void canCalculateTheMinimumDistanceOnAZeroLengthSegment() {
 		Segment segment = new Segment(Vector.cartesian(90, 0), Vector.cartesian(90, 0));
@@ -33,6 +43,35 @@ public class SegmentTest {
 		assertEquals(40, segment.getMinimumDistanceFromPoint(Vector.cartesian(50, 0)), 0.001);
 	}
 
+	@Test
+	public void hasADistanceFromAnotherSegment() {
+		Segment initialPosition = new Segment(Vector.cartesian(0, 0), Vector.cartesian(10, 0));
+		Segment finalPosition = new Segment(Vector.cartesian(3, 4), Vector.cartesian(10, 0));
+
+		assertEquals(0, finalPosition.getDistanceFrom(initialPosition).x, 0.001);
+		assertEquals(4, finalPosition.getDistanceFrom(initialPosition).y, 0.001);
+	}
+
+	@Test
+	public void hasNoDistanceFromASegmentOfZeroLength() {
+		Segment initialPosition = new Segment(Vector.cartesian(0, 0), Vector.ZERO);
+		Segment finalPosition = new Segment(Vector.cartesian(3, 4), Vector.cartesian(10, 0));
+
+		assertEquals(Vector.ZERO, finalPosition.getDistanceFrom(initialPosition));
+	}
+
+	@Test
+	public void calculatesDistancesOnPrimitiveCoordinates() {
+		Segment segment = new Segment(Vector.cartesian(1000, 1000), Vector.cartesian(90, 30));
+		Segment other = new Segment(Vector.cartesian(990, 1010), Vector.cartesian(80, 50));
+		Vector point = Vector.cartesian(1050, 1030);
+
+		MutableVector distance = Segment.getDistance(1000, 1000, 90, 30, 990, 1010, 80, 50, new MutableVector());
+
+		assertEquals(segment.getDistanceFrom(other), distance.toVector());
+		assertEquals(segment.getMinimumDistanceFromPoint(point), Segment.getMinimumDistanceFromPoint(1000, 1000, 90, 30, 1050, 1030), 0.0);
+	}
+
 	@Test
 	public void hasAnEndPoint() {
 		Segment segment = new Segment(Vector.cartesian(1, 2), Vector.cartesian(4, 6));
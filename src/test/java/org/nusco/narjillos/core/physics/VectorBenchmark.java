@@ -0,0 +1,163 @@
+package org.nusco.narjillos.core.physics;
+
+import java.lang.management.ManagementFactory;
+
+import org.nusco.narjillos.core.utilities.NumGen;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Compares the hot Segment calculations on immutable Vectors (the way they
+ * used to be) with the same calculations on primitives and a reused
+ * MutableVector (the way they are now). It prints the time and the memory
+ * that each takes per operation, and checks that they give the same results.
+ *
+ * This is not a unit test. Run it from the main(), or with "gradle
+ * benchmarkVectors".
+ */
+public class VectorBenchmark {
+
+	private static final int SEGMENTS = 10_000;
+	private static final int ROUNDS = 5;
+	private static final int ITERATIONS = 200;
+
+	private static final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private static Segment[] initialPositions = new Segment[SEGMENTS];
+	private static Segment[] finalPositions = new Segment[SEGMENTS];
+	private static Vector[] points = new Vector[SEGMENTS];
+
+	// Keeps the JIT from throwing away the calculations
+	private static double sink = 0;
+
+	public static void main(String[] args) {
+		NumGen numGen = new NumGen(1234);
+		for (int i = 0; i < SEGMENTS; i++) {
+			initialPositions[i] = new Segment(randomVector(numGen, 1000), randomVector(numGen, 50));
+			finalPositions[i] = new Segment(initialPositions[i].getStartPoint().plus(randomVector(numGen, 5)), randomVector(numGen, 50));
+			points[i] = randomVector(numGen, 1000);
+		}
+
+		System.out.println("Same results: " + (haveSameResults() ? "yes" : "NO"));
+		System.out.println("Operation\t\t\tVectors (ns/op)\tVectors (bytes/op)\tPrimitives (ns/op)\tPrimitives (bytes/op)");
+		run("Segment distance\t\t", VectorBenchmark::distancesWithVectors, VectorBenchmark::distancesWithPrimitives);
+		run("Minimum distance from point", VectorBenchmark::minimumDistancesWithVectors, VectorBenchmark::minimumDistancesWithPrimitives);
+		System.out.println("(ignore this: " + sink + ")");
+	}
+
+	private static void run(String operation, Runnable withVectors, Runnable withPrimitives) {
+		long[] vectorsResult = measure(withVectors);
+		long[] primitivesResult = measure(withPrimitives);
+		System.out.println(operation + "\t" + vectorsResult[0] + "\t\t" + vectorsResult[1] + "\t\t\t" + primitivesResult[0] + "\t\t\t"
+				+ primitivesResult[1]);
+	}
+
+	// Returns the best time and memory per operation over a few rounds.
+	private static long[] measure(Runnable benchmark) {
+		long bestTime = Long.MAX_VALUE;
+		long bestMemory = Long.MAX_VALUE;
+		long threadId = Thread.currentThread().getId();
+		for (int round = 0; round < ROUNDS; round++) {
+			long startMemory = threads.getThreadAllocatedBytes(threadId);
+			long startTime = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++)
+				benchmark.run();
+			long time = System.nanoTime() - startTime;
+			long memory = threads.getThreadAllocatedBytes(threadId) - startMemory;
+			bestTime = Math.min(bestTime, time);
+			bestMemory = Math.min(bestMemory, memory);
+		}
+		long operations = (long) SEGMENTS * ITERATIONS;
+		return new long[] { bestTime / operations, bestMemory / operations };
+	}
+
+	private static void distancesWithVectors() {
+		for (int i = 0; i < SEGMENTS; i++)
+			sink += getDistanceWithVectors(finalPositions[i], initialPositions[i]).x;
+	}
+
+	private static final MutableVector distance = new MutableVector();
+
+	private static void distancesWithPrimitives() {
+		for (int i = 0; i < SEGMENTS; i++) {
+			Segment finalPosition = finalPositions[i];
+			Segment initialPosition = initialPositions[i];
+			Segment.getDistance(finalPosition.getStartPoint().x, finalPosition.getStartPoint().y, finalPosition.getVector().x,
+					finalPosition.getVector().y, initialPosition.getStartPoint().x, initialPosition.getStartPoint().y,
+					initialPosition.getVector().x, initialPosition.getVector().y, distance);
+			sink += distance.x;
+		}
+	}
+
+	private static void minimumDistancesWithVectors() {
+		for (int i = 0; i < SEGMENTS; i++)
+			sink += getMinimumDistanceFromPointWithVectors(finalPositions[i], points[i]);
+	}
+
+	private static void minimumDistancesWithPrimitives() {
+		for (int i = 0; i < SEGMENTS; i++)
+			sink += finalPositions[i].getMinimumDistanceFromPoint(points[i]);
+	}
+
+	private static boolean haveSameResults() {
+		for (int i = 0; i < SEGMENTS; i++) {
+			if (!getDistanceWithVectors(finalPositions[i], initialPositions[i]).equals(finalPositions[i].getDistanceFrom(initialPositions[i])))
+				return false;
+			if (getMinimumDistanceFromPointWithVectors(finalPositions[i], points[i]) != finalPositions[i].getMinimumDistanceFromPoint(points[i]))
+				return false;
+		}
+		return true;
+	}
+
+	// The old Segment.getDistanceFrom().
+	private static Vector getDistanceWithVectors(Segment segment, Segment other) {
+		if (other.getVector().isZero())
+			return Vector.ZERO;
+
+		Vector startPointMovement = segment.getStartPoint().minus(other.getStartPoint());
+		Vector endPointMovement = segment.getEndPoint().minus(other.getEndPoint());
+		Vector movement = startPointMovement.plus(endPointMovement).by(0.5);
+
+		if (movement.isZero())
+			return Vector.ZERO;
+
+		try {
+			double resultAngle = segment.getVector().getAngle() - 90;
+			double resultLength = FastMath.cos(movement.getAngle() - resultAngle) * movement.getLength();
+			return Vector.polar(resultAngle, resultLength);
+		} catch (ZeroVectorAngleException e) {
+			return null;
+		}
+	}
+
+	// The old Segment.getMinimumDistanceFromPoint().
+	private static double getMinimumDistanceFromPointWithVectors(Segment segment, Vector point) {
+		Vector startPoint = segment.getStartPoint();
+		Vector vector = segment.getVector();
+
+		if (vector.isZero())
+			return startPoint.minus(point).getLength();
+
+		double length = vector.getLength();
+
+		if (length < 0.0001)
+			return startPoint.minus(point).getLength();
+
+		double lengthSquared = length * length;
+
+		double t = ((point.x - startPoint.x) * vector.x + (point.y - startPoint.y) * vector.y) / lengthSquared;
+
+		if (t < 0)
+			return startPoint.minus(point).getLength();
+
+		if (t > 1)
+			return segment.getEndPoint().minus(point).getLength();
+
+		Vector projection = startPoint.plus(vector.by(t));
+		return projection.minus(point).getLength();
+	}
+
+	private static Vector randomVector(NumGen numGen, double maxLength) {
+		return Vector.polar(numGen.nextDouble() * 360, numGen.nextDouble() * maxLength);
+	}
+}
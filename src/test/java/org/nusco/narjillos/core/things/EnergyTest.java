@@ -53,7 +53,7 @@ public class EnergyTest {
 	public void increasesByConsumingThings() {
 		energy.steal(otherEnergy);
 
-		double expected = initialValue * Configuration.CREATURE_MAX_ENERGY_TO_INITIAL_ENERGY;
+		double expected = initialValue * Configuration.DEFAULT.creatureMaxEnergyToInitialEnergy;
 		assertEquals(expected, energy.getValue(), 0.001);
 	}
 
@@ -0,0 +1,83 @@
+package org.nusco.narjillos.core.utilities;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class ConfigurationTest {
+
+	@Test
+	public void returnsACopyWithADifferentValue() {
+		Configuration configuration = Configuration.DEFAULT.with("dna", "mutation_rate", 0.5);
+
+		assertEquals(0.5, configuration.dnaMutationRate, 0.0);
+		assertEquals(Configuration.DEFAULT.dnaMutationRange, configuration.dnaMutationRange, 0.0);
+		assertEquals(Configuration.DEFAULT.foodEnergy, configuration.foodEnergy, 0.0);
+	}
+
+	@Test
+	public void neverChanges() {
+		double mutationRate = Configuration.DEFAULT.dnaMutationRate;
+
+		Configuration.DEFAULT.with("dna", "mutation_rate", mutationRate + 1);
+		Configuration.DEFAULT.toMap().get("dna").put("mutation_rate", mutationRate + 1);
+
+		assertEquals(mutationRate, Configuration.DEFAULT.dnaMutationRate, 0.0);
+		assertEquals(mutationRate, Configuration.DEFAULT.toMap().get("dna").get("mutation_rate"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void doesNotAcceptUnknownValues() {
+		Configuration.DEFAULT.with("dna", "no_such_value", 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void doesNotAcceptValuesOfTheWrongType() {
+		Configuration.DEFAULT.with("dna", "mutation_rate", "high");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void complainsAboutMissingFiles() {
+		Configuration.DEFAULT.with(new File("no_such_file.yaml"));
+	}
+
+	@Test
+	public void readsTheValuesToChangeFromAFile() throws IOException {
+		File file = File.createTempFile("configuration_test", ".yaml");
+		try {
+			Files.write(file.toPath(), Arrays.asList("food:", "  energy: 123", "egg:", "  radius: 10"), StandardCharsets.UTF_8);
+
+			Configuration configuration = Configuration.DEFAULT.with(file);
+
+			assertEquals(123, configuration.foodEnergy, 0.0);
+			assertEquals(10, configuration.eggRadius, 0.0);
+			assertEquals(Configuration.DEFAULT.foodRadius, configuration.foodRadius, 0.0);
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void acceptsIntegerValuesInAnyNumericFormat() {
+		Configuration configuration = Configuration.DEFAULT.with("dna", "number_of_chromosomes", 12.0);
+
+		assertEquals(12, configuration.dnaNumberOfChromosomes);
+	}
+
+	@Test
+	public void canBeRebuiltFromItsValues() {
+		Map<String, Map<String, Object>> values = Configuration.DEFAULT.with("organ", "growth_rate", 0.25).toMap();
+
+		Configuration configuration = new Configuration(values);
+
+		assertEquals(0.25, configuration.organGrowthRate, 0.0);
+		assertEquals(values, configuration.toMap());
+	}
+}
@@ -9,6 +9,7 @@ import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 import org.nusco.narjillos.core.chemistry.Atmosphere;
 import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.core.utilities.NumGen;
 import org.nusco.narjillos.genomics.DNA;
 
@@ -51,7 +52,20 @@ public class EggTest {
 	public void onlyHatchesOnce() {
 		waitUntilItHatches(egg);
 		
-		assertFalse(egg.hatch(new NumGen(1)));
+		assertFalse(egg.hatch(new NumGen(1), Configuration.DEFAULT));
+	}
+
+	@Test
+	public void isReadyToHatchAfterTheIncubationPeriod() {
+		while (!egg.isReadyToHatch())
+			egg.tick(atmosphere, Configuration.DEFAULT);
+
+		assertEquals(egg.getIncubationTime(), egg.getAge());
+
+		egg.hatch(Egg.getHatchingAngle(new NumGen(1)), Configuration.DEFAULT);
+
+		assertFalse(egg.isReadyToHatch());
+		assertEquals(100, egg.getHatchedNarjillo().getEnergy().getValue(), 0);
 	}
 
 	@Test
@@ -64,19 +78,19 @@ public class EggTest {
 		for (int i = 0; i < 100; i++) {
 			assertFalse(egg.isDecayed());
 			assertEquals(i / 100.0, egg.getDecay(), 0);
-			egg.tick(atmosphere);
+			egg.tick(atmosphere, Configuration.DEFAULT);
 		}
 
 		assertTrue(egg.isDecayed());
 		assertEquals(1, egg.getDecay(), 0);
 
-		egg.tick(atmosphere);
+		egg.tick(atmosphere, Configuration.DEFAULT);
 		assertEquals(1, egg.getDecay(), 0);
 	}
 
 	private void waitUntilItHatches(Egg egg) {
 		NumGen numGen = new NumGen(1);
-		while (!egg.hatch(numGen))
-			egg.tick(atmosphere);
+		while (!egg.hatch(numGen, Configuration.DEFAULT))
+			egg.tick(atmosphere, Configuration.DEFAULT);
 	}
 }
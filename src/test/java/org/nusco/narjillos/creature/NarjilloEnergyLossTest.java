@@ -7,6 +7,7 @@ import org.junit.Test;
 import org.nusco.narjillos.core.chemistry.Atmosphere;
 import org.nusco.narjillos.core.physics.Vector;
 import org.nusco.narjillos.core.things.LifeFormEnergy;
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.genomics.DNA;
 
 public class NarjilloEnergyLossTest {
@@ -37,7 +38,7 @@ public class NarjilloEnergyLossTest {
 
 		Atmosphere atmosphere = new Atmosphere();
 		for (int i = 0; i < 101; i++)
-			narjilloThatCannotMove.tick(atmosphere);
+			narjilloThatCannotMove.tick(atmosphere, Configuration.DEFAULT);
 
 		assertTrue(narjilloThatCannotMove.isDead());
 	}
@@ -47,7 +48,7 @@ public class NarjilloEnergyLossTest {
 		narjillo.setTarget(Vector.cartesian(1000, 1000));
 		Atmosphere atmosphere = new Atmosphere();
 		for (int i = 0; i < 10000; i++)
-			narjillo.tick(atmosphere);
+			narjillo.tick(atmosphere, Configuration.DEFAULT);
 		return startingEnergy - narjillo.getEnergy().getValue();
 	}
 }
@@ -0,0 +1,85 @@
+package org.nusco.narjillos.creature.body;
+
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.core.utilities.NumGen;
+
+/**
+ * Ticks a large population of bodies twice: once with each body in its own
+ * arrays, and once with all the bodies packed in a BodyStore. It prints the
+ * time per organ for each, and checks that they give the same results.
+ *
+ * The bodies are created one at a time, with other objects allocated in
+ * between (like the creatures in an Ecosystem, that are born at different
+ * times). So the separate bodies end up scattered around the heap.
+ *
+ * This is not a unit test. Run it from the main(), or with "gradle
+ * benchmarkBodyStore".
+ */
+public class BodyStoreBenchmark {
+
+	private static final int BODIES = 20_000;
+	private static final int BODY_PARTS = 20;
+	private static final int TICKS = 50;
+	private static final int ROUNDS = 5;
+
+	// Keeps the JIT from throwing away the calculations
+	private static double sink = 0;
+
+	public static void main(String[] args) {
+		NumGen numGen = new NumGen(1234);
+		Body[] freeBodies = new Body[BODIES];
+		Body[] storedBodies = new Body[BODIES];
+		Object[] clutter = new Object[BODIES];
+		BodyStore store = new BodyStore();
+		for (int i = 0; i < BODIES; i++) {
+			int seed = numGen.nextInt();
+			freeBodies[i] = createBody(new NumGen(seed));
+			clutter[i] = new double[100];
+			storedBodies[i] = createBody(new NumGen(seed));
+			store.add(storedBodies[i]);
+		}
+
+		System.out.println("Bodies\t\tns per organ per tick");
+		System.out.println("Separate\t" + measure(freeBodies));
+		System.out.println("Stored\t\t" + measure(storedBodies));
+		System.out.println("Same results: " + (haveSameResults(freeBodies, storedBodies) ? "yes" : "NO"));
+		System.out.println("(ignore this: " + sink + clutter.length + ")");
+	}
+
+	private static long measure(Body[] bodies) {
+		long bestTime = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS; round++) {
+			long startTime = System.nanoTime();
+			for (int tick = 0; tick < TICKS; tick++)
+				for (Body body : bodies)
+					sink += body.tick(Vector.cartesian(1, tick), Configuration.DEFAULT);
+			bestTime = Math.min(bestTime, System.nanoTime() - startTime);
+		}
+		return bestTime / ((long) BODIES * (BODY_PARTS + 1) * TICKS);
+	}
+
+	private static boolean haveSameResults(Body[] freeBodies, Body[] storedBodies) {
+		for (int i = 0; i < BODIES; i++)
+			if (!freeBodies[i].getCenterOfMass().equals(storedBodies[i].getCenterOfMass()))
+				return false;
+		return true;
+	}
+
+	private static Body createBody(NumGen numGen) {
+		HeadParameters headParameters = new HeadParameters(20, 10);
+		headParameters.setMetabolicRate(1.5);
+		headParameters.setWaveBeatRatio(2);
+		Head head = new Head(headParameters);
+
+		ConnectedOrgan tail = head;
+		for (int i = 0; i < BODY_PARTS; i++) {
+			int angle = numGen.nextInt() % 90;
+			tail = tail.addChild(new BodyPart(20, 10, 0, 0, 0, tail, 3, angle, 20, 30));
+		}
+
+		Body result = new Body(head);
+		result.growToAdultForm();
+		return result;
+	}
+}
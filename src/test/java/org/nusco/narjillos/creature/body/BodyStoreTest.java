@@ -0,0 +1,133 @@
+package org.nusco.narjillos.creature.body;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.persistence.serialization.JSON;
+
+public class BodyStoreTest {
+
+	private final BodyStore store = new BodyStore();
+
+	@Test
+	public void packsTheBodiesInTheOrderTheyWereAdded() {
+		Body body1 = createBody();
+		Body body2 = createBody();
+
+		store.add(body1);
+		store.add(body2);
+
+		assertEquals(0, store.getPosition(body1));
+		assertEquals(1, store.getPosition(body2));
+		assertEquals(2, store.getNumberOfBodies());
+		assertEquals(10, store.getNumberOfOrgans());
+	}
+
+	@Test
+	public void ticksTheBodiesLikeTheyTickOnTheirOwn() {
+		Body[] storedBodies = new Body[] { createBody(), createBody(), createBody() };
+		Body[] freeBodies = new Body[] { createBody(), createBody(), createBody() };
+		for (Body body : storedBodies)
+			store.add(body);
+
+		tick(storedBodies, 50);
+		tick(freeBodies, 50);
+
+		for (int i = 0; i < storedBodies.length; i++)
+			assertEquals(JSON.toJson(freeBodies[i], Body.class), JSON.toJson(storedBodies[i], Body.class));
+	}
+
+	@Test
+	public void compactsTheHolesLeftByRemovedBodies() {
+		Body[] storedBodies = new Body[] { createBody(), createBody(), createBody() };
+		Body[] freeBodies = new Body[] { createBody(), createBody(), createBody() };
+		for (Body body : storedBodies)
+			store.add(body);
+		tick(storedBodies, 10);
+		tick(freeBodies, 10);
+
+		store.remove(storedBodies[0]);
+		store.compact();
+
+		assertFalse(store.contains(storedBodies[0]));
+		assertEquals(-1, store.getPosition(storedBodies[0]));
+		assertEquals(0, store.getPosition(storedBodies[1]));
+		assertEquals(1, store.getPosition(storedBodies[2]));
+		assertEquals(2, store.getNumberOfBodies());
+		assertEquals(10, store.getNumberOfOrgans());
+
+		// All bodies (including the one that left the store) keep working
+		tick(storedBodies, 10);
+		tick(freeBodies, 10);
+		for (int i = 0; i < storedBodies.length; i++)
+			assertEquals(JSON.toJson(freeBodies[i], Body.class), JSON.toJson(storedBodies[i], Body.class));
+	}
+
+	@Test
+	public void growsWhenItRunsOutOfSpace() {
+		Body[] storedBodies = new Body[500];
+		for (int i = 0; i < storedBodies.length; i++) {
+			storedBodies[i] = createBody();
+			store.add(storedBodies[i]);
+		}
+		Body freeBody = createBody();
+
+		tick(storedBodies, 5);
+		tick(new Body[] { freeBody }, 5);
+
+		assertEquals(2500, store.getNumberOfOrgans());
+		for (Body body : storedBodies)
+			assertEquals(JSON.toJson(freeBody, Body.class), JSON.toJson(body, Body.class));
+	}
+
+	@Test
+	public void updatesTheOrgansWhenTheBodiesMove() {
+		Body body1 = createBody();
+		Body body2 = createBody();
+		store.add(body1);
+		store.add(body2);
+		body2.forcePosition(Vector.cartesian(100, 200), 45);
+		Vector endPoint = body2.getHead().getEndPoint();
+
+		store.remove(body1);
+		store.compact();
+
+		assertTrue(store.contains(body2));
+		assertEquals(endPoint, body2.getHead().getEndPoint());
+		assertEquals(Vector.cartesian(100, 200), body2.getStartPoint());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void cannotContainTheSameBodyTwice() {
+		Body body = createBody();
+		store.add(body);
+
+		new BodyStore().add(body);
+	}
+
+	private void tick(Body[] bodies, int ticks) {
+		for (int i = 0; i < ticks; i++)
+			for (Body body : bodies)
+				body.tick(Vector.cartesian(1, i), Configuration.DEFAULT);
+	}
+
+	private Body createBody() {
+		HeadParameters headParameters = new HeadParameters(20, 10);
+		headParameters.setMetabolicRate(1.5);
+		headParameters.setWaveBeatRatio(2);
+		Head head = new Head(headParameters);
+
+		BodyPart child1 = new BodyPart(30, 12, 10, 20, 30, head, 3, 40, 50, 60);
+		head.addChild(child1);
+		BodyPart child2 = new BodyPart(25, 8, -10, 0, 10, head, 5, -40, 30, -20);
+		head.addChild(child2);
+		child1.addChild(new BodyPart(40, 6, 0, -20, 0, child1, 7, 20, 70, 45));
+		child1.addChild(new BodyPart(15, 20, 5, 5, 5, child1, 2, -60, 10, 0));
+
+		return new Body(head);
+	}
+}
@@ -2,9 +2,14 @@ package org.nusco.narjillos.creature.body;
 
 import static org.junit.Assert.assertEquals;
 
+import java.lang.management.ManagementFactory;
+
 import org.junit.Test;
 import org.nusco.narjillos.core.chemistry.Element;
 import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.utilities.Configuration;
+
+import com.sun.management.ThreadMXBean;
 
 public class BodyTest {
 
@@ -99,4 +104,33 @@ public class BodyTest {
 
 		assertEquals(10, body.getEggInterval(), 0.0);
 	}
+
+	@Test
+	public void ticksWithoutAllocatingMemoryOnceItsAdult() {
+		ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		HeadParameters headParameters = new HeadParameters(20, 10);
+		headParameters.setMetabolicRate(1.5);
+		headParameters.setWaveBeatRatio(2);
+		Head head = new Head(headParameters);
+		BodyPart bodyPart = new BodyPart(30, 12, 10, 20, 30, head, 3, 40, 50, 60);
+		head.addChild(bodyPart);
+		bodyPart.addChild(new BodyPart(40, 6, 0, -20, 0, bodyPart, 7, 20, 70, 45));
+		head.addChild(new BodyPart(25, 8, -10, 0, 10, head, 0, -40, 30, -20));
+		Body body = new Body(head);
+		body.growToAdultForm();
+		Vector target = Vector.cartesian(1, 1);
+
+		// Give the JIT a chance to warm up
+		for (int i = 0; i < 20_000; i++)
+			body.tick(target, Configuration.DEFAULT);
+
+		long threadId = Thread.currentThread().getId();
+		long measurementOverhead = -threads.getThreadAllocatedBytes(threadId) + threads.getThreadAllocatedBytes(threadId);
+		long allocatedBytesBefore = threads.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < 1000; i++)
+			body.tick(target, Configuration.DEFAULT);
+		long allocatedBytes = threads.getThreadAllocatedBytes(threadId) - allocatedBytesBefore;
+
+		assertEquals(measurementOverhead, allocatedBytes);
+	}
 }
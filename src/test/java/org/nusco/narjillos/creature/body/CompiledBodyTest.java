@@ -0,0 +1,107 @@
+package org.nusco.narjillos.creature.body;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.persistence.serialization.JSON;
+
+public class CompiledBodyTest {
+
+	@Test
+	public void calculatesTheGeometryOfTheOrgansLikeTheOrgansDo() {
+		Head treeHead = createHead();
+		Head compiledHead = createHead();
+		CompiledBody compiledBody = new CompiledBody(getOrgans(compiledHead));
+
+		treeHead.forcePosition(Vector.cartesian(10, 20), 30);
+		compiledBody.forcePosition(10, 20, 30);
+
+		assertSameOrgans(getOrgans(treeHead), getOrgans(compiledHead));
+	}
+
+	@Test
+	public void rotatesAndTranslatesTheOrgans() {
+		Head treeHead = createHead();
+		Head compiledHead = createHead();
+		CompiledBody compiledBody = new CompiledBody(getOrgans(compiledHead));
+
+		treeHead.forcePosition(Vector.cartesian(7, 24), -15);
+		compiledBody.forcePosition(10, 20, 30);
+		compiledBody.rotateBy(-45);
+		compiledBody.translateBy(-3, 4);
+
+		assertSameOrgans(getOrgans(treeHead), getOrgans(compiledHead));
+	}
+
+	@Test
+	public void updatesTheOrgansAtEachTick() {
+		Body body = new Body(createHead());
+		body.forcePosition(Vector.cartesian(100, 200), 45);
+
+		body.tick(Vector.cartesian(1, 1), Configuration.DEFAULT);
+
+		List<ConnectedOrgan> organs = body.getOrgans();
+		assertEquals(body.getStartPoint(), body.getHead().getStartPoint());
+		for (ConnectedOrgan organ : organs)
+			if (organ != body.getHead())
+				assertEquals(organ.getParent().getEndPoint(), organ.getStartPoint());
+	}
+
+	@Test
+	public void keepsTickingTheSameWayAfterDeserialization() {
+		Body body = new Body(createHead());
+		for (int i = 0; i < 50; i++)
+			body.tick(Vector.cartesian(1, i), Configuration.DEFAULT);
+
+		Body deserialized = JSON.fromJson(JSON.toJson(body, Body.class), Body.class);
+		for (int i = 0; i < 50; i++) {
+			body.tick(Vector.cartesian(-1, i), Configuration.DEFAULT);
+			deserialized.tick(Vector.cartesian(-1, i), Configuration.DEFAULT);
+		}
+
+		assertEquals(JSON.toJson(body, Body.class), JSON.toJson(deserialized, Body.class));
+	}
+
+	private Head createHead() {
+		HeadParameters headParameters = new HeadParameters(20, 10);
+		headParameters.setMetabolicRate(1.5);
+		headParameters.setWaveBeatRatio(2);
+		Head head = new Head(headParameters);
+
+		BodyPart child1 = new BodyPart(30, 12, 10, 20, 30, head, 3, 40, 50, 60);
+		head.addChild(child1);
+		BodyPart child2 = new BodyPart(25, 8, -10, 0, 10, head, 5, -40, 30, -20);
+		head.addChild(child2);
+		child1.addChild(new BodyPart(40, 6, 0, -20, 0, child1, 7, 20, 70, 45));
+		child1.addChild(new BodyPart(15, 20, 5, 5, 5, child1, 2, -60, 10, 0));
+
+		return head;
+	}
+
+	// Same order as Body.getOrgans().
+	private List<ConnectedOrgan> getOrgans(ConnectedOrgan organ) {
+		List<ConnectedOrgan> result = new ArrayList<>();
+		for (ConnectedOrgan child : organ.getChildren())
+			result.addAll(getOrgans(child));
+		result.add(organ);
+		return result;
+	}
+
+	private void assertSameOrgans(List<ConnectedOrgan> expected, List<ConnectedOrgan> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getLength(), actual.get(i).getLength(), 0.0);
+			assertEquals(expected.get(i).getThickness(), actual.get(i).getThickness(), 0.0);
+			assertEquals(expected.get(i).getMass(), actual.get(i).getMass(), 0.0);
+			assertEquals(expected.get(i).getAbsoluteAngle(), actual.get(i).getAbsoluteAngle(), 0.0);
+			assertEquals(expected.get(i).getStartPoint(), actual.get(i).getStartPoint());
+			assertEquals(expected.get(i).getEndPoint(), actual.get(i).getEndPoint());
+			assertEquals(expected.get(i).getCenterOfMass(), actual.get(i).getCenterOfMass());
+		}
+	}
+}
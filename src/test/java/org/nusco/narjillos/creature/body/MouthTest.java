@@ -5,6 +5,7 @@ import static org.junit.Assert.assertEquals;
 import org.junit.Test;
 import org.nusco.narjillos.core.physics.Vector;
 import org.nusco.narjillos.core.physics.ZeroVectorAngleException;
+import org.nusco.narjillos.core.utilities.Configuration;
 
 public class MouthTest {
 
@@ -72,7 +73,7 @@ public class MouthTest {
 
 	private void tickManyTimes(Vector position, Vector target, double rotation) {
 		for (int i = 0; i < 150; i++)
-			mouth.tick(position, target, rotation);
+			mouth.tick(position, target, rotation, Configuration.DEFAULT);
 	}
 
 	private void assertMouthPointsTowards(Vector direction) {
@@ -3,9 +3,11 @@ package org.nusco.narjillos.creature.body;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.creature.body.pns.Nerve;
 
-public abstract class NeuralConnectionTest {
+public class NeuralConnectionTest {
 	
 	@Test
 	public void sendsNerveSignalsToItsChildren() {
@@ -13,12 +15,12 @@ public abstract class NeuralConnectionTest {
 		final ClickNerve nerve2 = new ClickNerve();
 		final ClickNerve nerve3 = new ClickNerve();
 
-		MovingOrgan head = new Head(new HeadParameters());
-		ConnectedOrgan child1 = head.addChild(new BodyPart(nerve1));
-		child1.addChild(new BodyPart(nerve2));
-		head.addChild(new BodyPart(nerve3));
+		Head head = new Head(new HeadParameters());
+		ConnectedOrgan child1 = head.addChild(new BodyPart(head, nerve1));
+		child1.addChild(new BodyPart(child1, nerve2));
+		head.addChild(new BodyPart(head, nerve3));
 
-		head.tick(0, 0, 1);
+		new Body(head).tick(Vector.ZERO, Configuration.DEFAULT);
 		
 		assertTrue(nerve1.clicked);
 		assertTrue(nerve2.clicked);
@@ -5,6 +5,7 @@ import static org.junit.Assert.assertEquals;
 import org.junit.Before;
 import org.junit.Test;
 import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.utilities.Configuration;
 
 public abstract class OrganTest {
 	
@@ -47,7 +48,7 @@ public abstract class OrganTest {
 	
 	@Test
 	public void itsMassIsAlwaysAtLeast1() {
-		Organ verySmallBodyPart = new Organ(0, 0, new Fiber(0, 0, 0)) {
+		Organ verySmallBodyPart = new Organ(0, 0, new Fiber(0, 0, 0), Configuration.DEFAULT) {
 
 			@Override
 			protected double calculateAbsoluteAngle() {
@@ -8,16 +8,18 @@ import org.nusco.narjillos.core.utilities.Configuration;
 
 public class ViscosityTest {
 
+	private static final double KICKIN_VELOCITY = Configuration.DEFAULT.physicsViscosityKickinVelocity;
+
 	@Test
 	public void doesntKickInUntilACertainVelocity() {
-		for (int velocity = 0; velocity <= Configuration.PHYSICS_VISCOSITY_KICKIN_VELOCITY; velocity++)
-			assertEquals(velocity, Viscosity.limit(velocity), 0.0);
+		for (int velocity = 0; velocity <= KICKIN_VELOCITY; velocity++)
+			assertEquals(velocity, Viscosity.limit(velocity, KICKIN_VELOCITY), 0.0);
 	}
 
 	@Test
 	public void limitsVelocityOverTheKickInValue() {
 		double previousVelocity = 0;
-		for (double velocity = Configuration.PHYSICS_VISCOSITY_KICKIN_VELOCITY; velocity <= Viscosity.getMaxVelocity(); velocity += 0.3) {
+		for (double velocity = KICKIN_VELOCITY; velocity <= Viscosity.getMaxVelocity(KICKIN_VELOCITY); velocity += 0.3) {
 			assertTrue(velocity > previousVelocity);
 			previousVelocity = velocity;
 		}
@@ -25,6 +27,6 @@ public class ViscosityTest {
 
 	@Test
 	public void neverGetsOverAMaxVelocity() {
-		assertEquals(Viscosity.limit(Double.MAX_VALUE), Viscosity.getMaxVelocity(), 0.0);
+		assertEquals(Viscosity.limit(Double.MAX_VALUE, KICKIN_VELOCITY), Viscosity.getMaxVelocity(KICKIN_VELOCITY), 0.0);
 	}
 }
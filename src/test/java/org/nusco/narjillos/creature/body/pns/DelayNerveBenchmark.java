@@ -0,0 +1,135 @@
+package org.nusco.narjillos.creature.body.pns;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedList;
+
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.creature.body.Body;
+import org.nusco.narjillos.creature.body.BodyPart;
+import org.nusco.narjillos.creature.body.ConnectedOrgan;
+import org.nusco.narjillos.creature.body.Head;
+import org.nusco.narjillos.creature.body.HeadParameters;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Compares the DelayNerve's circular buffer with the LinkedList that it
+ * replaced: the memory that each nerve keeps, and the memory and time that
+ * each tick takes. Then it ticks a creature with many body parts, and
+ * prints the memory and time per tick.
+ *
+ * This is not a unit test. Run it from the main(), or with "gradle
+ * benchmarkNerves".
+ */
+public class DelayNerveBenchmark {
+
+	private static final int DELAY = 7;
+	private static final int NERVES = 10_000;
+	private static final int NERVE_TICKS = 1_000;
+	private static final int BODY_PARTS = 100;
+	private static final int BODY_TICKS = 100_000;
+	private static final int ROUNDS = 5;
+
+	private static final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	// Keeps the JIT from throwing away the calculations
+	private static double sink = 0;
+
+	public static void main(String[] args) {
+		System.out.println("Nerve\t\tBytes per nerve\tBytes per tick\tns per tick");
+		measureNerves("LinkedList", () -> new LinkedListDelayNerve(DELAY));
+		measureNerves("Circular buffer", () -> new DelayNerve(DELAY));
+
+		System.out.println();
+		System.out.println("Body parts\tBytes per tick\tns per tick");
+		measureBody();
+
+		System.out.println("(ignore this: " + sink + ")");
+	}
+
+	private static void measureNerves(String name, NerveFactory nerveFactory) {
+		long threadId = Thread.currentThread().getId();
+
+		// A nerve keeps all the memory it allocates until it's full
+		long startMemory = threads.getThreadAllocatedBytes(threadId);
+		Nerve[] nerves = new Nerve[NERVES];
+		for (int i = 0; i < NERVES; i++) {
+			nerves[i] = nerveFactory.create();
+			for (int j = 0; j < DELAY; j++)
+				nerves[i].tick(j);
+		}
+		long bytesPerNerve = (threads.getThreadAllocatedBytes(threadId) - startMemory - (16 + 4L * NERVES)) / NERVES;
+
+		long bestTime = Long.MAX_VALUE;
+		long bestMemory = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS; round++) {
+			startMemory = threads.getThreadAllocatedBytes(threadId);
+			long startTime = System.nanoTime();
+			for (int tick = 0; tick < NERVE_TICKS; tick++)
+				for (Nerve nerve : nerves)
+					sink += nerve.tick(tick);
+			bestTime = Math.min(bestTime, System.nanoTime() - startTime);
+			bestMemory = Math.min(bestMemory, threads.getThreadAllocatedBytes(threadId) - startMemory);
+		}
+		long operations = (long) NERVES * NERVE_TICKS;
+		System.out.println(name + "\t" + bytesPerNerve + "\t\t" + bestMemory / operations + "\t\t" + bestTime / operations);
+	}
+
+	private static void measureBody() {
+		Body body = createLongBody();
+		Vector target = Vector.cartesian(1, 1);
+		long threadId = Thread.currentThread().getId();
+
+		long bestTime = Long.MAX_VALUE;
+		long bestMemory = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS; round++) {
+			long startMemory = threads.getThreadAllocatedBytes(threadId);
+			long startTime = System.nanoTime();
+			for (int tick = 0; tick < BODY_TICKS; tick++)
+				sink += body.tick(target, Configuration.DEFAULT);
+			bestTime = Math.min(bestTime, System.nanoTime() - startTime);
+			bestMemory = Math.min(bestMemory, threads.getThreadAllocatedBytes(threadId) - startMemory);
+		}
+		System.out.println(BODY_PARTS + "\t\t" + bestMemory / BODY_TICKS + "\t\t" + bestTime / BODY_TICKS);
+	}
+
+	// A long snake of body parts.
+	private static Body createLongBody() {
+		HeadParameters headParameters = new HeadParameters(20, 10);
+		headParameters.setMetabolicRate(1.5);
+		headParameters.setWaveBeatRatio(2);
+		Head head = new Head(headParameters);
+
+		ConnectedOrgan tail = head;
+		for (int i = 0; i < BODY_PARTS; i++)
+			tail = tail.addChild(new BodyPart(20, 10, 0, 0, 0, tail, DELAY, (i % 2 == 0) ? 10 : -10, 20, 30));
+
+		Body result = new Body(head);
+		result.growToAdultForm();
+		return result;
+	}
+
+	private interface NerveFactory {
+		Nerve create();
+	}
+
+	// The old DelayNerve.
+	private static class LinkedListDelayNerve implements Nerve {
+
+		private final int delay;
+		private final LinkedList<Double> buffer = new LinkedList<>();
+
+		LinkedListDelayNerve(int delay) {
+			this.delay = delay;
+		}
+
+		@Override
+		public double tick(double inputSignal) {
+			buffer.add(inputSignal);
+			if (buffer.size() < delay + 1)
+				return 0;
+			return buffer.pop();
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package org.nusco.narjillos.creature.body.pns;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 import org.junit.Test;
@@ -26,4 +27,29 @@ public class DelayNerveTest {
 		assertEquals(2, nerve.tick(2), 0);
 		assertEquals(3, nerve.tick(3), 0);
 	}
+
+	@Test
+	public void knowsItsPendingSignals() {
+		DelayNerve nerve = new DelayNerve(3);
+
+		for (int i = 1; i <= 5; i++)
+			nerve.tick(i);
+
+		assertArrayEquals(new double[] { 3, 4, 5 }, nerve.getPendingSignals(), 0);
+	}
+
+	@Test
+	public void canStartWithPendingSignals() {
+		DelayNerve nerve = new DelayNerve(3, new double[] { 1, 2 });
+
+		assertEquals(0, nerve.tick(3), 0);
+		assertEquals(1, nerve.tick(4), 0);
+		assertEquals(2, nerve.tick(5), 0);
+		assertEquals(3, nerve.tick(6), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void cannotHaveMorePendingSignalsThanItsDelay() {
+		new DelayNerve(2, new double[] { 1, 2, 3 });
+	}
 }
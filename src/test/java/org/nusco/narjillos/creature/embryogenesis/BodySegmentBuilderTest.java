@@ -3,6 +3,7 @@ package org.nusco.narjillos.creature.embryogenesis;
 import static org.junit.Assert.assertEquals;
 
 import org.junit.Test;
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.creature.body.BodyPart;
 import org.nusco.narjillos.creature.body.Fiber;
 import org.nusco.narjillos.creature.body.Head;
@@ -13,7 +14,7 @@ public class BodySegmentBuilderTest extends ConcreteOrganBuilderTest {
 
 	@Override
 	protected BodySegmentBuilder getConcreteOrganBuilder(Chromosome chromosome) {
-		return new BodySegmentBuilder(chromosome);
+		return new BodySegmentBuilder(chromosome, Configuration.DEFAULT);
 	}
 
 	@Test
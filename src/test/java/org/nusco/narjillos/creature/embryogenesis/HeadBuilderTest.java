@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 
 import org.junit.Test;
 import org.nusco.narjillos.core.chemistry.Element;
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.creature.body.Fiber;
 import org.nusco.narjillos.creature.body.Head;
 import org.nusco.narjillos.genomics.Chromosome;
@@ -12,7 +13,7 @@ public class HeadBuilderTest extends ConcreteOrganBuilderTest {
 
 	@Override
 	protected HeadBuilder getConcreteOrganBuilder(Chromosome chromosome) {
-		return new HeadBuilder(chromosome);
+		return new HeadBuilder(chromosome, Configuration.DEFAULT);
 	}
 
 	@Test
@@ -1,5 +1,6 @@
 package org.nusco.narjillos.creature.embryogenesis.bodyplan;
 
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.creature.body.ConnectedOrgan;
 import org.nusco.narjillos.creature.body.Fiber;
 import org.nusco.narjillos.creature.body.MovingOrgan;
@@ -10,16 +11,11 @@ class MockOrgan extends MovingOrgan {
 	private final int sign;
 
 	public MockOrgan(int id, ConnectedOrgan parent, int sign) {
-		super(0, 0, new Fiber(0, 0, 0), parent, null, 0);
+		super(0, 0, new Fiber(0, 0, 0), parent, null, 0, Configuration.DEFAULT);
 		this.id = id;
 		this.sign = sign;
 	}
 
-	@Override
-	protected double calculateNewAngleToParent(double targetAngle, double angleToTarget) {
-		return 0;
-	}
-
 	@Override
 	protected double getMetabolicRate() {
 		return 0;
@@ -0,0 +1,94 @@
+package org.nusco.narjillos.experiment.archipelago;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.creature.Narjillo;
+import org.nusco.narjillos.experiment.environment.Ecosystem;
+import org.nusco.narjillos.genomics.DNA;
+import org.nusco.narjillos.persistence.VolatileDNALog;
+import org.nusco.narjillos.persistence.serialization.JSON;
+
+public class ArchipelagoTest {
+
+	private static final long SEED = 1234;
+	private static final long ISLAND_SIZE = 5000;
+	private static final int MIGRATION_INTERVAL = 1000;
+
+	@Test
+	public void writesTheDnaOfAllTheIslandsToTheSameLog() {
+		VolatileDNALog dnaLog = new VolatileDNALog();
+		Archipelago archipelago = createArchipelago(3, 0.0, dnaLog);
+
+		archipelago.tick(200);
+
+		Set<Long> ids = new HashSet<>();
+		for (DNA dna : dnaLog.getAllDna())
+			ids.add(dna.getId());
+		assertEquals(dnaLog.getDnaCount(), ids.size());
+		assertEquals(archipelago.getCensus().getNumberOfEggs() + archipelago.getCensus().getNumberOfNarjillos(), ids.size());
+		archipelago.terminate();
+	}
+
+	@Test
+	public void givesTheSameResultsWithTheSameSeed() {
+		Archipelago archipelago1 = createArchipelago(3, 0.5, new VolatileDNALog());
+		Archipelago archipelago2 = createArchipelago(3, 0.5, new VolatileDNALog());
+
+		archipelago1.tick(MIGRATION_INTERVAL * 2);
+		for (int i = 0; i < MIGRATION_INTERVAL * 2; i++)
+			archipelago2.tick();
+
+		for (int i = 0; i < 3; i++) {
+			String island1 = JSON.toJson(archipelago1.getIsland(i), Ecosystem.class);
+			String island2 = JSON.toJson(archipelago2.getIsland(i), Ecosystem.class);
+			assertEquals(island1, island2);
+		}
+		archipelago1.terminate();
+		archipelago2.terminate();
+	}
+
+	@Test
+	public void movesNarjillosToOtherIslands() {
+		// With two islands, the first island creates odd DNA ids and the
+		// second island creates even ones.
+		Archipelago archipelago = createArchipelago(2, 1.0, new VolatileDNALog());
+
+		archipelago.tick(MIGRATION_INTERVAL);
+
+		assertTrue(archipelago.getIsland(0).getNumberOfNarjillos() > 0);
+		for (Narjillo narjillo : archipelago.getIsland(0).getNarjillos())
+			assertEquals(0, narjillo.getDNA().getId() % 2);
+		assertTrue(archipelago.getIsland(1).getNumberOfNarjillos() > 0);
+		for (Narjillo narjillo : archipelago.getIsland(1).getNarjillos())
+			assertEquals(1, narjillo.getDNA().getId() % 2);
+		archipelago.terminate();
+	}
+
+	@Test
+	public void doesNotMoveNarjillosBeforeTheMigrationInterval() {
+		Archipelago archipelago = createArchipelago(2, 1.0, new VolatileDNALog());
+
+		archipelago.tick(MIGRATION_INTERVAL - 1);
+
+		for (Narjillo narjillo : archipelago.getIsland(0).getNarjillos())
+			assertEquals(1, narjillo.getDNA().getId() % 2);
+		for (Narjillo narjillo : archipelago.getIsland(1).getNarjillos())
+			assertEquals(0, narjillo.getDNA().getId() % 2);
+		archipelago.terminate();
+	}
+
+	private Archipelago createArchipelago(int numberOfIslands, double migrationRate, VolatileDNALog dnaLog) {
+		Configuration configuration = Configuration.DEFAULT
+			.with("archipelago", "migration_interval", MIGRATION_INTERVAL)
+			.with("archipelago", "migration_rate", migrationRate);
+		Archipelago result = new Archipelago(SEED, numberOfIslands, ISLAND_SIZE, configuration, dnaLog);
+		result.populate();
+		return result;
+	}
+}
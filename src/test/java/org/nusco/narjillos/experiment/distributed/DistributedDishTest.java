@@ -0,0 +1,272 @@
+package org.nusco.narjillos.experiment.distributed;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.things.FoodPellet;
+import org.nusco.narjillos.core.things.Thing;
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.creature.Egg;
+import org.nusco.narjillos.creature.Narjillo;
+import org.nusco.narjillos.experiment.environment.Ecosystem;
+import org.nusco.narjillos.genomics.DNA;
+import org.nusco.narjillos.persistence.serialization.JSON;
+
+public class DistributedDishTest {
+
+	private static final long SEED = 1234;
+	private static final long DISH_SIZE = 3000;
+	private static final int REGIONS = 3;
+	private static final int TICKS = 1200;
+
+	@Test
+	public void keepsEveryThingInItsRegion() {
+		List<RegionWorker> workers = createWorkers();
+		DistributedDish dish = new DistributedDish(toLocalLinks(workers), SEED, DISH_SIZE);
+
+		for (int i = 0; i < TICKS; i++)
+			dish.tick();
+
+		for (RegionWorker worker : workers)
+			worker.getEcosystem().getThings("").forEach((thing) -> {
+				if (!worker.isGhost(thing))
+					assertEquals(worker.getRegion().getIndex(), worker.getRegion().getIndexOf(thing.getPosition()));
+			});
+		dish.terminate();
+	}
+
+	@Test
+	public void mirrorsTheFoodCloseToEachBoundaryInTheNeighboringRegions() {
+		List<RegionWorker> workers = createWorkers();
+		DistributedDish dish = new DistributedDish(toLocalLinks(workers), SEED, DISH_SIZE);
+
+		for (int i = 0; i < TICKS; i++)
+			dish.tick();
+
+		int numberOfGhosts = 0;
+		for (RegionWorker worker : workers) {
+			Set<Vector> neighborsFood = new HashSet<>();
+			for (RegionWorker neighbor : workers)
+				if (Math.abs(neighbor.getRegion().getIndex() - worker.getRegion().getIndex()) == 1)
+					for (Thing food : neighbor.getEcosystem().getThings("food_pellet"))
+						if (!neighbor.isGhost(food))
+							neighborsFood.add(food.getPosition());
+
+			for (Thing food : worker.getEcosystem().getThings("food_pellet")) {
+				if (worker.isGhost(food)) {
+					assertTrue(neighborsFood.contains(food.getPosition()));
+					numberOfGhosts++;
+				}
+			}
+		}
+		assertTrue(numberOfGhosts > 0);
+		dish.terminate();
+	}
+
+	@Test
+	public void spawnsFoodForTheWholeDishUpToTheMaximumDensity() {
+		// In a dish this big, food spawns at every tick, up to 350,000
+		// pellets.
+		long dishSize = 1_000_000;
+		FakeRegionLink region0 = new FakeRegionLink();
+		FakeRegionLink region1 = new FakeRegionLink();
+		DistributedDish dish = new DistributedDish(Arrays.asList(region0, region1), SEED, dishSize);
+
+		region0.numberOfFoodPellets = 100_000;
+		region1.numberOfFoodPellets = 100_000;
+		for (int i = 0; i < 10; i++)
+			dish.tick();
+		assertEquals(10, region0.newFood + region1.newFood);
+
+		region0.numberOfFoodPellets = 250_000;
+		for (int i = 0; i < 10; i++)
+			dish.tick();
+		assertEquals(10, region0.newFood + region1.newFood);
+	}
+
+	@Test
+	public void keepsTheGenePoolsInSyncWithTheRegions() {
+		List<RegionWorker> workers = createWorkers();
+		DistributedDish dish = new DistributedDish(toLocalLinks(workers), SEED, DISH_SIZE);
+
+		for (int i = 0; i < TICKS; i++)
+			dish.tick();
+
+		Set<Long> allIds = new HashSet<>();
+		for (RegionWorker worker : workers) {
+			Set<Long> expectedIds = new TreeSet<>();
+			for (Thing thing : worker.getEcosystem().getThings("")) {
+				if (thing instanceof Narjillo)
+					expectedIds.add(((Narjillo) thing).getDNA().getId());
+				else if (thing instanceof Egg)
+					expectedIds.add(((Egg) thing).getDNA().getId());
+			}
+			Set<Long> liveIds = new TreeSet<>();
+			for (DNA dna : worker.getLiveDna())
+				liveIds.add(dna.getId());
+
+			assertEquals(expectedIds, liveIds);
+			for (Long id : liveIds)
+				assertTrue(allIds.add(id));
+		}
+		dish.terminate();
+	}
+
+	@Test
+	public void givesTheSameResultsOverSocketsAndInTheSameProcess() throws Exception {
+		List<RegionWorker> localWorkers = createWorkers();
+		DistributedDish localDish = new DistributedDish(toLocalLinks(localWorkers), SEED, DISH_SIZE);
+		for (int i = 0; i < TICKS; i++)
+			localDish.tick();
+		Census localCensus = localDish.getCensus();
+		localDish.terminate();
+
+		List<RegionWorker> remoteWorkers = new ArrayList<>();
+		List<Thread> servers = new ArrayList<>();
+		Census remoteCensus;
+		try (ServerSocket serverSocket = new ServerSocket(0, REGIONS, InetAddress.getLoopbackAddress())) {
+			for (int i = 0; i < REGIONS; i++) {
+				final int index = i;
+				Thread server = new Thread(() -> {
+					RegionWorker worker = new RegionWorker(SEED, new Region(index, REGIONS, DISH_SIZE));
+					synchronized (remoteWorkers) {
+						remoteWorkers.add(worker);
+					}
+					try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort())) {
+						RegionServer.serve(worker, socket);
+					} catch (IOException e) {
+						throw new RuntimeException(e);
+					}
+				});
+				server.start();
+				servers.add(server);
+			}
+
+			DistributedDish remoteDish = new DistributedDish(DistributedDish.connect(serverSocket, REGIONS), SEED, DISH_SIZE);
+			for (int i = 0; i < TICKS; i++)
+				remoteDish.tick();
+			remoteCensus = remoteDish.getCensus();
+			remoteDish.terminate();
+		}
+		for (Thread server : servers)
+			server.join();
+
+		assertEquals(localCensus.toString(), remoteCensus.toString());
+		remoteWorkers.sort((worker1, worker2) -> worker1.getRegion().getIndex() - worker2.getRegion().getIndex());
+		for (int i = 0; i < REGIONS; i++)
+			assertEquals(toJson(localWorkers.get(i)), toJson(remoteWorkers.get(i)));
+	}
+
+	@Test
+	public void runsEachRegionInItsOwnProcess() {
+		final int regions = 2;
+		final int ticks = 100;
+		Configuration configuration = Configuration.DEFAULT.with("ecosystem", "food_density_per_block", 1.0);
+
+		Census localCensus = runLocally(regions, ticks, configuration);
+
+		DistributedDish remoteDish = DistributedDish.launch(SEED, DISH_SIZE, regions, configuration);
+		Census remoteCensus;
+		try {
+			for (int i = 0; i < ticks; i++)
+				remoteDish.tick();
+			remoteCensus = remoteDish.getCensus();
+		} finally {
+			remoteDish.terminate();
+		}
+
+		assertEquals(localCensus.toString(), remoteCensus.toString());
+		assertNotEquals(localCensus.toString(), runLocally(regions, ticks, Configuration.DEFAULT).toString());
+	}
+
+	@Test
+	public void spawnsFoodAccordingToTheConfiguration() {
+		Configuration noRespawn = Configuration.DEFAULT.with("ecosystem", "max_food_density_per_1000_blocks", 0.0);
+		FakeRegionLink region = new FakeRegionLink();
+		DistributedDish dish = new DistributedDish(Arrays.asList(region), SEED, 1_000_000, noRespawn);
+
+		for (int i = 0; i < 10; i++)
+			dish.tick();
+
+		assertEquals(0, region.newFood);
+	}
+
+	private Census runLocally(int regions, int ticks, Configuration configuration) {
+		DistributedDish dish = new DistributedDish(toLocalLinks(createWorkers(regions, configuration)), SEED, DISH_SIZE, configuration);
+		for (int i = 0; i < ticks; i++)
+			dish.tick();
+		Census result = dish.getCensus();
+		dish.terminate();
+		return result;
+	}
+
+	private List<RegionWorker> createWorkers() {
+		return createWorkers(REGIONS, Configuration.DEFAULT);
+	}
+
+	private List<RegionWorker> createWorkers(int numberOfRegions, Configuration configuration) {
+		List<RegionWorker> result = new ArrayList<>();
+		for (int i = 0; i < numberOfRegions; i++)
+			result.add(new RegionWorker(SEED, new Region(i, numberOfRegions, DISH_SIZE), configuration));
+		return result;
+	}
+
+	private List<RegionLink> toLocalLinks(List<RegionWorker> workers) {
+		List<RegionLink> result = new ArrayList<>();
+		for (RegionWorker worker : workers)
+			result.add(new LocalRegionLink(worker));
+		return result;
+	}
+
+	private String toJson(RegionWorker worker) {
+		return JSON.toJson(worker.getEcosystem(), Ecosystem.class);
+	}
+
+	// Reports a fixed amount of food, and counts the new food that it gets.
+	private static class FakeRegionLink implements RegionLink {
+
+		int numberOfFoodPellets = 0;
+		int newFood = 0;
+
+		@Override
+		public void startTick() {
+		}
+
+		@Override
+		public RegionReport finishTick() {
+			return new RegionReport(new TreeMap<>(), "[]", numberOfFoodPellets);
+		}
+
+		@Override
+		public void welcome(List<String> immigrants, List<String> neighborsBorderFood) {
+			for (String json : immigrants)
+				for (Thing thing : JSON.fromJson(json, Thing[].class))
+					if (thing instanceof FoodPellet)
+						newFood++;
+		}
+
+		@Override
+		public Census getCensus() {
+			return new Census(0, 0, numberOfFoodPellets);
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package org.nusco.narjillos.experiment.distributed;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.nusco.narjillos.core.physics.Vector;
+
+public class RegionTest {
+
+	@Test
+	public void splitsTheDishInVerticalStrips() {
+		Region region = new Region(1, 3, 3000);
+
+		assertEquals(0, region.getIndexOf(Vector.cartesian(999, 2000)));
+		assertEquals(1, region.getIndexOf(Vector.cartesian(1000, 0)));
+		assertEquals(2, region.getIndexOf(Vector.cartesian(2999, 3000)));
+	}
+
+	@Test
+	public void containsThePositionsInItsStrip() {
+		Region region = new Region(1, 3, 3000);
+
+		assertTrue(region.contains(Vector.cartesian(1500, 2000)));
+		assertFalse(region.contains(Vector.cartesian(500, 2000)));
+		assertFalse(region.contains(Vector.cartesian(2500, 2000)));
+	}
+
+	@Test
+	public void assignsPositionsOutsideTheDishToTheClosestRegion() {
+		Region region = new Region(0, 3, 3000);
+
+		assertEquals(0, region.getIndexOf(Vector.cartesian(-10, 100)));
+		assertEquals(2, region.getIndexOf(Vector.cartesian(5000, 100)));
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void mustBeInTheDish() {
+		new Region(3, 3, 3000);
+	}
+}
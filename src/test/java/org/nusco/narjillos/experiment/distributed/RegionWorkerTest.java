@@ -0,0 +1,144 @@
+package org.nusco.narjillos.experiment.distributed;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+import org.nusco.narjillos.core.physics.Segment;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.things.FoodPellet;
+import org.nusco.narjillos.core.things.LifeFormEnergy;
+import org.nusco.narjillos.core.things.Thing;
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.core.utilities.NumGen;
+import org.nusco.narjillos.creature.Narjillo;
+import org.nusco.narjillos.experiment.environment.Ecosystem;
+import org.nusco.narjillos.genomics.DNA;
+import org.nusco.narjillos.genomics.GenePool;
+import org.nusco.narjillos.persistence.VolatileDNALog;
+import org.nusco.narjillos.persistence.serialization.JSON;
+
+public class RegionWorkerTest {
+
+	RegionWorker worker0 = new RegionWorker(1234, new Region(0, 2, 2000));
+	RegionWorker worker1 = new RegionWorker(1234, new Region(1, 2, 2000));
+
+	@After
+	public void tearDown() {
+		worker0.terminate();
+		worker1.terminate();
+	}
+
+	@Test
+	public void startsWithItsShareOfAnUndistributedDish() {
+		Ecosystem ecosystem = new Ecosystem(2000);
+		ecosystem.populate(new GenePool(new VolatileDNALog()), new NumGen(1234));
+
+		Census census = worker0.getCensus().plus(worker1.getCensus());
+		assertEquals(ecosystem.getNumberOfEggs(), census.getNumberOfEggs());
+		assertEquals(ecosystem.getNumberOfFoodPellets(), census.getNumberOfFoodPellets());
+		for (Thing thing : ecosystem.getThings("")) {
+			boolean isInRegion0 = hasThingAt(worker0, thing.getPosition());
+			boolean isInRegion1 = hasThingAt(worker1, thing.getPosition());
+			assertTrue(isInRegion0 ^ isInRegion1);
+		}
+
+		ecosystem.terminate();
+	}
+
+	@Test
+	public void onlyContainsThingsInItsRegion() {
+		for (int i = 0; i < 100; i++)
+			worker0.tick();
+
+		for (Thing thing : worker0.getEcosystem().getThings(""))
+			assertTrue(worker0.getRegion().contains(thing.getPosition()));
+	}
+
+	@Test
+	public void sendsAwayTheNarjillosThatLeaveItsRegion() {
+		Narjillo narjillo = new Narjillo(DNA.random(1, new NumGen(1)), Vector.cartesian(1500, 1000), 90, new LifeFormEnergy(10000, 100000));
+		worker0.getEcosystem().insertNarjillo(narjillo);
+
+		Map<Integer, String> emigrants = worker0.tick().getEmigrants();
+
+		assertFalse(worker0.getEcosystem().getNarjillos().contains(narjillo));
+		Thing[] things = JSON.fromJson(emigrants.get(1), Thing[].class);
+		assertEquals(1, things.length);
+		assertEquals("narjillo", things[0].getLabel());
+	}
+
+	@Test
+	public void welcomesThingsFromOtherRegions() {
+		Narjillo narjillo = new Narjillo(DNA.random(1, new NumGen(1)), Vector.cartesian(1500, 1000), 90, new LifeFormEnergy(10000, 100000));
+		String json = JSON.toJson(new Thing[] { narjillo }, Thing[].class);
+		int narjillosBefore = worker1.getCensus().getNumberOfNarjillos();
+
+		worker1.welcome(Arrays.asList(json), Collections.emptyList());
+
+		assertEquals(narjillosBefore + 1, worker1.getCensus().getNumberOfNarjillos());
+	}
+
+	@Test
+	public void reportsTheFoodCloseToItsBoundary() {
+		FoodPellet food = new FoodPellet(Configuration.DEFAULT);
+		food.setPosition(Vector.cartesian(900, 1000));
+		worker0.getEcosystem().insert(food);
+
+		RegionReport report = worker0.tick();
+
+		List<Vector> borderFood = new ArrayList<>();
+		for (Thing thing : JSON.fromJson(report.getBorderFood(), Thing[].class))
+			borderFood.add(thing.getPosition());
+		assertTrue(borderFood.contains(food.getPosition()));
+		assertEquals(worker0.getCensus().getNumberOfFoodPellets(), report.getNumberOfFoodPellets());
+	}
+
+	@Test
+	public void seesTheFoodAcrossItsBoundaryButDoesntEatIt() {
+		Narjillo narjillo = new Narjillo(DNA.random(1, new NumGen(1)), Vector.cartesian(990, 1000), 90, new LifeFormEnergy(10000, 100000));
+		worker0.getEcosystem().insertNarjillo(narjillo);
+		FoodPellet food = new FoodPellet(Configuration.DEFAULT);
+		food.setPosition(Vector.cartesian(1010, 1000));
+		int foodBefore = worker0.getCensus().getNumberOfFoodPellets();
+
+		worker0.welcome(Collections.emptyList(), Arrays.asList(JSON.toJson(new Thing[] { food }, Thing[].class)));
+
+		Thing ghost = worker0.getEcosystem().getThings("food_pellet").stream()
+				.filter((thing) -> thing.getPosition().equals(food.getPosition()))
+				.findFirst().get();
+		assertTrue(worker0.isGhost(ghost));
+		assertEquals(foodBefore, worker0.getCensus().getNumberOfFoodPellets());
+		assertEquals(food.getPosition(), worker0.getEcosystem().findClosestFood(narjillo));
+
+		Segment movementOverTheGhost = new Segment(Vector.cartesian(1000, 1000), Vector.cartesian(20, 0));
+		assertFalse(((RegionWorker.RegionEcosystem) worker0.getEcosystem()).getCollisions(movementOverTheGhost).contains(ghost));
+	}
+
+	@Test
+	public void forgetsTheGhostsOfFoodThatIsGone() {
+		FoodPellet food = new FoodPellet(Configuration.DEFAULT);
+		food.setPosition(Vector.cartesian(1010, 1000));
+		worker0.welcome(Collections.emptyList(), Arrays.asList(JSON.toJson(new Thing[] { food }, Thing[].class)));
+		int thingsWithGhost = worker0.getEcosystem().getThings("food_pellet").size();
+
+		worker0.welcome(Collections.emptyList(), Arrays.asList("[]"));
+
+		assertEquals(thingsWithGhost - 1, worker0.getEcosystem().getThings("food_pellet").size());
+	}
+
+	private boolean hasThingAt(RegionWorker worker, Vector position) {
+		for (Thing thing : worker.getEcosystem().getThings(""))
+			if (thing.getPosition().equals(position))
+				return true;
+		return false;
+	}
+}
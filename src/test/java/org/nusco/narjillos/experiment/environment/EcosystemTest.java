@@ -1,8 +1,12 @@
 package org.nusco.narjillos.experiment.environment;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.Before;
@@ -10,12 +14,17 @@ import org.junit.Test;
 import org.nusco.narjillos.core.physics.Vector;
 import org.nusco.narjillos.core.things.Energy;
 import org.nusco.narjillos.core.things.FoodPellet;
+import org.nusco.narjillos.core.things.LifeFormEnergy;
 import org.nusco.narjillos.core.things.Thing;
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.core.utilities.NumGen;
+import org.nusco.narjillos.creature.Egg;
 import org.nusco.narjillos.creature.Narjillo;
 import org.nusco.narjillos.experiment.environment.Ecosystem;
 import org.nusco.narjillos.experiment.environment.EnvironmentEventListener;
 import org.nusco.narjillos.genomics.DNA;
+import org.nusco.narjillos.genomics.GenePool;
+import org.nusco.narjillos.persistence.VolatileDNALog;
 
 public class EcosystemTest {
 	
@@ -29,7 +38,7 @@ public class EcosystemTest {
 	
 	@Before
 	public void initialize() {
-		ecosystem = new Ecosystem(1000, false);
+		ecosystem = new Ecosystem(1000);
 		foodPellet1 = ecosystem.spawnFood(Vector.cartesian(100, 100));
 		foodPellet2 = ecosystem.spawnFood(Vector.cartesian(1000, 1000));
 		foodPellet3 = ecosystem.spawnFood(Vector.cartesian(10000, 10000));
@@ -79,6 +88,19 @@ public class EcosystemTest {
 		assertTrue(things.contains(foodPellet1));
 	}
 	
+	@Test
+	public void createsThingsWithItsOwnConfiguration() {
+		Configuration configuration = Configuration.DEFAULT.with("food", "energy", 123).with("food", "radius", 3);
+		Ecosystem configuredEcosystem = new Ecosystem(1000, configuration);
+
+		FoodPellet foodPellet = configuredEcosystem.spawnFood(Vector.cartesian(100, 100));
+
+		assertEquals(123, foodPellet.getEnergy().getValue(), 0.0);
+		assertEquals(3, foodPellet.getRadius(), 0.0);
+		assertEquals(Configuration.DEFAULT.foodRadius, foodPellet1.getRadius(), 0.0);
+		configuredEcosystem.terminate();
+	}
+
 	@Test
 	public void sendsEventsWhenAddingThings() {
 		final boolean[] eventFired = {false};
@@ -106,9 +128,92 @@ public class EcosystemTest {
 
 	@Test
 	public void pointsAtCenterOfEcosystemIfThereIsNoFood() {
-		Ecosystem emptyEcosystem = new Ecosystem(1000, false);
+		Ecosystem emptyEcosystem = new Ecosystem(1000);
 		Narjillo narjillo = insertNarjillo(Vector.cartesian(100, 100));
 		Vector target = emptyEcosystem.findClosestFood(narjillo);
 		assertEquals(Vector.cartesian(500, 500), target);
 	}
+
+	@Test
+	public void keepsEggsInsideAWalledDish() {
+		Ecosystem walledEcosystem = new Ecosystem(1000, Topology.WALLS);
+		Egg egg = walledEcosystem.spawnEgg(DNA.random(1, numGen), Vector.cartesian(500, -100), numGen);
+
+		assertEquals(Vector.cartesian(500, 0), egg.getPosition());
+	}
+
+	@Test
+	public void wrapsEggsAroundATorus() {
+		Ecosystem torus = new Ecosystem(1000, Topology.TORUS);
+		Egg egg = torus.spawnEgg(DNA.random(1, numGen), Vector.cartesian(1200, -100), numGen);
+
+		assertEquals(Vector.cartesian(200, 900), egg.getPosition());
+	}
+
+	@Test
+	public void stopsNarjillosAtTheWalls() {
+		Ecosystem walledEcosystem = new Ecosystem(1000, Topology.WALLS);
+		Narjillo narjillo = new Narjillo(DNA.random(1, numGen), Vector.cartesian(1500, 500), 90, Energy.INFINITE);
+		walledEcosystem.insertNarjillo(narjillo);
+
+		walledEcosystem.tick(new GenePool(new VolatileDNALog()), numGen);
+
+		assertTrue(narjillo.getPosition().x < 1000);
+		assertFalse(narjillo.isDead());
+	}
+
+	@Test
+	public void killsNarjillosThatTouchDeadlyWalls() {
+		Ecosystem walledEcosystem = new Ecosystem(1000, Topology.DEADLY_WALLS);
+		Narjillo narjillo = new Narjillo(DNA.random(1, numGen), Vector.cartesian(1500, 500), 90, new LifeFormEnergy(10_000, 100_000));
+		walledEcosystem.insertNarjillo(narjillo);
+
+		walledEcosystem.tick(new GenePool(new VolatileDNALog()), numGen);
+
+		assertTrue(narjillo.getPosition().x < 1000);
+		assertTrue(narjillo.isDead());
+	}
+
+	@Test
+	public void findsThingsAroundAPosition() {
+		Set<Thing> things = ecosystem.getThingsAround(Vector.cartesian(120, 120), 50, "");
+
+		assertEquals(2, things.size());
+		assertTrue(things.contains(foodPellet1));
+		assertTrue(things.contains(narjillo1));
+	}
+
+	@Test
+	public void findsThingsInARectangle() {
+		Set<Thing> things = ecosystem.getThingsInRectangle(Vector.cartesian(0, 0), Vector.cartesian(1000, 1000), "food_pellet");
+
+		assertEquals(2, things.size());
+		assertTrue(things.contains(foodPellet1));
+		assertTrue(things.contains(foodPellet2));
+	}
+
+	@Test
+	public void findsTheClosestThings() {
+		List<Thing> things = ecosystem.getClosestThings(Vector.cartesian(0, 0), 2, "food_pellet");
+
+		assertEquals(2, things.size());
+		assertEquals(foodPellet1, things.get(0));
+		assertEquals(foodPellet2, things.get(1));
+	}
+
+	@Test
+	public void givesContestedFoodToTheFirstNarjillo() {
+		@SuppressWarnings("unchecked")
+		Set<Thing>[] collidedFood = (Set<Thing>[]) new Set<?>[] {
+			new LinkedHashSet<Thing>(Arrays.asList(foodPellet2)),
+			new LinkedHashSet<Thing>(Arrays.asList(foodPellet1, foodPellet2)),
+			new LinkedHashSet<Thing>(Arrays.asList(foodPellet1, foodPellet3)),
+		};
+
+		List<FoodPellet>[] meals = ecosystem.resolveContests(collidedFood);
+
+		assertEquals(Arrays.asList(foodPellet2), meals[0]);
+		assertEquals(Arrays.asList(foodPellet1), meals[1]);
+		assertEquals(Arrays.asList(foodPellet3), meals[2]);
+	}
 }
@@ -0,0 +1,152 @@
+package org.nusco.narjillos.experiment.environment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.nusco.narjillos.core.chemistry.Element;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.things.FoodPellet;
+import org.nusco.narjillos.core.things.LifeFormEnergy;
+import org.nusco.narjillos.core.utilities.NumGen;
+import org.nusco.narjillos.creature.Egg;
+import org.nusco.narjillos.creature.Narjillo;
+import org.nusco.narjillos.creature.body.ConnectedOrgan;
+import org.nusco.narjillos.genomics.DNA;
+import org.nusco.narjillos.genomics.GenePool;
+import org.nusco.narjillos.persistence.VolatileDNALog;
+
+public class FrameTest {
+
+	NumGen numGen = new NumGen(1234);
+	Ecosystem ecosystem;
+	FoodPellet foodPellet;
+	Egg egg;
+	Narjillo narjillo;
+
+	@Before
+	public void initialize() {
+		ecosystem = new Ecosystem(1000, Topology.OPEN);
+		foodPellet = ecosystem.spawnFood(Vector.cartesian(100, 200));
+		egg = ecosystem.spawnEgg(DNA.random(1, numGen), Vector.cartesian(300, 400), numGen);
+		narjillo = new Narjillo(DNA.random(2, numGen), Vector.cartesian(500, 600), 90, new LifeFormEnergy(1000, 10000));
+		ecosystem.insertNarjillo(narjillo);
+	}
+
+	@After
+	public void terminate() {
+		ecosystem.terminate();
+	}
+
+	@Test
+	public void containsAllTheThings() {
+		Frame frame = Frame.capture(ecosystem, 0);
+
+		assertEquals(3, frame.size());
+		assertSame(narjillo, frame.getThing(frame.indexOf(narjillo)));
+		assertSame(egg, frame.getThing(frame.indexOf(egg)));
+		assertSame(foodPellet, frame.getThing(frame.indexOf(foodPellet)));
+		assertEquals(-1, frame.indexOf(new FoodPellet()));
+	}
+
+	@Test
+	public void capturesThePositionsOfThings() {
+		Frame frame = Frame.capture(ecosystem, 0);
+
+		assertEquals(Vector.cartesian(100, 200), frame.getPosition(frame.indexOf(foodPellet)));
+		assertEquals(Vector.cartesian(300, 400), frame.getPosition(frame.indexOf(egg)));
+		assertEquals(narjillo.getPosition(), frame.getPosition(frame.indexOf(narjillo)));
+	}
+
+	@Test
+	public void capturesTheStateOfNarjillos() {
+		Frame frame = Frame.capture(ecosystem, 0);
+		int index = frame.indexOf(narjillo);
+
+		assertEquals(narjillo.getCenterOfMass(), frame.getCenterOfMass(index));
+		assertEquals(1000, frame.getEnergy(index), 0.0);
+		assertEquals(narjillo.getEnergy().getMaximumValue(), frame.getMaxEnergy(index), 0.0);
+		assertEquals(narjillo.getAge(), frame.getAge(index));
+		assertEquals(narjillo.getBody().getHead().getAbsoluteAngle(), frame.getHeadAngle(index), 0.0);
+		assertEquals(narjillo.getBrainWaveAngle(), frame.getBrainWaveAngle(index), 0.0);
+	}
+
+	@Test
+	public void capturesTheOrgansOfNarjillos() {
+		Frame frame = Frame.capture(ecosystem, 0);
+		int index = frame.indexOf(narjillo);
+		List<ConnectedOrgan> organs = narjillo.getOrgans();
+
+		assertEquals(organs.size(), frame.getNumberOfOrgans(index));
+		for (int i = 0; i < organs.size(); i++) {
+			ConnectedOrgan organ = organs.get(i);
+			assertEquals(organ.getStartPoint(), frame.getOrganStartPoint(index, i));
+			assertEquals(organ.getEndPoint(), frame.getOrganEndPoint(index, i));
+			assertEquals(organ.getCenterOfMass(), frame.getOrganCenterOfMass(index, i));
+			assertEquals(organ.getAbsoluteAngle(), frame.getOrganAngle(index, i), 0.0);
+			assertEquals(organ.getLength(), frame.getOrganLength(index, i), 0.0);
+			assertEquals(organ.getThickness(), frame.getOrganThickness(index, i), 0.0);
+		}
+	}
+
+	@Test
+	public void onlyNarjillosHaveOrgans() {
+		Frame frame = Frame.capture(ecosystem, 0);
+
+		assertEquals(0, frame.getNumberOfOrgans(frame.indexOf(egg)));
+		assertEquals(0, frame.getNumberOfOrgans(frame.indexOf(foodPellet)));
+	}
+
+	@Test
+	public void capturesStatistics() {
+		Frame frame = Frame.capture(ecosystem, 0);
+
+		assertEquals(1, frame.getNumberOfNarjillos());
+		assertEquals(1, frame.getNumberOfEggs());
+		assertEquals(1, frame.getNumberOfFoodPellets());
+		assertEquals(ecosystem.getAtmosphere().getDensityOf(Element.OXYGEN), frame.getDensityOf(Element.OXYGEN), 0.0);
+		assertEquals(0.0, frame.getDensityOf(Element.ZERO), 0.0);
+	}
+
+	@Test
+	public void doesNotChangeWhenTheEnvironmentChanges() {
+		Frame frame = Frame.capture(ecosystem, 0);
+		int index = frame.indexOf(narjillo);
+		Vector position = frame.getPosition(index);
+		Vector firstOrganEndPoint = frame.getOrganEndPoint(index, 0);
+
+		GenePool genePool = new GenePool(new VolatileDNALog());
+		for (int i = 0; i < 30; i++)
+			ecosystem.tick(genePool, numGen);
+
+		assertTrue(!narjillo.getPosition().equals(position));
+		assertEquals(position, frame.getPosition(index));
+		assertEquals(firstOrganEndPoint, frame.getOrganEndPoint(index, 0));
+	}
+
+	@Test
+	public void isOnlyCapturedOnRequest() {
+		GenePool genePool = new GenePool(new VolatileDNALog());
+		ecosystem.tick(genePool, numGen);
+
+		assertNull(ecosystem.getLatestFrame());
+
+		ecosystem.startCapturingFrames();
+		ecosystem.tick(genePool, numGen);
+		Frame frame1 = ecosystem.getLatestFrame();
+		ecosystem.tick(genePool, numGen);
+		Frame frame2 = ecosystem.getLatestFrame();
+
+		assertNotNull(frame1);
+		assertNotSame(frame1, frame2);
+		assertEquals(frame1.getNumber() + 1, frame2.getNumber());
+	}
+}
@@ -9,32 +9,40 @@ import java.util.Set;
 
 import org.junit.Assert;
 import org.junit.Test;
-import org.nusco.narjillos.core.chemistry.Atmosphere;
-import org.nusco.narjillos.core.physics.Segment;
 import org.nusco.narjillos.core.physics.Vector;
-import org.nusco.narjillos.core.things.Energy;
 import org.nusco.narjillos.core.things.Thing;
-import org.nusco.narjillos.experiment.environment.Space;
+import org.nusco.narjillos.core.utilities.Configuration;
 
-public class SpaceTest {
+public class GridSpaceTest extends SpatialIndexTest {
 
-	Space space = new Space(10_000);
+	GridSpace gridSpace;
+
+	@Override
+	protected SpatialIndex createSpatialIndex(long size) {
+		gridSpace = new GridSpace(size, Configuration.DEFAULT.physicsCollisionDistance);
+		return gridSpace;
+	}
 
 	@Test
 	public void isDividedIntoAGridOfSquareAreas() {
-		assertEquals(100, space.getAreaSize(), 0.00001);
+		assertEquals(100, gridSpace.getAreaSize(), 0.00001);
 	}
 
 	@Test
 	public void storesThingsIntoAMatrixOfAreas() {
-		Assert.assertArrayEquals(new int[] { 0, 0 }, space.add(new MockThing(Vector.cartesian(0, 0), 0)));
-		Assert.assertArrayEquals(new int[] { 99, 99 }, space.add(new MockThing(Vector.cartesian(9_999, 9_999), 0)));
+		assertAreaCoordinates(new int[] { 0, 0 }, new MockThing(Vector.cartesian(0, 0), 0));
+		assertAreaCoordinates(new int[] { 99, 99 }, new MockThing(Vector.cartesian(9_999, 9_999), 0));
 
-		Assert.assertArrayEquals(new int[] { 0, 0 }, space.add(new MockThing(Vector.cartesian(99, 99), 0)));
-		Assert.assertArrayEquals(new int[] { 1, 1 }, space.add(new MockThing(Vector.cartesian(100, 100), 0)));
+		assertAreaCoordinates(new int[] { 0, 0 }, new MockThing(Vector.cartesian(99, 99), 0));
+		assertAreaCoordinates(new int[] { 1, 1 }, new MockThing(Vector.cartesian(100, 100), 0));
 
-		Assert.assertArrayEquals(new int[] { 5, 8 }, space.add(new MockThing(Vector.cartesian(510, 810), 0)));
-		Assert.assertArrayEquals(new int[] { 8, 5 }, space.add(new MockThing(Vector.cartesian(810, 510), 0)));
+		assertAreaCoordinates(new int[] { 5, 8 }, new MockThing(Vector.cartesian(510, 810), 0));
+		assertAreaCoordinates(new int[] { 8, 5 }, new MockThing(Vector.cartesian(810, 510), 0));
+	}
+
+	private void assertAreaCoordinates(int[] expected, Thing thing) {
+		space.add(thing);
+		Assert.assertArrayEquals(expected, gridSpace.getAreaCoordinates(thing));
 	}
 
 	@Test
@@ -52,7 +60,7 @@ public class SpaceTest {
 			space.add(things[i]);
 
 		Thing thing = things[0]; // area [5, 3]
-		Set<Thing> neighbors = space.getNearbyNeighbors(thing, "");
+		Set<Thing> neighbors = gridSpace.getNearbyNeighbors(thing, "");
 
 		assertEquals(5, neighbors.size());
 		Iterator<Thing> thingsIterator = neighbors.iterator();
@@ -64,33 +72,6 @@ public class SpaceTest {
 		assertEquals("5", thingsIterator.next().getLabel());
 	}
 
-	@Test
-	public void removesThings() {
-		MockThing thingThatStays = new MockThing(Vector.cartesian(510, 310), 0); // area [5, 3]
-		MockThing thingThatGoes = new MockThing(Vector.cartesian(520, 320), 1);  // area [5, 3]
-		Thing[] things = new Thing[] {
-			thingThatStays,
-			thingThatGoes
-		};
-		for (int i = 0; i < things.length; i++)
-			space.add(things[i]);
-
-		space.remove(thingThatGoes);
-		
-		assertFalse(space.contains(thingThatGoes));
-	}
-
-	@Test
-	public void knowsWhetherAThingExists() {
-		MockThing thing = new MockThing(Vector.cartesian(100, 200), 1);
-
-		assertFalse(space.contains(thing));
-
-		space.add(thing);
-
-		assertTrue(space.contains(thing));
-	}
-	
 	@Test
 	public void neighborsSearchIgnoresTheSearchedThing() {
 		Thing[] things = new Thing[] {
@@ -101,7 +82,7 @@ public class SpaceTest {
 			space.add(things[i]);
 
 		Thing referenceThing = things[0]; // area [5, 5]
-		Set<Thing> neighbors = space.getNearbyNeighbors(referenceThing, "");
+		Set<Thing> neighbors = gridSpace.getNearbyNeighbors(referenceThing, "");
 
 		assertEquals(1, neighbors.size());
 		assertEquals("1", neighbors.iterator().next().getLabel());
@@ -112,7 +93,7 @@ public class SpaceTest {
 		MockThing thingOutOfSpace = new MockThing(Vector.cartesian(510, 510), 0); // area [5, 5]
 		space.add(new MockThing(Vector.cartesian(520, 520), 1)); // area [5, 5]
 
-		Set<Thing> neighbors = space.getNearbyNeighbors(thingOutOfSpace, "");
+		Set<Thing> neighbors = gridSpace.getNearbyNeighbors(thingOutOfSpace, "");
 
 		assertEquals(1, neighbors.size());
 		assertEquals("1", neighbors.iterator().next().getLabel());
@@ -130,7 +111,7 @@ public class SpaceTest {
 			space.add(things[i]);
 
 		Thing referenceThing = things[0]; // area [0, 3]
-		Set<Thing> neighbors = space.getNearbyNeighbors(referenceThing, "");
+		Set<Thing> neighbors = gridSpace.getNearbyNeighbors(referenceThing, "");
 
 		assertEquals(3, neighbors.size());
 		Iterator<Thing> thingsIterator = neighbors.iterator();
@@ -151,7 +132,7 @@ public class SpaceTest {
 			space.add(things[i]);
 
 		Thing referenceThing = things[0]; // area [99, 99]
-		Set<Thing> neighbors = space.getNearbyNeighbors(referenceThing, "");
+		Set<Thing> neighbors = gridSpace.getNearbyNeighbors(referenceThing, "");
 		assertEquals(3, neighbors.size());
 		Iterator<Thing> thingsIterator = neighbors.iterator();
 		assertEquals("2", thingsIterator.next().getLabel());
@@ -169,81 +150,69 @@ public class SpaceTest {
 			space.add(things[i]);
 
 		Thing referenceThing = things[0]; // outer space
-		Set<Thing> neighbors = space.getNearbyNeighbors(referenceThing, "");
+		Set<Thing> neighbors = gridSpace.getNearbyNeighbors(referenceThing, "");
 
 		assertEquals(1, neighbors.size());
 		assertEquals("1", neighbors.iterator().next().getLabel());
 	}
 
 	@Test
-	public void returnsAllTheThings() {
-		Thing[] things = new Thing[] {
-			new MockThing(Vector.cartesian(9910, 9910), 0),
-			new MockThing(Vector.cartesian(9920, 9920), 1),
-			new MockThing(Vector.cartesian(10_010, 10_010), 1),
-		};
-		for (int i = 0; i < things.length; i++)
-			space.add(things[i]);
+	public void movesThingsToTheirNewAreaWhenTheyAreUpdated() {
+		MockThing referenceThing = new MockThing(Vector.cartesian(510, 510), 0); // area [5, 5]
+		MockThing movingThing = new MockThing(Vector.cartesian(520, 520), 1); // area [5, 5]
+		space.add(referenceThing);
+		space.add(movingThing);
 
-		Set<Thing> allTheThings = space.getAll("");
-		
-		assertEquals(3, allTheThings.size());
-		for (int i = 0; i < things.length; i++)
-			assertTrue(allTheThings.contains(things[i]));
-	}
+		movingThing.moveTo(Vector.cartesian(9010, 9010)); // area [90, 90]
+		space.update(movingThing);
 
-	@Test
-	public void knowsWhetherItIsEmpty() {
-		assertTrue(space.isEmpty());
-		
-		space.add(new MockThing(Vector.cartesian(9910, 9910), 0));
-
-		assertFalse(space.isEmpty());
+		assertTrue(gridSpace.getNearbyNeighbors(referenceThing, "").isEmpty());
+		assertTrue(gridSpace.getNearbyNeighbors(new MockThing(Vector.cartesian(9020, 9020), 2), "").contains(movingThing));
+		assertTrue(space.contains(movingThing));
 	}
-}
 
-class MockThing implements Thing {
-
-	private final String label;
-	private final Vector position;
+	@Test
+	public void movesThingsToAndFromOuterSpace() {
+		MockThing movingThing = new MockThing(Vector.cartesian(50, 50), 0); // area [0, 0]
+		space.add(movingThing);
 
-	public MockThing(Vector position, Integer id) {
-		this.position = position;
-		this.label = id.toString();
-	}
+		movingThing.moveTo(Vector.cartesian(-50, 50)); // outer space
+		space.update(movingThing);
+		assertTrue(gridSpace.getNearbyNeighbors(new MockThing(Vector.cartesian(-500, -500), 1), "").contains(movingThing));
 
-	@Override
-	public Vector getPosition() {
-		return position;
-	}
-	
-	@Override
-	public Vector getCenter() {
-		return getPosition();
+		movingThing.moveTo(Vector.cartesian(150, 50)); // area [1, 0]
+		space.update(movingThing);
+		assertTrue(gridSpace.getNearbyNeighbors(new MockThing(Vector.cartesian(250, 50), 1), "").contains(movingThing));
 	}
 
-	@Override
-	public String getLabel() {
-		return label;
-	}
-	
-	@Override
-	public String toString() {
-		return getLabel();
-	}
+	@Test
+	public void removesThingsThatMovedToAnotherArea() {
+		MockThing movingThing = new MockThing(Vector.cartesian(50, 50), 0); // area [0, 0]
+		space.add(movingThing);
 
-	@Override
-	public Segment tick(Atmosphere atmosphere) {
-		return null;
-	}
+		movingThing.moveTo(Vector.cartesian(5050, 5050)); // area [50, 50]
+		space.remove(movingThing);
 
-	@Override
-	public Energy getEnergy() {
-		return null;
+		assertFalse(space.contains(movingThing));
+		assertTrue(gridSpace.getNearbyNeighbors(new MockThing(Vector.cartesian(60, 60), 1), "").isEmpty());
+		assertEquals(0, space.count("0"));
 	}
 
-	@Override
-	public double getRadius() {
-		return 0;
+	@Test
+	public void searchesThingsByPartOfTheirLabel() {
+		Thing thing12 = new MockThing(Vector.cartesian(510, 510), 12);
+		Thing thing2 = new MockThing(Vector.cartesian(520, 520), 2);
+		Thing thing3 = new MockThing(Vector.cartesian(530, 530), 3);
+		space.add(thing12);
+		space.add(thing2);
+		space.add(thing3);
+
+		Set<Thing> things = space.getAll("2");
+
+		assertEquals(2, things.size());
+		assertTrue(things.contains(thing12));
+		assertTrue(things.contains(thing2));
+		assertEquals(2, gridSpace.getNearbyNeighbors(thing3, "2").size());
+		assertEquals(thing2, space.findClosestTo(thing3, "2"));
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package org.nusco.narjillos.experiment.environment;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.nusco.narjillos.core.physics.Segment;
+import org.nusco.narjillos.core.physics.Vector;
+
+public class GridTraversalTest {
+
+	@Test
+	public void visitsTheAreasCrossedByASegment() {
+		Segment segment = new Segment(Vector.cartesian(5, 5), Vector.cartesian(20, 0));
+
+		assertEquals(Arrays.asList("0,0", "1,0", "2,0"), visitAreasAlong(segment, 0));
+	}
+
+	@Test
+	public void visitsTheAreasWithinTheMargin() {
+		Segment segment = new Segment(Vector.cartesian(15, 15), Vector.ZERO);
+
+		List<String> expected = Arrays.asList("0,0", "0,1", "0,2", "1,0", "1,1", "1,2", "2,0", "2,1", "2,2");
+		assertEquals(expected, visitAreasAlong(segment, 5));
+	}
+
+	@Test
+	public void visitsEachAreaOnceInOrder() {
+		Segment segment = new Segment(Vector.cartesian(45, 25), Vector.cartesian(-20, 10));
+
+		List<String> expected = Arrays.asList("1,2", "1,3", "1,4", "2,1", "2,2", "2,3", "2,4", "3,1", "3,2", "3,3", "3,4", "4,1",
+				"4,2", "4,3", "4,4", "5,1", "5,2", "5,3");
+		assertEquals(expected, visitAreasAlong(segment, 5));
+	}
+
+	private List<String> visitAreasAlong(Segment segment, double margin) {
+		List<String> result = new ArrayList<>();
+		GridTraversal.visitAreasAlong(segment, 10, margin, (x, y) -> result.add(x + "," + y));
+		return result;
+	}
+}
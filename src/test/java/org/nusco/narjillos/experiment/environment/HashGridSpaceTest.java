@@ -0,0 +1,50 @@
+package org.nusco.narjillos.experiment.environment;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.nusco.narjillos.core.physics.Segment;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.utilities.Configuration;
+
+public class HashGridSpaceTest extends SpatialIndexTest {
+
+	HashGridSpace hashGridSpace;
+
+	@Override
+	protected SpatialIndex createSpatialIndex(long size) {
+		hashGridSpace = new HashGridSpace(Configuration.DEFAULT.physicsCollisionDistance);
+		return hashGridSpace;
+	}
+
+	@Test
+	public void onlyKeepsTheAreasThatContainSomething() {
+		MockThing thing1 = new MockThing(Vector.cartesian(10, 10), 1);
+		MockThing thing2 = new MockThing(Vector.cartesian(20, 20), 2);
+		MockThing thing3 = new MockThing(Vector.cartesian(-1_000_000, 1_000_000), 3);
+		space.add(thing1);
+		space.add(thing2);
+		space.add(thing3);
+
+		assertEquals(2, hashGridSpace.getNumberOfCells());
+
+		thing1.moveTo(Vector.cartesian(5000, 5000));
+		space.update(thing1);
+
+		assertEquals(3, hashGridSpace.getNumberOfCells());
+
+		space.remove(thing2);
+		space.remove(thing3);
+
+		assertEquals(1, hashGridSpace.getNumberOfCells());
+	}
+
+	@Test
+	public void findsThingsFarAwayFromTheOrigin() {
+		MockThing thing = new MockThing(Vector.cartesian(-1_000_000, 1_000_000), 1);
+		space.add(thing);
+
+		assertEquals(thing, space.findClosestTo(Vector.cartesian(0, 0), ""));
+		assertEquals(thing, space.detectCollisions(new Segment(Vector.cartesian(-1_000_010, 1_000_000), Vector.cartesian(20, 0)), "").iterator().next());
+	}
+}
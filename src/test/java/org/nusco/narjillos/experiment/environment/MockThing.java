@@ -0,0 +1,58 @@
+package org.nusco.narjillos.experiment.environment;
+
+import org.nusco.narjillos.core.chemistry.Atmosphere;
+import org.nusco.narjillos.core.physics.Segment;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.things.Energy;
+import org.nusco.narjillos.core.things.Thing;
+import org.nusco.narjillos.core.utilities.Configuration;
+
+class MockThing implements Thing {
+
+	private final String label;
+	private volatile Vector position;
+
+	public MockThing(Vector position, Integer id) {
+		this.position = position;
+		this.label = id.toString();
+	}
+
+	public void moveTo(Vector position) {
+		this.position = position;
+	}
+
+	@Override
+	public Vector getPosition() {
+		return position;
+	}
+	
+	@Override
+	public Vector getCenter() {
+		return getPosition();
+	}
+
+	@Override
+	public String getLabel() {
+		return label;
+	}
+	
+	@Override
+	public String toString() {
+		return getLabel();
+	}
+
+	@Override
+	public Segment tick(Atmosphere atmosphere, Configuration configuration) {
+		return null;
+	}
+
+	@Override
+	public Energy getEnergy() {
+		return null;
+	}
+
+	@Override
+	public double getRadius() {
+		return 0;
+	}
+}
@@ -0,0 +1,129 @@
+package org.nusco.narjillos.experiment.environment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.nusco.narjillos.core.physics.Segment;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.things.Energy;
+import org.nusco.narjillos.core.things.Thing;
+import org.nusco.narjillos.core.utilities.NumGen;
+import org.nusco.narjillos.creature.Narjillo;
+import org.nusco.narjillos.genomics.DNA;
+
+/**
+ * Compares the chunked fork-join ticking in Ecosystem.tickNarjillos() with
+ * the scheme that it replaced (one Future per narjillo on a fixed thread
+ * pool, collected in a map). Both tick the same narjillos in two identical
+ * ecosystems, and they should find the same collisions.
+ *
+ * This is not a unit test. Run it from the main(), or with "gradle
+ * benchmarkTicking".
+ */
+public class NarjilloTickingBenchmark {
+
+	private static final int ROUNDS = 3;
+
+	public static void main(String[] args) throws Exception {
+		System.out.println("Threads: " + Ecosystem.numberOfBackgroundThreads);
+		System.out.println("Narjillos\tTicks\tFutures (ms)\tFork-join (ms)\tSame collisions");
+		run(100, 200);
+		run(1_000, 40);
+		run(10_000, 5);
+	}
+
+	private static void run(int numberOfNarjillos, int ticks) throws Exception {
+		long futuresTime = Long.MAX_VALUE;
+		long forkJoinTime = Long.MAX_VALUE;
+		boolean sameCollisions = true;
+
+		for (int round = 0; round < ROUNDS; round++) {
+			Ecosystem ecosystem1 = createEcosystem(numberOfNarjillos);
+			Ecosystem ecosystem2 = createEcosystem(numberOfNarjillos);
+			Narjillo[] narjillos1 = ecosystem1.getNarjillos().toArray(new Narjillo[0]);
+			Narjillo[] narjillos2 = ecosystem2.getNarjillos().toArray(new Narjillo[0]);
+			ExecutorService executorService = Executors.newFixedThreadPool(Ecosystem.numberOfBackgroundThreads);
+
+			try {
+				long start = System.nanoTime();
+				Set<Thing>[] collisions1 = null;
+				for (int i = 0; i < ticks; i++)
+					collisions1 = tickWithFutures(ecosystem1, narjillos1, executorService);
+				futuresTime = Math.min(futuresTime, System.nanoTime() - start);
+
+				start = System.nanoTime();
+				Set<Thing>[] collisions2 = null;
+				for (int i = 0; i < ticks; i++)
+					collisions2 = ecosystem2.tickNarjillos(narjillos2);
+				forkJoinTime = Math.min(forkJoinTime, System.nanoTime() - start);
+
+				sameCollisions &= haveSameSizes(collisions1, collisions2);
+			} finally {
+				executorService.shutdown();
+				ecosystem1.terminate();
+				ecosystem2.terminate();
+			}
+		}
+
+		System.out.println(numberOfNarjillos + "\t\t" + ticks + "\t" + toMillis(futuresTime) + "\t\t" + toMillis(forkJoinTime) + "\t\t"
+				+ (sameCollisions ? "yes" : "NO"));
+	}
+
+	// The old way of ticking narjillos.
+	private static Set<Thing>[] tickWithFutures(Ecosystem ecosystem, Narjillo[] narjillos, ExecutorService executorService)
+			throws InterruptedException, ExecutionException {
+		Map<Narjillo, Future<Set<Thing>>> futures = new LinkedHashMap<>();
+		for (Narjillo narjillo : narjillos) {
+			futures.put(narjillo, executorService.submit(() -> {
+				Segment movement = narjillo.tick(ecosystem.getAtmosphere(), ecosystem.getConfiguration());
+				return ecosystem.getCollisions(movement);
+			}));
+		}
+
+		@SuppressWarnings("unchecked")
+		Set<Thing>[] result = (Set<Thing>[]) new Set<?>[narjillos.length];
+		for (int i = 0; i < narjillos.length; i++)
+			result[i] = futures.get(narjillos[i]).get();
+		return result;
+	}
+
+	// The same seed gives the same ecosystem, so the two ecosystems should
+	// end up with the same collisions (with different, but equivalent,
+	// things in them).
+	private static Ecosystem createEcosystem(int numberOfNarjillos) {
+		NumGen numGen = new NumGen(1234);
+		long size = (long) Math.sqrt(numberOfNarjillos) * 1000;
+		Ecosystem result = new Ecosystem(size, Topology.OPEN);
+
+		for (int i = 0; i < numberOfNarjillos; i++)
+			result.spawnFood(randomPosition(size, numGen));
+
+		for (int i = 0; i < numberOfNarjillos; i++) {
+			Narjillo narjillo = new Narjillo(DNA.random(i, numGen), randomPosition(size, numGen), numGen.nextDouble() * 360, Energy.INFINITE);
+			narjillo.setTarget(randomPosition(size, numGen));
+			result.insertNarjillo(narjillo);
+		}
+
+		return result;
+	}
+
+	private static boolean haveSameSizes(Set<Thing>[] collisions1, Set<Thing>[] collisions2) {
+		for (int i = 0; i < collisions1.length; i++)
+			if (collisions1[i].size() != collisions2[i].size())
+				return false;
+		return true;
+	}
+
+	private static Vector randomPosition(long size, NumGen numGen) {
+		return Vector.cartesian(numGen.nextDouble() * size, numGen.nextDouble() * size);
+	}
+
+	private static long toMillis(long nanoseconds) {
+		return nanoseconds / 1_000_000;
+	}
+}
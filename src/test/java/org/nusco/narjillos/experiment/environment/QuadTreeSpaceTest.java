@@ -0,0 +1,59 @@
+package org.nusco.narjillos.experiment.environment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.utilities.Configuration;
+
+public class QuadTreeSpaceTest extends SpatialIndexTest {
+
+	QuadTreeSpace quadTreeSpace;
+
+	@Override
+	protected SpatialIndex createSpatialIndex(long size) {
+		quadTreeSpace = new QuadTreeSpace(size, Configuration.DEFAULT.physicsCollisionDistance);
+		return quadTreeSpace;
+	}
+
+	@Test
+	public void splitsCrowdedAreasAndMergesThemBack() {
+		assertEquals(1, quadTreeSpace.getNumberOfLeaves());
+
+		List<MockThing> things = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			MockThing thing = new MockThing(Vector.cartesian(100 + i, 100 + i), i % 10);
+			space.add(thing);
+			things.add(thing);
+		}
+
+		assertTrue(quadTreeSpace.getNumberOfLeaves() > 1);
+
+		for (MockThing thing : things)
+			space.remove(thing);
+
+		assertEquals(1, quadTreeSpace.getNumberOfLeaves());
+	}
+
+	@Test
+	public void mergesAreasWhenThingsMoveAway() {
+		List<MockThing> things = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			MockThing thing = new MockThing(Vector.cartesian(100 + i, 100 + i), i % 10);
+			space.add(thing);
+			things.add(thing);
+		}
+
+		for (MockThing thing : things) {
+			thing.moveTo(Vector.cartesian(20_000, 20_000));
+			space.update(thing);
+		}
+
+		assertEquals(1, quadTreeSpace.getNumberOfLeaves());
+		assertEquals(100, space.getAll("").size());
+	}
+}
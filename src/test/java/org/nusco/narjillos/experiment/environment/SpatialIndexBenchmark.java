@@ -0,0 +1,170 @@
+package org.nusco.narjillos.experiment.environment;
+
+import java.util.Set;
+
+import org.nusco.narjillos.core.physics.Segment;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.things.FoodPellet;
+import org.nusco.narjillos.core.things.Thing;
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.core.utilities.NumGen;
+
+/**
+ * Compares the SpatialIndex backends (see the "spatial_index" setting in
+ * config.yaml) on dishes of different sizes and densities, with things
+ * spread uniformly or gathered in clusters. For each backend, it measures
+ * adding things, searching the closest thing, detecting collisions and
+ * updating things that moved. It also checks that all the backends return
+ * the same results.
+ *
+ * This is not a unit test. Run it from the main(), or with "gradle
+ * benchmarkSpace".
+ */
+public class SpatialIndexBenchmark {
+
+	private static final String[] BACKENDS = { "grid", "hash_grid", "quadtree" };
+	private static final int QUERIES = 20_000;
+	private static final int ROUNDS = 5;
+
+	public static void main(String[] args) {
+		System.out.println("Blocks\tThings\tLayout\t\tBackend\t\tAdd (ms)\tClosest (ms)\tCollisions (ms)\tUpdate (ms)\tSame results");
+		for (int blocksPerEdge : new int[] { 40, 200 }) {
+			for (double densityPerBlock : new double[] { 0.35, 0.01 }) {
+				for (boolean clustered : new boolean[] { false, true }) {
+					run(blocksPerEdge, densityPerBlock, clustered);
+				}
+			}
+		}
+	}
+
+	private static void run(int blocksPerEdge, double densityPerBlock, boolean clustered) {
+		long size = blocksPerEdge * 1000L;
+		NumGen numGen = new NumGen(1234);
+
+		Thing[] things = new Thing[(int) (blocksPerEdge * blocksPerEdge * densityPerBlock)];
+		Vector[] newPositions = new Vector[things.length];
+		for (int i = 0; i < things.length; i++) {
+			things[i] = createFoodPellet(randomPosition(size, clustered, numGen));
+			newPositions[i] = things[i].getPosition().plus(Vector.cartesian(numGen.nextDouble() * 200 - 100, numGen.nextDouble() * 200 - 100));
+		}
+
+		Vector[] queries = new Vector[QUERIES];
+		Segment[] movements = new Segment[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			queries[i] = randomPosition(size, clustered, numGen);
+			movements[i] = new Segment(queries[i], Vector.polar(numGen.nextDouble() * 360, numGen.nextDouble() * 100));
+		}
+
+		Result reference = null;
+		for (String backend : BACKENDS) {
+			Result result = null;
+			for (int round = 0; round < ROUNDS; round++)
+				result = measure(backend, size, things, newPositions, queries, movements);
+
+			String sameResults = (reference == null) ? "-" : (result.hasSameResultsAs(reference, queries) ? "yes" : "NO");
+			if (reference == null)
+				reference = result;
+
+			System.out.println(blocksPerEdge + "\t" + things.length + "\t" + (clustered ? "clustered" : "uniform") + "\t" + pad(backend) + "\t"
+					+ toMillis(result.addTime) + "\t\t" + toMillis(result.closestTime) + "\t\t" + toMillis(result.collisionsTime) + "\t\t"
+					+ toMillis(result.updateTime) + "\t\t" + sameResults);
+		}
+	}
+
+	private static Result measure(String backend, long size, Thing[] things, Vector[] newPositions, Vector[] queries, Segment[] movements) {
+		Result result = new Result(queries.length);
+		Vector[] oldPositions = new Vector[things.length];
+		for (int i = 0; i < things.length; i++)
+			oldPositions[i] = things[i].getPosition();
+
+		SpatialIndex space = SpatialIndex.create(backend, size, Configuration.DEFAULT.physicsCollisionDistance);
+
+		long start = System.nanoTime();
+		for (Thing thing : things)
+			space.add(thing);
+		result.addTime = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < queries.length; i++)
+			result.closestThings[i] = space.findClosestTo(queries[i], "food_pellet");
+		result.closestTime = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < movements.length; i++)
+			result.collisions[i] = space.detectCollisions(movements[i], "food_pellet");
+		result.collisionsTime = System.nanoTime() - start;
+
+		for (int i = 0; i < things.length; i++)
+			((FoodPellet) things[i]).setPosition(newPositions[i]);
+		start = System.nanoTime();
+		for (Thing thing : things)
+			space.update(thing);
+		result.updateTime = System.nanoTime() - start;
+
+		// Put things back where they were, for the next round.
+		for (int i = 0; i < things.length; i++)
+			((FoodPellet) things[i]).setPosition(oldPositions[i]);
+
+		return result;
+	}
+
+	private static class Result {
+
+		final Thing[] closestThings;
+		final Set<?>[] collisions;
+		long addTime;
+		long closestTime;
+		long collisionsTime;
+		long updateTime;
+
+		Result(int numberOfQueries) {
+			closestThings = new Thing[numberOfQueries];
+			collisions = new Set<?>[numberOfQueries];
+		}
+
+		// Two things can be at the same distance from a query, and different
+		// backends might pick different ones, so we compare distances.
+		boolean hasSameResultsAs(Result other, Vector[] queries) {
+			for (int i = 0; i < closestThings.length; i++) {
+				if (getDistance(closestThings[i], queries[i]) != getDistance(other.closestThings[i], queries[i]))
+					return false;
+				if (!collisions[i].equals(other.collisions[i]))
+					return false;
+			}
+			return true;
+		}
+
+		private double getDistance(Thing thing, Vector position) {
+			if (thing == null)
+				return Double.MAX_VALUE;
+			return thing.getPosition().minus(position).getLength();
+		}
+	}
+
+	private static FoodPellet createFoodPellet(Vector position) {
+		FoodPellet result = new FoodPellet();
+		result.setPosition(position);
+		return result;
+	}
+
+	// Clustered things are gathered around a few centers, like food around
+	// the spots where it's more likely to grow.
+	private static Vector randomPosition(long size, boolean clustered, NumGen numGen) {
+		if (!clustered)
+			return Vector.cartesian(numGen.nextDouble() * size, numGen.nextDouble() * size);
+
+		int cluster = Math.abs(numGen.nextInt() % 8);
+		double centerX = size * (0.1 + 0.1 * cluster);
+		double centerY = size * (0.8 - 0.1 * cluster);
+		Vector offset = Vector.polar(numGen.nextDouble() * 360, numGen.nextDouble() * numGen.nextDouble() * size / 10);
+		return Vector.cartesian(centerX, centerY).plus(offset);
+	}
+
+	private static String pad(String text) {
+		return (text.length() < 8) ? text + "\t" : text;
+	}
+
+	private static long toMillis(long nanoseconds) {
+		return nanoseconds / 1_000_000;
+	}
+}
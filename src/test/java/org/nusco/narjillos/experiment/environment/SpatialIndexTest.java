@@ -0,0 +1,589 @@
+package org.nusco.narjillos.experiment.environment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.nusco.narjillos.core.physics.Segment;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.things.Thing;
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.core.utilities.NumGen;
+
+public abstract class SpatialIndexTest {
+
+	protected SpatialIndex space;
+
+	@Before
+	public void createSpatialIndex() {
+		space = createSpatialIndex(10_000);
+	}
+
+	protected abstract SpatialIndex createSpatialIndex(long size);
+
+	@Test
+	public void removesThings() {
+		MockThing thingThatStays = new MockThing(Vector.cartesian(510, 310), 0); // area [5, 3]
+		MockThing thingThatGoes = new MockThing(Vector.cartesian(520, 320), 1);  // area [5, 3]
+		Thing[] things = new Thing[] {
+			thingThatStays,
+			thingThatGoes
+		};
+		for (int i = 0; i < things.length; i++)
+			space.add(things[i]);
+
+		space.remove(thingThatGoes);
+		
+		assertFalse(space.contains(thingThatGoes));
+	}
+
+	@Test
+	public void knowsWhetherAThingExists() {
+		MockThing thing = new MockThing(Vector.cartesian(100, 200), 1);
+
+		assertFalse(space.contains(thing));
+
+		space.add(thing);
+
+		assertTrue(space.contains(thing));
+	}
+	
+	@Test
+	public void findsTheClosestThingInTheNeighboringAreas() {
+		MockThing referenceThing = new MockThing(Vector.cartesian(510, 510), 0); // area [5, 5]
+		space.add(referenceThing);
+		space.add(new MockThing(Vector.cartesian(610, 610), 1));	// area [6, 6]
+		space.add(new MockThing(Vector.cartesian(430, 480), 2));	// area [4, 4]
+
+		assertEquals("2", space.findClosestTo(referenceThing, "").getLabel());
+	}
+
+	@Test
+	public void findsTheClosestThingInFartherAreas() {
+		MockThing referenceThing = new MockThing(Vector.cartesian(5050, 5050), 0); // area [50, 50]
+		space.add(new MockThing(Vector.cartesian(5050, 3850), 1));	// area [50, 38]
+		space.add(new MockThing(Vector.cartesian(5850, 5050), 2));	// area [58, 50]
+
+		assertEquals("2", space.findClosestTo(referenceThing, "").getLabel());
+	}
+
+	@Test
+	public void findsTheClosestThingEvenIfItIsOutsideTheNeighboringAreas() {
+		MockThing referenceThing = new MockThing(Vector.cartesian(550, 550), 0); // area [5, 5]
+		space.add(new MockThing(Vector.cartesian(699, 699), 1));	// area [6, 6]
+		space.add(new MockThing(Vector.cartesian(550, 720), 2));	// area [5, 7]
+
+		assertEquals("2", space.findClosestTo(referenceThing, "").getLabel());
+	}
+
+	@Test
+	public void findsTheClosestThingInOuterSpace() {
+		MockThing referenceThing = new MockThing(Vector.cartesian(50, 50), 0); // area [0, 0]
+		space.add(new MockThing(Vector.cartesian(50, 500), 1));	// area [0, 5]
+		space.add(new MockThing(Vector.cartesian(-10, 50), 2));	// outer space
+
+		assertEquals("2", space.findClosestTo(referenceThing, "").getLabel());
+	}
+
+	@Test
+	public void findsTheClosestThingFromOuterSpace() {
+		MockThing referenceThing = new MockThing(Vector.cartesian(-1000, -1000), 0); // outer space
+		space.add(new MockThing(Vector.cartesian(5000, 5000), 1));	// area [50, 50]
+		space.add(new MockThing(Vector.cartesian(10, 10), 2));		// area [0, 0]
+
+		assertEquals("2", space.findClosestTo(referenceThing, "").getLabel());
+	}
+
+	@Test
+	public void findsTheClosestThingWithAGivenLabel() {
+		MockThing referenceThing = new MockThing(Vector.cartesian(510, 510), 0); // area [5, 5]
+		space.add(new MockThing(Vector.cartesian(520, 520), 1));
+		space.add(new MockThing(Vector.cartesian(9000, 9000), 2));
+
+		assertEquals("2", space.findClosestTo(referenceThing, "2").getLabel());
+		assertNull(space.findClosestTo(referenceThing, "3"));
+	}
+
+	@Test
+	public void closestThingSearchIgnoresTheSearchedThing() {
+		MockThing referenceThing = new MockThing(Vector.cartesian(510, 510), 0); // area [5, 5]
+		space.add(referenceThing);
+		space.add(new MockThing(Vector.cartesian(8000, 8000), 1));
+
+		assertEquals("1", space.findClosestTo(referenceThing, "").getLabel());
+	}
+
+	@Test
+	public void returnsAllTheThings() {
+		Thing[] things = new Thing[] {
+			new MockThing(Vector.cartesian(9910, 9910), 0),
+			new MockThing(Vector.cartesian(9920, 9920), 1),
+			new MockThing(Vector.cartesian(10_010, 10_010), 1),
+		};
+		for (int i = 0; i < things.length; i++)
+			space.add(things[i]);
+
+		Set<Thing> allTheThings = space.getAll("");
+		
+		assertEquals(3, allTheThings.size());
+		for (int i = 0; i < things.length; i++)
+			assertTrue(allTheThings.contains(things[i]));
+	}
+
+	@Test
+	public void ignoresUpdatesToThingsThatAreNotInTheSpace() {
+		MockThing thing = new MockThing(Vector.cartesian(50, 50), 0);
+
+		space.update(thing);
+
+		assertFalse(space.contains(thing));
+		assertTrue(space.isEmpty());
+	}
+
+	@Test
+	public void countsThingsWithExactlyTheGivenLabel() {
+		space.add(new MockThing(Vector.cartesian(510, 510), 12));
+		space.add(new MockThing(Vector.cartesian(520, 520), 2));
+		space.add(new MockThing(Vector.cartesian(9020, 9020), 2));
+
+		assertEquals(2, space.count("2"));
+		assertEquals(1, space.count("12"));
+		assertEquals(0, space.count("3"));
+	}
+
+	@Test
+	public void detectsCollisionsAlongAMovement() {
+		Thing[] things = new Thing[] {
+			new MockThing(Vector.cartesian(1010, 1050), 0),	// close to the start
+			new MockThing(Vector.cartesian(1500, 1010), 1),	// close to the middle
+			new MockThing(Vector.cartesian(1990, 1000), 2),	// close to the end
+			new MockThing(Vector.cartesian(1500, 1100), 3),	// too far
+			new MockThing(Vector.cartesian(2100, 1000), 4),	// beyond the end
+		};
+		for (int i = 0; i < things.length; i++)
+			space.add(things[i]);
+
+		// spans ten areas
+		Set<Thing> collisions = space.detectCollisions(new Segment(Vector.cartesian(1000, 1000), Vector.cartesian(1000, 0)), "");
+
+		assertEquals(3, collisions.size());
+		assertTrue(collisions.contains(things[0]));
+		assertTrue(collisions.contains(things[1]));
+		assertTrue(collisions.contains(things[2]));
+	}
+
+	@Test
+	public void detectsCollisionsAlongDiagonalMovements() {
+		Thing thing = new MockThing(Vector.cartesian(2520, 1480), 0);	// close to the middle
+		space.add(thing);
+
+		Set<Thing> collisions = space.detectCollisions(new Segment(Vector.cartesian(3000, 1000), Vector.cartesian(-1000, 1000)), "");
+
+		assertEquals(1, collisions.size());
+		assertTrue(collisions.contains(thing));
+	}
+
+	@Test
+	public void detectsCollisionsInNearbyAreas() {
+		Thing thing = new MockThing(Vector.cartesian(1010, 1010), 0);	// area [10, 10]
+		space.add(thing);
+
+		// in area [9, 9]
+		assertTrue(space.detectCollisions(new Segment(Vector.cartesian(990, 990), Vector.cartesian(1, 1)), "").contains(thing));
+	}
+
+	@Test
+	public void detectsCollisionsWithThingsInOuterSpace() {
+		Thing thing = new MockThing(Vector.cartesian(-30, 1000), 0);	// outer space
+		space.add(thing);
+
+		assertTrue(space.detectCollisions(new Segment(Vector.cartesian(1000, 1000), Vector.cartesian(-1000, 0)), "").contains(thing));
+	}
+
+	@Test
+	public void detectsCollisionsOnlyWithThingsWithTheGivenLabel() {
+		space.add(new MockThing(Vector.cartesian(1010, 1010), 0));
+		Thing thing = new MockThing(Vector.cartesian(1020, 1020), 1);
+		space.add(thing);
+
+		Set<Thing> collisions = space.detectCollisions(new Segment(Vector.cartesian(1000, 1000), Vector.cartesian(10, 10)), "1");
+
+		assertEquals(1, collisions.size());
+		assertTrue(collisions.contains(thing));
+	}
+
+	@Test
+	public void knowsWhetherItIsEmpty() {
+		assertTrue(space.isEmpty());
+		
+		space.add(new MockThing(Vector.cartesian(9910, 9910), 0));
+
+		assertFalse(space.isEmpty());
+	}
+
+	@Test
+	public void findsThingsInTheirNewPositionAfterAnUpdate() {
+		MockThing movingThing = new MockThing(Vector.cartesian(520, 520), 1);
+		space.add(movingThing);
+		space.add(new MockThing(Vector.cartesian(5000, 5000), 2));
+
+		movingThing.moveTo(Vector.cartesian(9010, 9010));
+		space.update(movingThing);
+
+		assertEquals("1", space.findClosestTo(Vector.cartesian(9000, 9000), "").getLabel());
+		assertEquals("2", space.findClosestTo(Vector.cartesian(510, 510), "").getLabel());
+		assertTrue(space.detectCollisions(new Segment(Vector.cartesian(9000, 9000), Vector.cartesian(10, 10)), "").contains(movingThing));
+		assertTrue(space.detectCollisions(new Segment(Vector.cartesian(510, 510), Vector.cartesian(10, 10)), "").isEmpty());
+	}
+
+	@Test
+	public void removesThingsThatMovedWithoutAnUpdate() {
+		MockThing movingThing = new MockThing(Vector.cartesian(50, 50), 0);
+		space.add(movingThing);
+
+		movingThing.moveTo(Vector.cartesian(5050, 5050));
+		space.remove(movingThing);
+
+		assertFalse(space.contains(movingThing));
+		assertEquals(0, space.count("0"));
+		assertTrue(space.isEmpty());
+		assertNull(space.findClosestTo(Vector.cartesian(5050, 5050), ""));
+	}
+
+	@Test
+	public void findsThingsByPartOfTheirLabel() {
+		Thing thing12 = new MockThing(Vector.cartesian(510, 510), 12);
+		Thing thing2 = new MockThing(Vector.cartesian(520, 520), 2);
+		Thing thing3 = new MockThing(Vector.cartesian(530, 530), 3);
+		space.add(thing12);
+		space.add(thing2);
+		space.add(thing3);
+
+		Set<Thing> things = space.getAll("2");
+
+		assertEquals(2, things.size());
+		assertTrue(things.contains(thing12));
+		assertTrue(things.contains(thing2));
+		assertEquals(thing2, space.findClosestTo(thing3, "2"));
+		assertEquals(2, space.detectCollisions(new Segment(Vector.cartesian(500, 500), Vector.cartesian(30, 30)), "2").size());
+	}
+
+	@Test
+	public void findsTheSameClosestThingsAsAnExhaustiveSearch() {
+		NumGen numGen = new NumGen(1234);
+		List<MockThing> things = populate(numGen);
+
+		for (int i = 0; i < 300; i++) {
+			Vector position = randomPosition(numGen);
+			Thing closest = space.findClosestTo(position, "");
+
+			double expectedDistance = Double.MAX_VALUE;
+			for (Thing thing : things)
+				expectedDistance = Math.min(expectedDistance, thing.getPosition().minus(position).getLength());
+			assertEquals(expectedDistance, closest.getPosition().minus(position).getLength(), 0.0);
+		}
+	}
+
+	@Test
+	public void detectsTheSameCollisionsAsAnExhaustiveSearch() {
+		NumGen numGen = new NumGen(1234);
+		List<MockThing> things = populate(numGen);
+
+		for (int i = 0; i < 300; i++) {
+			Segment movement = new Segment(randomPosition(numGen), Vector.cartesian(numGen.nextDouble() * 2000 - 1000, numGen.nextDouble() * 2000 - 1000));
+			Set<Thing> collisions = space.detectCollisions(movement, "");
+
+			Set<Thing> expectedCollisions = new LinkedHashSet<>();
+			for (Thing thing : things)
+				if (movement.getMinimumDistanceFromPoint(thing.getPosition()) <= Configuration.DEFAULT.physicsCollisionDistance)
+					expectedCollisions.add(thing);
+			assertEquals(expectedCollisions, collisions);
+		}
+	}
+
+	@Test
+	public void findsThingsInARectangle() {
+		Thing thing1 = new MockThing(Vector.cartesian(100, 100), 1);
+		Thing thing2 = new MockThing(Vector.cartesian(500, 300), 2);
+		Thing thing3 = new MockThing(Vector.cartesian(-50, 300), 1);
+		Thing thing4 = new MockThing(Vector.cartesian(5000, 5000), 1);
+		space.add(thing1);
+		space.add(thing2);
+		space.add(thing3);
+		space.add(thing4);
+
+		Set<Thing> things = space.findInRectangle(Vector.cartesian(500, 300), Vector.cartesian(-100, 0), "");
+
+		assertEquals(3, things.size());
+		assertTrue(things.contains(thing1));
+		assertTrue(things.contains(thing2));
+		assertTrue(things.contains(thing3));
+		assertEquals(2, space.findInRectangle(Vector.cartesian(-100, 0), Vector.cartesian(500, 300), "1").size());
+	}
+
+	@Test
+	public void findsThingsAroundAPosition() {
+		Thing thing1 = new MockThing(Vector.cartesian(100, 100), 1);
+		Thing thing2 = new MockThing(Vector.cartesian(180, 180), 2);
+		Thing thing3 = new MockThing(Vector.cartesian(100, 199), 3);
+		space.add(thing1);
+		space.add(thing2);
+		space.add(thing3);
+
+		Set<Thing> things = space.findAround(Vector.cartesian(100, 100), 100, "");
+
+		assertEquals(2, things.size());
+		assertTrue(things.contains(thing1));
+		assertTrue(things.contains(thing3));
+	}
+
+	@Test
+	public void findsTheKClosestThings() {
+		Thing thing1 = new MockThing(Vector.cartesian(100, 100), 1);
+		Thing thing2 = new MockThing(Vector.cartesian(3000, 100), 1);
+		Thing thing3 = new MockThing(Vector.cartesian(300, 100), 1);
+		Thing thing4 = new MockThing(Vector.cartesian(-1000, 100), 1);
+		space.add(thing1);
+		space.add(thing2);
+		space.add(thing3);
+		space.add(thing4);
+
+		List<Thing> closestThings = space.findClosestTo(Vector.cartesian(0, 100), 3, "1");
+
+		assertEquals(3, closestThings.size());
+		assertEquals(thing1, closestThings.get(0));
+		assertEquals(thing3, closestThings.get(1));
+		assertEquals(thing4, closestThings.get(2));
+		assertEquals(4, space.findClosestTo(Vector.cartesian(0, 100), 10, "").size());
+		assertTrue(space.findClosestTo(Vector.cartesian(0, 100), 10, "2").isEmpty());
+	}
+
+	@Test
+	public void findsTheSameThingsInRectanglesAsAnExhaustiveSearch() {
+		NumGen numGen = new NumGen(1234);
+		List<MockThing> things = populate(numGen);
+
+		for (int i = 0; i < 300; i++) {
+			Vector corner1 = randomPosition(numGen);
+			Vector corner2 = corner1.plus(Vector.cartesian(numGen.nextDouble() * 3000 - 1500, numGen.nextDouble() * 3000 - 1500));
+
+			Set<Thing> expectedThings = new LinkedHashSet<>();
+			for (Thing thing : things) {
+				Vector position = thing.getPosition();
+				if (position.x >= Math.min(corner1.x, corner2.x) && position.x <= Math.max(corner1.x, corner2.x)
+						&& position.y >= Math.min(corner1.y, corner2.y) && position.y <= Math.max(corner1.y, corner2.y))
+					expectedThings.add(thing);
+			}
+			assertEquals(expectedThings, space.findInRectangle(corner1, corner2, ""));
+		}
+	}
+
+	@Test
+	public void findsTheSameKClosestThingsAsAnExhaustiveSearch() {
+		NumGen numGen = new NumGen(1234);
+		List<MockThing> things = populate(numGen);
+
+		for (int i = 0; i < 100; i++) {
+			Vector position = randomPosition(numGen);
+			List<Thing> closestThings = space.findClosestTo(position, 20, "");
+
+			List<Double> expectedDistances = new ArrayList<>();
+			for (Thing thing : things)
+				expectedDistances.add(thing.getPosition().minus(position).getLength());
+			expectedDistances.sort(null);
+
+			assertEquals(20, closestThings.size());
+			for (int j = 0; j < closestThings.size(); j++)
+				assertEquals(expectedDistances.get(j), closestThings.get(j).getPosition().minus(position).getLength(), 0.0);
+		}
+	}
+
+	@Test
+	public void supportsConcurrentSearchesAndChanges() throws Exception {
+		// These things never move, so the searches should always find them.
+		List<MockThing> fixedThings = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			MockThing thing = new MockThing(Vector.cartesian(50 + (i % 10) * 1000, 50 + (i / 10) * 1000), 1);
+			space.add(thing);
+			fixedThings.add(thing);
+		}
+
+		final int changers = 4;
+		final int searchers = 4;
+		AtomicInteger runningChangers = new AtomicInteger(changers);
+		ExecutorService executor = Executors.newFixedThreadPool(changers + searchers);
+		try {
+			List<Future<List<MockThing>>> changes = new ArrayList<>();
+			for (int i = 0; i < changers; i++) {
+				int seed = i;
+				changes.add(executor.submit(() -> {
+					try {
+						return addMoveAndRemoveThings(new NumGen(seed));
+					} finally {
+						runningChangers.decrementAndGet();
+					}
+				}));
+			}
+
+			List<Future<?>> searches = new ArrayList<>();
+			for (int i = 0; i < searchers; i++) {
+				int seed = 100 + i;
+				searches.add(executor.submit(() -> {
+					NumGen numGen = new NumGen(seed);
+					while (runningChangers.get() > 0) {
+						MockThing thing = fixedThings.get(Math.abs(numGen.nextInt() % fixedThings.size()));
+						Vector position = thing.getPosition();
+
+						assertEquals(thing, space.findClosestTo(position, "1"));
+						assertTrue(space.detectCollisions(new Segment(position.minus(Vector.cartesian(30, 0)), Vector.cartesian(60, 0)), "1").contains(thing));
+						assertEquals(100, space.count("1"));
+						assertEquals(100, space.getAll("1").size());
+						assertFalse(space.isEmpty());
+					}
+					return null;
+				}));
+			}
+
+			Set<Thing> remainingThings = new LinkedHashSet<>();
+			for (Future<List<MockThing>> future : changes)
+				remainingThings.addAll(future.get());
+			for (Future<?> future : searches)
+				future.get();
+
+			assertEquals(remainingThings, space.getAll("2"));
+			assertEquals(remainingThings.size(), space.count("2"));
+			for (Thing thing : remainingThings)
+				assertTrue(space.detectCollisions(new Segment(thing.getPosition(), Vector.ZERO), "2").contains(thing));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void supportsConcurrentSearchesWhileAreasSplitAndMerge() throws Exception {
+		// A few fixed things in a small corner, where the changers keep
+		// crowding things and then taking them away again.
+		List<MockThing> fixedThings = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			MockThing thing = new MockThing(Vector.cartesian(10 + i * 100, 10 + i * 100), 1);
+			space.add(thing);
+			fixedThings.add(thing);
+		}
+
+		final int changers = 2;
+		final int searchers = 4;
+		AtomicInteger runningChangers = new AtomicInteger(changers);
+		ExecutorService executor = Executors.newFixedThreadPool(changers + searchers);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < changers; i++) {
+				int seed = i;
+				futures.add(executor.submit(() -> {
+					try {
+						crowdAndEmpty(new NumGen(seed));
+					} finally {
+						runningChangers.decrementAndGet();
+					}
+					return null;
+				}));
+			}
+
+			for (int i = 0; i < searchers; i++) {
+				int seed = 100 + i;
+				futures.add(executor.submit(() -> {
+					NumGen numGen = new NumGen(seed);
+					while (runningChangers.get() > 0) {
+						MockThing thing = fixedThings.get(Math.abs(numGen.nextInt() % fixedThings.size()));
+						Vector position = thing.getPosition();
+
+						assertEquals(thing, space.findClosestTo(position, "1"));
+						assertTrue(space.detectCollisions(new Segment(position, Vector.cartesian(1, 1)), "1").contains(thing));
+						assertEquals(4, space.findInRectangle(Vector.ZERO, Vector.cartesian(500, 500), "1").size());
+					}
+					return null;
+				}));
+			}
+
+			for (Future<?> future : futures)
+				future.get();
+
+			assertEquals(0, space.count("2"));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	// Fills a small area with things (so that it gets split), and then
+	// removes them all (so that it gets merged back). Over and over.
+	private void crowdAndEmpty(NumGen numGen) {
+		for (int round = 0; round < 300; round++) {
+			List<MockThing> things = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				MockThing thing = new MockThing(Vector.cartesian(numGen.nextDouble() * 400, numGen.nextDouble() * 400), 2);
+				space.add(thing);
+				things.add(thing);
+			}
+			for (MockThing thing : things)
+				space.remove(thing);
+		}
+	}
+
+	private List<MockThing> addMoveAndRemoveThings(NumGen numGen) {
+		List<MockThing> result = new ArrayList<>();
+		for (int i = 0; i < 5_000; i++) {
+			MockThing newThing = new MockThing(randomPosition(numGen), 2);
+			space.add(newThing);
+			result.add(newThing);
+
+			MockThing movingThing = result.get(Math.abs(numGen.nextInt() % result.size()));
+			movingThing.moveTo(randomPosition(numGen));
+			space.update(movingThing);
+
+			if (result.size() > 50)
+				space.remove(result.remove(0));
+		}
+		return result;
+	}
+
+	// Adds a lot of clustered things (some of them outside the space), then
+	// moves and removes some of them.
+	private List<MockThing> populate(NumGen numGen) {
+		List<MockThing> result = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			Vector clusterCenter = Vector.cartesian((i % 5) * 2500, (i % 5) * 2500);
+			Vector offset = Vector.cartesian(numGen.nextDouble() * 600 - 300, numGen.nextDouble() * 600 - 300);
+			MockThing thing = new MockThing(clusterCenter.plus(offset), i % 10);
+			space.add(thing);
+			result.add(thing);
+		}
+
+		for (int i = 0; i < 300; i++) {
+			MockThing thing = result.get(i);
+			thing.moveTo(randomPosition(numGen));
+			space.update(thing);
+		}
+
+		List<MockThing> removedThings = result.subList(300, 600);
+		for (MockThing thing : removedThings)
+			space.remove(thing);
+		removedThings.clear();
+
+		return result;
+	}
+
+	private Vector randomPosition(NumGen numGen) {
+		return Vector.cartesian(numGen.nextDouble() * 11_000 - 500, numGen.nextDouble() * 11_000 - 500);
+	}
+}
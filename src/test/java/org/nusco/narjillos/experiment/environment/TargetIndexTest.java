@@ -0,0 +1,102 @@
+package org.nusco.narjillos.experiment.environment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.things.Energy;
+import org.nusco.narjillos.core.things.FoodPellet;
+import org.nusco.narjillos.core.utilities.NumGen;
+import org.nusco.narjillos.creature.Narjillo;
+import org.nusco.narjillos.genomics.DNA;
+
+public class TargetIndexTest {
+
+	TargetIndex targetIndex = new TargetIndex();
+	NumGen numGen = new NumGen(1234);
+	FoodPellet food1 = new FoodPellet();
+	FoodPellet food2 = new FoodPellet();
+	Narjillo narjillo1;
+	Narjillo narjillo2;
+	Narjillo narjillo3;
+
+	@Before
+	public void initialize() {
+		narjillo1 = createNarjillo();
+		narjillo2 = createNarjillo();
+		narjillo3 = createNarjillo();
+		targetIndex.add(narjillo1);
+		targetIndex.add(narjillo2);
+		targetIndex.add(narjillo3);
+	}
+
+	@Test
+	public void knowsWhichNarjillosAreChasingAThing() {
+		targetIndex.setTarget(narjillo1, food1);
+		targetIndex.setTarget(narjillo2, food2);
+		targetIndex.setTarget(narjillo3, food1);
+
+		assertEquals(Arrays.asList(narjillo1, narjillo3), targetIndex.getPursuersOf(food1));
+		assertEquals(Arrays.asList(narjillo2), targetIndex.getPursuersOf(food2));
+	}
+
+	@Test
+	public void returnsPursuersInTheOrderTheyWereAdded() {
+		targetIndex.setTarget(narjillo3, food1);
+		targetIndex.setTarget(narjillo1, food1);
+		targetIndex.setTarget(narjillo2, food1);
+
+		assertEquals(Arrays.asList(narjillo1, narjillo2, narjillo3), targetIndex.getPursuersOf(food1));
+	}
+
+	@Test
+	public void returnsThePursuersOfMultipleThingsInTheOrderTheyWereAdded() {
+		targetIndex.setTarget(narjillo3, food1);
+		targetIndex.setTarget(narjillo2, food2);
+		targetIndex.setTarget(narjillo1, food1);
+
+		assertEquals(Arrays.asList(narjillo1, narjillo2, narjillo3), targetIndex.getPursuersOf(Arrays.asList(food2, food1)));
+	}
+
+	@Test
+	public void forgetsTheOldTargetWhenANarjilloChangesTarget() {
+		targetIndex.setTarget(narjillo1, food1);
+		targetIndex.setTarget(narjillo1, food2);
+
+		assertTrue(targetIndex.getPursuersOf(food1).isEmpty());
+		assertEquals(Arrays.asList(narjillo1), targetIndex.getPursuersOf(food2));
+	}
+
+	@Test
+	public void forgetsTheTargetWhenANarjilloStopsChasing() {
+		targetIndex.setTarget(narjillo1, food1);
+		targetIndex.setTarget(narjillo1, null);
+
+		assertTrue(targetIndex.getPursuersOf(food1).isEmpty());
+	}
+
+	@Test
+	public void forgetsRemovedNarjillos() {
+		targetIndex.setTarget(narjillo1, food1);
+		targetIndex.setTarget(narjillo2, food1);
+		targetIndex.remove(narjillo1);
+
+		assertEquals(Arrays.asList(narjillo2), targetIndex.getPursuersOf(food1));
+	}
+
+	@Test
+	public void ignoresNarjillosThatAreNotInTheIndex() {
+		Narjillo stranger = createNarjillo();
+		targetIndex.setTarget(stranger, food1);
+
+		assertTrue(targetIndex.getPursuersOf(food1).isEmpty());
+	}
+
+	private Narjillo createNarjillo() {
+		return new Narjillo(DNA.random(1, numGen), Vector.ZERO, 90, Energy.INFINITE);
+	}
+}
@@ -0,0 +1,54 @@
+package org.nusco.narjillos.experiment.environment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.nusco.narjillos.core.physics.Vector;
+
+public class TopologyTest {
+
+	@Test
+	public void isReadFromItsName() {
+		assertEquals(Topology.OPEN, Topology.fromName("open"));
+		assertEquals(Topology.DEADLY_WALLS, Topology.fromName("deadly_walls"));
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void failsOnUnknownNames() {
+		Topology.fromName("sphere");
+	}
+
+	@Test
+	public void leavesThingsAloneInAnOpenDish() {
+		assertEquals(Vector.cartesian(-100, 2000), Topology.OPEN.constrain(Vector.cartesian(-100, 2000), 1000));
+	}
+
+	@Test
+	public void stopsThingsAtTheWalls() {
+		assertEquals(Vector.cartesian(10, 20), Topology.WALLS.constrain(Vector.cartesian(10, 20), 1000));
+		assertEquals(Vector.cartesian(0, 20), Topology.WALLS.constrain(Vector.cartesian(-10, 20), 1000));
+		assertEquals(Vector.cartesian(10, 0), Topology.DEADLY_WALLS.constrain(Vector.cartesian(10, -20), 1000));
+
+		Vector constrained = Topology.WALLS.constrain(Vector.cartesian(1000, 5000), 1000);
+		assertTrue(constrained.x < 1000);
+		assertTrue(constrained.y < 1000);
+		assertEquals(1000, constrained.x, 0.00001);
+	}
+
+	@Test
+	public void wrapsThingsAroundATorus() {
+		assertEquals(Vector.cartesian(10, 20), Topology.TORUS.constrain(Vector.cartesian(10, 20), 1000));
+		assertEquals(Vector.cartesian(990, 20), Topology.TORUS.constrain(Vector.cartesian(-10, 20), 1000));
+		assertEquals(Vector.cartesian(10, 0), Topology.TORUS.constrain(Vector.cartesian(1010, 1000), 1000));
+		assertEquals(Vector.cartesian(500, 500), Topology.TORUS.constrain(Vector.cartesian(2500, -1500), 1000));
+	}
+
+	@Test
+	public void onlyDeadlyWallsKill() {
+		assertTrue(Topology.DEADLY_WALLS.kills());
+		assertFalse(Topology.WALLS.kills());
+		assertFalse(Topology.TORUS.kills());
+	}
+}
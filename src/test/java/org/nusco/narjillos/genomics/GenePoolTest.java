@@ -73,6 +73,19 @@ public class GenePoolTest {
 		assertEquals(3, genePool.getAllDnaCount());
 	}
 	
+	@Test
+	public void addsDnaFromOtherGenePools() {
+		GenePool otherGenePool = new GenePool(new VolatileDNALog());
+		DNA dna = otherGenePool.createDna("111_111_111_222_111_000_000_000_000_000_000_000_000_000", numGen);
+
+		genePool.add(dna);
+		genePool.remove(dna);
+		genePool.add(dna);
+
+		assertEquals(1, genePool.getAllDnaCount());
+		assertEquals(dna, genePool.getMostSuccessfulDna());
+	}
+
 	@Test
 	public void getAncestryOfDna() {
 		DNA gen1 = genePool.createDna("{0}", numGen);
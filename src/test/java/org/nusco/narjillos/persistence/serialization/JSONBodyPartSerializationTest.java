@@ -6,6 +6,8 @@ import static org.junit.Assert.assertSame;
 import org.junit.Test;
 import org.nusco.narjillos.core.chemistry.Element;
 import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.utilities.Configuration;
+import org.nusco.narjillos.creature.body.Body;
 import org.nusco.narjillos.creature.body.BodyPart;
 import org.nusco.narjillos.creature.body.ConnectedOrgan;
 import org.nusco.narjillos.creature.body.Fiber;
@@ -32,18 +34,19 @@ public class JSONBodyPartSerializationTest {
 		parameters.setEggVelocity(30);
 		parameters.setEggInterval(40);
 		Head head = new Head(parameters);
-		head.forcePosition(Vector.cartesian(6, 7), 8);
+		Body body = new Body(head);
+		body.forcePosition(Vector.cartesian(6, 7), 8);
 
 		for (int i = 0; i < 10; i++)
-			head.tick(20, 1, 1);
+			body.tick(Vector.cartesian(1, 1), Configuration.DEFAULT);
 		
 		String json = JSON.toJson(head, Organ.class);
 		Organ deserialized = (Head)JSON.fromJson(json, Organ.class);
 
 		assertEquals(head.getLength(), deserialized.getLength(), 0.0);
 		assertEquals(head.getThickness(), deserialized.getThickness(), 0.0);
-		assertEquals(Vector.cartesian(6, 7), deserialized.getStartPoint());
-		assertEquals(8, deserialized.getAbsoluteAngle(), 0.0);
+		assertEquals(head.getStartPoint(), deserialized.getStartPoint());
+		assertEquals(head.getAbsoluteAngle(), deserialized.getAbsoluteAngle(), 0.0);
 		assertEquals(new Fiber(10, 20, 30), deserialized.getFiber());
 		assertEquals(4, ((Head) deserialized).getMetabolicRate(), 0.0);
 		assertEquals(Element.NITROGEN, ((Head) deserialized).getByproduct());
@@ -54,11 +57,13 @@ public class JSONBodyPartSerializationTest {
 
 	@Test
 	public void serializesAndDeserializesBodySegments() {
-		ConnectedOrgan parent = new Head(new HeadParameters(10, 20));
+		Head parent = new Head(new HeadParameters(10, 20));
 		BodyPart bodySegment = new BodyPart(1, 2, 10, 20, 30, parent, 4, -5, 6, 7);
+		parent.addChild(bodySegment);
+		Body body = new Body(parent);
 
 		for (int i = 0; i < 10; i++)
-			bodySegment.tick(10, 1, 2);
+			body.tick(Vector.cartesian(1, 1), Configuration.DEFAULT);
 		
 		String json = JSON.toJson(bodySegment, Organ.class);
 		BodyPart deserialized = (BodyPart)JSON.fromJson(json, Organ.class);
@@ -79,12 +84,12 @@ public class JSONBodyPartSerializationTest {
 
 	@Test
 	public void serializesAndDeserializesAnEntireTreeOfOrgans() {
-		MovingOrgan parent = new Head(new HeadParameters(100, 0));
+		Head parent = new Head(new HeadParameters(100, 0));
 		ConnectedOrgan child = new BodyPart(200, 0, 10, 20, 30, parent, 0, 0, 0, 0);
 		parent.addChild(child);
 		
 		String json = JSON.toJson(parent, MovingOrgan.class);
-		MovingOrgan deserializedParent = (MovingOrgan) JSON.fromJson(json, MovingOrgan.class);
+		Head deserializedParent = (Head) JSON.fromJson(json, MovingOrgan.class);
 		
 		assertEquals(parent.getLength(), deserializedParent.getLength(), 0);
 		assertEquals(1, deserializedParent.getChildren().size());
@@ -93,9 +98,11 @@ public class JSONBodyPartSerializationTest {
 		assertSame(deserializedParent, deserializedChild.getParent());
 
 		// everything still works after ticking
+		Body body = new Body(parent);
+		Body deserializedBody = new Body(deserializedParent);
 		for (int i = 0; i < 3; i++) {
-			parent.tick(20, 10, 1);
-			deserializedParent.tick(20, 10, 1);
+			body.tick(Vector.cartesian(1, 1), Configuration.DEFAULT);
+			deserializedBody.tick(Vector.cartesian(1, 1), Configuration.DEFAULT);
 		}
 		assertEquals(child.getAbsoluteAngle(), deserializedChild.getAbsoluteAngle(), 0.0);
 	}
@@ -7,6 +7,7 @@ import java.util.List;
 import org.junit.Test;
 import org.nusco.narjillos.core.chemistry.Element;
 import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.creature.body.Body;
 import org.nusco.narjillos.creature.body.BodyPart;
 import org.nusco.narjillos.creature.body.ConnectedOrgan;
@@ -48,8 +49,8 @@ public class JSONBodySerializationTest {
 		Body deserialized = JSON.fromJson(json, Body.class);
 
 		// everything still works after ticking
-		body.tick(Vector.polar(10, 1));
-		deserialized.tick(Vector.polar(10, 1));
+		body.tick(Vector.polar(10, 1), Configuration.DEFAULT);
+		deserialized.tick(Vector.polar(10, 1), Configuration.DEFAULT);
 		
 		assertEquals(body.getStartPoint(), deserialized.getStartPoint());
 		assertEquals(body.getMass(), deserialized.getMass(), 0.0);
@@ -12,6 +12,7 @@ import org.nusco.narjillos.core.physics.Vector;
 import org.nusco.narjillos.core.things.Energy;
 import org.nusco.narjillos.core.things.FoodPellet;
 import org.nusco.narjillos.core.things.Thing;
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.core.utilities.NumGen;
 import org.nusco.narjillos.creature.Egg;
 import org.nusco.narjillos.creature.Narjillo;
@@ -24,7 +25,7 @@ public class JSONEcosystemSerializationTest {
 
 	@Test
 	public void serializesAndDeserializesEcosystem() {
-		Ecosystem ecosystem = new Ecosystem(123, false);
+		Ecosystem ecosystem = new Ecosystem(123);
 		FoodPellet food1 = ecosystem.spawnFood(Vector.cartesian(10, 10));
 		FoodPellet food2 = ecosystem.spawnFood(Vector.cartesian(20, 20));
 		Egg egg = ecosystem.spawnEgg(new DNA(1, "{1_2_3_4_5_6_7_8}"), Vector.cartesian(30, 30), new NumGen(0));
@@ -53,4 +54,32 @@ public class JSONEcosystemSerializationTest {
 		assertEquals(food2.getPosition(), thingsIterator.next().getPosition());
 		assertEquals(egg.getPosition(), thingsIterator.next().getPosition());
 	}
+
+	@Test
+	public void serializesAndDeserializesTheConfiguration() {
+		Configuration configuration = Configuration.DEFAULT.with("food", "energy", 123).with("dna", "mutation_rate", 0.5);
+		Ecosystem ecosystem = new Ecosystem(123, configuration);
+
+		String json = JSON.toJson(ecosystem, Ecosystem.class);
+		Ecosystem deserialized = JSON.fromJson(json, Ecosystem.class);
+
+		assertEquals(123, deserialized.getConfiguration().foodEnergy, 0.0);
+		assertEquals(0.5, deserialized.getConfiguration().dnaMutationRate, 0.0);
+		assertEquals(configuration.toMap(), deserialized.getConfiguration().toMap());
+		assertEquals(json, JSON.toJson(deserialized, Ecosystem.class));
+	}
+
+	@Test
+	public void givesTheThingsTheSizeInTheConfiguration() {
+		Configuration configuration = Configuration.DEFAULT.with("egg", "radius", 10).with("food", "radius", 3);
+		Ecosystem ecosystem = new Ecosystem(123, configuration);
+		ecosystem.spawnFood(Vector.cartesian(10, 10));
+		ecosystem.spawnEgg(new DNA(1, "{1_2_3_4_5_6_7_8}"), Vector.cartesian(30, 30), new NumGen(0));
+
+		String json = JSON.toJson(ecosystem, Ecosystem.class);
+		Ecosystem deserialized = JSON.fromJson(json, Ecosystem.class);
+
+		assertEquals(3, deserialized.getThings("food_pellet").iterator().next().getRadius(), 0.0);
+		assertEquals(10, deserialized.getThings("egg").iterator().next().getRadius(), 0.0);
+	}
 }
@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 
 import org.junit.Test;
 import org.nusco.narjillos.core.physics.Vector;
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.creature.body.Mouth;
 import org.nusco.narjillos.persistence.serialization.JSON;
 
@@ -12,7 +13,7 @@ public class JSONMouthSerializationTest {
 	@Test
 	public void serializesAndDeserializesCompasses() {
 		Mouth mouth = new Mouth();
-		mouth.tick(Vector.ZERO, Vector.polar(179, 1), 15);
+		mouth.tick(Vector.ZERO, Vector.polar(179, 1), 15, Configuration.DEFAULT);
 		
 		String json = JSON.toJson(mouth, Mouth.class);
 		Mouth deserialized = JSON.fromJson(json, Mouth.class);
@@ -24,6 +24,29 @@ public class JSONNerveSerializationTest {
 			assertEquals(nerve.tick(0), deserialized.tick(0), 0.0);
 	}
 
+	@Test
+	public void storesTheSignalsInADelayNerveAsAList() {
+		Nerve nerve = new DelayNerve(4);
+		for (int i = 0; i < 6; i++)
+			nerve.tick(i);
+
+		String json = JSON.toJson(nerve, Nerve.class);
+
+		assertEquals("{\"type\":\"Delay\",\"data\":{\"delay\":4,\"buffer\":[2.0,3.0,4.0,5.0]}}", json);
+	}
+
+	@Test
+	public void deserializesDelayNervesFromALinkedListBuffer() {
+		String json = "{\"type\":\"Delay\",\"data\":{\"delay\":3,\"buffer\":[0.1,0.2]}}";
+
+		Nerve deserialized = JSON.fromJson(json, Nerve.class);
+
+		assertEquals(0, deserialized.tick(0.3), 0.0);
+		assertEquals(0.1, deserialized.tick(0.4), 0.0);
+		assertEquals(0.2, deserialized.tick(0.5), 0.0);
+		assertEquals(0.3, deserialized.tick(0.6), 0.0);
+	}
+
 	@Test
 	public void serializesAndDeserializesWaveNerves() {
 		WaveNerve nerve = new WaveNerve(100);
@@ -10,6 +10,7 @@ import org.nusco.narjillos.core.physics.Vector;
 import org.nusco.narjillos.core.things.FoodPellet;
 import org.nusco.narjillos.core.things.LifeFormEnergy;
 import org.nusco.narjillos.core.things.Thing;
+import org.nusco.narjillos.core.utilities.Configuration;
 import org.nusco.narjillos.core.utilities.NumGen;
 import org.nusco.narjillos.creature.Egg;
 import org.nusco.narjillos.creature.Narjillo;
@@ -52,15 +53,15 @@ public class JSONThingSerializationTest {
 		Narjillo narjillo = new Narjillo(dna, Vector.cartesian(10, 20), 90, new LifeFormEnergy(1000, 10_000));
 		narjillo.setTarget(Vector.cartesian(100, 200));
 		for (int i = 0; i < 10; i++)
-			narjillo.tick(atmosphere);
+			narjillo.tick(atmosphere, Configuration.DEFAULT);
 		
 		String json = JSON.toJson(narjillo, Thing.class);
 		Narjillo deserialized = (Narjillo) JSON.fromJson(json, Thing.class);
 		
 		Atmosphere duplicatedAtmosphere = atmosphere.duplicate();
 		
-		narjillo.tick(atmosphere);
-		deserialized.tick(duplicatedAtmosphere);
+		narjillo.tick(atmosphere, Configuration.DEFAULT);
+		deserialized.tick(duplicatedAtmosphere, Configuration.DEFAULT);
 		
 		assertEquals(narjillo.getPosition(), deserialized.getPosition());
 		assertEquals(genes, deserialized.getDNA().toString());